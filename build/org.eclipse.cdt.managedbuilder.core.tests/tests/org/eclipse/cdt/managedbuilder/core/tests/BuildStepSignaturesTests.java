@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.core.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.managedbuilder.buildmodel.BuildDescriptionManager;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildDescription;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildResource;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildStep;
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.cdt.managedbuilder.core.ManagedBuildManager;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildStateManager;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildStepSignatures;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.IConfigurationBuildState;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.IProjectBuildState;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.IRebuildState;
+import org.eclipse.cdt.managedbuilder.testplugin.ManagedBuildTestHelper;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests the content based signatures of build steps, how they are stored with the build state,
+ * and how they let the build description skip steps whose inputs have only been touched.
+ */
+public class BuildStepSignaturesTests extends TestCase {
+	private static final String PROJECT_NAME = "BuildStepSignatures";
+	private static final IPath OUTPUT = new Path("/" + PROJECT_NAME + "/a.o");
+
+	private final List<File> fFiles = new ArrayList<>();
+
+	public static Test suite() {
+		return new TestSuite(BuildStepSignaturesTests.class);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		for (File file : fFiles) {
+			file.delete();
+		}
+		ManagedBuildTestHelper.removeProject(PROJECT_NAME);
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME);
+		IProjectBuildState state = BuildStateManager.getInstance().getProjectBuildState(project);
+		for (IConfigurationBuildState cfgState : state.getConfigurationBuildStates()) {
+			state.removeConfigurationBuildState(cfgState.getConfigurationId());
+		}
+		BuildStateManager.getInstance().setProjectBuildState(project, state);
+	}
+
+	private File createFile(String contents) throws Exception {
+		File file = File.createTempFile("signature", ".c");
+		fFiles.add(file);
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	/**
+	 * Creates a step running a single command on the given inputs.
+	 */
+	private static IBuildStep createStep(String[] args, File... inputs) {
+		List<IBuildResource> inputResources = new ArrayList<>();
+		for (File input : inputs) {
+			Map<String, Object> values = new HashMap<>();
+			values.put("getLocation", new Path(input.getAbsolutePath()));
+			inputResources.add(ParallelBuilderTests.fake(IBuildResource.class, input.getName(), values));
+		}
+		Map<String, Object> commandValues = new HashMap<>();
+		commandValues.put("getCommand", new Path("gcc"));
+		commandValues.put("getArgs", args);
+		Map<String, Object> outputValues = new HashMap<>();
+		outputValues.put("getFullPath", OUTPUT);
+
+		Map<String, Object> values = new HashMap<>();
+		values.put("getBuildDescription", ParallelBuilderTests.fake(IBuildDescription.class, "description",
+				new HashMap<>()));
+		values.put("getCommands",
+				new IBuildCommand[] { ParallelBuilderTests.fake(IBuildCommand.class, "gcc", commandValues) });
+		values.put("getInputResources", inputResources);
+		values.put("getOutputResources",
+				new IBuildResource[] { ParallelBuilderTests.fake(IBuildResource.class, "a.o", outputValues) });
+		return ParallelBuilderTests.fake(IBuildStep.class, "compile", values);
+	}
+
+	private static String[] args(String... args) {
+		return args;
+	}
+
+	public void testSignatureOfUnchangedStep() throws Exception {
+		File source = createFile("int main() { return 0; }\n");
+		File header = createFile("#define A 1\n");
+		String signature = new BuildStepSignatures().compute(createStep(args("-c", "-O2"), source, header));
+		assertNotNull(signature);
+		assertEquals(signature, new BuildStepSignatures().compute(createStep(args("-c", "-O2"), source, header)));
+		// The order of the inputs does not matter
+		assertEquals(signature, new BuildStepSignatures().compute(createStep(args("-c", "-O2"), header, source)));
+
+		// Touching the input without changing it keeps the signature
+		Files.write(source.toPath(), "int main() { return 0; }\n".getBytes(StandardCharsets.UTF_8));
+		source.setLastModified(source.lastModified() + 10000);
+		assertEquals(signature, new BuildStepSignatures().compute(createStep(args("-c", "-O2"), source, header)));
+	}
+
+	public void testSignatureChangesWithInputs() throws Exception {
+		File source = createFile("int main() { return 0; }\n");
+		File header = createFile("#define A 1\n");
+		String signature = new BuildStepSignatures().compute(createStep(args("-c"), source, header));
+
+		Files.write(header.toPath(), "#define A 2\n".getBytes(StandardCharsets.UTF_8));
+		String changed = new BuildStepSignatures().compute(createStep(args("-c"), source, header));
+		assertNotNull(changed);
+		assertFalse(signature.equals(changed));
+
+		assertFalse(changed.equals(new BuildStepSignatures().compute(createStep(args("-c"), source))));
+
+		header.delete();
+		String missing = new BuildStepSignatures().compute(createStep(args("-c"), source, header));
+		assertFalse(changed.equals(missing));
+		Files.write(header.toPath(), new byte[0]);
+		assertFalse(missing.equals(new BuildStepSignatures().compute(createStep(args("-c"), source, header))));
+	}
+
+	public void testSignatureChangesWithCommand() throws Exception {
+		File source = createFile("int main() { return 0; }\n");
+		String signature = new BuildStepSignatures().compute(createStep(args("-c", "-O2"), source));
+		assertFalse(signature.equals(new BuildStepSignatures().compute(createStep(args("-c", "-O3"), source))));
+		assertFalse(signature.equals(new BuildStepSignatures().compute(createStep(args("-c -O2"), source))));
+	}
+
+	public void testRecord() throws Exception {
+		IBuildStep step = createStep(args("-c"), createFile("int i;\n"));
+		IPath key = BuildStepSignatures.getKey(step);
+		assertEquals(OUTPUT, key);
+		IConfigurationBuildState state = ParallelBuilderTests.createBuildState(PROJECT_NAME);
+
+		String signature = new BuildStepSignatures().compute(step);
+		BuildStepSignatures.record(state, step, signature);
+		assertEquals(signature, state.getSignatureForFullPath(key));
+		BuildStepSignatures.record(state, step, null);
+		assertNull(state.getSignatureForFullPath(key));
+	}
+
+	/**
+	 * The signatures are stored with the build state, until the configuration needs a full rebuild.
+	 */
+	public void testSignaturesPersisted() throws Exception {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME);
+		IPath objectPath = project.getFullPath().append("Debug/a.o");
+		IPath sourcePath = project.getFullPath().append("a.c");
+		BuildStateManager manager = BuildStateManager.getInstance();
+		IProjectBuildState state = manager.getProjectBuildState(project);
+		IConfigurationBuildState cfgState = state.getConfigurationBuildState("cfg", true);
+		cfgState.setState(0);
+		cfgState.setStateForFullPath(sourcePath, IRebuildState.NEED_REBUILD);
+		cfgState.setSignatureForFullPath(objectPath, "0123456789abcdef");
+		manager.setProjectBuildState(project, state);
+
+		state = manager.getProjectBuildState(project);
+		cfgState = state.getConfigurationBuildState("cfg", false);
+		assertNotNull(cfgState);
+		assertEquals(IRebuildState.NEED_REBUILD, cfgState.getStateForFullPath(sourcePath));
+		assertEquals("0123456789abcdef", cfgState.getSignatureForFullPath(objectPath));
+		assertNull(cfgState.getSignatureForFullPath(sourcePath));
+
+		// Clearing the rebuild state of the resources keeps the signatures
+		cfgState.setState(0);
+		assertEquals("0123456789abcdef", cfgState.getSignatureForFullPath(objectPath));
+		manager.setProjectBuildState(project, state);
+		cfgState = manager.getProjectBuildState(project).getConfigurationBuildState("cfg", false);
+		assertEquals(0, cfgState.getStateForFullPath(sourcePath));
+		assertEquals("0123456789abcdef", cfgState.getSignatureForFullPath(objectPath));
+
+		cfgState.setState(IRebuildState.NEED_REBUILD);
+		assertNull(cfgState.getSignatureForFullPath(objectPath));
+	}
+
+	private static IBuildStep getStep(IConfiguration cfg, IConfigurationBuildState cfgState, IFile source)
+			throws CoreException {
+		IBuildDescription des = BuildDescriptionManager.createBuildDescription(cfg, cfgState, null,
+				BuildDescriptionManager.REBUILD | BuildDescriptionManager.REMOVED | BuildDescriptionManager.DEPS);
+		IBuildResource rc = des.getBuildResource(source);
+		assertNotNull(rc);
+		IBuildStep[] steps = rc.getDependentSteps();
+		assertEquals(1, steps.length);
+		return steps[0];
+	}
+
+	/**
+	 * A step whose sources have been touched is only rebuilt if its signature has changed.
+	 */
+	public void testTouchedStepSkipped() throws Exception {
+		IProject project = ManagedBuildTestHelper.createProject(PROJECT_NAME, "cdt.managedbuild.target.gnu30.exe");
+		IFile source = ManagedBuildTestHelper.createFile(project, "a.c", "int main() { return 0; }\n");
+		IConfiguration cfg = ManagedBuildManager.getBuildInfo(project).getManagedProject().getConfigurations()[0];
+		cfg.setRebuildState(false);
+		IConfigurationBuildState cfgState = BuildStateManager.getInstance().getProjectBuildState(project)
+				.getConfigurationBuildState(cfg.getId(), true);
+		cfgState.setState(0);
+		cfgState.setStateForFullPath(source.getFullPath(), IRebuildState.NEED_REBUILD);
+
+		IBuildStep step = getStep(cfg, cfgState, source);
+		assertTrue(step.needsRebuild());
+
+		// The step is built
+		BuildStepSignatures.record(cfgState, step, new BuildStepSignatures().compute(step));
+		File output = step.getOutputResources()[0].getLocation().toFile();
+		output.getParentFile().mkdirs();
+		new FileOutputStream(output).close();
+		assertFalse(getStep(cfg, cfgState, source).needsRebuild());
+
+		output.delete();
+		assertTrue(getStep(cfg, cfgState, source).needsRebuild());
+		new FileOutputStream(output).close();
+
+		source.setContents(new ByteArrayInputStream("int main() { return 1; }\n".getBytes(StandardCharsets.UTF_8)),
+				true, false, null);
+		assertTrue(getStep(cfg, cfgState, source).needsRebuild());
+	}
+}
@@ -0,0 +1,508 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.core.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.cdt.internal.core.ProcessClosure;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildDescription;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildResource;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildStep;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildProcessManager;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildStateManager;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildStepSignatures;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.GenDirInfo;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.IConfigurationBuildState;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.IResourceRebuildStateContainer;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.ParallelBuilder;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.ProcessLauncher;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests the scheduling of the internal builder on a graph of build steps whose commands
+ * are not run, and the completion notifications of the processes it launches.
+ */
+public class ParallelBuilderTests extends TestCase {
+	private static final long TIMEOUT = 60000;
+
+	public static Test suite() {
+		return new TestSuite(ParallelBuilderTests.class);
+	}
+
+	/**
+	 * Creates an implementation of the given interface returning the given values, the
+	 * elements of a list are returned as an array. Other methods return default values.
+	 */
+	static <T> T fake(Class<T> type, String name, Map<String, Object> values) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "toString":
+						return name;
+					}
+					Class<?> returnType = method.getReturnType();
+					Object value = values.get(method.getName());
+					if (value instanceof List) {
+						List<?> list = (List<?>) value;
+						return list.toArray((Object[]) Array.newInstance(returnType.getComponentType(), list.size()));
+					}
+					if (value != null)
+						return value;
+					if (returnType == boolean.class)
+						return false;
+					if (returnType.isArray())
+						return Array.newInstance(returnType.getComponentType(), 0);
+					return null;
+				}));
+	}
+
+	/**
+	 * A graph of build steps, each with a single command named after the step.
+	 */
+	static class StepGraph {
+		private final Map<String, Object> fDescriptionValues = new HashMap<>();
+		private final Map<IBuildStep, Map<String, Object>> fStepValues = new HashMap<>();
+		final IBuildDescription description = fake(IBuildDescription.class, "description", fDescriptionValues);
+		final IBuildStep inputStep = step("input");
+
+		StepGraph() {
+			fDescriptionValues.put("getInputStep", inputStep);
+			fDescriptionValues.put("getOutputStep", step("output"));
+		}
+
+		IBuildStep step(String name) {
+			Map<String, Object> values = new HashMap<>();
+			values.put("getInputResources", new ArrayList<IBuildResource>());
+			values.put("getOutputResources", new ArrayList<IBuildResource>());
+			values.put("getBuildDescription", description);
+			Map<String, Object> commandValues = new HashMap<>();
+			commandValues.put("getCommand", new Path(name));
+			values.put("getCommands", new IBuildCommand[] { fake(IBuildCommand.class, name, commandValues) });
+			IBuildStep step = fake(IBuildStep.class, name, values);
+			fStepValues.put(step, values);
+			return step;
+		}
+
+		/**
+		 * Adds a resource produced by the first step and used by the second one.
+		 */
+		IBuildResource connect(IBuildStep producer, IBuildStep consumer) {
+			Map<String, Object> values = new HashMap<>();
+			values.put("getProducerStep", producer);
+			values.put("getDependentSteps", Collections.singletonList(consumer));
+			values.put("getBuildDescription", description);
+			IBuildResource resource = fake(IBuildResource.class, producer + " -> " + consumer, values);
+			resources(producer, "getOutputResources").add(resource);
+			resources(consumer, "getInputResources").add(resource);
+			return resource;
+		}
+
+		/**
+		 * Adds a resource in the workspace produced by the step.
+		 */
+		IBuildResource output(IBuildStep producer, IPath fullPath) {
+			Map<String, Object> values = new HashMap<>();
+			values.put("getProducerStep", producer);
+			values.put("getFullPath", fullPath);
+			values.put("getBuildDescription", description);
+			IBuildResource resource = fake(IBuildResource.class, fullPath.toString(), values);
+			resources(producer, "getOutputResources").add(resource);
+			return resource;
+		}
+
+		/**
+		 * Adds a file outside of the build used by the step.
+		 */
+		IBuildResource input(IBuildStep consumer, File file) {
+			Map<String, Object> values = new HashMap<>();
+			values.put("getLocation", new Path(file.getAbsolutePath()));
+			values.put("getDependentSteps", Collections.singletonList(consumer));
+			values.put("getBuildDescription", description);
+			IBuildResource resource = fake(IBuildResource.class, file.getName(), values);
+			resources(consumer, "getInputResources").add(resource);
+			return resource;
+		}
+
+		@SuppressWarnings("unchecked")
+		private List<IBuildResource> resources(IBuildStep step, String method) {
+			return (List<IBuildResource>) fStepValues.get(step).get(method);
+		}
+	}
+
+	/**
+	 * Gives access to the queue of the builder and to its dispatch loop.
+	 */
+	static class TestBuilder extends ParallelBuilder {
+		TestBuilder(StepGraph graph, IResourceRebuildStateContainer rebuildStates, boolean resumeOnErrors) {
+			this(graph, rebuildStates, resumeOnErrors, new NullProgressMonitor());
+		}
+
+		TestBuilder(StepGraph graph, IResourceRebuildStateContainer rebuildStates, boolean resumeOnErrors,
+				IProgressMonitor monitor) {
+			super(new Path(System.getProperty("java.io.tmpdir")),
+					new GenDirInfo(ResourcesPlugin.getWorkspace().getRoot().getProject("parallelBuilderTests")),
+					null, null, monitor, resumeOnErrors, false, rebuildStates, graph.description);
+			enqueueAll(graph.description);
+			sortQueue();
+		}
+
+		List<IBuildStep> getQueuedSteps() {
+			return queue.stream().map(BuildQueueElement::getStep).collect(Collectors.toList());
+		}
+
+		int getPriority(IBuildStep step) {
+			for (BuildQueueElement elem : queue) {
+				if (elem.getStep() == step)
+					return elem.getPriority();
+			}
+			return -1;
+		}
+
+		/**
+		 * Runs the dispatch loop, failing rather than hanging if the loop does not terminate.
+		 */
+		int dispatchWithTimeout(BuildProcessManager mgr) throws Exception {
+			FutureTask<Integer> task = new FutureTask<>(() -> dispatch(mgr));
+			Thread thread = new Thread(task, "ParallelBuilderTests dispatch");
+			thread.setDaemon(true);
+			thread.start();
+			return task.get(TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Records the commands it is asked to launch, the processes finish right away.
+	 */
+	static class TestProcessManager extends BuildProcessManager {
+		final List<String> launched = Collections.synchronizedList(new ArrayList<>());
+		final Set<String> failing = new HashSet<>();
+
+		TestProcessManager(int processes) {
+			super(null, null, false, processes);
+		}
+
+		@Override
+		public ProcessLauncher launchProcess(IBuildCommand cmd, IPath cwd, IProgressMonitor monitor) {
+			launched.add(cmd.toString());
+			final int exitCode = failing.contains(cmd.toString()) ? 1 : 0;
+			ProcessLauncher launcher = new ProcessLauncher(cmd.getCommand(), cmd.getArgs(), null, cwd, null, null,
+					monitor, false) {
+				@Override
+				public int queryState() {
+					return STATE_DONE;
+				}
+
+				@Override
+				public int getExitCode() {
+					return exitCode;
+				}
+			};
+			processCompleted();
+			return launcher;
+		}
+
+		void complete() {
+			processCompleted();
+		}
+	}
+
+	/**
+	 * Returns an empty build state that is not stored.
+	 */
+	static IConfigurationBuildState createBuildState(String projectName) {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+		IConfigurationBuildState state = BuildStateManager.getInstance().getProjectBuildState(project)
+				.getConfigurationBuildState(projectName + ".cfg", true);
+		state.setState(0);
+		return state;
+	}
+
+	public void testWaitForCompletionReturnsEarlierCompletion() throws Exception {
+		TestProcessManager mgr = new TestProcessManager(1);
+		mgr.complete();
+		long start = System.currentTimeMillis();
+		assertTrue(mgr.waitForCompletion(TIMEOUT));
+		assertTrue(System.currentTimeMillis() - start < TIMEOUT / 2);
+		// The completion has been consumed
+		assertFalse(mgr.waitForCompletion(10));
+	}
+
+	public void testWaitForCompletionWakesUp() throws Exception {
+		TestProcessManager mgr = new TestProcessManager(1);
+		Thread thread = new Thread(() -> {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+			}
+			mgr.complete();
+		});
+		thread.start();
+		long start = System.currentTimeMillis();
+		assertTrue(mgr.waitForCompletion(TIMEOUT));
+		assertTrue(System.currentTimeMillis() - start < TIMEOUT / 2);
+		thread.join();
+	}
+
+	/**
+	 * A finished process wakes up the builder waiting for it.
+	 */
+	public void testProcessCompletionWakesUp() throws Exception {
+		BuildProcessManager mgr = new BuildProcessManager(new ByteArrayOutputStream(), new ByteArrayOutputStream(),
+				false, 1);
+		Map<String, Object> values = new HashMap<>();
+		values.put("getCommand", new Path(System.getProperty("java.home")).append("bin").append("java"));
+		values.put("getArgs", new String[] { "-version" });
+		IBuildCommand cmd = fake(IBuildCommand.class, "java -version", values);
+		ProcessLauncher launcher = mgr.launchProcess(cmd, new Path(System.getProperty("java.io.tmpdir")),
+				new NullProgressMonitor());
+		assertNotNull(launcher);
+		assertTrue(mgr.waitForCompletion(TIMEOUT));
+		assertEquals(ProcessLauncher.STATE_DONE, launcher.queryState());
+		assertEquals(0, launcher.getExitCode());
+	}
+
+	/**
+	 * The completion callback is run once the output of the process has been read entirely.
+	 */
+	public void testProcessClosureCallbackAfterOutput() throws Exception {
+		String java = new Path(System.getProperty("java.home")).append("bin").append("java").toOSString();
+		Process process = new ProcessBuilder(java, "-version").start();
+		process.getOutputStream().close();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		CountDownLatch completed = new CountDownLatch(1);
+		String[] output = new String[1];
+		new ProcessClosure(process, out, err).runNonBlocking(() -> {
+			output[0] = out.toString() + err.toString();
+			completed.countDown();
+		});
+		assertTrue(completed.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertTrue(output[0], output[0].contains("version"));
+		assertEquals(0, process.waitFor());
+	}
+
+	/**
+	 * Steps on the longest chain of dependent steps are started first.
+	 */
+	public void testCriticalPathFirst() throws Exception {
+		StepGraph graph = new StepGraph();
+		IBuildStep compile1 = graph.step("compile1");
+		IBuildStep compile2 = graph.step("compile2");
+		IBuildStep compile3 = graph.step("compile3");
+		IBuildStep archive = graph.step("archive");
+		IBuildStep link = graph.step("link");
+		graph.connect(graph.inputStep, compile2);
+		graph.connect(graph.inputStep, compile3);
+		graph.connect(graph.inputStep, compile1);
+		graph.connect(compile1, archive);
+		graph.connect(archive, link);
+
+		TestBuilder builder = new TestBuilder(graph, null, false);
+		assertEquals(3, builder.getPriority(compile1));
+		assertEquals(2, builder.getPriority(archive));
+		assertEquals(1, builder.getPriority(link));
+		assertEquals(1, builder.getPriority(compile2));
+		assertEquals(compile1, builder.getQueuedSteps().get(0));
+
+		TestProcessManager mgr = new TestProcessManager(1);
+		assertEquals(ParallelBuilder.STATUS_OK, builder.dispatchWithTimeout(mgr));
+		List<String> launched = mgr.launched;
+		assertEquals(5, launched.size());
+		assertEquals(Arrays.asList("compile1", "archive"), launched.subList(0, 2));
+		assertEquals(new HashSet<>(Arrays.asList("compile2", "compile3")), new HashSet<>(launched.subList(2, 4)));
+		assertEquals("link", launched.get(4));
+	}
+
+	/**
+	 * A step is only started after the steps producing its inputs, also with several processes.
+	 */
+	public void testDependenciesBuiltFirst() throws Exception {
+		StepGraph graph = new StepGraph();
+		IBuildStep link = graph.step("link");
+		for (int i = 0; i < 8; i++) {
+			IBuildStep compile = graph.step("compile" + i);
+			graph.connect(graph.inputStep, compile);
+			graph.connect(compile, link);
+		}
+
+		TestBuilder builder = new TestBuilder(graph, null, false);
+		TestProcessManager mgr = new TestProcessManager(4);
+		assertEquals(ParallelBuilder.STATUS_OK, builder.dispatchWithTimeout(mgr));
+		assertEquals(9, mgr.launched.size());
+		assertEquals("link", mgr.launched.get(8));
+	}
+
+	/**
+	 * Steps depending on each other are started in queue order instead of waiting forever.
+	 */
+	public void testDependencyCycle() throws Exception {
+		StepGraph graph = new StepGraph();
+		IBuildStep first = graph.step("first");
+		IBuildStep second = graph.step("second");
+		graph.connect(graph.inputStep, first);
+		graph.connect(first, second);
+		graph.connect(second, first);
+
+		TestBuilder builder = new TestBuilder(graph, null, false);
+		List<IBuildStep> queued = builder.getQueuedSteps();
+		assertEquals(2, queued.size());
+
+		TestProcessManager mgr = new TestProcessManager(2);
+		assertEquals(ParallelBuilder.STATUS_OK, builder.dispatchWithTimeout(mgr));
+		assertEquals(queued.stream().map(Object::toString).collect(Collectors.toList()), mgr.launched);
+	}
+
+	/**
+	 * The signature of a step is replaced by the current one once the step has been built.
+	 */
+	public void testSignatureRecordedOnSuccess() throws Exception {
+		StepGraph graph = new StepGraph();
+		IBuildStep compile = graph.step("compile");
+		graph.connect(graph.inputStep, compile);
+		IPath output = new Path("/parallelBuilderTests/compile.o");
+		graph.output(compile, output);
+		IConfigurationBuildState buildState = createBuildState("parallelBuilderTests");
+		buildState.setSignatureForFullPath(output, "stale");
+
+		TestBuilder builder = new TestBuilder(graph, buildState, false);
+		assertEquals(ParallelBuilder.STATUS_OK, builder.dispatchWithTimeout(new TestProcessManager(1)));
+		String signature = buildState.getSignatureForFullPath(output);
+		assertNotNull(signature);
+		assertEquals(new BuildStepSignatures().compute(compile), signature);
+	}
+
+	/**
+	 * A step that fails loses its signature, also when the build stops at the failure.
+	 */
+	public void testSignatureClearedOnFailure() throws Exception {
+		StepGraph graph = new StepGraph();
+		IBuildStep compile1 = graph.step("compile1");
+		IBuildStep compile2 = graph.step("compile2");
+		graph.connect(graph.inputStep, compile1);
+		graph.connect(graph.inputStep, compile2);
+		IPath output1 = new Path("/parallelBuilderTests/compile1.o");
+		IPath output2 = new Path("/parallelBuilderTests/compile2.o");
+		graph.output(compile1, output1);
+		graph.output(compile2, output2);
+
+		IConfigurationBuildState buildState = createBuildState("parallelBuilderTests");
+		buildState.setSignatureForFullPath(output1, "stale");
+		buildState.setSignatureForFullPath(output2, "stale");
+		TestProcessManager mgr = new TestProcessManager(1);
+		mgr.failing.add("compile1");
+		assertEquals(ParallelBuilder.STATUS_OK, new TestBuilder(graph, buildState, true).dispatchWithTimeout(mgr));
+		assertNull(buildState.getSignatureForFullPath(output1));
+		assertEquals(new BuildStepSignatures().compute(compile2), buildState.getSignatureForFullPath(output2));
+
+		buildState.setSignatureForFullPath(output1, "stale");
+		mgr = new TestProcessManager(1);
+		mgr.failing.add("compile1");
+		mgr.failing.add("compile2");
+		assertEquals(ParallelBuilder.STATUS_ERROR, new TestBuilder(graph, buildState, false).dispatchWithTimeout(mgr));
+		assertEquals(1, mgr.launched.size());
+		assertNull(buildState.getSignatureForFullPath(mgr.launched.get(0).equals("compile1") ? output1 : output2));
+	}
+
+	/**
+	 * A step that is running when the build is cancelled loses its signature.
+	 */
+	public void testSignatureClearedOnCancel() throws Exception {
+		StepGraph graph = new StepGraph();
+		IBuildStep compile = graph.step("compile");
+		graph.connect(graph.inputStep, compile);
+		IPath output = new Path("/parallelBuilderTests/compile.o");
+		graph.output(compile, output);
+		IConfigurationBuildState buildState = createBuildState("parallelBuilderTests");
+		buildState.setSignatureForFullPath(output, "stale");
+
+		IProgressMonitor monitor = new NullProgressMonitor();
+		TestProcessManager mgr = new TestProcessManager(1) {
+			@Override
+			public ProcessLauncher launchProcess(IBuildCommand cmd, IPath cwd, IProgressMonitor m) {
+				monitor.setCanceled(true);
+				return super.launchProcess(cmd, cwd, m);
+			}
+		};
+		TestBuilder builder = new TestBuilder(graph, buildState, false, monitor);
+		assertEquals(ParallelBuilder.STATUS_CANCELED, builder.dispatchWithTimeout(mgr));
+		assertEquals(Collections.singletonList("compile"), mgr.launched);
+		assertNull(buildState.getSignatureForFullPath(output));
+	}
+
+	/**
+	 * The signature recorded for a step is the one of the inputs it was launched with, such that
+	 * an input modified while the step runs makes the next build run the step again.
+	 */
+	public void testSignatureComputedAtLaunch() throws Exception {
+		File source = File.createTempFile("parallelBuilderTests", ".c");
+		try {
+			Files.write(source.toPath(), "int i;\n".getBytes(StandardCharsets.UTF_8));
+			StepGraph graph = new StepGraph();
+			IBuildStep compile = graph.step("compile");
+			graph.connect(graph.inputStep, compile);
+			graph.input(compile, source);
+			IPath output = new Path("/parallelBuilderTests/compile.o");
+			graph.output(compile, output);
+			String launchSignature = new BuildStepSignatures().compute(compile);
+			IConfigurationBuildState buildState = createBuildState("parallelBuilderTests");
+
+			TestProcessManager mgr = new TestProcessManager(1) {
+				@Override
+				public ProcessLauncher launchProcess(IBuildCommand cmd, IPath cwd, IProgressMonitor m) {
+					try {
+						Files.write(source.toPath(), "int j;\n".getBytes(StandardCharsets.UTF_8));
+					} catch (IOException e) {
+						throw new AssertionError(e);
+					}
+					return super.launchProcess(cmd, cwd, m);
+				}
+			};
+			assertEquals(ParallelBuilder.STATUS_OK,
+					new TestBuilder(graph, buildState, false).dispatchWithTimeout(mgr));
+			assertEquals(launchSignature, buildState.getSignatureForFullPath(output));
+			assertFalse(launchSignature.equals(new BuildStepSignatures().compute(compile)));
+		} finally {
+			source.delete();
+		}
+	}
+}
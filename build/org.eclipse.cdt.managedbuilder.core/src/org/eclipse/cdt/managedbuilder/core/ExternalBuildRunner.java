@@ -140,6 +140,7 @@ public class ExternalBuildRunner extends AbstractBuildRunner {
 					state = buildRunnerHelper.build(new SubProgressMonitor(monitor, TICKS_EXECUTE_COMMAND,
 							SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK));
 				} finally {
+					buildRunnerHelper.waitForParsers();
 					epm.deDuplicate();
 				}
 				buildRunnerHelper.close();
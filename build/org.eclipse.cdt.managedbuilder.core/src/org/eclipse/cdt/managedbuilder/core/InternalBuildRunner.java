@@ -156,8 +156,12 @@ public class InternalBuildRunner extends AbstractBuildRunner {
 						cBS.setState(0);
 					buildRunnerHelper.printLine(ManagedMakeMessages.getFormattedString("CommonBuilder.7", //$NON-NLS-1$
 							Integer.toString(ParallelBuilder.lastThreadsUsed)));
+					buildRunnerHelper.printLine(ManagedMakeMessages.getFormattedString("ParallelBuilder.parallelism", //$NON-NLS-1$
+							new String[] { String.format("%.2f", ParallelBuilder.lastParallelism), //$NON-NLS-1$
+									Integer.toString(ParallelBuilder.lastStepsBuilt) }));
 				}
 			} finally {
+				buildRunnerHelper.waitForParsers();
 				epm.deDuplicate();
 			}
 
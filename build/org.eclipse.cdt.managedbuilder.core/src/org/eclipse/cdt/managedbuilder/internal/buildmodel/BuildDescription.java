@@ -292,6 +292,8 @@ public class BuildDescription implements IBuildDescription {
 	//	}
 
 	private class RebuildStateSynchronizer implements IStepVisitor {
+		private final boolean fFullRebuild = fInputStep.needsRebuild();
+		private final BuildStepSignatures fSignatures = new BuildStepSignatures();
 
 		/* (non-Javadoc)
 		 * @see org.eclipse.cdt.managedbuilder.builddescription.IStepVisitor#visit(org.eclipse.cdt.managedbuilder.builddescription.IBuildStep)
@@ -372,6 +374,9 @@ public class BuildDescription implements IBuildDescription {
 					deleteResource(outRc);
 				}
 
+			} else if (rebuild && !action.needsRebuild() && isUnchanged(action)) {
+				if (DbgUtil.DEBUG)
+					DbgUtil.trace("action signature is unchanged"); //$NON-NLS-1$
 			} else if (rebuild) {
 				if (DbgUtil.DEBUG)
 					DbgUtil.trace("action needs rebuild"); //$NON-NLS-1$
@@ -392,6 +397,33 @@ public class BuildDescription implements IBuildDescription {
 
 			return VISIT_CONTINUE;
 		}
+
+		/*
+		 * Checks whether a step that would be rebuilt because some of its sources have been
+		 * touched still matches the signature recorded after its last successful run. This
+		 * only applies when none of the inputs is produced by a step rebuilt in this build,
+		 * and when the dependency calculation provided the headers.
+		 */
+		private boolean isUnchanged(BuildStep action) {
+			if (fFullRebuild || fBuildState == null || !checkFlags(BuildDescriptionManager.DEPS))
+				return false;
+
+			for (IBuildResource rc : action.getInputResources()) {
+				if (rc.isRemoved())
+					return false;
+				if (rc.needsRebuild() && rc.getProducerStep() != fInputStep)
+					return false;
+			}
+
+			IPath key = BuildStepSignatures.getKey(action);
+			if (key == null)
+				return false;
+			String signature = fBuildState.getSignatureForFullPath(key);
+			if (signature == null || !BuildStepSignatures.outputsExist(action))
+				return false;
+
+			return signature.equals(fSignatures.compute(action));
+		}
 	}
 
 	private void deleteResource(IBuildResource rc) {
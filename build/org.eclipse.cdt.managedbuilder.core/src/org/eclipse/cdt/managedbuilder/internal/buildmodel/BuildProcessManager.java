@@ -35,6 +35,8 @@ public class BuildProcessManager {
 	protected boolean show;
 	protected Vector<ProcessLauncher> processes;
 	protected int maxProcesses;
+	protected final Object completionLock = new Object();
+	protected int completions;
 
 	/**
 	 * Initializes process manager
@@ -73,7 +75,7 @@ public class BuildProcessManager {
 				ProcessLauncher process = new ProcessLauncher(cmd.getCommand(), cmd.getArgs(),
 						mapToStringArray(cmd.getEnvironment()), cwd, out, err, monitor, show);
 				processes.add(process);
-				process.launch();
+				process.launch(this::processCompleted);
 				return process;
 
 			}
@@ -81,7 +83,7 @@ public class BuildProcessManager {
 				ProcessLauncher process = new ProcessLauncher(cmd.getCommand(), cmd.getArgs(),
 						mapToStringArray(cmd.getEnvironment()), cwd, out, err, monitor, show);
 				processes.set(i, process);
-				process.launch();
+				process.launch(this::processCompleted);
 				return process;
 			}
 		}
@@ -117,6 +119,33 @@ public class BuildProcessManager {
 		return false;
 	}
 
+	/**
+	 * Waits until a process launched by this manager finishes or the timeout elapses.
+	 * Returns immediately if processes have finished since the previous call.
+	 *
+	 * @param timeout Maximum time to wait in milliseconds
+	 * @return true if one or more processes have finished
+	 */
+	public boolean waitForCompletion(long timeout) throws InterruptedException {
+		synchronized (completionLock) {
+			if (completions == 0)
+				completionLock.wait(timeout);
+			boolean completed = completions > 0;
+			completions = 0;
+			return completed;
+		}
+	}
+
+	/**
+	 * Called from the reader threads of a process when it has finished
+	 */
+	protected void processCompleted() {
+		synchronized (completionLock) {
+			completions++;
+			completionLock.notifyAll();
+		}
+	}
+
 	/**
 	 * Returns maximum threads used up to that point
 	 */
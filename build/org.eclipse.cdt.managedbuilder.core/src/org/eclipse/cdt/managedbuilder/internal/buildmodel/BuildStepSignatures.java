@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.internal.buildmodel;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildDescription;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildResource;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildStep;
+import org.eclipse.cdt.managedbuilder.core.ManagedBuilderCorePlugin;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Computes content based signatures of build steps. The signature of a step covers its
+ * command lines and the contents of its input resources, which include the headers found
+ * by the dependency calculator. The signature is computed when a step is launched and recorded
+ * once it has succeeded. A step whose signature matches the one recorded does not need to run
+ * again, even if its inputs have been touched.
+ *
+ * The digests of the file contents are cached by the instance, so an instance must not
+ * outlive the build it is used for.
+ */
+public class BuildStepSignatures {
+	private static final String ALGORITHM = "SHA-1"; //$NON-NLS-1$
+	private static final byte[] MISSING = new byte[0];
+
+	private final Map<String, byte[]> fContentDigests = new HashMap<>();
+
+	/**
+	 * Returns the full path of the resource the signature of the step is recorded for,
+	 * or <code>null</code> if the step has no output in the workspace.
+	 */
+	public static IPath getKey(IBuildStep step) {
+		for (IBuildResource rc : step.getOutputResources()) {
+			IPath fullPath = rc.getFullPath();
+			if (fullPath != null)
+				return fullPath;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns true if all outputs of the step exist
+	 */
+	public static boolean outputsExist(IBuildStep step) {
+		for (IBuildResource rc : step.getOutputResources()) {
+			IPath location = rc.getLocation();
+			if (location == null || !location.toFile().exists())
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the signature of the step, returns <code>null</code> if the step has no commands
+	 * or is the input or output step of the build description.
+	 */
+	public String compute(IBuildStep step) {
+		IBuildDescription des = step.getBuildDescription();
+		if (step == des.getInputStep() || step == des.getOutputStep())
+			return null;
+
+		IBuildCommand[] cmds = step.getCommands(des.getDefaultBuildDirLocation(), null, null, true);
+		if (cmds == null || cmds.length == 0)
+			return null;
+
+		try {
+			MessageDigest md = MessageDigest.getInstance(ALGORITHM);
+			for (IBuildCommand cmd : cmds) {
+				update(md, cmd.getCommand().toString());
+				for (String arg : cmd.getArgs()) {
+					update(md, arg);
+				}
+				md.update((byte) 0);
+			}
+
+			IBuildResource[] inputs = step.getInputResources();
+			String[] locations = new String[inputs.length];
+			for (int i = 0; i < inputs.length; i++) {
+				IPath location = inputs[i].getLocation();
+				locations[i] = location != null ? location.toString() : ""; //$NON-NLS-1$
+			}
+			Arrays.sort(locations);
+			for (String location : locations) {
+				update(md, location);
+				byte[] digest = getContentDigest(location);
+				md.update(digest == MISSING ? (byte) 0 : (byte) 1);
+				md.update(digest);
+			}
+			return toHexString(md.digest());
+		} catch (NoSuchAlgorithmException e) {
+			ManagedBuilderCorePlugin.log(e);
+		} catch (IOException e) {
+			if (DbgUtil.DEBUG)
+				DbgUtil.trace("failed to compute the signature of " + DbgUtil.stepName(step) + ": " + e); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return null;
+	}
+
+	/**
+	 * Records the signature of a step, or removes the recorded signature if <code>signature</code>
+	 * is <code>null</code>. The signature must be computed before the step is launched, an input
+	 * modified while the step runs then makes the step run again in the next build.
+	 */
+	public static void record(IResourceRebuildStateContainer container, IBuildStep step, String signature) {
+		if (!(container instanceof IConfigurationBuildState))
+			return;
+		IPath key = getKey(step);
+		if (key == null)
+			return;
+		((IConfigurationBuildState) container).setSignatureForFullPath(key, signature);
+	}
+
+	private byte[] getContentDigest(String location) throws IOException, NoSuchAlgorithmException {
+		byte[] digest = fContentDigests.get(location);
+		if (digest == null) {
+			File file = new File(location);
+			if (location.isEmpty() || !file.isFile()) {
+				digest = MISSING;
+			} else {
+				MessageDigest md = MessageDigest.getInstance(ALGORITHM);
+				byte[] buffer = new byte[8192];
+				try (InputStream in = new FileInputStream(file)) {
+					int n;
+					while ((n = in.read(buffer)) > 0) {
+						md.update(buffer, 0, n);
+					}
+				}
+				digest = md.digest();
+			}
+			fContentDigests.put(location, digest);
+		}
+		return digest;
+	}
+
+	private static void update(MessageDigest md, String str) {
+		md.update(str.getBytes(StandardCharsets.UTF_8));
+		md.update((byte) 0);
+	}
+
+	private static String toHexString(byte[] bytes) {
+		StringBuilder buf = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			buf.append(Character.forDigit((b >> 4) & 0xf, 16));
+			buf.append(Character.forDigit(b & 0xf, 16));
+		}
+		return buf.toString();
+	}
+}
@@ -33,6 +33,7 @@ public class ConfigurationBuildState implements IConfigurationBuildState {
 
 	private HashMap<Integer, Set<String>> fStateToPathListMap;
 	private Properties fPathToStateProps;
+	private Properties fPathToSignatureProps;
 	private String fCfgId;
 	private IProject fProject;
 	private int fState;
@@ -150,6 +151,40 @@ public class ConfigurationBuildState implements IConfigurationBuildState {
 		fState = 0;
 	}
 
+	@Override
+	public String getSignatureForFullPath(IPath fullPath) {
+		if (fPathToSignatureProps == null)
+			return null;
+		return fPathToSignatureProps.getProperty(fullPathToString(fullPath));
+	}
+
+	@Override
+	public void setSignatureForFullPath(IPath fullPath, String signature) {
+		String str = fullPathToString(fullPath);
+		if (signature != null) {
+			if (fPathToSignatureProps == null)
+				fPathToSignatureProps = new Properties();
+			fPathToSignatureProps.setProperty(str, signature);
+		} else if (fPathToSignatureProps != null) {
+			fPathToSignatureProps.remove(str);
+		}
+	}
+
+	public void loadSignatures(InputStream iStream) throws IOException {
+		Properties props = new Properties();
+		props.load(iStream);
+		fPathToSignatureProps = props;
+	}
+
+	public void storeSignatures(OutputStream oStream) throws IOException {
+		if (fPathToSignatureProps != null)
+			fPathToSignatureProps.store(oStream, ""); //$NON-NLS-1$
+	}
+
+	public boolean hasSignatures() {
+		return fPathToSignatureProps != null && !fPathToSignatureProps.isEmpty();
+	}
+
 	public void store(OutputStream oStream) throws IOException {
 		if (fPathToStateProps != null)
 			fPathToStateProps.store(oStream, ""); //$NON-NLS-1$
@@ -200,6 +235,9 @@ public class ConfigurationBuildState implements IConfigurationBuildState {
 	public void setState(int state) {
 		fState = state;
 		clear();
+		// Signatures stay valid across builds, unless the whole configuration needs a rebuild
+		if (state == NEED_REBUILD)
+			fPathToSignatureProps = null;
 	}
 
 	private void clear() {
@@ -54,6 +54,7 @@ public class DescriptionBuilder implements IBuildModelBuilder {
 	private int fNumCommands = -1;
 	private GenDirInfo fDir;
 	private IResourceRebuildStateContainer fRebuildStateContainer;
+	private final BuildStepSignatures fSignatures = new BuildStepSignatures();
 
 	private class BuildStepVisitor implements IStepVisitor {
 		private OutputStream fOut;
@@ -197,6 +198,7 @@ public class DescriptionBuilder implements IBuildModelBuilder {
 		StepBuilder b = fStepToStepBuilderMap.get(step);
 		if (b == null) {
 			b = new StepBuilder(step, fCWD, fResumeOnErrs, fDir, fRebuildStateContainer);
+			b.setSignatures(fSignatures);
 			fStepToStepBuilderMap.put(step, b);
 		}
 		return b;
@@ -14,9 +14,24 @@
 package org.eclipse.cdt.managedbuilder.internal.buildmodel;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
 
 public interface IConfigurationBuildState extends IResourceRebuildStateContainer {
 	String getConfigurationId();
 
 	IProject getProject();
+
+	/**
+	 * Returns the signature recorded for the build step producing the given resource,
+	 * or <code>null</code> if there is none.
+	 *
+	 * @see BuildStepSignatures
+	 */
+	String getSignatureForFullPath(IPath fullPath);
+
+	/**
+	 * Records the signature of the build step producing the given resource,
+	 * <code>null</code> removes the signature.
+	 */
+	void setSignatureForFullPath(IPath fullPath, String signature);
 }
@@ -17,12 +17,16 @@ package org.eclipse.cdt.managedbuilder.internal.buildmodel;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Vector;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
@@ -58,6 +62,8 @@ public class ParallelBuilder {
 	private static final String LINE_SEPARATOR = System.getProperty("line.separator", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
 	public static int lastThreadsUsed = 0; // use externally for report purposes only
+	public static double lastParallelism = 0; // use externally for report purposes only
+	public static int lastStepsBuilt = 0; // use externally for report purposes only
 
 	protected IPath cwd;
 	protected GenDirInfo dirs;
@@ -71,6 +77,7 @@ public class ParallelBuilder {
 	protected LinkedList<BuildQueueElement> queue = new LinkedList<>();
 	private IResourceRebuildStateContainer fRebuildStateContainer;
 	private IBuildDescription fDes;
+	private final BuildStepSignatures fSignatures = new BuildStepSignatures();
 
 	/**
 	 * This class implements queue element
@@ -78,6 +85,12 @@ public class ParallelBuilder {
 	protected class BuildQueueElement implements Comparable<BuildQueueElement> {
 		protected IBuildStep step;
 		protected int level;
+		/** Number of steps on the longest chain of queued steps starting with this one */
+		protected int priority;
+		/** Number of queued steps producing inputs of this one that are not built yet */
+		protected int pending;
+		protected boolean started;
+		protected List<BuildQueueElement> dependents = new ArrayList<>(2);
 
 		public BuildQueueElement(IBuildStep _step, int _level) {
 			step = _step;
@@ -96,6 +109,10 @@ public class ParallelBuilder {
 			level = _level;
 		}
 
+		public int getPriority() {
+			return priority;
+		}
+
 		@Override
 		public int hashCode() {
 			return step.hashCode();
@@ -106,6 +123,11 @@ public class ParallelBuilder {
 			if (elem == null)
 				throw new NullPointerException();
 
+			// Steps on the critical path go first
+			if (elem.getPriority() > priority)
+				return 1;
+			if (elem.getPriority() < priority)
+				return -1;
 			if (elem.getLevel() > level)
 				return -1;
 			if (elem.getLevel() < level)
@@ -127,7 +149,7 @@ public class ParallelBuilder {
 
 		@Override
 		public String toString() {
-			return "[BuildQueueElement] " + DbgUtil.stepName(step) + " @ " + level; //$NON-NLS-1$ //$NON-NLS-2$
+			return "[BuildQueueElement] " + DbgUtil.stepName(step) + " @ " + level + " priority " + priority; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		}
 	}
 
@@ -138,13 +160,24 @@ public class ParallelBuilder {
 		protected IPath stepCwd;
 		protected GenDirInfo stepDirs;
 		protected IBuildStep step;
+		protected BuildQueueElement element;
 		protected IBuildCommand[] cmds;
 		protected int activeCmd;
 		protected boolean done;
+		protected boolean failed;
 		protected ProcessLauncher launcher;
+		protected long startTime;
+		/** Signature of the step computed when it was launched */
+		protected String signature;
+
+		public ActiveBuildStep(BuildQueueElement _element) {
+			this(_element.getStep());
+			element = _element;
+		}
 
 		public ActiveBuildStep(IBuildStep _step) {
 			step = _step;
+			startTime = System.nanoTime();
 
 			if (dirs == null)
 				stepDirs = new GenDirInfo(step.getBuildDescription().getConfiguration());
@@ -190,6 +223,13 @@ public class ParallelBuilder {
 			return launcher;
 		}
 
+		/**
+		 * Returns the time in nanoseconds since the step was started
+		 */
+		public long getElapsedTime() {
+			return System.nanoTime() - startTime;
+		}
+
 		protected void createOutDirs() {
 			IBuildResource rcs[] = step.getOutputResources();
 
@@ -427,9 +467,64 @@ public class ParallelBuilder {
 		queueHash.clear();
 		queueHash = null;
 
+		computeDependencies();
 		Collections.sort(queue);
 	}
 
+	/**
+	 * Links each queued element with the queued elements producing its inputs and
+	 * calculates the critical path priorities.
+	 */
+	protected void computeDependencies() {
+		Map<IBuildStep, BuildQueueElement> elements = new HashMap<>();
+		for (BuildQueueElement elem : queue) {
+			elements.put(elem.getStep(), elem);
+		}
+		for (BuildQueueElement elem : queue) {
+			Set<BuildQueueElement> prereqs = new HashSet<>();
+			collectPrerequisites(elem.getStep(), elements, prereqs, new HashSet<IBuildStep>());
+			prereqs.remove(elem);
+			elem.pending = prereqs.size();
+			for (BuildQueueElement prereq : prereqs) {
+				prereq.dependents.add(elem);
+			}
+		}
+		for (BuildQueueElement elem : queue) {
+			computePriority(elem);
+		}
+	}
+
+	/**
+	 * Collects the queued steps producing the inputs of the given step. Producers that
+	 * are not queued are looked through, since they are built already.
+	 */
+	private void collectPrerequisites(IBuildStep step, Map<IBuildStep, BuildQueueElement> elements,
+			Set<BuildQueueElement> prereqs, Set<IBuildStep> visited) {
+		for (IBuildResource bldRes : step.getInputResources()) {
+			IBuildStep producer = bldRes.getProducerStep();
+			if (producer == null || producer == producer.getBuildDescription().getInputStep()
+					|| !visited.add(producer))
+				continue;
+			BuildQueueElement prereq = elements.get(producer);
+			if (prereq != null)
+				prereqs.add(prereq);
+			else
+				collectPrerequisites(producer, elements, prereqs, visited);
+		}
+	}
+
+	private int computePriority(BuildQueueElement elem) {
+		if (elem.priority != 0) // calculated already, -1 for a dependency cycle
+			return Math.max(elem.priority, 0);
+		elem.priority = -1;
+		int priority = 0;
+		for (BuildQueueElement dependent : elem.dependents) {
+			priority = Math.max(priority, computePriority(dependent));
+		}
+		elem.priority = priority + 1;
+		return elem.priority;
+	}
+
 	/**
 	 * Enqueues build steps directly accessed from the given one. Each
 	 * new element will have level 1 if it needs rebuild and 0 otherwise.
@@ -468,14 +563,23 @@ public class ParallelBuilder {
 	}
 
 	/**
-	 * Dispatches the build queue and returns build status
+	 * Dispatches the build queue and returns build status. A step is started as soon as the
+	 * steps producing its inputs are built, the ones with the longest chain of dependent steps
+	 * first. When there is nothing to do the loop waits for a build process to finish.
 	 */
 	protected int dispatch(BuildProcessManager mgr) {
 		int maxProcesses = mgr.getMaxProcesses();
-		Vector<ActiveBuildStep> active = new Vector<>(Math.min(maxProcesses, 10), 10);
+		List<ActiveBuildStep> active = new ArrayList<>(maxProcesses);
+		PriorityQueue<BuildQueueElement> ready = new PriorityQueue<>();
+		for (BuildQueueElement elem : queue) {
+			if (elem.pending == 0)
+				ready.add(elem);
+		}
 
-		int activeCount = 0;
-		int maxLevel = 0;
+		int waiting = queue.size();
+		long buildStart = System.nanoTime();
+		long stepTime = 0;
+		int stepCount = 0;
 		int status = STATUS_OK;
 		String errorMsg = null;
 
@@ -498,136 +602,129 @@ public class ParallelBuilder {
 				break main_loop;
 			}
 			// Everything goes OK.
-			boolean proceed = true;
-
-			// Check if there is room for new process
-			if (!mgr.hasEmpty()) {
-				proceed = false;
-			} else {
-				// Check "active steps" list for completed ones
-				for (ActiveBuildStep buildStep : active) {
-					ProcessLauncher pl = buildStep.getLauncher();
-					if (pl == null)
-						continue;
-					if (pl.queryState() == ProcessLauncher.STATE_DONE) {
-						// If process has terminated with error, break loop
-						// (except resumeOnErrors == true)
-
-						if (!resumeOnErrors && pl.getExitCode() != 0) {
-							status = STATUS_ERROR;
-							break main_loop;
-						}
-						// Try to launch next command for the current active step
-						if (buildStep.isDone())
-							continue;
-						if (buildStep.launchNextCmd(mgr)) {
-							// Command has been launched. Check if process pool is not maximized yet
-							if (!mgr.hasEmpty()) {
-								proceed = false;
-								break;
-							}
-						} else {
-							// Command has not been launched: step complete
-							refreshOutputs(buildStep.getStep());
-							activeCount--;
-							monitor.worked(1);
-						}
+			boolean proceeded = false;
+
+			// Check "active steps" list for completed ones
+			for (Iterator<ActiveBuildStep> iter = active.iterator(); iter.hasNext();) {
+				ActiveBuildStep buildStep = iter.next();
+				ProcessLauncher pl = buildStep.getLauncher();
+				if (pl.queryState() != ProcessLauncher.STATE_DONE)
+					continue;
+				// If process has terminated with error, break loop
+				// (except resumeOnErrors == true)
+				if (pl.getExitCode() != 0) {
+					buildStep.failed = true;
+					if (!resumeOnErrors) {
+						status = STATUS_ERROR;
+						break main_loop;
 					}
 				}
-			}
-
-			// If nothing to do, then sleep and continue main loop
-			if (!proceed) {
-				try {
-					Thread.sleep(MAIN_LOOP_DELAY);
-				} catch (InterruptedException e) {
-					// do nothing
+				proceeded = true;
+				// Try to launch next command for the current active step
+				if (!buildStep.launchNextCmd(mgr)) {
+					// Command has not been launched: step complete
+					iter.remove();
+					refreshOutputs(buildStep.getStep());
+					recordSignature(buildStep);
+					monitor.worked(1);
+					stepTime += buildStep.getElapsedTime();
+					stepCount++;
+					releaseDependents(buildStep.element, ready);
 				}
-				continue main_loop;
 			}
 
-			// Check if we need to schedule another process
-			if (queue.size() != 0 && activeCount < maxProcesses) {
-				// Need to schedule another process
-				Iterator<BuildQueueElement> iter = queue.iterator();
-
-				// Iterate over build queue
-				while (iter.hasNext()) {
-					BuildQueueElement elem = iter.next();
+			// Start the steps that can be built while there is room for new processes
+			while (!ready.isEmpty() && active.size() < maxProcesses && mgr.hasEmpty()) {
+				BuildQueueElement elem = ready.poll();
+				elem.started = true;
+				waiting--;
+				proceeded = true;
+				clearSignature(elem.getStep());
+				ActiveBuildStep buildStep = new ActiveBuildStep(elem);
+				buildStep.signature = computeSignature(elem.getStep());
+				if (buildStep.launchNextCmd(mgr))
+					active.add(buildStep);
+				else
+					// Step without commands
+					releaseDependents(elem, ready);
+			}
 
-					// If "active steps" list reaches maximum, then break loop
-					if (activeCount == maxProcesses)
-						break;
+			// Now finally, check if we're done
+			if (active.isEmpty() && waiting == 0)
+				break main_loop;
 
-					// If current element's level exceeds maximum level of currently built
-					// resources, then stop iteration (we can not build it anyway)
-					if (elem.getLevel() > maxLevel + 1)
+			if (active.isEmpty() && ready.isEmpty()) {
+				// The remaining steps depend on each other, start them in queue order
+				for (BuildQueueElement elem : queue) {
+					if (!elem.started) {
+						elem.pending = 0;
+						ready.add(elem);
 						break;
-
-					//Check if all prerequisites are built
-					boolean prereqBuilt = true;
-					for (IBuildResource bldRes : elem.getStep().getInputResources()) {
-						IBuildStep step = bldRes.getProducerStep(); // step which produces input for curr
-						boolean built = true;
-						if (step != step.getBuildDescription().getInputStep()) {
-							for (ActiveBuildStep buildStep : active) {
-								if (buildStep != null && buildStep.getStep().equals(step) && !buildStep.isDone()) {
-									built = false;
-									break;
-								}
-							}
-						}
-						if (!built) {
-							prereqBuilt = false;
-							break;
-						}
-					}
-
-					if (prereqBuilt) {
-						// All prereqs are built
-						IBuildStep step = elem.getStep();
-
-						// Remove element from the build queue and add it to the
-						// "active steps" list.
-						iter.remove();
-						for (int i = 0; i < maxProcesses; i++) {
-							if (i >= active.size()) {
-								// add new item
-								ActiveBuildStep buildStep = new ActiveBuildStep(step);
-								active.add(buildStep);
-								if (buildStep.launchNextCmd(mgr))
-									activeCount++;
-								break;
-							}
-							if (active.get(i).isDone()) {
-								// replace old item
-								ActiveBuildStep buildStep = new ActiveBuildStep(step);
-								active.set(i, buildStep);
-								if (buildStep.launchNextCmd(mgr))
-									activeCount++;
-								break;
-							}
-						}
-
-						// Update maxLevel
-						if (elem.getLevel() > maxLevel)
-							maxLevel = elem.getLevel();
-						// We don't need to start new process immediately since
-						// it will be done on the next main loop iteration
 					}
 				}
+				continue main_loop;
 			}
 
-			// Now finally, check if we're done
-			if (activeCount <= 0 && queue.size() == 0)
-				break main_loop;
+			// If nothing to do, then wait for a build process to finish and continue main loop
+			if (!proceeded) {
+				try {
+					mgr.waitForCompletion(MAIN_LOOP_DELAY);
+				} catch (InterruptedException e) {
+					// do nothing
+				}
+			}
 		}
 
+		long buildTime = System.nanoTime() - buildStart;
+		lastParallelism = buildTime > 0 ? (double) stepTime / buildTime : 0;
+		lastStepsBuilt = stepCount;
+
 		if (status != STATUS_OK && errorMsg != null)
 			printMessage(errorMsg, out);
 		return status;
 	}
 
+	/**
+	 * Removes the signature of a step that is about to run. It is recorded again once the
+	 * step has succeeded, such that a step that fails, is cancelled or is still running when
+	 * the build stops is not skipped by the next build.
+	 */
+	protected void clearSignature(IBuildStep step) {
+		if (fRebuildStateContainer != null)
+			BuildStepSignatures.record(fRebuildStateContainer, step, null);
+	}
+
+	/**
+	 * Computes the signature of a step that is about to run, from the inputs it is going
+	 * to read. Returns <code>null</code> if no signatures are recorded for the build.
+	 */
+	protected String computeSignature(IBuildStep step) {
+		if (fRebuildStateContainer == null || BuildStepSignatures.getKey(step) == null)
+			return null;
+		return fSignatures.compute(step);
+	}
+
+	/**
+	 * Records the signature computed when a step was launched once the step has run
+	 * successfully, so that it can be skipped by later builds if its inputs did not change
+	 */
+	protected void recordSignature(ActiveBuildStep buildStep) {
+		if (fRebuildStateContainer != null && buildStep.signature != null && !buildStep.failed
+				&& !monitor.isCanceled())
+			BuildStepSignatures.record(fRebuildStateContainer, buildStep.getStep(), buildStep.signature);
+	}
+
+	/**
+	 * Notifies the steps depending on a built step, the ones that have all their
+	 * prerequisites built are added to the ready queue
+	 */
+	private void releaseDependents(BuildQueueElement elem, PriorityQueue<BuildQueueElement> ready) {
+		for (BuildQueueElement dependent : elem.dependents) {
+			if (--dependent.pending == 0 && !dependent.started)
+				ready.add(dependent);
+		}
+	}
+
 	/**
 	 * Prints output to the console
 	 */
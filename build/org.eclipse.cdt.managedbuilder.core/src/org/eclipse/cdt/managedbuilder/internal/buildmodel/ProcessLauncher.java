@@ -47,6 +47,7 @@ public class ProcessLauncher {
 	protected Process process;
 	protected ProcessClosure closure = null;
 	protected int state;
+	protected volatile boolean finished;
 
 	/**
 	 * Returns command line as a string array
@@ -96,7 +97,7 @@ public class ProcessLauncher {
 	 * Returns exit code of a process
 	 */
 	public int getExitCode() {
-		if (process == null || closure.isAlive())
+		if (process == null || !finished && closure.isAlive())
 			return 0;
 		try {
 			return process.waitFor();
@@ -133,6 +134,16 @@ public class ProcessLauncher {
 	 * Launches a process
 	 */
 	public void launch() {
+		launch(null);
+	}
+
+	/**
+	 * Launches a process, the given callback is run from another thread as soon as
+	 * the process has finished and its output has been read.
+	 *
+	 * @param onCompletion Callback to notify, may be <code>null</code>
+	 */
+	public void launch(Runnable onCompletion) {
 		try {
 			if (show)
 				printCommandLine();
@@ -145,7 +156,11 @@ public class ProcessLauncher {
 			} catch (IOException e) {
 				// do nothing
 			}
-			closure.runNonBlocking();
+			closure.runNonBlocking(() -> {
+				finished = true;
+				if (onCompletion != null)
+					onCompletion.run();
+			});
 		} catch (IOException e) {
 			error = e.getMessage();
 			closure = null;
@@ -163,7 +178,7 @@ public class ProcessLauncher {
 				closure.terminate();
 				error = CCorePlugin.getResourceString("CommandLauncher.error.commandCanceled"); //$NON-NLS-1$
 				state = STATE_CANCELED;
-			} else if (!closure.isRunning()) {
+			} else if (finished || !closure.isRunning()) {
 				state = STATE_DONE;
 			}
 		}
@@ -34,6 +34,8 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IPath;
 
 public class ProjectBuildState implements IProjectBuildState {
+	private static final String SIGNATURES_FILE_SUFFIX = ".sig"; //$NON-NLS-1$
+
 	private Properties fCfgIdToFileNameProps;
 	private Map<String, ConfigurationBuildState> fCfgIdToStateMap = new HashMap<>();
 	private IProject fProject;
@@ -77,10 +79,23 @@ public class ProjectBuildState implements IProjectBuildState {
 			} catch (IOException e) {
 				ManagedBuilderCorePlugin.log(e);
 			}
+
+			File sigFile = getSignaturesFile(file);
+			if (sigFile.exists()) {
+				try (InputStream iStream = new FileInputStream(sigFile)) {
+					bs.loadSignatures(iStream);
+				} catch (IOException e) {
+					ManagedBuilderCorePlugin.log(e);
+				}
+			}
 		}
 		return bs;
 	}
 
+	private File getSignaturesFile(File stateFile) {
+		return new File(stateFile.getParentFile(), stateFile.getName() + SIGNATURES_FILE_SUFFIX);
+	}
+
 	@Override
 	public IConfigurationBuildState[] getConfigurationBuildStates() {
 		Properties props = getIdToNameProperties();
@@ -208,6 +223,7 @@ public class ProjectBuildState implements IProjectBuildState {
 				File file = getFileForCfg(id, false);
 				if (file != null && file.exists()) {
 					file.delete();
+					getSignaturesFile(file).delete();
 					getFileName(id, OP_REMOVE);
 				}
 			} else {
@@ -225,6 +241,17 @@ public class ProjectBuildState implements IProjectBuildState {
 				} catch (IOException e) {
 					ManagedBuilderCorePlugin.log(e);
 				}
+
+				File sigFile = getSignaturesFile(file);
+				if (s.hasSignatures()) {
+					try (OutputStream oStream = new FileOutputStream(sigFile)) {
+						s.storeSignatures(oStream);
+					} catch (IOException e) {
+						ManagedBuilderCorePlugin.log(e);
+					}
+				} else if (sigFile.exists()) {
+					sigFile.delete();
+				}
 			}
 		}
 
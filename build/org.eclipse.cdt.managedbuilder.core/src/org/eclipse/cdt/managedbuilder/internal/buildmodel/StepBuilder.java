@@ -50,6 +50,8 @@ public class StepBuilder implements IBuildModelBuilder {
 	private int fNumCommands = -1;
 	private CommandBuilder fCommandBuilders[];
 	private IResourceRebuildStateContainer fRebuildStateContainer;
+	private BuildStepSignatures fSignatures;
+	private String fSignature;
 
 	public StepBuilder(IBuildStep step, IResourceRebuildStateContainer rs) {
 		this(step, null, rs);
@@ -75,6 +77,13 @@ public class StepBuilder implements IBuildModelBuilder {
 		fRebuildStateContainer = rs;
 	}
 
+	/**
+	 * Sets the signature calculator shared by the steps of a build
+	 */
+	void setSignatures(BuildStepSignatures signatures) {
+		fSignatures = signatures;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.cdt.managedbuilder.internal.builddescription.IBuildDescriptionBuilder#build(java.io.OutputStream, java.io.OutputStream, org.eclipse.core.runtime.IProgressMonitor)
 	 */
@@ -89,6 +98,7 @@ public class StepBuilder implements IBuildModelBuilder {
 		if (bs.length > 0) {
 			//TODO: monitor
 			createOutDirs(new NullProgressMonitor());
+			computeSignature();
 
 			for (int i = 0; i < bs.length && status != STATUS_CANCELLED
 					&& (fResumeOnErrs || status == STATUS_OK); i++) {
@@ -119,6 +129,7 @@ public class StepBuilder implements IBuildModelBuilder {
 		if (status != STATUS_ERROR_LAUNCH) {
 			refreshOutputs(monitor);
 		}
+		recordSignature(status == STATUS_OK);
 		switch (status) {
 		case STATUS_OK:
 			clearRebuildState();
@@ -133,6 +144,28 @@ public class StepBuilder implements IBuildModelBuilder {
 		return status;
 	}
 
+	/**
+	 * Computes the signature of the step before its commands run and removes the one
+	 * recorded by the last build, it is recorded again once the step has succeeded
+	 */
+	private void computeSignature() {
+		fSignature = null;
+		if (fRebuildStateContainer == null || BuildStepSignatures.getKey(fStep) == null)
+			return;
+
+		if (fSignatures == null)
+			fSignatures = new BuildStepSignatures();
+		BuildStepSignatures.record(fRebuildStateContainer, fStep, null);
+		fSignature = fSignatures.compute(fStep);
+	}
+
+	private void recordSignature(boolean succeeded) {
+		if (fRebuildStateContainer == null)
+			return;
+
+		BuildStepSignatures.record(fRebuildStateContainer, fStep, succeeded ? fSignature : null);
+	}
+
 	private void clearRebuildState() {
 		if (fRebuildStateContainer == null)
 			return;
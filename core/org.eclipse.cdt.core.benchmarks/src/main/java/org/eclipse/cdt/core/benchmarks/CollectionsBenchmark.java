@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.Keywords;
+import org.eclipse.cdt.core.parser.util.CharArrayIntMap;
+import org.eclipse.cdt.core.parser.util.ObjectMap;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILexerLog;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.util.CompactCharArrayIntMap;
+import org.eclipse.cdt.internal.core.parser.util.CompactLongObjectMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the collections of {@code org.eclipse.cdt.core.parser.util} with the compact
+ * replacements used on the hot paths of the parser:
+ * <ul>
+ * <li>the keyword lookup the preprocessor performs for every identifier of the corpus, and
+ * <li>building and querying the maps of template parameter ids to template arguments.
+ * </ul>
+ * Run with {@code -prof gc} to compare the allocation rates of the variants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionsBenchmark {
+	private static final int PARAMETER_MAPS = 1000;
+
+	@Param
+	public Corpus corpus;
+
+	/** Number of entries of the template parameter maps. */
+	@Param({ "2", "8" })
+	public int parameters;
+
+	private char[][] fIdentifiers;
+	private CharArrayIntMap fLegacyKeywords;
+	private CompactCharArrayIntMap fCompactKeywords;
+	private int[] fParameterIds;
+
+	@Setup
+	public void setup() throws Exception {
+		List<char[]> identifiers = new ArrayList<>();
+		Lexer lexer = new Lexer(new CharArray(corpus.getCode()), new LexerOptions(), ILexerLog.NULL, null);
+		for (IToken t = lexer.nextToken(); t.getType() != IToken.tEND_OF_INPUT; t = lexer.nextToken()) {
+			if (t.getType() == IToken.tIDENTIFIER) {
+				identifiers.add(t.getCharImage());
+			}
+		}
+		fIdentifiers = identifiers.toArray(new char[identifiers.size()][]);
+
+		fLegacyKeywords = new CharArrayIntMap(40, -1);
+		if (corpus.isCPP()) {
+			Keywords.addKeywordsCpp(fLegacyKeywords);
+		} else {
+			Keywords.addKeywordsC(fLegacyKeywords);
+		}
+		fCompactKeywords = new CompactCharArrayIntMap(fLegacyKeywords);
+
+		// Parameter ids as computed by the template parameters: nesting level and position.
+		fParameterIds = new int[parameters];
+		for (int i = 0; i < parameters; i++) {
+			fParameterIds[i] = ((i & 1) << 16) + i;
+		}
+	}
+
+	@Benchmark
+	public int keywordsLegacy() {
+		int sum = 0;
+		for (char[] identifier : fIdentifiers) {
+			sum += fLegacyKeywords.get(identifier);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int keywordsCompact() {
+		int sum = 0;
+		for (char[] identifier : fIdentifiers) {
+			sum += fCompactKeywords.get(identifier);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int parameterMapLegacy() {
+		int found = 0;
+		for (int m = 0; m < PARAMETER_MAPS; m++) {
+			ObjectMap map = new ObjectMap(parameters);
+			for (int id : fParameterIds) {
+				map.put(id, fIdentifiers);
+			}
+			for (int id : fParameterIds) {
+				if (map.get(id) != null)
+					found++;
+			}
+		}
+		return found;
+	}
+
+	@Benchmark
+	public int parameterMapCompact() {
+		int found = 0;
+		for (int m = 0; m < PARAMETER_MAPS; m++) {
+			CompactLongObjectMap<Object> map = new CompactLongObjectMap<>(parameters);
+			for (int id : fParameterIds) {
+				map.put(id, fIdentifiers);
+			}
+			for (int id : fParameterIds) {
+				if (map.get(id) != null)
+					found++;
+			}
+		}
+		return found;
+	}
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.gnu.c.GCCLanguage;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.dom.parser.AbstractCLikeLanguage;
+import org.eclipse.cdt.core.dom.parser.IScannerExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.c.GCCScannerExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Representative inputs for the benchmarks. The code is generated, such that the benchmarks
+ * do not depend on files outside of this module and the inputs are the same for every run.
+ */
+public enum Corpus {
+	/**
+	 * C++ code with class templates, partial specializations, function templates and
+	 * their instantiations.
+	 */
+	TEMPLATE_HEAVY(true) {
+		@Override
+		protected void generate(StringBuilder buf) {
+			buf.append("template<typename T, typename U> struct pair { T first; U second; };\n");
+			buf.append("template<typename T> struct remove_ptr { typedef T type; };\n");
+			buf.append("template<typename T> struct remove_ptr<T*> { typedef T type; };\n");
+			buf.append("template<bool B, typename T = void> struct enable_if {};\n");
+			buf.append("template<typename T> struct enable_if<true, T> { typedef T type; };\n");
+			for (int i = 0; i < 400; i++) {
+				buf.append("template<typename T> struct box").append(i).append(" {\n");
+				buf.append("  typedef typename remove_ptr<T>::type value_type;\n");
+				buf.append("  value_type value;\n");
+				buf.append("  template<typename U> pair<value_type, U> combine(const U& u) const {\n");
+				buf.append("    pair<value_type, U> p; p.first = value; p.second = u; return p;\n");
+				buf.append("  }\n");
+				buf.append("};\n");
+				buf.append("template<typename T> typename enable_if<sizeof(T) != 0, box").append(i)
+						.append("<T*> >::type make").append(i).append("(T* t);\n");
+				buf.append("inline int use").append(i).append("(box").append(i).append("<int*> b) {\n");
+				buf.append("  pair<int, double> p = b.combine(").append(i).append(".0);\n");
+				buf.append("  return p.first + static_cast<int>(p.second);\n");
+				buf.append("}\n");
+			}
+		}
+	},
+
+	/**
+	 * C code with many object-like and function-like macros, nested expansions and
+	 * conditional compilation.
+	 */
+	MACRO_HEAVY(false) {
+		@Override
+		protected void generate(StringBuilder buf) {
+			buf.append("#define CAT_(a, b) a ## b\n");
+			buf.append("#define CAT(a, b) CAT_(a, b)\n");
+			buf.append("#define STR_(a) #a\n");
+			buf.append("#define STR(a) STR_(a)\n");
+			buf.append("#define MAX(a, b) ((a) > (b) ? (a) : (b))\n");
+			buf.append("#define FIELD(type, name) type name;\n");
+			buf.append("#define ACCESSOR(s, name) static int CAT(get_, name)(struct s* p) { return p->name; }\n");
+			for (int i = 0; i < 600; i++) {
+				buf.append("#define VALUE_").append(i).append(" MAX(").append(i).append(", VALUE_BASE + ")
+						.append(i % 7).append(")\n");
+				buf.append("#if ").append(i).append(" % 3 == 0\n");
+				buf.append("#define VALUE_BASE 1\n");
+				buf.append("#elif defined(VALUE_BASE)\n");
+				buf.append("#undef VALUE_BASE\n#define VALUE_BASE 2\n");
+				buf.append("#else\n#define VALUE_BASE 3\n#endif\n");
+				buf.append("struct s").append(i).append(" { FIELD(int, a").append(i).append(") FIELD(long, b")
+						.append(i).append(") };\n");
+				buf.append("ACCESSOR(s").append(i).append(", a").append(i).append(")\n");
+				buf.append("static const char* CAT(name_, ").append(i).append(") = STR(VALUE_").append(i)
+						.append(");\n");
+				buf.append("int CAT(value_, ").append(i).append(")(void) { return VALUE_").append(i).append("; }\n");
+			}
+		}
+	},
+
+	/**
+	 * A large generated header as produced by register description or interface generators:
+	 * many macros, enumerators, structs and declarations, few nested constructs.
+	 */
+	GENERATED_HEADER(false) {
+		@Override
+		protected void generate(StringBuilder buf) {
+			buf.append("#ifndef GENERATED_H\n#define GENERATED_H\n");
+			for (int i = 0; i < 5000; i++) {
+				buf.append("/* Register ").append(i).append(" */\n");
+				buf.append("#define REG").append(i).append("_ADDR 0x").append(Integer.toHexString(0x40000000 + 4 * i))
+						.append("u\n");
+				buf.append("#define REG").append(i).append(" (*(volatile unsigned int*) REG").append(i)
+						.append("_ADDR)\n");
+				buf.append("enum reg").append(i).append("_fields { REG").append(i).append("_EN = 1 << 0, REG")
+						.append(i).append("_MODE = 3 << 1 };\n");
+				buf.append("typedef struct { unsigned int en : 1; unsigned int mode : 2; } reg").append(i)
+						.append("_t;\n");
+				buf.append("extern reg").append(i).append("_t* reg").append(i).append("_get(void);\n");
+			}
+			buf.append("#endif\n");
+		}
+	};
+
+	private final boolean fIsCPP;
+	private char[] fCode;
+
+	private Corpus(boolean isCPP) {
+		fIsCPP = isCPP;
+	}
+
+	protected abstract void generate(StringBuilder buf);
+
+	/**
+	 * Returns the code of this corpus.
+	 */
+	public synchronized char[] getCode() {
+		if (fCode == null) {
+			StringBuilder buf = new StringBuilder();
+			generate(buf);
+			fCode = buf.toString().toCharArray();
+		}
+		return fCode;
+	}
+
+	public boolean isCPP() {
+		return fIsCPP;
+	}
+
+	public ParserLanguage getParserLanguage() {
+		return fIsCPP ? ParserLanguage.CPP : ParserLanguage.C;
+	}
+
+	public IScannerExtensionConfiguration getScannerExtensionConfiguration() {
+		return fIsCPP ? GPPScannerExtensionConfiguration.getInstance() : GCCScannerExtensionConfiguration.getInstance();
+	}
+
+	/**
+	 * Creates the file content for parsing this corpus.
+	 */
+	public FileContent createFileContent() {
+		return FileContent.create(fIsCPP ? "corpus.cpp" : "corpus.c", getCode()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Parses this corpus without an index and without include files.
+	 */
+	public IASTTranslationUnit parse() throws CoreException {
+		AbstractCLikeLanguage language = fIsCPP ? GPPLanguage.getDefault() : GCCLanguage.getDefault();
+		return language.getASTTranslationUnit(createFileContent(), new ScannerInfo(),
+				IncludeFileContentProvider.getEmptyFilesProvider(), null, 0, new NullLogService());
+	}
+}
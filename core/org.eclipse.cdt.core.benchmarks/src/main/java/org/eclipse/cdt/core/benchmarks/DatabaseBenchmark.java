@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading and writing the chunks of a {@link Database} through the file channel and
+ * through memory-mapped regions. The chunk cache is much smaller than the database, such that
+ * most accesses read a chunk from the file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatabaseBenchmark {
+	private static final int RECORDS = 16 * 1024; // One record per chunk, 64 MB with the default layout.
+	private static final long CACHE_SIZE = 256 * Database.CHUNK_SIZE;
+
+	private static Database createDatabase(File file, boolean memoryMapped, long[] records) throws Exception {
+		Database db = new Database(file, new ChunkCache(CACHE_SIZE), 0, false, memoryMapped);
+		db.setExclusiveLock();
+		for (int i = 0; i < records.length; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putLong(records[i], i);
+		}
+		db.flush();
+		return db;
+	}
+
+	private static void closeDatabase(Database db) throws Exception {
+		db.setExclusiveLock();
+		db.close();
+		db.getLocation().delete();
+	}
+
+	/**
+	 * A database shared by all reading threads.
+	 */
+	@State(Scope.Benchmark)
+	public static class ReadState {
+		@Param({ "false", "true" })
+		public boolean memoryMapped;
+
+		Database fDatabase;
+		final long[] fRecords = new long[RECORDS];
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			fDatabase = createDatabase(File.createTempFile("read", ".pdom"), memoryMapped, fRecords); //$NON-NLS-1$ //$NON-NLS-2$
+			fDatabase.giveUpExclusiveLock(true);
+			fDatabase.setLocked(true);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws Exception {
+			closeDatabase(fDatabase);
+		}
+	}
+
+	/**
+	 * A database owned by a single writing thread.
+	 */
+	@State(Scope.Thread)
+	public static class WriteState {
+		@Param({ "false", "true" })
+		public boolean memoryMapped;
+
+		Database fDatabase;
+		final long[] fRecords = new long[RECORDS];
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			fDatabase = createDatabase(File.createTempFile("write", ".pdom"), memoryMapped, fRecords); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws Exception {
+			closeDatabase(fDatabase);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Accesses {
+		final Random fRandom = new Random(17);
+	}
+
+	private static long readRandomRecord(ReadState state, Accesses accesses) throws Exception {
+		int i = accesses.fRandom.nextInt(RECORDS);
+		return state.fDatabase.getLong(state.fRecords[i]);
+	}
+
+	@Benchmark
+	public long randomReads(ReadState state, Accesses accesses) throws Exception {
+		return readRandomRecord(state, accesses);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public long concurrentRandomReads(ReadState state, Accesses accesses) throws Exception {
+		return readRandomRecord(state, accesses);
+	}
+
+	/**
+	 * Modifies a batch of records in different chunks and writes the chunks to the file.
+	 */
+	@Benchmark
+	public void randomWrites(WriteState state, Accesses accesses) throws Exception {
+		for (int j = 0; j < 64; j++) {
+			int i = accesses.fRandom.nextInt(RECORDS);
+			state.fDatabase.putLong(state.fRecords[i], j);
+		}
+		state.fDatabase.flush();
+	}
+}
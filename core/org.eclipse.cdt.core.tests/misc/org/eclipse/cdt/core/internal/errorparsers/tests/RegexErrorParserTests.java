@@ -256,6 +256,41 @@ public class RegexErrorParserTests extends TestCase {
 		}
 	}
 
+	/**
+	 * Make sure lines are matched the same way when the parser combines its patterns.
+	 *
+	 * @throws Exception...
+	 */
+	public void testRegexErrorParserCombinedPatterns() throws Exception {
+		final int ERR = IMarkerGenerator.SEVERITY_ERROR_RESOURCE;
+		RegexErrorParser regexErrorParser = new RegexErrorParser();
+		RegexErrorPattern modifiable = new RegexErrorPattern("AAA", null, null, null, null, ERR, true);
+		regexErrorParser.addPattern(modifiable);
+		regexErrorParser.addPattern(new RegexErrorPattern("(?i)bbb (.*)", null, null, "$1", null, ERR, true));
+
+		errorList.clear();
+		ErrorParserManager epManager = new ErrorParserManager(fProject, markerGenerator, new String[0]);
+
+		assertTrue(regexErrorParser.processLine("AAA", epManager));
+		assertTrue(regexErrorParser.processLine("BBB description", epManager));
+		assertFalse(regexErrorParser.processLine("aaa", epManager));
+		assertFalse(regexErrorParser.processLine("CCC", epManager));
+		assertEquals(2, errorList.size());
+		assertEquals("description", errorList.get(1).description);
+
+		// Patterns can be modified after the parser was used
+		modifiable.setPattern("CCC");
+		assertFalse(regexErrorParser.processLine("AAA", epManager));
+		assertTrue(regexErrorParser.processLine("CCC", epManager));
+
+		// Back references of a pattern refer to its own groups
+		regexErrorParser.addPattern(new RegexErrorPattern("(x+)-\\1", null, null, "$1", null, ERR, true));
+		assertTrue(regexErrorParser.processLine("xx-xx", epManager));
+		assertFalse(regexErrorParser.processLine("xx-x", epManager));
+		assertEquals(4, errorList.size());
+		assertEquals("xx", errorList.get(3).description);
+	}
+
 	/**
 	 * Checks if compatibility with CCorePlugin methods from CDT 6.0 was not violated.
 	 *
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.internal.tests;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.core.IConsoleParser;
+import org.eclipse.cdt.internal.core.ConsoleOutputSniffer;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests parsing the console output on the background thread of {@link ConsoleOutputSniffer}.
+ */
+public class ConsoleOutputSnifferTest extends TestCase {
+	private static final long TIMEOUT = 60000;
+
+	public static Test suite() {
+		return new TestSuite(ConsoleOutputSnifferTest.class);
+	}
+
+	/**
+	 * Records the lines it parses, the first line can be held back until the test releases it.
+	 */
+	private static class RecordingParser implements IConsoleParser {
+		final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch release = new CountDownLatch(1);
+		volatile boolean blocking;
+		volatile int linesAtShutdown = -1;
+		volatile int shutdowns;
+
+		@Override
+		public boolean processLine(String line) {
+			if (blocking) {
+				try {
+					release.await(TIMEOUT, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+				}
+				blocking = false;
+			}
+			lines.add(line);
+			return false;
+		}
+
+		@Override
+		public void shutdown() {
+			linesAtShutdown = lines.size();
+			shutdowns++;
+		}
+	}
+
+	private static ConsoleOutputSniffer createSniffer(RecordingParser parser) {
+		ConsoleOutputSniffer sniffer = new ConsoleOutputSniffer(new IConsoleParser[] { parser });
+		sniffer.setParseInBackground(true);
+		return sniffer;
+	}
+
+	private static void write(OutputStream stream, String str) throws Exception {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		stream.write(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * The lines of both streams are parsed in the order they were completed.
+	 */
+	public void testLineOrderAcrossStreams() throws Exception {
+		RecordingParser parser = new RecordingParser();
+		ConsoleOutputSniffer sniffer = createSniffer(parser);
+		OutputStream out = sniffer.getOutputStream();
+		OutputStream err = sniffer.getErrorStream();
+		write(out, "out1\n");
+		write(err, "err1\r\n");
+		write(out, "out2\nout");
+		write(err, "err2\n");
+		write(out, "3\n");
+		write(err, "err3");
+		sniffer.waitForPendingLines();
+		assertEquals(Arrays.asList("out1", "err1", "out2", "err2", "out3"), parser.lines);
+
+		out.close();
+		assertEquals(0, parser.shutdowns);
+		err.close();
+		assertEquals(Arrays.asList("out1", "err1", "out2", "err2", "out3", "err3"), parser.lines);
+		assertEquals(1, parser.shutdowns);
+	}
+
+	/**
+	 * Waiting for the pending lines returns once the queued lines have been parsed.
+	 */
+	public void testWaitForPendingLines() throws Exception {
+		RecordingParser parser = new RecordingParser();
+		parser.blocking = true;
+		ConsoleOutputSniffer sniffer = createSniffer(parser);
+		OutputStream out = sniffer.getOutputStream();
+		for (int i = 0; i < 100; i++) {
+			write(out, "line" + i + "\n");
+		}
+
+		CountDownLatch waited = new CountDownLatch(1);
+		Thread waiter = new Thread(() -> {
+			sniffer.waitForPendingLines();
+			waited.countDown();
+		});
+		waiter.start();
+		assertFalse(waited.await(200, TimeUnit.MILLISECONDS));
+		parser.release.countDown();
+		assertTrue(waited.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertEquals(100, parser.lines.size());
+		assertEquals(0, parser.shutdowns);
+		out.close();
+		assertEquals(1, parser.shutdowns);
+	}
+
+	/**
+	 * Closing the last stream parses the queued lines before the parsers are shut down.
+	 */
+	public void testCloseDrainsQueue() throws Exception {
+		RecordingParser parser = new RecordingParser();
+		parser.blocking = true;
+		ConsoleOutputSniffer sniffer = createSniffer(parser);
+		OutputStream out = sniffer.getOutputStream();
+		for (int i = 0; i < 100; i++) {
+			write(out, "line" + i + "\n");
+		}
+
+		Thread releaser = new Thread(() -> {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+			}
+			parser.release.countDown();
+		});
+		releaser.start();
+		out.close();
+		assertEquals(100, parser.lines.size());
+		assertEquals(100, parser.linesAtShutdown);
+		assertEquals(1, parser.shutdowns);
+		releaser.join();
+	}
+
+	/**
+	 * The writers wait for the parsers once a large number of lines is queued.
+	 */
+	public void testWritersBlockAtBacklogLimit() throws Exception {
+		final int lineCount = 200000;
+		RecordingParser parser = new RecordingParser();
+		parser.blocking = true;
+		ConsoleOutputSniffer sniffer = createSniffer(parser);
+		OutputStream out = sniffer.getOutputStream();
+		AtomicInteger written = new AtomicInteger();
+		Throwable[] failure = new Throwable[1];
+		Thread writer = new Thread(() -> {
+			try {
+				for (int i = 0; i < lineCount; i++) {
+					write(out, i + "\n");
+					written.incrementAndGet();
+				}
+				out.close();
+			} catch (Throwable e) {
+				failure[0] = e;
+			}
+		});
+		writer.start();
+
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (writer.isAlive() && writer.getState() != Thread.State.WAITING
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		int blockedAt = written.get();
+		Thread.sleep(200);
+		assertEquals(blockedAt, written.get());
+		assertTrue(blockedAt < lineCount);
+		assertTrue(writer.isAlive());
+
+		parser.release.countDown();
+		writer.join(TIMEOUT);
+		assertFalse(writer.isAlive());
+		assertNull(failure[0]);
+		assertEquals(lineCount, parser.lines.size());
+		assertEquals(lineCount, parser.linesAtShutdown);
+		for (int i = 0; i < lineCount; i += 1000) {
+			assertEquals(String.valueOf(i), parser.lines.get(i));
+		}
+	}
+}
@@ -14,18 +14,29 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
 
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.eclipse.cdt.core.ISymbolReader;
+import org.eclipse.cdt.internal.core.BinaryDataCache;
 import org.eclipse.cdt.utils.elf.Elf.Attribute;
 import org.eclipse.cdt.utils.elf.Elf.Section;
 import org.eclipse.cdt.utils.elf.Elf.Symbol;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -60,6 +71,7 @@ public class ElfTest {
 			"__JCR_LIST__", "__JCR_END__", "_DYNAMIC", "data_start", "__data_start", "__dso_handle", "_edata",
 			"__bss_start", "__TMC_END__", "_end");
 
+	private final String path;
 	private final String memoryArchitecture;
 	private final String arch;
 	private final Elf elf;
@@ -73,6 +85,7 @@ public class ElfTest {
 			String dynBaseAddress, int symbolCount, String mainAddr) throws IOException {
 		memoryArchitecture = mArch;
 		nbSections = sections;
+		this.path = path;
 		elf = new Elf(path);
 		arch = architecture;
 		symtabBaseAddress = symBaseAddress;
@@ -129,6 +142,89 @@ public class ElfTest {
 		assertEquals(arch + ": " + "Main address", mainAddress, symbol.st_value.toHexAddressString());
 	}
 
+	/**
+	 * The symbols read from the symbol table at once must match the ones read field by field.
+	 */
+	@Test
+	public void testSymbolsMatchSymbolIterator() throws IOException {
+		elf.loadSymbols();
+		Symbol[] symbols = elf.getSymtabSymbols();
+		List<Symbol> expected = new ArrayList<>();
+		Iterator<Symbol> iterator = elf.symbolIterator(elf.getSectionByName(SYMTAB_NAME));
+		try {
+			while (iterator.hasNext()) {
+				Symbol symbol = iterator.next();
+				if (symbol.st_info != 0) {
+					expected.add(symbol);
+				}
+			}
+		} finally {
+			((Closeable) iterator).close();
+		}
+		Collections.sort(expected);
+		assertEquals(arch + ": " + "Number of symbols", expected.size(), symbols.length);
+		for (int i = 0; i < symbols.length; i++) {
+			Symbol e = expected.get(i);
+			Symbol a = symbols[i];
+			assertEquals(arch + ": " + "name", e.toString(), a.toString());
+			assertEquals(arch + ": " + "st_name", e.st_name, a.st_name);
+			assertEquals(arch + ": " + "st_value", e.st_value, a.st_value);
+			assertEquals(arch + ": " + "st_size", e.st_size, a.st_size);
+			assertEquals(arch + ": " + "st_info", e.st_info, a.st_info);
+			assertEquals(arch + ": " + "st_other", e.st_other, a.st_other);
+			assertEquals(arch + ": " + "st_shndx", e.st_shndx, a.st_shndx);
+		}
+	}
+
+	/**
+	 * The symbols are stored in the cache when they are loaded, loading them again with an unmodified
+	 * file restores them from the cache.
+	 */
+	@Test
+	public void testSymbolsFromCache() throws IOException {
+		BinaryDataCache cache = BinaryDataCache.getSharedInstance();
+		assumeNotNull(cache);
+		File copy = File.createTempFile("elfTest", ".elf");
+		try {
+			Files.copy(new File(path).toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			Elf decoded = new Elf(copy.getPath());
+			decoded.loadSymbols();
+			decoded.dispose();
+			assertNotNull(arch + ": " + "cache entry", cache.get(copy.getPath(), "elf.symbols@0"));
+
+			Elf cached = new Elf(copy.getPath());
+			cached.loadSymbols();
+			cached.dispose();
+			assertSameSymbols(decoded.getSymbols(), cached.getSymbols());
+			assertSameSymbols(decoded.getSymtabSymbols(), cached.getSymtabSymbols());
+			assertSameSymbols(decoded.getDynamicSymbols(), cached.getDynamicSymbols());
+			Symbol main = Arrays.stream(cached.getSymbols()).filter(s -> s.toString().equals("main")).findFirst()
+					.get();
+			assertEquals(arch + ": " + "Main address", mainAddress, main.st_value.toHexAddressString());
+
+			// A modified file is not served from the cache.
+			assertTrue(copy.setLastModified(copy.lastModified() - 10000));
+			assertNull(arch + ": " + "stale cache entry", cache.get(copy.getPath(), "elf.symbols@0"));
+		} finally {
+			copy.delete();
+		}
+	}
+
+	private void assertSameSymbols(Symbol[] expected, Symbol[] actual) {
+		assertEquals(arch + ": " + "Number of symbols", expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			Symbol e = expected[i];
+			Symbol a = actual[i];
+			assertEquals(arch + ": " + "name", e.toString(), a.toString());
+			assertEquals(arch + ": " + "st_name", e.st_name, a.st_name);
+			assertEquals(arch + ": " + "st_value", e.st_value, a.st_value);
+			assertEquals(arch + ": " + "st_size", e.st_size, a.st_size);
+			assertEquals(arch + ": " + "st_info", e.st_info, a.st_info);
+			assertEquals(arch + ": " + "st_other", e.st_other, a.st_other);
+			assertEquals(arch + ": " + "st_shndx", e.st_shndx, a.st_shndx);
+		}
+	}
+
 	@Test
 	public void testGetAttributes() throws IOException {
 		Attribute attributes = elf.getAttributes();
@@ -161,4 +257,46 @@ public class ElfTest {
 		assertTrue(arch + ": " + "Source file name", sourceFiles[0].endsWith("simple.c"));
 	}
 
+	/**
+	 * A cancelled request returns the files found so far, it does not prevent a later request
+	 * from returning all of them.
+	 */
+	@Test
+	public void testSymbolReaderCancelled() {
+		ISymbolReader symbolReader = elf.getSymbolReader();
+		IProgressMonitor cancelled = new NullProgressMonitor();
+		cancelled.setCanceled(true);
+		String[] partial = symbolReader.getSourceFiles(cancelled);
+		assertNotNull(arch + ": " + "Source files of cancelled request", partial);
+
+		String[] sourceFiles = symbolReader.getSourceFiles(new NullProgressMonitor());
+		assertTrue(arch + ": " + "Number of Source files", partial.length <= sourceFiles.length);
+		assertEquals(arch + ": " + "Number of Source files", 1, sourceFiles.length);
+		assertTrue(arch + ": " + "Source file name", sourceFiles[0].endsWith("simple.c"));
+	}
+
+	/**
+	 * Cancelling while the compile units are read does not keep the units found so far.
+	 */
+	@Test
+	public void testSymbolReaderCancelledWhileReading() {
+		ISymbolReader symbolReader = elf.getSymbolReader();
+		IProgressMonitor cancelling = new NullProgressMonitor() {
+			@Override
+			public void worked(int work) {
+				setCanceled(true);
+			}
+
+			@Override
+			public void internalWorked(double work) {
+				setCanceled(true);
+			}
+		};
+		symbolReader.getSourceFiles(cancelling);
+		assertTrue(arch + ": " + "cancelled", cancelling.isCanceled());
+
+		String[] sourceFiles = symbolReader.getSourceFiles(new NullProgressMonitor());
+		assertEquals(arch + ": " + "Number of Source files", 1, sourceFiles.length);
+		assertTrue(arch + ": " + "Source file name", sourceFiles[0].endsWith("simple.c"));
+	}
 }
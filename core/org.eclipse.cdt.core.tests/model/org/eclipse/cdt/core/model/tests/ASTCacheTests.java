@@ -148,6 +148,8 @@ public class ASTCacheTests extends BaseTestCase {
 		checkSingleThreadAccess();
 		checkAccessWithSequentialReconciler();
 		checkAccessWithConcurrentReconciler();
+		checkInactiveASTs();
+		checkInactiveASTEviction();
 	}
 
 	private void checkActiveElement() throws Exception {
@@ -318,6 +320,87 @@ public class ASTCacheTests extends BaseTestCase {
 		}
 	}
 
+	private void checkInactiveASTs() throws Exception {
+		final ASTCache cache = new ASTCache();
+		final IASTTranslationUnit[] ast1 = { null };
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, true, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				assertNotNull(ast);
+				ast1[0] = ast;
+				return Status.OK_STATUS;
+			}
+		});
+
+		// The AST of the previously active element is kept.
+		cache.setActiveElement(fTU2);
+		cache.resetCounters();
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				assertSame(ast1[0], ast);
+				return Status.OK_STATUS;
+			}
+		});
+		assertEquals(1, cache.getHits());
+		assertEquals(0, cache.getMisses());
+
+		// And it becomes the active AST again.
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				assertSame(ast1[0], ast);
+				return Status.OK_STATUS;
+			}
+		});
+		assertEquals(2, cache.getHits());
+
+		cache.disposeAll();
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				assertNull(ast);
+				return Status.OK_STATUS;
+			}
+		});
+		assertEquals(1, cache.getMisses());
+	}
+
+	private void checkInactiveASTEviction() throws Exception {
+		final ASTCache cache = new ASTCache(1, Long.MAX_VALUE);
+		final ASTRunnable notNull = new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				assertNotNull(ast);
+				return Status.OK_STATUS;
+			}
+		};
+		cache.runOnAST(fTU1, true, null, notNull);
+		cache.runOnAST(fTU1, false, null, notNull);
+		assertEquals(1, cache.getHits());
+		assertEquals(0, cache.getEvictions());
+
+		// Only a single inactive AST is kept.
+		cache.runOnAST(fTU2, true, null, notNull);
+		assertEquals(1, cache.getEvictions());
+		cache.runOnAST(fTU2, false, null, notNull);
+		assertEquals(2, cache.getHits());
+
+		// No inactive AST is kept if it exceeds the size limit.
+		final ASTCache small = new ASTCache(4, 1);
+		small.runOnAST(fTU1, true, null, notNull);
+		assertEquals(1, small.getEvictions());
+		small.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				assertNull(ast);
+				return Status.OK_STATUS;
+			}
+		});
+	}
+
 	private void waitForAST(ASTCache cache, ITranslationUnit tUnit, ASTRunnable runnable) {
 		if (DEBUG)
 			System.out.println("waiting for " + tUnit.getElementName());
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests;
+
+import org.eclipse.cdt.core.parser.Keywords;
+import org.eclipse.cdt.core.parser.util.CharArrayIntMap;
+import org.eclipse.cdt.internal.core.parser.util.CompactCharArrayIntMap;
+import org.eclipse.cdt.internal.core.parser.util.CompactLongObjectMap;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link CompactCharArrayIntMap} and {@link CompactLongObjectMap}.
+ */
+public class CompactMapTest extends TestCase {
+
+	public void testCharArrayIntMap() throws Exception {
+		CompactCharArrayIntMap map = new CompactCharArrayIntMap(0, -1);
+		assertTrue(map.isEmpty());
+		assertEquals(-1, map.get("a".toCharArray()));
+
+		// Enough entries to enforce a couple of rehashes.
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(-1, map.put(("key" + i).toCharArray(), i));
+		}
+		assertEquals(1000, map.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, map.get(("key" + i).toCharArray()));
+		}
+		assertEquals(-1, map.get("key1000".toCharArray()));
+		assertFalse(map.containsKey("key".toCharArray()));
+
+		assertEquals(7, map.put("key7".toCharArray(), 70));
+		assertEquals(70, map.get("key7".toCharArray()));
+		assertEquals(1000, map.size());
+	}
+
+	public void testCharArrayIntMapRange() throws Exception {
+		CompactCharArrayIntMap map = new CompactCharArrayIntMap(2, -1);
+		map.put("int".toCharArray(), 1);
+		map.put("interface".toCharArray(), 2);
+
+		char[] buffer = "x interface int y".toCharArray();
+		assertEquals(2, map.get(buffer, 2, 9));
+		assertEquals(1, map.get(buffer, 12, 3));
+		assertEquals(1, map.get(buffer, 2, 3));
+		assertEquals(-1, map.get(buffer, 2, 4));
+		assertEquals(-1, map.get(buffer, 0, 1));
+	}
+
+	public void testCharArrayIntMapFromKeywords() throws Exception {
+		CharArrayIntMap keywords = new CharArrayIntMap(40, -1);
+		Keywords.addKeywordsCpp(keywords);
+		CompactCharArrayIntMap map = new CompactCharArrayIntMap(keywords);
+		assertEquals(keywords.size(), map.size());
+		assertEquals(keywords.undefined, map.undefined);
+		for (int i = 0; i < keywords.size(); i++) {
+			assertEquals(keywords.get(i), map.get(keywords.keyAt(i)));
+		}
+		assertEquals(map.undefined, map.get("identifier".toCharArray()));
+	}
+
+	public void testLongObjectMap() throws Exception {
+		CompactLongObjectMap<String> map = new CompactLongObjectMap<>(0);
+		assertTrue(map.isEmpty());
+		assertNull(map.get(0));
+
+		// Keys that collide in the lower bits.
+		final long[] keys = new long[200];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = ((long) i << 32) | (i << 16);
+			assertNull(map.put(keys[i], String.valueOf(i)));
+		}
+		assertEquals(keys.length, map.size());
+		for (int i = 0; i < keys.length; i++) {
+			assertEquals(String.valueOf(i), map.get(keys[i]));
+			assertEquals(keys[i], map.keyAt(i));
+			assertEquals(String.valueOf(i), map.getAt(i));
+		}
+		assertFalse(map.containsKey(1));
+
+		// Replacing a value keeps the position.
+		assertEquals("3", map.put(keys[3], "three"));
+		assertEquals(keys.length, map.size());
+		assertEquals(keys[3], map.keyAt(3));
+		assertEquals("three", map.getAt(3));
+
+		try {
+			map.keyAt(keys.length);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+		}
+	}
+
+	public void testLongObjectMapClone() throws Exception {
+		CompactLongObjectMap<String> empty = new CompactLongObjectMap<>(4);
+		CompactLongObjectMap<String> map = empty.clone();
+		map.put(1, "a");
+		assertTrue(empty.isEmpty());
+		assertNull(empty.get(1));
+
+		CompactLongObjectMap<String> copy = map.clone();
+		copy.put(2, "b");
+		copy.put(1, "c");
+		assertEquals(1, map.size());
+		assertEquals("a", map.get(1));
+		assertEquals(2, copy.size());
+		assertEquals("c", copy.get(1));
+	}
+}
@@ -39,6 +39,7 @@ public class ParserTestSuite extends TestCase {
 		suite.addTestSuite(StructuralCModelElementsTests.class);
 		suite.addTestSuite(CharArrayObjectMapTest.class);
 		suite.addTestSuite(ObjectMapTest.class);
+		suite.addTestSuite(CompactMapTest.class);
 		suite.addTestSuite(SemanticsTests.class);
 		suite.addTest(ScannerTestSuite.suite());
 		suite.addTest(DOMParserTestSuite.suite());
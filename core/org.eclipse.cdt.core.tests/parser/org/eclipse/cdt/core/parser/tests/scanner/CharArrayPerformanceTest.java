@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.tests.ast2.TestLexerLog;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+
+/**
+ * Compares lexing a large generated header read by {@link FileCharArray} with lexing it
+ * from a memory-mapped file.
+ *
+ * n.b. this is intentionally not added to any test suite
+ */
+public class CharArrayPerformanceTest extends BaseTestCase {
+	private static final int LINES = 100000;
+	private static final int RUNS = 10;
+
+	private File fFile;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fFile = File.createTempFile("generated", ".h");
+		try (Writer out = new BufferedWriter(new FileWriter(fFile))) {
+			out.write("#ifndef GENERATED_H\n#define GENERATED_H\n");
+			for (int i = 0; i < LINES; i++) {
+				out.write("/* register " + i + " */ #define REG_" + i + " ((volatile unsigned int*) 0x"
+						+ Integer.toHexString(0x40000000 + 4 * i) + ")\n");
+			}
+			out.write("#endif\n");
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fFile.delete();
+		super.tearDown();
+	}
+
+	private AbstractCharArray read(boolean mapFile) throws IOException {
+		try (FileInputStream in = new FileInputStream(fFile)) {
+			return FileCharArray.create(fFile.getPath(), "UTF-8", in, mapFile);
+		}
+	}
+
+	private int lex(AbstractCharArray input) throws Exception {
+		Lexer lexer = new Lexer(input, new LexerOptions(), new TestLexerLog(), null);
+		int count = 0;
+		while (lexer.nextToken().getType() != IToken.tEND_OF_INPUT) {
+			count++;
+		}
+		input.getContentsHash();
+		return count;
+	}
+
+	private long measure(boolean mapFile) throws Exception {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			lex(read(mapFile));
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best / 1000000;
+	}
+
+	public void testLexGeneratedHeader() throws Exception {
+		assertEquals(lex(read(false)), lex(read(true)));
+		assertEquals(read(false).getContentsHash(), read(true).getContentsHash());
+
+		long decoded = measure(false);
+		long mapped = measure(true);
+		System.out.println("Lexing " + fFile.length() / 1024 + " KB: decoded " + decoded + " ms, mapped " + mapped
+				+ " ms");
+	}
+}
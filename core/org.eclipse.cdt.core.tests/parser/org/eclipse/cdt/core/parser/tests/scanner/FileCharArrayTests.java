@@ -72,7 +72,7 @@ public class FileCharArrayTests extends BaseTestCase {
 		AbstractCharArray charArray;
 		final FileInputStream inputStream = new FileInputStream(fFile);
 		try {
-			charArray = FileCharArray.create(fFile.getPath(), "utf-8", inputStream);
+			charArray = FileCharArray.create(fFile.getPath(), "utf-8", inputStream, false);
 		} finally {
 			inputStream.close();
 		}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.LazyCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.MappedCharArray;
+
+import junit.framework.TestSuite;
+
+public class MappedCharArrayTests extends BaseTestCase {
+
+	public static TestSuite suite() {
+		return suite(MappedCharArrayTests.class);
+	}
+
+	private File fFile;
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fFile != null) {
+			fFile.delete();
+		}
+	}
+
+	private byte[] createContent(int size, int modulo) {
+		byte[] bytes = new byte[size];
+		for (int i = 0; i < size; i++) {
+			bytes[i] = (byte) (i % modulo);
+		}
+		return bytes;
+	}
+
+	private AbstractCharArray create(String charSet, byte[] prefix, byte[] content) throws IOException {
+		fFile = File.createTempFile("data", ".h");
+		try (OutputStream out = new FileOutputStream(fFile)) {
+			out.write(prefix);
+			out.write(content);
+		}
+		try (FileInputStream in = new FileInputStream(fFile)) {
+			return MappedCharArray.create(in.getChannel(), charSet);
+		}
+	}
+
+	private AbstractCharArray createFileCharArray(String charSet) throws IOException {
+		try (FileInputStream in = new FileInputStream(fFile)) {
+			return FileCharArray.create(fFile.getPath(), charSet, in, false);
+		}
+	}
+
+	private void checkContent(AbstractCharArray expected, AbstractCharArray actual) {
+		assertEquals(expected.getLength(), actual.getLength());
+		assertEquals(expected.getLength(), actual.tryGetLength());
+		for (int i = 0; i < expected.getLength(); i++) {
+			assertEquals(expected.get(i), actual.get(i));
+		}
+		assertTrue(actual.isValidOffset(actual.getLength() - 1));
+		assertFalse(actual.isValidOffset(actual.getLength()));
+
+		char[] dest = new char[100];
+		char[] expectedDest = new char[100];
+		for (int i = 0; i + dest.length <= expected.getLength(); i += 997) {
+			actual.arraycopy(i, dest, 0, dest.length);
+			expected.arraycopy(i, expectedDest, 0, dest.length);
+			assertEquals(new String(expectedDest), new String(dest));
+		}
+		assertEquals(expected.getContentsHash(), actual.getContentsHash());
+		assertFalse(actual.hasError());
+	}
+
+	public void testAscii() throws IOException {
+		AbstractCharArray chars = create("UTF-8", new byte[0], createContent(LazyCharArray.CHUNK_SIZE * 2 + 1, 128));
+		assertNotNull(chars);
+		checkContent(createFileCharArray("UTF-8"), chars);
+	}
+
+	public void testByteOrderMark() throws IOException {
+		byte[] bom = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+		AbstractCharArray chars = create("UTF-8", bom, createContent(LazyCharArray.CHUNK_SIZE + 5, 128));
+		assertNotNull(chars);
+		assertEquals(LazyCharArray.CHUNK_SIZE + 5, chars.getLength());
+		checkContent(createFileCharArray("UTF-8"), chars);
+	}
+
+	public void testHashMatchesCharArray() throws IOException {
+		byte[] content = createContent(12345, 100);
+		AbstractCharArray chars = create("US-ASCII", new byte[0], content);
+		assertNotNull(chars);
+		assertEquals(new CharArray(new String(content, "US-ASCII")).getContentsHash(), chars.getContentsHash());
+	}
+
+	public void testNonAsciiContent() throws IOException {
+		byte[] content = createContent(LazyCharArray.CHUNK_SIZE, 128);
+		content[content.length - 2] = (byte) 0xc2;
+		content[content.length - 1] = (byte) 0xa2;
+		assertNull(create("UTF-8", new byte[0], content));
+	}
+
+	public void testLatin1() throws IOException {
+		AbstractCharArray chars = create("ISO-8859-1", new byte[0], createContent(LazyCharArray.CHUNK_SIZE + 1, 256));
+		assertNotNull(chars);
+		checkContent(createFileCharArray("ISO-8859-1"), chars);
+	}
+
+	public void testIncompatibleCharset() throws IOException {
+		assertNull(create("UTF-16", new byte[0], createContent(LazyCharArray.CHUNK_SIZE, 128)));
+	}
+}
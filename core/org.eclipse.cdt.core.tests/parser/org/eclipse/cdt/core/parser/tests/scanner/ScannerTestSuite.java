@@ -30,6 +30,8 @@ public class ScannerTestSuite extends TestSuite {
 		suite.addTest(InactiveCodeTests.suite());
 		suite.addTest(StreamHasherTests.suite());
 		suite.addTest(FileCharArrayTests.suite());
+		suite.addTest(MappedCharArrayTests.suite());
+		suite.addTest(TokenStreamCacheTests.suite());
 		return suite;
 	}
 }
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.tests.ast2.TestLexerLog;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.scanner.Token;
+import org.eclipse.cdt.internal.core.parser.scanner.TokenStreamCache;
+
+import junit.framework.TestSuite;
+
+public class TokenStreamCacheTests extends BaseTestCase {
+	private static final LexerOptions OPTIONS = new LexerOptions();
+
+	public static TestSuite suite() {
+		return suite(TokenStreamCacheTests.class);
+	}
+
+	private final TestLexerLog fLog = new TestLexerLog();
+
+	public TokenStreamCacheTests() {
+		super();
+	}
+
+	public TokenStreamCacheTests(String name) {
+		super(name);
+	}
+
+	private String createInput() {
+		StringBuilder buf = new StringBuilder();
+		buf.append("#include <stdio.h>\n");
+		buf.append("#include \"local.h\"\n");
+		for (int i = 0; buf.length() < 16 * 1024; i++) {
+			buf.append("/* block comment ").append(i).append(" */\n");
+			buf.append("int var").append(i).append(" = ").append(i).append(" << 2; // line comment\n");
+			buf.append("const char* str").append(i).append(" = \"a < b\" <: 'c' :>;\n");
+		}
+		buf.append("`\n");
+		return buf.toString();
+	}
+
+	/**
+	 * Lexes the entire input, the names of header-files are lexed in include directives.
+	 */
+	private List<String> lex(String input, TokenStreamCache cache, boolean includeDirectives) throws Exception {
+		fLog.clear();
+		fLog.setInput(input);
+		Lexer lexer = new Lexer(input.toCharArray(), OPTIONS, fLog, null);
+		if (cache != null) {
+			lexer.setTokenStreamCache(cache);
+		}
+		List<String> result = new ArrayList<>();
+		IToken last = lexer.currentToken();
+		for (Token t = lexer.nextToken(); t.getType() != IToken.tEND_OF_INPUT; t = lexer.nextToken()) {
+			result.add(t.getType() + ":" + t.getOffset() + ":" + t.getEndOffset() + ":" + t.getImage());
+			if (includeDirectives && t.getType() == IToken.tIDENTIFIER && "include".equals(t.getImage())
+					&& last.getType() == IToken.tPOUND) {
+				lexer.setInsideIncludeDirective(true);
+			}
+			last = t;
+		}
+		while (fLog.getCommentCount() > 0) {
+			result.add("comment:" + fLog.removeFirstComment());
+		}
+		while (fLog.getProblemCount() > 0) {
+			result.add("problem:" + fLog.removeFirstProblem());
+		}
+		return result;
+	}
+
+	public void testReplay() throws Exception {
+		String input = createInput();
+		List<String> expected = lex(input, null, true);
+
+		TokenStreamCache cache = new TokenStreamCache(null, 1 << 20);
+		assertEquals(expected, lex(input, cache, true));
+		// The second pass replays the recorded tokens.
+		assertEquals(expected, lex(input, cache, true));
+		assertEquals(expected, lex(input, cache, true));
+	}
+
+	public void testReplayWithDifferentMode() throws Exception {
+		String input = createInput();
+		TokenStreamCache cache = new TokenStreamCache(null, 1 << 20);
+
+		// Record with header-names, replay without and vice versa.
+		List<String> withHeaderNames = lex(input, null, true);
+		List<String> withoutHeaderNames = lex(input, null, false);
+		assertFalse(withHeaderNames.equals(withoutHeaderNames));
+
+		assertEquals(withHeaderNames, lex(input, cache, true));
+		assertEquals(withoutHeaderNames, lex(input, cache, false));
+		assertEquals(withHeaderNames, lex(input, cache, true));
+	}
+
+	public void testSmallInputIsNotCached() throws Exception {
+		TokenStreamCache cache = new TokenStreamCache(null, 1 << 20);
+		String input = "int a; /* comment */\n";
+		List<String> expected = lex(input, null, false);
+		assertEquals(expected, lex(input, cache, false));
+		input = "int b; /* comment */\n";
+		assertEquals(lex(input, null, false), lex(input, cache, false));
+	}
+
+	public void testPersistentCache() throws Exception {
+		File dir = new File(System.getProperty("java.io.tmpdir"), "tokenCacheTest" + System.nanoTime());
+		try {
+			String input = createInput();
+			List<String> expected = lex(input, null, true);
+			assertEquals(expected, lex(input, new TokenStreamCache(dir, 1 << 20), true));
+			String[] files = dir.list();
+			assertNotNull(files);
+			assertEquals(1, files.length);
+
+			// A new cache reads the entry from the directory.
+			assertEquals(expected, lex(input, new TokenStreamCache(dir, 1 << 20), true));
+
+			TokenStreamCache cache = new TokenStreamCache(dir, 1 << 20);
+			cache.clear();
+			assertEquals(0, dir.list().length);
+			assertEquals(expected, lex(input, cache, true));
+		} finally {
+			File[] files = dir.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					file.delete();
+				}
+			}
+			dir.delete();
+		}
+	}
+}
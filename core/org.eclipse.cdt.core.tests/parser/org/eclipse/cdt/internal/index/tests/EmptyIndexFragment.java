@@ -115,6 +115,16 @@ public class EmptyIndexFragment implements IIndexFragment {
 		return 0;
 	}
 
+	@Override
+	public long getQueryCacheHits() {
+		return 0;
+	}
+
+	@Override
+	public long getQueryCacheMisses() {
+		return 0;
+	}
+
 	@Override
 	@Deprecated
 	public IIndexFragmentFile getFile(int linkageID, IIndexFileLocation location) throws CoreException {
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.CCoreInternals;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.TestSuite;
+
+/**
+ * Checks that the index is compacted once a large part of it has been freed, and that it can be
+ * used afterwards.
+ */
+public class IndexCompactionTest extends IndexTestBase {
+	private static final int FILES = 20;
+	private static final int MACROS_PER_FILE = 200;
+
+	private ICProject fCProject;
+
+	public IndexCompactionTest(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(IndexCompactionTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject("__compactionTest__", "bin", IPDOMManager.ID_NO_INDEXER);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fCProject != null) {
+			CProjectHelper.delete(fCProject);
+		}
+		super.tearDown();
+	}
+
+	private Database getDatabase() throws CoreException {
+		return ((PDOM) CCoreInternals.getPDOMManager().getPDOM(fCProject)).getDB();
+	}
+
+	private void checkMacro(String name, int expectedCount) throws Exception {
+		IIndex index = CCorePlugin.getIndexManager().getIndex(fCProject);
+		index.acquireReadLock();
+		try {
+			assertEquals(name, expectedCount, index.findMacros(name.toCharArray(), IndexFilter.ALL, npm()).length);
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	public void testFreedSpaceIsReclaimed() throws Exception {
+		IProject project = fCProject.getProject();
+		TestSourceReader.createFile(project, new Path("keep.cpp"), "#define KEEP 1\nint keep = KEEP;\n");
+		IFile[] files = new IFile[FILES];
+		for (int i = 0; i < FILES; i++) {
+			StringBuilder content = new StringBuilder();
+			for (int j = 0; j < MACROS_PER_FILE; j++) {
+				content.append("#define M").append(i).append('_').append(j).append(' ').append(j).append('\n');
+			}
+			files[i] = TestSourceReader.createFile(project, new Path("macros" + i + ".cpp"), content.toString());
+		}
+		CCorePlugin.getIndexManager().setIndexerId(fCProject, IPDOMManager.ID_FAST_INDEXER);
+		waitForIndexer(fCProject);
+		checkMacro("M0_0", 1);
+		final int chunkCount = getDatabase().getChunkCount();
+
+		// Removing the files frees most of the index, the indexer schedules the compaction.
+		for (IFile file : files) {
+			file.delete(true, npm());
+		}
+		waitForIndexer(fCProject);
+		checkMacro("M0_0", 0);
+		checkMacro("KEEP", 1);
+
+		// The small records that were freed have been merged into blocks that take much larger records.
+		StringBuilder content = new StringBuilder();
+		for (int j = 0; j < 100; j++) {
+			content.append("#define LONG").append(j).append(' ');
+			for (int k = 0; k < 200; k++) {
+				content.append("1+");
+			}
+			content.append("1\n");
+		}
+		TestSourceReader.createFile(project, new Path("long.cpp"), content.toString());
+		waitForIndexer(fCProject);
+		assertTrue(getDatabase().getChunkCount() <= chunkCount);
+		checkMacro("LONG99", 1);
+		checkMacro("KEEP", 1);
+	}
+}
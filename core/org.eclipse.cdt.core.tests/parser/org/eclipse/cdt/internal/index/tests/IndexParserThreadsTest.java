@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.TestSuite;
+
+/**
+ * Checks that parsing the sources on several parser threads produces the same index as parsing
+ * them one at a time.
+ */
+public class IndexParserThreadsTest extends IndexTestBase {
+	private static final int SOURCE_FILES = 20;
+
+	private ICProject fCProject;
+
+	public IndexParserThreadsTest(String name) {
+		super(name);
+	}
+
+	public static TestSuite suite() {
+		return suite(IndexParserThreadsTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fCProject = CProjectHelper.createCCProject("__parserThreadsTest__", "bin", IPDOMManager.ID_NO_INDEXER);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fCProject != null) {
+			CProjectHelper.delete(fCProject);
+		}
+		super.tearDown();
+	}
+
+	private void indexWithParserThreads(int threads) throws Exception {
+		IndexerPreferences.set(fCProject.getProject(), IndexerPreferences.KEY_PARSER_THREADS,
+				String.valueOf(threads));
+		waitForIndexer(fCProject);
+		CCorePlugin.getIndexManager().reindex(fCProject);
+		waitForIndexer(fCProject);
+	}
+
+	private List<String> getIndexContent() throws Exception {
+		IIndex index = CCorePlugin.getIndexManager().getIndex(fCProject);
+		List<String> content = new ArrayList<>();
+		index.acquireReadLock();
+		try {
+			for (IIndexFile file : index.getAllFiles()) {
+				String path = file.getLocation().getFullPath();
+				content.add(path + " linkage " + file.getLinkageID());
+				for (IIndexInclude include : file.getIncludes()) {
+					content.add(path + " #include " + include.getFullName() + " " + include.isResolved());
+				}
+				for (IIndexName name : file.findNames(0, Integer.MAX_VALUE)) {
+					IIndexBinding binding = index.findBinding(name);
+					content.add(path + " " + name.getNodeOffset() + " " + name + " "
+							+ (binding == null ? null : String.join("::", binding.getQualifiedName())) + " "
+							+ name.isDeclaration() + name.isDefinition() + name.isReference());
+				}
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+		Collections.sort(content);
+		return content;
+	}
+
+	public void testSameContentAsSingleThread() throws Exception {
+		TestSourceReader.createFile(fCProject.getProject(), new Path("common.h"),
+				"#pragma once\nstruct Base { virtual int get() const = 0; };\n"
+						+ "template<typename T> T twice(T t) { return t + t; }\n");
+		for (int i = 0; i < SOURCE_FILES; i++) {
+			TestSourceReader.createFile(fCProject.getProject(), new Path("header" + i + ".h"),
+					"#pragma once\n#include \"common.h\"\nstruct Derived" + i
+							+ " : Base { int get() const override; };\nextern int global" + i + ";\n");
+			StringBuilder source = new StringBuilder();
+			source.append("#include \"header").append(i).append(".h\"\n");
+			if (i > 0) {
+				source.append("#include \"header").append(i - 1).append(".h\"\n");
+			}
+			source.append("int global").append(i).append(" = ").append(i).append(";\n");
+			source.append("int Derived").append(i).append("::get() const { return twice(global").append(i)
+					.append("); }\n");
+			if (i > 0) {
+				source.append("int use").append(i).append("() { return Derived").append(i - 1)
+						.append("().get() + global").append(i - 1).append("; }\n");
+			}
+			TestSourceReader.createFile(fCProject.getProject(), new Path("source" + i + ".cpp"), source.toString());
+		}
+		CCorePlugin.getIndexManager().setIndexerId(fCProject, IPDOMManager.ID_FAST_INDEXER);
+		waitForIndexer(fCProject);
+
+		indexWithParserThreads(1);
+		List<String> serial = getIndexContent();
+		assertFalse(serial.isEmpty());
+
+		indexWithParserThreads(4);
+		assertEquals(serial, getIndexContent());
+	}
+}
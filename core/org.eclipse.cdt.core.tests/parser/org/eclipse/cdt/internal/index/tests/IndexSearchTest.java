@@ -17,6 +17,7 @@ import java.util.LinkedList;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IPDOMNode;
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.dom.ast.IEnumeration;
@@ -29,6 +30,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPNamespace;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
@@ -289,6 +291,56 @@ public class IndexSearchTest extends IndexTestBase {
 		checkIsVariable(bindings[1]);
 	}
 
+	public void testQueryCache() throws Exception {
+		CIndex index = (CIndex) fIndex;
+		PDOM pdom = (PDOM) index.getFragments()[0];
+		char[][] qualifiedName = { "ns160913".toCharArray(), "C160913".toCharArray() };
+
+		index.resetCacheCounters();
+		IIndexBinding[] bindings = fIndex.findBindings(qualifiedName, INDEX_FILTER, npm());
+		assertEquals(1, bindings.length);
+		checkIsClass(bindings[0]);
+		long misses = index.getQueryCacheMisses();
+		assertTrue(misses > 0);
+		assertEquals(0, index.getQueryCacheHits());
+
+		// The same query in the same write epoch is answered from the cache, also across read locks.
+		fIndex.releaseReadLock();
+		fIndex.acquireReadLock();
+		IIndexBinding[] cached = fIndex.findBindings(qualifiedName, INDEX_FILTER, npm());
+		assertEquals(1, cached.length);
+		assertEquals(bindings[0], cached[0]);
+		assertEquals(1, index.getQueryCacheHits());
+		assertEquals(misses, index.getQueryCacheMisses());
+
+		// Modifying the returned array does not affect the cache.
+		cached[0] = null;
+		assertNotNull(fIndex.findBindings(qualifiedName, INDEX_FILTER, npm())[0]);
+
+		IIndexName[] decls = fIndex.findDeclarations(bindings[0]);
+		long hits = index.getQueryCacheHits();
+		assertEquals(decls.length, fIndex.findDeclarations(bindings[0]).length);
+		assertEquals(hits + 1, index.getQueryCacheHits());
+
+		// Queries with arbitrary filters are not cached.
+		misses = index.getQueryCacheMisses();
+		hits = index.getQueryCacheHits();
+		fIndex.findBindings(qualifiedName, IndexFilter.getFilter(ILinkage.CPP_LINKAGE_ID), npm());
+		assertEquals(misses, index.getQueryCacheMisses());
+		assertEquals(hits, index.getQueryCacheHits());
+
+		// A write lock starts a new epoch.
+		fIndex.releaseReadLock();
+		pdom.acquireWriteLock(npm());
+		pdom.releaseWriteLock();
+		fIndex.acquireReadLock();
+		misses = index.getQueryCacheMisses();
+		hits = index.getQueryCacheHits();
+		assertEquals(1, fIndex.findBindings(qualifiedName, INDEX_FILTER, npm()).length);
+		assertTrue(index.getQueryCacheMisses() > misses);
+		assertEquals(hits, index.getQueryCacheHits());
+	}
+
 	public void testSanityOfMayHaveChildren() throws CoreException {
 		PDOM pdom = (PDOM) ((CIndex) fIndex).getFragments()[0];
 		pdom.accept(new IPDOMVisitor() {
@@ -42,6 +42,8 @@ public class IndexTests extends TestSuite {
 		suite.addTest(IndexProviderManagerTest.suite());
 		suite.addTest(IndexMultiVariantHeaderTest.suite());
 		suite.addTest(IndexMultiFileTest.suite());
+		suite.addTest(IndexParserThreadsTest.suite());
+		suite.addTest(IndexCompactionTest.suite());
 
 		// C++14 index test suites
 		suite.addTestSuite(ReturnTypeDeductionIndexTests.class);
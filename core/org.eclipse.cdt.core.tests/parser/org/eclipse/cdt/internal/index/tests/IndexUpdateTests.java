@@ -18,6 +18,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IPDOMManager;
 import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
 import org.eclipse.cdt.core.dom.ast.DOMException;
@@ -50,7 +51,11 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateTypeParameter;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPVariable;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
@@ -1538,4 +1543,181 @@ public class IndexUpdateTests extends IndexTestBase {
 			}
 		}
 	}
+	// int globalVar;
+	// void func() {
+	//    globalVar= 1;
+	//    int local= globalVar;
+	// }
+
+	// int otherVar;
+	// int globalVar;
+	// void func() {
+	//    int local= globalVar;
+	//    globalVar= 2;
+	// }
+	public void testMovedReferences() throws Exception {
+		setupFile(2, true);
+		checkReferences(fContents[0].toString());
+		updateFile();
+		checkReferences(fContents[1].toString());
+	}
+
+	private void checkReferences(String code) throws Exception {
+		fIndex.acquireReadLock();
+		try {
+			IBinding binding = findBinding("globalVar");
+			IIndexName[] refs = fIndex.findNames(binding, IIndex.FIND_REFERENCES);
+			assertEquals(2, refs.length);
+			Arrays.sort(refs, (a, b) -> a.getNodeOffset() - b.getNodeOffset());
+			int offset = code.indexOf("func");
+			for (IIndexName ref : refs) {
+				offset = code.indexOf("globalVar", offset + 1);
+				assertEquals(offset, ref.getNodeOffset());
+				assertEquals("globalVar".length(), ref.getNodeLength());
+				assertEquals(code.charAt(offset + "globalVar".length()) == '=', ref.isWriteAccess());
+				assertEquals("func", ref.getEnclosingDefinition().toString());
+				assertEquals(fFile.getLocationURI(), ref.getFile().getLocation().getURI());
+			}
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	// int globalVar;
+
+	// int globalVar; // comment
+
+	// short globalVar;
+
+	// #include "header.h"
+	// void a() {
+	//    globalVar= 1;
+	// }
+
+	// #include "header.h"
+	// void b() {
+	//    globalVar= 2;
+	// }
+	public void testDependentsOfUnchangedDeclarations() throws Exception {
+		CModelListener.sSuppressUpdateOfLastRecentlyUsed = false;
+		fContents = getContentsForTest(5);
+		IProject project = fCppProject.getProject();
+		fHeader = TestSourceReader.createFile(project, "header.h", fContents[0].toString());
+		waitForIndexer(fCppProject);
+		IFile fileA = TestSourceReader.createFile(project, "a.cpp", fContents[3].toString());
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, fileA, INDEXER_TIMEOUT_MILLISEC);
+		IFile fileB = TestSourceReader.createFile(project, "b.cpp", fContents[4].toString());
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, fileB, INDEXER_TIMEOUT_MILLISEC);
+		waitForIndexer(fCppProject);
+		try {
+			long readTimeA = getSourceReadTime(fileA);
+			long readTimeB = getSourceReadTime(fileB);
+
+			// The declarations of the header do not change, the source that is the context of
+			// the header is parsed with it, the other one is not parsed.
+			final boolean contextIsA = isContextOfHeader(fileA);
+			assertTrue(contextIsA || isContextOfHeader(fileB));
+			fHeader = TestSourceReader.createFile(project, "header.h", fContents[1].toString());
+			waitUntilFileIsIndexed(fIndex, fHeader);
+			waitForIndexer(fCppProject);
+			assertEquals(contextIsA, getSourceReadTime(fileA) != readTimeA);
+			assertEquals(!contextIsA, getSourceReadTime(fileB) != readTimeB);
+			readTimeA = getSourceReadTime(fileA);
+			readTimeB = getSourceReadTime(fileB);
+
+			// The type of the variable changes, both sources are parsed.
+			fHeader = TestSourceReader.createFile(project, "header.h", fContents[2].toString());
+			waitUntilFileIsIndexed(fIndex, fHeader);
+			waitForIndexer(fCppProject);
+			assertTrue(getSourceReadTime(fileA) != readTimeA);
+			assertTrue(getSourceReadTime(fileB) != readTimeB);
+		} finally {
+			fileA.delete(true, npm());
+			fileB.delete(true, npm());
+		}
+	}
+
+	// int globalVar;
+
+	// #include "header.h"
+	// void a() {
+	//    globalVar= 1;
+	// }
+
+	// #include "header.h"
+	// #include "created.h"
+	// void c() {
+	//    createdVar= 2;
+	// }
+
+	// int createdVar;
+	public void testDependentWithUnresolvedInclude() throws Exception {
+		CModelListener.sSuppressUpdateOfLastRecentlyUsed = false;
+		fContents = getContentsForTest(4);
+		IProject project = fCppProject.getProject();
+		fHeader = TestSourceReader.createFile(project, "header.h", fContents[0].toString());
+		waitForIndexer(fCppProject);
+		IFile fileA = TestSourceReader.createFile(project, "a.cpp", fContents[1].toString());
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, fileA, INDEXER_TIMEOUT_MILLISEC);
+		IFile fileC = TestSourceReader.createFile(project, "c.cpp", fContents[2].toString());
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, fileC, INDEXER_TIMEOUT_MILLISEC);
+		waitForIndexer(fCppProject);
+		IFile created = null;
+		try {
+			assertTrue(hasUnresolvedInclude(fileC));
+			long readTimeC = getSourceReadTime(fileC);
+
+			// The new header does not change the declarations of any indexed file, but the source
+			// with the unresolved include has to be parsed again.
+			created = TestSourceReader.createFile(project, "created.h", fContents[3].toString());
+			waitUntilFileIsIndexed(fIndex, created);
+			waitForIndexer(fCppProject);
+			assertTrue(getSourceReadTime(fileC) != readTimeC);
+			assertFalse(hasUnresolvedInclude(fileC));
+		} finally {
+			fileA.delete(true, npm());
+			fileC.delete(true, npm());
+			if (created != null)
+				created.delete(true, npm());
+		}
+	}
+
+	private IIndexFile getIndexFile(IFile file) throws Exception {
+		IIndexFile[] files = fIndex.getFiles(ILinkage.CPP_LINKAGE_ID, IndexLocationFactory.getWorkspaceIFL(file));
+		assertEquals(1, files.length);
+		return files[0];
+	}
+
+	private boolean isContextOfHeader(IFile source) throws Exception {
+		fIndex.acquireReadLock();
+		try {
+			IIndexInclude context = getIndexFile(fHeader).getParsedInContext();
+			assertNotNull(context);
+			return source.getFullPath().toString().equals(context.getIncludedByLocation().getFullPath());
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	private boolean hasUnresolvedInclude(IFile file) throws Exception {
+		fIndex.acquireReadLock();
+		try {
+			for (IIndexInclude include : getIndexFile(file).getIncludes()) {
+				if (include.isActive() && !include.isResolved())
+					return true;
+			}
+			return false;
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	private long getSourceReadTime(IFile file) throws Exception {
+		fIndex.acquireReadLock();
+		try {
+			return getIndexFile(file).getSourceReadTime();
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
 }
@@ -14,10 +14,25 @@
 package org.eclipse.cdt.internal.index.tests;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IPDOMManager;
@@ -30,6 +45,10 @@ import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.Checksums;
+import org.eclipse.cdt.internal.core.pdom.ChunkedPDOMArchive;
+import org.eclipse.cdt.internal.core.pdom.TeamPDOMExportOperation;
+import org.eclipse.cdt.internal.core.pdom.TeamPDOMImportOperation;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -40,6 +59,7 @@ import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.ui.internal.ide.IDEWorkbenchPlugin;
 
 import junit.framework.TestSuite;
@@ -172,6 +192,216 @@ public class TeamSharedIndexTest extends IndexTestBase {
 		checkVariable(prj, "c", 1);
 	}
 
+	public void testChunkedExport() throws Exception {
+		String prjName = "__testChunkedExport__";
+		ICProject prj = createProject(prjName);
+		String loc = IndexerPreferences.getIndexImportLocation(prj.getProject());
+
+		// export the project.
+		fPDOMManager.export(prj, loc, TeamPDOMExportOperation.EXPORT_OPTION_CHUNKED_FORMAT, npm());
+		checkImportWithFakeIndexer(prjName, prj);
+	}
+
+	public void testDeltaExport() throws Exception {
+		String prjName = "__testDeltaExport__";
+		ICProject prj = createProject(prjName);
+		String loc = IndexerPreferences.getIndexImportLocation(prj.getProject());
+		String baseLoc = new Path(loc).removeLastSegments(1).append("cdt-index-base.zip").toString();
+
+		// export the project as a delta to a previous export.
+		fPDOMManager.export(prj, baseLoc, TeamPDOMExportOperation.EXPORT_OPTION_CHUNKED_FORMAT, npm());
+		TestSourceReader.createFile(prj.getProject(), "d.cpp", "int d;");
+		waitForIndexer(prj);
+		TeamPDOMExportOperation operation = new TeamPDOMExportOperation(prj);
+		operation.setTargetLocation(loc);
+		operation.setDeltaBase(baseLoc);
+		operation.run(npm());
+		assertEquals(loc, IndexerPreferences.getIndexImportLocation(prj.getProject()));
+
+		// the blocks with the same digest as in the base must be stored as references to the base.
+		File baseFile = getArchiveFile(prj, baseLoc);
+		File deltaFile = getArchiveFile(prj, loc);
+		ChunkedPDOMArchive.Digests base = ChunkedPDOMArchive.readDigests(baseFile);
+		ChunkedPDOMArchive.Digests delta = ChunkedPDOMArchive.readDigests(deltaFile);
+		int sameBlocks = 0;
+		for (int i = 0; i < delta.getBlockCount(); i++) {
+			if (Arrays.equals(delta.getBlockDigest(i), base.getBlockDigest(i))) {
+				sameBlocks++;
+			}
+		}
+		assertEquals(sameBlocks, readBlocks(deltaFile).getUnchangedBlockCount());
+
+		prj = checkImportWithFakeIndexer(prjName, prj);
+		checkVariable(prj, "d", 1);
+	}
+
+	public void testDeltaStoresOnlyChangedBlocks() throws Exception {
+		final int blockSize = 1024;
+		byte[] database = new byte[8 * blockSize + 100];
+		new Random(7).nextBytes(database);
+		MessageDigest md = Checksums.getDefaultAlgorithm();
+		File file = File.createTempFile("chunked", ".pdom");
+		try {
+			Files.write(file.toPath(), database);
+			final ByteArrayOutputStream base = new ByteArrayOutputStream();
+			ChunkedPDOMArchive.Digests baseDigests = ChunkedPDOMArchive.writeBlocks(file, base, md, blockSize, null,
+					null, npm());
+			assertEquals(9, baseDigests.getBlockCount());
+
+			database[3 * blockSize + 10]++;
+			Files.write(file.toPath(), database);
+			ByteArrayOutputStream delta = new ByteArrayOutputStream();
+			ChunkedPDOMArchive.writeBlocks(file, delta, md, blockSize, baseDigests, "base.zip", npm());
+			assertTrue(delta.size() < base.size() / 4);
+
+			ChunkedPDOMArchive.BlockInputStream in = new ChunkedPDOMArchive.BlockInputStream(
+					new ByteArrayInputStream(delta.toByteArray()), (name, id) -> {
+						assertEquals("base.zip", name);
+						assertTrue(Arrays.equals(baseDigests.getId(), id));
+						return new ChunkedPDOMArchive.BlockInputStream(new ByteArrayInputStream(base.toByteArray()),
+								null);
+					});
+			try {
+				assertTrue(Arrays.equals(database, readAll(in)));
+				assertEquals(8, in.getUnchangedBlockCount());
+			} finally {
+				in.close();
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testImportRejectsCorruptBlock() throws Exception {
+		checkImportRejectsCorruptArchive("__testImportCorruptBlock__", false);
+	}
+
+	public void testImportRejectsChecksumMismatch() throws Exception {
+		checkImportRejectsCorruptArchive("__testImportChecksumMismatch__", true);
+	}
+
+	/**
+	 * Exports the index in the chunked format, modifies either the compressed data or the digest
+	 * of the first block and checks that the archive is not imported.
+	 */
+	private void checkImportRejectsCorruptArchive(String prjName, boolean corruptDigest) throws Exception {
+		ICProject prj = createProject(prjName);
+		String loc = IndexerPreferences.getIndexImportLocation(prj.getProject());
+		fPDOMManager.export(prj, loc, TeamPDOMExportOperation.EXPORT_OPTION_CHUNKED_FORMAT, npm());
+		File archive = getArchiveFile(prj, loc);
+		corruptFirstBlock(archive, corruptDigest);
+
+		try {
+			readBlocks(archive);
+			fail("Corrupt archive was read");
+		} catch (IOException e) {
+			if (corruptDigest) {
+				assertEquals("Checksum mismatch in index archive", e.getMessage());
+			}
+		}
+
+		// the import logs the failure and keeps the current index.
+		setExpectedNumberOfLoggedNonOKStatusObjects(1);
+		TeamPDOMImportOperation operation = new TeamPDOMImportOperation(prj);
+		operation.run(npm());
+		assertFalse(operation.wasSuccessful());
+		checkVariable(prj, "a", 1);
+		checkVariable(prj, "b", 1);
+		checkVariable(prj, "c", 1);
+	}
+
+	private File getArchiveFile(ICProject prj, String loc) {
+		Path path = new Path(loc);
+		return (path.isAbsolute() ? path : prj.getProject().getLocation().append(path)).toFile();
+	}
+
+	/**
+	 * Reads all blocks of a chunked archive, returns the stream after it has been closed.
+	 */
+	private ChunkedPDOMArchive.BlockInputStream readBlocks(File archive) throws IOException {
+		ChunkedPDOMArchive.BlockInputStream in = new ChunkedPDOMArchive.BlockInputStream(
+				ChunkedPDOMArchive.openEntry(archive, ChunkedPDOMArchive.BLOCKS_NAME),
+				ChunkedPDOMArchive.createResolver(archive.getParentFile()));
+		try {
+			readAll(in);
+		} finally {
+			in.close();
+		}
+		return in;
+	}
+
+	private byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Rewrites the archive with one byte of the first block changed, either in its compressed data
+	 * or in its digest.
+	 */
+	private void corruptFirstBlock(File archive, boolean corruptDigest) throws IOException {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		try (ZipInputStream in = new ZipInputStream(new FileInputStream(archive))) {
+			for (ZipEntry entry; (entry = in.getNextEntry()) != null;) {
+				entries.put(entry.getName(), readAll(in));
+			}
+		}
+		byte[] blocks = entries.get(ChunkedPDOMArchive.BLOCKS_NAME);
+		ByteBuffer header = ByteBuffer.wrap(blocks);
+		header.getInt(); // magic
+		header.getInt(); // version
+		skip(header, header.getShort()); // algorithm
+		header.getInt(); // block size
+		header.getLong(); // database size
+		skip(header, header.getShort()); // name of the base
+		skip(header, header.getInt()); // id of the base
+		header.get(); // kind of the first block
+		header.getInt(); // length of the first block
+		int compressedLength = header.getInt();
+		int offset = header.position() + (corruptDigest ? compressedLength : compressedLength / 2);
+		blocks[offset] ^= 0x55;
+
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+			for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				out.putNextEntry(new ZipEntry(entry.getKey()));
+				out.write(entry.getValue());
+				out.closeEntry();
+			}
+		}
+	}
+
+	private static void skip(ByteBuffer buffer, int length) {
+		buffer.position(buffer.position() + length);
+	}
+
+	/**
+	 * Switches the project to the fake indexer, recreates it and checks that the exported index
+	 * has been imported.
+	 */
+	private ICProject checkImportWithFakeIndexer(String prjName, ICProject prj) throws Exception {
+		fPDOMManager.setIndexerId(prj, FakeIndexer.ID);
+		IndexerPreferences.setScope(prj.getProject(), IndexerPreferences.SCOPE_PROJECT_SHARED);
+		new ProjectScope(prj.getProject()).getNode(CCorePlugin.PLUGIN_ID).flush();
+		waitForIndexer(prj);
+		checkVariable(prj, "a", 0);
+
+		deleteAndWait(prj);
+		unregisterProject(prj);
+
+		prj = recreateProject(prjName);
+		assertEquals(FakeIndexer.ID, fPDOMManager.getIndexerId(prj));
+		registerProject(prj);
+		checkVariable(prj, "a", 1);
+		checkVariable(prj, "b", 1);
+		checkVariable(prj, "c", 1);
+		return prj;
+	}
+
 	public void testExportWithFileChange() throws Exception {
 		String prjName = "__testExportWithChange__";
 		ICProject prj = createProject(prjName);
@@ -119,6 +119,79 @@ public class BTreeTests extends BaseTestCase {
 		}
 	}
 
+	/**
+	 * Insert batches of records with duplicates into an empty and into a populated B-tree.
+	 */
+	public void testInsertAll() throws Exception {
+		Random random = new Random(90210);
+		for (int degree = 2; degree <= 12; degree += 5) {
+			for (int size : new int[] { 1, 2 * degree, 5000 }) {
+				init(degree);
+				try {
+					SortedSet<Integer> expected = new TreeSet<>();
+					long[] records = new long[size];
+					for (int i = 0; i < size; i++) {
+						int value = random.nextInt(size);
+						expected.add(value);
+						records[i] = new BTMockRecord(db, value).getRecord();
+					}
+					btree.insertAll(records, size);
+					assertBTreeMatchesSortedSet("[empty tree] ", btree, expected);
+					assertBTreeInvariantsHold("[empty tree]");
+
+					for (int i = 0; i < size; i++) {
+						int value = random.nextInt(2 * size);
+						expected.add(value);
+						records[i] = new BTMockRecord(db, value).getRecord();
+					}
+					btree.insertAll(records, size);
+					assertBTreeMatchesSortedSet("[populated tree] ", btree, expected);
+					assertBTreeInvariantsHold("[populated tree]");
+				} finally {
+					finish();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Rebuild B-trees of various degrees and sizes, the result must be a valid B-tree that can
+	 * be modified further.
+	 */
+	public void testRebuild() throws Exception {
+		Random random = new Random(4711);
+		for (int degree = 2; degree <= 12; degree += 5) {
+			for (int size : new int[] { 0, 1, 2 * degree - 1, 2 * degree, 1000, 5000 }) {
+				init(degree);
+				try {
+					SortedSet<Integer> expected = new TreeSet<>();
+					while (expected.size() < size) {
+						Integer value = random.nextInt(Integer.MAX_VALUE);
+						if (expected.add(value)) {
+							btree.insert(new BTMockRecord(db, value.intValue()).getRecord());
+						}
+					}
+					btree.rebuild();
+					assertBTreeMatchesSortedSet("[rebuild] ", btree, expected);
+					assertBTreeInvariantsHold("[rebuild]");
+					// A packed tree is rebuilt with the same number of nodes.
+					assertEquals(0, btree.rebuild());
+
+					for (int i = 0; i < 100; i++) {
+						Integer value = random.nextInt(Integer.MAX_VALUE);
+						if (expected.add(value)) {
+							btree.insert(new BTMockRecord(db, value.intValue()).getRecord());
+						}
+					}
+					assertBTreeMatchesSortedSet("[insert after rebuild] ", btree, expected);
+					assertBTreeInvariantsHold("[insert after rebuild]");
+				} finally {
+					finish();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Insert/Delete a random number of records into/from the B-tree
 	 * @param seed the seed for obtaining the deterministic random testing
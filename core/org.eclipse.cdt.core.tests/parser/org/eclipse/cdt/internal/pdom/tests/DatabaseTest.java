@@ -44,8 +44,7 @@ public class DatabaseTest extends BaseTestCase {
 	@Override
 	protected void setUp() throws Exception {
 		super.setUp();
-		db = new Database(getTestDir().append(getName() + System.currentTimeMillis() + ".dat").toFile(),
-				new ChunkCache(), 0, false);
+		db = createDatabase(getTestDir().append(getName() + System.currentTimeMillis() + ".dat").toFile());
 		db.setExclusiveLock();
 
 		// Allocate all database chunks up to TEST_OFFSET.
@@ -64,6 +63,14 @@ public class DatabaseTest extends BaseTestCase {
 		return suite(DatabaseTest.class);
 	}
 
+	protected Database createDatabase(File location) throws CoreException {
+		return createDatabase(location, new ChunkCache());
+	}
+
+	protected Database createDatabase(File location, ChunkCache cache) throws CoreException {
+		return new Database(location, cache, 0, false, false);
+	}
+
 	protected IPath getTestDir() {
 		IPath path = CTestPlugin.getDefault().getStateLocation().append("tests/");
 		File file = path.toFile();
@@ -81,6 +88,72 @@ public class DatabaseTest extends BaseTestCase {
 		db = null;
 	}
 
+	public void testContentSurvivesReopen() throws Exception {
+		final int count = 3 * Database.CHUNK_SIZE / 8;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(8);
+			db.putLong(records[i], i * 31L);
+		}
+		db.setVersion(42);
+		db.close();
+
+		db = createDatabase(db.getLocation());
+		db.setExclusiveLock();
+		assertEquals(42, db.getVersion());
+		for (int i = 0; i < count; i++) {
+			assertEquals(i * 31L, db.getLong(records[i]));
+		}
+	}
+
+	public void testConcurrentReadsWithStripedCache() throws Exception {
+		// A cache much smaller than the database, such that the readers constantly evict chunks.
+		ChunkCache cache = new ChunkCache(64 * Database.CHUNK_SIZE, 4);
+		assertEquals(4, cache.getStripeCount());
+
+		File location = getTestDir().append(getName() + System.currentTimeMillis() + "-striped.dat").toFile();
+		final Database sdb = createDatabase(location, cache);
+		try {
+			sdb.setExclusiveLock();
+			final int count = 256 * Database.CHUNK_SIZE / Database.MAX_MALLOC_SIZE;
+			final long[] records = new long[count];
+			for (int i = 0; i < count; i++) {
+				records[i] = sdb.malloc(Database.MAX_MALLOC_SIZE);
+				sdb.putLong(records[i], i * 17L);
+			}
+			sdb.giveUpExclusiveLock(true);
+
+			final Throwable[] failure = new Throwable[1];
+			Thread[] readers = new Thread[8];
+			for (int t = 0; t < readers.length; t++) {
+				final int seed = t;
+				readers[t] = new Thread(() -> {
+					Random random = new Random(seed);
+					try {
+						for (int j = 0; j < 10000; j++) {
+							int i = random.nextInt(count);
+							assertEquals(i * 17L, sdb.getLong(records[i]));
+						}
+					} catch (Throwable e) {
+						synchronized (failure) {
+							failure[0] = e;
+						}
+					}
+				});
+				readers[t].start();
+			}
+			for (Thread reader : readers) {
+				reader.join();
+			}
+			if (failure[0] != null) {
+				throw new AssertionError(failure[0]);
+			}
+		} finally {
+			sdb.close();
+			location.delete();
+		}
+	}
+
 	public void testBlockSizeAndFirstBlock() throws Exception {
 		assertEquals(0, db.getVersion());
 
@@ -147,6 +220,42 @@ public class DatabaseTest extends BaseTestCase {
 		assertEquals(mem2, mem1);
 	}
 
+	public void testCoalesceAndTruncateFreeChunks() throws Exception {
+		final int chunkCount = db.getChunkCount();
+		final int count = 4 * db.getChunkSize() / 64;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(50);
+		}
+		assertTrue(db.getChunkCount() > chunkCount + 2);
+		db.putLong(records[0], 4711);
+		for (int i = 1; i < count; i++) {
+			db.free(records[i]);
+		}
+
+		int merged = 0;
+		for (int i = 0; i < db.getChunkCount(); i++) {
+			merged += db.coalesceFreeBlocks(i);
+		}
+		assertTrue(merged > 0);
+		assertTrue(db.truncateFreeChunks() > 0);
+		assertEquals(chunkCount + 1, db.getChunkCount());
+		assertEquals(0, db.truncateFreeChunks());
+		db.flush();
+		assertEquals((long) db.getChunkCount() * db.getChunkSize(), db.getSizeBytes());
+		assertEquals(4711, db.getLong(records[0]));
+
+		// The removed chunks are allocated again.
+		for (int i = 1; i < count; i++) {
+			records[i] = db.malloc(50);
+			db.putLong(records[i], i);
+		}
+		assertEquals(4711, db.getLong(records[0]));
+		for (int i = 1; i < count; i++) {
+			assertEquals(i, db.getLong(records[i]));
+		}
+	}
+
 	private static class FindVisitor implements IBTreeVisitor {
 		private Database db;
 		private String key;
@@ -260,7 +260,22 @@ public class GeneratePDOMApplicationTest extends PDOMTestBase {
 		}
 	}
 
-	private WritablePDOM generatePDOM(String testProject, Class<?> provider, final int[] stateCount) throws Exception {
+	public void testExternalExportProjectProvider_ParserThreads() throws Exception {
+		WritablePDOM wpdom = generatePDOM(LOC_TSTPRJ2, ExternalExportProjectProvider.class, null,
+				GeneratePDOMApplication.OPT_THREADS, "4");
+		verifyProject2Content(wpdom);
+	}
+
+	public void testExternalExportProjectProvider_BadThreadCount() throws Exception {
+		setExpectedNumberOfLoggedNonOKStatusObjects(1); // Expected failure: -threads must be positive
+		doGenerate(new String[] { GeneratePDOMApplication.OPT_TARGET, target.getAbsolutePath(),
+				GeneratePDOMApplication.OPT_PROJECTPROVIDER, TestProjectProvider3.class.getName(),
+				GeneratePDOMApplication.OPT_THREADS, "0" });
+		assertFalse(target.exists());
+	}
+
+	private WritablePDOM generatePDOM(String testProject, Class<?> provider, final int[] stateCount,
+			String... extraArgs) throws Exception {
 		IIndexerStateListener listener = null;
 		if (stateCount != null) {
 			listener = new IIndexerStateListener() {
@@ -276,10 +291,14 @@ public class GeneratePDOMApplicationTest extends PDOMTestBase {
 		URL url = FileLocator.find(CTestPlugin.getDefault().getBundle(), new Path(testProject), null);
 		String baseDir = FileLocator.toFileURL(url).getFile();
 
-		doGenerate(new String[] { GeneratePDOMApplication.OPT_TARGET, target.getAbsolutePath(),
+		String[] args = { GeneratePDOMApplication.OPT_TARGET, target.getAbsolutePath(),
 				GeneratePDOMApplication.OPT_PROJECTPROVIDER, provider.getName(),
 				ExternalExportProjectProvider.OPT_SOURCE, baseDir, ExternalExportProjectProvider.OPT_FRAGMENT_ID,
-				"generate.pdom.tests.id." + getName() });
+				"generate.pdom.tests.id." + getName() };
+		String[] allArgs = new String[args.length + extraArgs.length];
+		System.arraycopy(args, 0, allArgs, 0, args.length);
+		System.arraycopy(extraArgs, 0, allArgs, args.length, extraArgs.length);
+		doGenerate(allArgs);
 		assertTrue(target.exists());
 		if (listener != null) {
 			CCorePlugin.getIndexManager().removeIndexerStateListener(listener);
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import java.io.File;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+
+import junit.framework.Test;
+
+/**
+ * Runs the tests for the {@link Database} class with a non-default layout.
+ */
+public class LargeChunkDatabaseTest extends DatabaseTest {
+	private static final int CHUNK_SIZE = 64 * 1024;
+	private static final int RECORD_ALIGNMENT = 16;
+
+	public static Test suite() {
+		return suite(LargeChunkDatabaseTest.class);
+	}
+
+	@Override
+	protected Database createDatabase(File location) throws CoreException {
+		return new Database(location, new ChunkCache(), 0, false, false, CHUNK_SIZE, RECORD_ALIGNMENT);
+	}
+
+	public void testLayout() throws Exception {
+		assertEquals(CHUNK_SIZE, db.getChunkSize());
+		assertEquals(RECORD_ALIGNMENT, db.getRecordAlignment());
+		assertEquals(2 * Database.MAX_DB_SIZE, db.getMaxSize());
+	}
+
+	public void testRecordsAreAligned() throws Exception {
+		for (int size = 1; size < 100; size++) {
+			long record = db.malloc(size);
+			assertEquals(0, (record - Database.BLOCK_HEADER_SIZE) % RECORD_ALIGNMENT);
+			db.putRecPtr(record, record);
+			assertEquals(record, db.getRecPtr(record));
+		}
+	}
+
+	public void testRecordsBeyondFirstBlockOfChunk() throws Exception {
+		final int count = 2 * CHUNK_SIZE / Database.CHUNK_SIZE;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putInt(records[i], i);
+		}
+		db.flush();
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+		assertEquals(3L * CHUNK_SIZE, db.getSizeBytes());
+	}
+
+	public void testLayoutSurvivesReopen() throws Exception {
+		long record = db.malloc(8);
+		db.putLong(record, 4711);
+		db.setVersion(42);
+		db.close();
+
+		// The layout of an existing database takes precedence over the requested one.
+		db = new Database(db.getLocation(), new ChunkCache(), 0, false, false);
+		db.setExclusiveLock();
+		assertEquals(CHUNK_SIZE, db.getChunkSize());
+		assertEquals(RECORD_ALIGNMENT, db.getRecordAlignment());
+		assertEquals(42, db.getVersion());
+		assertEquals(4711, db.getLong(record));
+	}
+
+	public void testDefaultLayoutIsMigratedOnClear() throws Exception {
+		File location = db.getLocation();
+		db.close();
+		location.delete();
+
+		db = new Database(location, new ChunkCache(), 0, false, false);
+		db.setExclusiveLock();
+		long record = db.malloc(8);
+		db.putLong(record, 4711);
+		db.setVersion(42);
+		db.close();
+
+		// A database with the default layout remains readable.
+		db = createDatabase(location);
+		db.setExclusiveLock();
+		assertEquals(Database.CHUNK_SIZE, db.getChunkSize());
+		assertEquals(42, db.getVersion());
+		assertEquals(4711, db.getLong(record));
+
+		db.clear(43);
+		assertEquals(CHUNK_SIZE, db.getChunkSize());
+		assertEquals(RECORD_ALIGNMENT, db.getRecordAlignment());
+		record = db.malloc(8);
+		db.putLong(record, 815);
+		db.close();
+
+		db = createDatabase(location);
+		db.setExclusiveLock();
+		assertEquals(CHUNK_SIZE, db.getChunkSize());
+		assertEquals(43, db.getVersion());
+		assertEquals(815, db.getLong(record));
+	}
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import java.io.File;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+
+import junit.framework.Test;
+
+/**
+ * Runs the tests for the {@link Database} class with memory-mapped file access.
+ */
+public class MappedDatabaseTest extends DatabaseTest {
+
+	public static Test suite() {
+		return suite(MappedDatabaseTest.class);
+	}
+
+	@Override
+	protected Database createDatabase(File location, ChunkCache cache) throws CoreException {
+		return new Database(location, cache, 0, false, true);
+	}
+
+	public void testIsMemoryMapped() throws Exception {
+		assertTrue(db.isMemoryMapped());
+	}
+
+	public void testClearAfterGrowth() throws Exception {
+		for (int i = 0; i < 100; i++) {
+			db.malloc(Database.MAX_MALLOC_SIZE);
+		}
+		db.flush();
+		long record = db.malloc(8);
+		db.putLong(record, 4711);
+		db.flush();
+		assertEquals(4711, db.getLong(record));
+
+		db.clear(1);
+		assertEquals(1, db.getVersion());
+		record = db.malloc(8);
+		db.putLong(record, 815);
+		db.flush();
+		assertEquals(815, db.getLong(record));
+	}
+
+	public void testFileCanBeDeletedAfterClose() throws Exception {
+		long record = db.malloc(Database.MAX_MALLOC_SIZE);
+		db.putLong(record, 4711);
+		db.flush();
+		assertEquals(4711, db.getLong(record));
+
+		// Fails on Windows unless the regions have been unmapped.
+		File location = db.getLocation();
+		db.close();
+		assertTrue(location.delete());
+
+		db = createDatabase(location);
+		db.setExclusiveLock();
+	}
+}
@@ -21,6 +21,7 @@ import org.eclipse.cdt.core.cdescriptor.tests.CDescriptorTests;
 import org.eclipse.cdt.core.envvar.IEnvironmentVariableManagerTests;
 import org.eclipse.cdt.core.internal.efsextension.tests.EFSExtensionTests;
 import org.eclipse.cdt.core.internal.errorparsers.tests.ErrorParserTests;
+import org.eclipse.cdt.core.internal.tests.ConsoleOutputSnifferTest;
 import org.eclipse.cdt.core.internal.tests.PositionTrackerTests;
 import org.eclipse.cdt.core.internal.tests.ResourceLookupTests;
 import org.eclipse.cdt.core.internal.tests.StringBuilderTest;
@@ -88,6 +89,7 @@ public class AutomatedIntegrationSuite extends TestSuite {
 		suite.addTest(PositionTrackerTests.suite());
 		suite.addTest(ResourceLookupTests.suite());
 		suite.addTest(StringBuilderTest.suite());
+		suite.addTest(ConsoleOutputSnifferTest.suite());
 		suite.addTest(AllLanguageTests.suite());
 		suite.addTest(RewriteTests.suite());
 		suite.addTest(CdtVariableResolverTest.suite());
@@ -15,6 +15,11 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
@@ -33,7 +38,11 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides shared ASTs. The AST of the active translation unit is kept in sync with the
+ * reconciler. In addition the ASTs of a few recently used translation units are kept, such
+ * that switching between editors or running several clients on different files does not
+ * require parsing the same files over and over again. These ASTs are evicted in least recently
+ * used order, when their estimated size exceeds a limit, or when memory runs low.
  *
  * @since 4.0
  */
@@ -51,6 +60,13 @@ public class ASTCache {
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
 			| ITranslationUnit.AST_PARSE_INACTIVE_CODE;
 
+	/** Default for the number of ASTs kept in addition to the one of the active translation unit. */
+	public static final int DEFAULT_MAX_INACTIVE_ASTS = 4;
+	/** Default for the estimated size of the ASTs kept in addition to the one of the active translation unit. */
+	public static final long DEFAULT_MAX_INACTIVE_SIZE = 64L * 1024 * 1024;
+	/** Rough estimate for the memory retained by an AST per character of the source. */
+	private static final int ESTIMATED_BYTES_PER_CHAR = 40;
+
 	/**
 	 * Do something with an AST.
 	 *
@@ -82,12 +98,84 @@ public class ASTCache {
 	private long fLastWriteOnIndex;
 	/** Indicates whether the AST is currently being computed */
 	private boolean fIsReconciling;
+	/**
+	 * Fingerprint of the content of the active translation unit at the time the computation
+	 * of the AST was started, or {@code null}.
+	 */
+	private Fingerprint fActiveFingerprint;
+
+	/** The ASTs of translation units other than the active one, in least recently used order. */
+	private final LinkedHashMap<ITranslationUnit, CachedAST> fInactiveASTs = new LinkedHashMap<>(16, 0.75f, true);
+	private final int fMaxInactiveASTs;
+	private final long fMaxInactiveSize;
+	private long fInactiveSize;
+
+	private long fHits;
+	private long fMisses;
+	private long fEvictions;
+
+	/**
+	 * Identifies the content an AST was created for.
+	 */
+	private static final class Fingerprint {
+		final int fLength;
+		final long fHash;
+
+		Fingerprint(char[] contents) {
+			long h = 0;
+			for (char c : contents) {
+				h = 31 * h + c;
+			}
+			fLength = contents.length;
+			fHash = h;
+		}
+
+		static Fingerprint of(ITranslationUnit tUnit) {
+			char[] contents = tUnit.getContents();
+			return contents == null ? null : new Fingerprint(contents);
+		}
+
+		boolean matches(Fingerprint other) {
+			return other != null && fLength == other.fLength && fHash == other.fHash;
+		}
+	}
+
+	/**
+	 * An AST of a translation unit that is not the active one.
+	 */
+	private static final class CachedAST {
+		final SoftReference<IASTTranslationUnit> fAST;
+		final long fLastWriteOnIndex;
+		final Fingerprint fFingerprint;
+		final long fEstimatedSize;
+
+		CachedAST(IASTTranslationUnit ast, long lastWriteOnIndex, Fingerprint fingerprint) {
+			fAST = new SoftReference<>(ast);
+			fLastWriteOnIndex = lastWriteOnIndex;
+			fFingerprint = fingerprint;
+			fEstimatedSize = (long) fingerprint.fLength * ESTIMATED_BYTES_PER_CHAR;
+		}
+	}
 
 	/**
 	 * Create a new AST cache.
 	 */
 	public ASTCache() {
+		this(DEFAULT_MAX_INACTIVE_ASTS, DEFAULT_MAX_INACTIVE_SIZE);
+	}
+
+	/**
+	 * Create a new AST cache.
+	 *
+	 * @param maxInactiveASTs the maximum number of ASTs kept in addition to the one of the active
+	 *     translation unit.
+	 * @param maxInactiveSize the maximum estimated size in bytes of the ASTs kept in addition to
+	 *     the one of the active translation unit.
+	 */
+	public ASTCache(int maxInactiveASTs, long maxInactiveSize) {
 		fParseMode = PARSE_MODE;
+		fMaxInactiveASTs = maxInactiveASTs;
+		fMaxInactiveSize = maxInactiveSize;
 	}
 
 	/**
@@ -127,6 +215,7 @@ public class ASTCache {
 							if (DEBUG)
 								System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
 										+ toString(fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+							fHits++;
 							return fAST;
 						}
 					}
@@ -136,8 +225,18 @@ public class ASTCache {
 						if (DEBUG)
 							System.out.println(DEBUG_PREFIX + getThreadName() + "returning null (WAIT_NO) for: " //$NON-NLS-1$
 									+ tUnit.getElementName());
+						fMisses++;
 						return null;
 					}
+				} else {
+					IASTTranslationUnit ast = getInactiveAST(tUnit, index);
+					if (ast != null) {
+						if (DEBUG)
+							System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached inactive AST:" //$NON-NLS-1$
+									+ toString(ast) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+						fHits++;
+						return ast;
+					}
 				}
 				// no cached AST, but wait
 				if (isActiveElement && isReconciling(tUnit)) {
@@ -152,6 +251,7 @@ public class ASTCache {
 							if (DEBUG)
 								System.out.println(
 										DEBUG_PREFIX + getThreadName() + "...got AST for: " + tUnit.getElementName()); //$NON-NLS-1$
+							fHits++;
 							return fAST;
 						}
 						// try again
@@ -160,12 +260,19 @@ public class ASTCache {
 						return null; // thread has been interrupted don't compute AST
 					}
 				} else if (!wait) {
+					fMisses++;
 					return null;
 				}
+				fMisses++;
 			}
 
-			if (isActiveElement)
+			final Fingerprint fingerprint;
+			if (isActiveElement) {
 				aboutToBeReconciled(tUnit);
+				fingerprint = null;
+			} else {
+				fingerprint = Fingerprint.of(tUnit);
+			}
 
 			if (DEBUG)
 				System.err.println(DEBUG_PREFIX + getThreadName() + "creating AST for " + tUnit.getElementName()); //$NON-NLS-1$
@@ -187,6 +294,10 @@ public class ASTCache {
 						reconciled(fAST, tUnit);
 					} else
 						reconciled(ast, tUnit);
+				} else if (ast != null && fingerprint != null) {
+					synchronized (fCacheMutex) {
+						cacheInactive(tUnit, ast, index.getLastWriteAccess(), fingerprint);
+					}
 				}
 			}
 			return ast;
@@ -386,9 +497,27 @@ public class ASTCache {
 			return;
 		}
 		synchronized (fCacheMutex) {
+			// Keep the AST of the previously active element, it is likely to be needed again.
+			if (fActiveTU != null && fAST != null && !fIsReconciling && fActiveFingerprint != null) {
+				cacheInactive(fActiveTU, fAST, fLastWriteOnIndex, fActiveFingerprint);
+			}
 			fIsReconciling = false;
 			fActiveTU = tUnit;
+			fActiveFingerprint = null;
 			cache(null, tUnit);
+
+			// The AST of the new active element may be available already.
+			CachedAST cached = tUnit == null ? null : fInactiveASTs.remove(tUnit);
+			if (cached != null) {
+				fInactiveSize -= cached.fEstimatedSize;
+				IASTTranslationUnit ast = cached.fAST.get();
+				if (ast != null && cached.fFingerprint.matches(Fingerprint.of(tUnit))) {
+					fAST = ast;
+					fLastWriteOnIndex = cached.fLastWriteOnIndex;
+					fActiveFingerprint = cached.fFingerprint;
+				}
+			}
+			removeClosedElements();
 		}
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
@@ -425,6 +554,7 @@ public class ASTCache {
 				System.out.println(DEBUG_PREFIX + getThreadName() + "about to reconcile: " + toString(tUnit)); //$NON-NLS-1$
 
 			fIsReconciling = true;
+			fActiveFingerprint = Fingerprint.of(tUnit);
 			cache(null, tUnit);
 		}
 	}
@@ -467,6 +597,131 @@ public class ASTCache {
 		}
 	}
 
+	/**
+	 * Returns a valid AST of an inactive translation unit, or {@code null}.
+	 */
+	private IASTTranslationUnit getInactiveAST(ITranslationUnit tUnit, IIndex index) {
+		assert Thread.holdsLock(fCacheMutex);
+		CachedAST cached = fInactiveASTs.get(tUnit);
+		if (cached == null)
+			return null;
+
+		IASTTranslationUnit ast = cached.fAST.get();
+		if (ast != null && cached.fLastWriteOnIndex >= index.getLastWriteAccess()
+				&& cached.fFingerprint.matches(Fingerprint.of(tUnit))) {
+			return ast;
+		}
+		fInactiveASTs.remove(tUnit);
+		fInactiveSize -= cached.fEstimatedSize;
+		if (ast == null) {
+			// Reclaimed by the garbage collector.
+			fEvictions++;
+		}
+		return null;
+	}
+
+	/**
+	 * Keeps the AST of a translation unit that is not the active one.
+	 */
+	private void cacheInactive(ITranslationUnit tUnit, IASTTranslationUnit ast, long lastWriteOnIndex,
+			Fingerprint fingerprint) {
+		assert Thread.holdsLock(fCacheMutex);
+		if (fMaxInactiveASTs <= 0 || tUnit.equals(fActiveTU))
+			return;
+
+		CachedAST cached = new CachedAST(ast, lastWriteOnIndex, fingerprint);
+		CachedAST old = fInactiveASTs.put(tUnit, cached);
+		if (old != null) {
+			fInactiveSize -= old.fEstimatedSize;
+		}
+		fInactiveSize += cached.fEstimatedSize;
+
+		// Evict in least recently used order, but keep the AST just added.
+		Iterator<CachedAST> iter = fInactiveASTs.values().iterator();
+		while (fInactiveASTs.size() > 1
+				&& (fInactiveASTs.size() > fMaxInactiveASTs || fInactiveSize > fMaxInactiveSize)) {
+			CachedAST eldest = iter.next();
+			iter.remove();
+			fInactiveSize -= eldest.fEstimatedSize;
+			fEvictions++;
+		}
+		if (fInactiveSize > fMaxInactiveSize) {
+			// A single AST that exceeds the limit is not kept.
+			fInactiveASTs.clear();
+			fInactiveSize = 0;
+			fEvictions++;
+		}
+		if (DEBUG)
+			System.out.println(DEBUG_PREFIX + getThreadName() + "caching inactive AST: " + toString(ast) + " for: " //$NON-NLS-1$ //$NON-NLS-2$
+					+ toString(tUnit) + ", cached inactive ASTs: " + fInactiveASTs.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Drops the ASTs of translation units that have been closed, e.g. because their editor
+	 * was closed.
+	 */
+	private void removeClosedElements() {
+		assert Thread.holdsLock(fCacheMutex);
+		for (Iterator<Map.Entry<ITranslationUnit, CachedAST>> iter = fInactiveASTs.entrySet().iterator(); iter
+				.hasNext();) {
+			Map.Entry<ITranslationUnit, CachedAST> entry = iter.next();
+			if (!entry.getKey().isOpen()) {
+				iter.remove();
+				fInactiveSize -= entry.getValue().fEstimatedSize;
+			}
+		}
+	}
+
+	/**
+	 * Disposes all ASTs, including the one of the active translation unit.
+	 */
+	public void disposeAll() {
+		synchronized (fCacheMutex) {
+			disposeAST();
+			fInactiveASTs.clear();
+			fInactiveSize = 0;
+		}
+	}
+
+	/**
+	 * Returns the number of requests for an AST that were answered from this cache since
+	 * the last reset of the counters.
+	 */
+	public long getHits() {
+		synchronized (fCacheMutex) {
+			return fHits;
+		}
+	}
+
+	/**
+	 * Returns the number of requests for an AST that could not be answered from this cache
+	 * since the last reset of the counters.
+	 */
+	public long getMisses() {
+		synchronized (fCacheMutex) {
+			return fMisses;
+		}
+	}
+
+	/**
+	 * Returns the number of ASTs of inactive translation units that were dropped to stay within
+	 * the limits of this cache or because memory was low, since the last reset of the counters.
+	 */
+	public long getEvictions() {
+		synchronized (fCacheMutex) {
+			return fEvictions;
+		}
+	}
+
+	/**
+	 * Resets the counters for hits, misses and evictions.
+	 */
+	public void resetCounters() {
+		synchronized (fCacheMutex) {
+			fHits = fMisses = fEvictions = 0;
+		}
+	}
+
 	private static String getThreadName() {
 		String name = Thread.currentThread().getName();
 		if (name != null)
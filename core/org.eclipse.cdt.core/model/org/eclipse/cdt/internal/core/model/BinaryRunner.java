@@ -16,6 +16,18 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.IBinaryParser.IBinaryFile;
 import org.eclipse.cdt.core.model.CModelException;
@@ -81,6 +93,9 @@ public class BinaryRunner {
 
 	}
 
+	/** The maximum number of threads reading the headers of binaries. */
+	private static final int MAX_SCANNER_THREADS = 4;
+
 	private final ICProject cproject;
 	private final Job runnerJob; // final fields don't need synchronization
 	private IOutputEntry[] entries = new IOutputEntry[0];
@@ -118,7 +133,9 @@ public class BinaryRunner {
 						BinaryParserConfig[] parsers = CModelManager.getDefault()
 								.getBinaryParser(cproject.getProject());
 						if (parsers.length > 0) {
-							cproject.getProject().accept(new Visitor(monitor), IContainer.INCLUDE_PHANTOMS);
+							Visitor visitor = new Visitor(monitor);
+							cproject.getProject().accept(visitor, IContainer.INCLUDE_PHANTOMS);
+							addBinaries(visitor.getCandidates(), monitor);
 						}
 
 						if (!monitor.isCanceled()) {
@@ -140,6 +157,58 @@ public class BinaryRunner {
 		return job;
 	}
 
+	/**
+	 * Creates the binary files for the candidates on a pool of threads, since reading the headers
+	 * of many binaries is dominated by I/O. Each element is added to its container as soon as its
+	 * binary has been read, a binary that fails to be read is logged and skipped.
+	 */
+	private void addBinaries(List<IFile> candidates, IProgressMonitor monitor) {
+		final CModelManager factory = CModelManager.getDefault();
+		final int threads = Math.min(candidates.size(), Math.min(MAX_SCANNER_THREADS,
+				Runtime.getRuntime().availableProcessors()));
+		if (threads <= 1) {
+			for (int i = 0; i < candidates.size() && !monitor.isCanceled(); i++) {
+				addBinary(factory, candidates.get(i), factory.createBinaryFile(candidates.get(i)));
+			}
+			return;
+		}
+		final AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "C/C++ Binary Scanner " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			CompletionService<IBinaryFile> completion = new ExecutorCompletionService<>(executor);
+			Map<Future<IBinaryFile>, IFile> pending = new HashMap<>();
+			for (IFile candidate : candidates) {
+				pending.put(completion.submit(() -> monitor.isCanceled() ? null : factory.createBinaryFile(candidate)),
+						candidate);
+			}
+			while (!pending.isEmpty() && !monitor.isCanceled()) {
+				Future<IBinaryFile> future = completion.take();
+				IFile candidate = pending.remove(future);
+				try {
+					addBinary(factory, candidate, future.get());
+				} catch (ExecutionException e) {
+					// A binary that cannot be read must not hide the others.
+					CCorePlugin.log(e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void addBinary(CModelManager factory, IFile file, IBinaryFile binary) {
+		if (binary != null) {
+			// Create the file will add it to the {Archive,Binary}Container.
+			factory.create(file, binary, cproject);
+		}
+	}
+
 	public void start() {
 		synchronized (runnerJob) {
 			if (!isStopped) {
@@ -176,6 +245,7 @@ public class BinaryRunner {
 		private final IProgressMonitor vMonitor;
 		private final IProject project;
 		private final IContentType textContentType;
+		private final List<IFile> candidates = new ArrayList<>();
 
 		public Visitor(IProgressMonitor monitor) {
 			vMonitor = monitor;
@@ -221,13 +291,7 @@ public class BinaryRunner {
 			if (path != null) {
 				for (IOutputEntry entrie : entries) {
 					if (isOnOutputEntry(entrie, path)) {
-						IFile file = (IFile) proxy.requestResource();
-						CModelManager factory = CModelManager.getDefault();
-						IBinaryFile bin = factory.createBinaryFile(file);
-						if (bin != null) {
-							// Create the file will add it to the {Archive,Binary}Container.
-							factory.create(file, bin, cproject);
-						}
+						candidates.add((IFile) proxy.requestResource());
 						return true;
 					}
 				}
@@ -235,6 +299,13 @@ public class BinaryRunner {
 			return true;
 		}
 
+		/**
+		 * Returns the files on an output entry that may be binaries, in the order they were visited.
+		 */
+		public List<IFile> getCandidates() {
+			return candidates;
+		}
+
 		private boolean isOnOutputEntry(IOutputEntry entry, IPath path) {
 			if (entry.getPath().isPrefixOf(path)
 					&& !CoreModelUtil.isExcluded(path, entry.fullExclusionPatternChars())) {
@@ -64,6 +64,8 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 
 	private final IASTNode physicalNode;
 	private boolean isCached = false;
+	// The lookup cache filled by CPPSemantics.populateCache(). The values are names or sets of names,
+	// so a primitive map would not save any boxing, and entries are removed by removeNestedFromCache().
 	protected CharArrayObjectMap<Object> bindings;
 	private ICPPNamespace fIndexNamespace = UNINITIALIZED;
 
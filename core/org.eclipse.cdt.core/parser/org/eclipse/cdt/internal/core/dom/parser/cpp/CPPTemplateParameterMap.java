@@ -17,7 +17,7 @@ import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateArgument;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameter;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameterMap;
-import org.eclipse.cdt.core.parser.util.ObjectMap;
+import org.eclipse.cdt.internal.core.parser.util.CompactLongObjectMap;
 
 /**
  * Maps template parameters to values.
@@ -25,17 +25,17 @@ import org.eclipse.cdt.core.parser.util.ObjectMap;
 public class CPPTemplateParameterMap implements ICPPTemplateParameterMap {
 	public static final CPPTemplateParameterMap EMPTY = new CPPTemplateParameterMap(0);
 
-	private final ObjectMap fMap;
+	private final CompactLongObjectMap<Object> fMap;
 
 	/**
 	 * Constructs an empty parameter map.
 	 */
 	public CPPTemplateParameterMap(int initialSize) {
-		fMap = new ObjectMap(initialSize);
+		fMap = new CompactLongObjectMap<>(initialSize);
 	}
 
 	public CPPTemplateParameterMap(CPPTemplateParameterMap other) {
-		fMap = (ObjectMap) other.fMap.clone();
+		fMap = other.fMap.clone();
 	}
 
 	/**
@@ -140,7 +140,7 @@ public class CPPTemplateParameterMap implements ICPPTemplateParameterMap {
 	/**
 	 * Returns the argument at the given position
 	 */
-	public boolean putPackElement(Integer paramID, int packOffset, ICPPTemplateArgument arg, int packSize) {
+	public boolean putPackElement(int paramID, int packOffset, ICPPTemplateArgument arg, int packSize) {
 		ICPPTemplateArgument[] args;
 		final Object object = fMap.get(paramID);
 		if (object instanceof ICPPTemplateArgument[]) {
@@ -162,7 +162,7 @@ public class CPPTemplateParameterMap implements ICPPTemplateParameterMap {
 	 */
 	public void putAll(ICPPTemplateParameterMap map) {
 		if (map instanceof CPPTemplateParameterMap) {
-			final ObjectMap omap = ((CPPTemplateParameterMap) map).fMap;
+			final CompactLongObjectMap<Object> omap = ((CPPTemplateParameterMap) map).fMap;
 			for (int i = 0; i < omap.size(); i++) {
 				fMap.put(omap.keyAt(i), omap.getAt(i));
 			}
@@ -172,10 +172,11 @@ public class CPPTemplateParameterMap implements ICPPTemplateParameterMap {
 	}
 
 	public boolean addDeducedArgs(CPPTemplateParameterMap deducedMap) {
-		Integer[] keys = deducedMap.getAllParameterPositions();
-		for (Integer key : keys) {
+		final CompactLongObjectMap<Object> dmap = deducedMap.fMap;
+		for (int i = 0; i < dmap.size(); i++) {
+			final long key = dmap.keyAt(i);
 			Object explicit = fMap.get(key);
-			Object deduced = deducedMap.fMap.get(key);
+			Object deduced = dmap.getAt(i);
 			if (explicit == null) {
 				if (deduced instanceof ICPPTemplateArgument[]) {
 					for (ICPPTemplateArgument arg : (ICPPTemplateArgument[]) deduced) {
@@ -207,7 +208,11 @@ public class CPPTemplateParameterMap implements ICPPTemplateParameterMap {
 	 */
 	@Override
 	public Integer[] getAllParameterPositions() {
-		return fMap.keyArray(Integer.class);
+		final Integer[] result = new Integer[fMap.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = (int) fMap.keyAt(i);
+		}
+		return result;
 	}
 
 	/**
@@ -217,19 +222,17 @@ public class CPPTemplateParameterMap implements ICPPTemplateParameterMap {
 	public String toString() {
 		StringBuilder sb = new StringBuilder("{"); //$NON-NLS-1$
 		for (int i = 0; i < fMap.size(); i++) {
-			Integer key = (Integer) fMap.keyAt(i);
-			if (key != null) {
-				if (sb.length() > 1) {
-					sb.append(", "); //$NON-NLS-1$
-				}
+			final int key = (int) fMap.keyAt(i);
+			if (sb.length() > 1) {
+				sb.append(", "); //$NON-NLS-1$
+			}
 
-				final Object obj = fMap.getAt(i);
-				if (obj instanceof ICPPTemplateArgument) {
-					appendArg(sb, key, (ICPPTemplateArgument) obj);
-				} else if (obj instanceof ICPPTemplateArgument[]) {
-					for (ICPPTemplateArgument arg : (ICPPTemplateArgument[]) obj) {
-						appendArg(sb, key, arg);
-					}
+			final Object obj = fMap.getAt(i);
+			if (obj instanceof ICPPTemplateArgument) {
+				appendArg(sb, key, (ICPPTemplateArgument) obj);
+			} else if (obj instanceof ICPPTemplateArgument[]) {
+				for (ICPPTemplateArgument arg : (ICPPTemplateArgument[]) obj) {
+					appendArg(sb, key, arg);
 				}
 			}
 		}
@@ -237,7 +240,7 @@ public class CPPTemplateParameterMap implements ICPPTemplateParameterMap {
 		return sb.toString();
 	}
 
-	private void appendArg(StringBuilder sb, Integer key, ICPPTemplateArgument value) {
+	private void appendArg(StringBuilder sb, int key, ICPPTemplateArgument value) {
 		sb.append('#');
 		sb.append(key >> 16);
 		sb.append(',');
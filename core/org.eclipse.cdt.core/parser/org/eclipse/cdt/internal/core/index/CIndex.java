@@ -570,17 +570,7 @@ public class CIndex implements IIndex {
 	}
 
 	private IndexFilter retargetFilter(final ILinkage linkage, final IndexFilter filter) {
-		return new IndexFilter() {
-			@Override
-			public boolean acceptBinding(IBinding binding) throws CoreException {
-				return filter.acceptBinding(binding);
-			}
-
-			@Override
-			public boolean acceptLinkage(ILinkage other) {
-				return linkage.getLinkageID() == other.getLinkageID();
-			}
-		};
+		return new LinkageFilter(linkage.getLinkageID(), filter);
 	}
 
 	@Override
@@ -740,6 +730,30 @@ public class CIndex implements IIndex {
 		}
 	}
 
+	/**
+	 * Returns the number of queries answered by the query caches of the fragments since
+	 * the last reset of the counters.
+	 */
+	public long getQueryCacheHits() {
+		long result = 0;
+		for (IIndexFragment fragment : fFragments) {
+			result += fragment.getQueryCacheHits();
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of cacheable queries the fragments had to compute since the last
+	 * reset of the counters.
+	 */
+	public long getQueryCacheMisses() {
+		long result = 0;
+		for (IIndexFragment fragment : fFragments) {
+			result += fragment.getQueryCacheMisses();
+		}
+		return result;
+	}
+
 	protected void clearResultCache() {
 		for (IIndexFragment frag : fFragments) {
 			frag.clearResultCache();
@@ -313,6 +313,18 @@ public interface IIndexFragment {
 	 */
 	long getCacheMisses();
 
+	/**
+	 * Returns the number of queries answered from the query cache since last reset of counters.
+	 * @see IndexQueryCache
+	 */
+	long getQueryCacheHits();
+
+	/**
+	 * Returns the number of cacheable queries that had to be computed since last reset of counters.
+	 * @see IndexQueryCache
+	 */
+	long getQueryCacheMisses();
+
 	/**
 	 * Creates an empty file set for this fragment
 	 * @since 5.0
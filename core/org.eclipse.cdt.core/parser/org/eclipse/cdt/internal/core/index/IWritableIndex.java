@@ -113,8 +113,11 @@ public interface IWritableIndex extends IIndex {
 
 	/**
 	 * Adds content to the given file.
+	 *
+	 * @return whether the declarations, macros or includes of the file differ from the ones of
+	 *     the version of the file that is being replaced, {@code true} for a new file.
 	 */
-	void setFileContent(IIndexFragmentFile sourceFile, int linkageID, IncludeInformation[] includes,
+	boolean setFileContent(IIndexFragmentFile sourceFile, int linkageID, IncludeInformation[] includes,
 			IASTPreprocessorStatement[] macros, IASTName[][] names, ASTFilePathResolver resolver,
 			YieldableIndexLock lock) throws CoreException, InterruptedException;
 
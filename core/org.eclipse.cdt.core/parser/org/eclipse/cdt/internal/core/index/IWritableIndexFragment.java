@@ -81,8 +81,11 @@ public interface IWritableIndexFragment extends IIndexFragment {
 
 	/**
 	 * Adds includes, macros and names to the given file.
+	 *
+	 * @return whether the declarations, macros or includes of the file differ from the ones of
+	 *     the version of the file that is being replaced, {@code true} for a new file.
 	 */
-	void addFileContent(IIndexFragmentFile sourceFile, IncludeInformation[] includes,
+	boolean addFileContent(IIndexFragmentFile sourceFile, IncludeInformation[] includes,
 			IASTPreprocessorStatement[] macros, IASTName[][] names, ASTFilePathResolver resolver,
 			YieldableIndexLock lock) throws CoreException, InterruptedException;
 
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.internal.core.parser.util.LRUCache;
+
+/**
+ * Caches the results of queries of an index fragment across read locks. In contrast to the
+ * result cache of the fragment, which is cleared whenever the last lock is released, the entries
+ * of this cache stay valid until the fragment is modified.
+ * <p>
+ * Validity is tracked with a write epoch, which the fragment increments when it acquires and
+ * when it releases its write lock. An odd epoch means that a writer is active, in that case
+ * the cache is bypassed. A result is stored only if the epoch did not change while the query
+ * was computed, such that a result can never outlive a modification of the fragment.
+ * <p>
+ * Only queries with filters that depend on nothing but the bindings they are applied to
+ * can be cached, see {@link #isCacheable(IndexFilter)}. The cached arrays are copied on the
+ * way in and out, callers may modify the arrays they obtain.
+ */
+public final class IndexQueryCache {
+	private static final int MAX_ENTRIES = 1000;
+
+	/** Kinds of queries. */
+	public static final int FIND_BINDINGS = 0;
+	public static final int FIND_QUALIFIED_BINDINGS = 1;
+	public static final int FIND_NAMES = 2;
+
+	private final LRUCache<Key, Object[]> fEntries = new LRUCache<>(MAX_ENTRIES);
+	private volatile long fEpoch;
+	private long fHits;
+	private long fMisses;
+
+	/**
+	 * Returns whether the results of queries with the given filter may be cached.
+	 */
+	public static boolean isCacheable(IndexFilter filter) {
+		if (filter == IndexFilter.ALL || filter.getClass() == DeclaredBindingsFilter.class)
+			return true;
+		if (filter instanceof LinkageFilter)
+			return isCacheable(((LinkageFilter) filter).getDelegate());
+		return false;
+	}
+
+	/**
+	 * Creates the key for a query.
+	 * @param kind one of {@link #FIND_BINDINGS}, {@link #FIND_QUALIFIED_BINDINGS} or {@link #FIND_NAMES}.
+	 * @param target the name, qualified name or binding the query is about.
+	 * @param options the options of the query.
+	 * @param filter the filter of the query, or {@code null}.
+	 */
+	public static Object createKey(int kind, Object target, int options, IndexFilter filter) {
+		return new Key(kind, target, options, filter);
+	}
+
+	/**
+	 * Returns the current write epoch. The value has to be obtained before the query is
+	 * computed and passed to {@link #put(Object, Object[], long)}.
+	 */
+	public long getEpoch() {
+		return fEpoch;
+	}
+
+	/**
+	 * Called by the fragment when it acquires or releases its write lock.
+	 */
+	public synchronized void writeLockChanged() {
+		fEpoch++;
+		fEntries.clear();
+	}
+
+	/**
+	 * Drops all entries, to be called when the content of the fragment is replaced.
+	 */
+	public synchronized void invalidate() {
+		// Keep the parity, a writer may be active.
+		fEpoch += 2;
+		fEntries.clear();
+	}
+
+	/**
+	 * Returns a copy of the cached result for the given key, or {@code null}.
+	 */
+	public <T> T[] get(Object key) {
+		if ((fEpoch & 1) != 0)
+			return null;
+		Object[] result;
+		synchronized (this) {
+			result = fEntries.get(key);
+			if (result == null) {
+				fMisses++;
+				return null;
+			}
+			fHits++;
+		}
+		@SuppressWarnings("unchecked")
+		T[] copy = (T[]) result.clone();
+		return copy;
+	}
+
+	/**
+	 * Stores a copy of the result for the given key, provided that the epoch is still the same.
+	 */
+	public void put(Object key, Object[] result, long epoch) {
+		if ((epoch & 1) != 0)
+			return;
+		Object[] copy = result.clone();
+		synchronized (this) {
+			if (epoch == fEpoch) {
+				fEntries.put((Key) key, copy);
+			}
+		}
+	}
+
+	public synchronized long getHits() {
+		return fHits;
+	}
+
+	public synchronized long getMisses() {
+		return fMisses;
+	}
+
+	public synchronized void resetCounters() {
+		fHits = fMisses = 0;
+	}
+
+	private static final class Key {
+		private final int fKind;
+		private final Object fTarget;
+		private final int fOptions;
+		private final IndexFilter fFilter;
+		private final int fHashCode;
+
+		Key(int kind, Object target, int options, IndexFilter filter) {
+			fKind = kind;
+			fTarget = copy(target);
+			fOptions = options;
+			fFilter = filter;
+			int h = 31 * kind + options;
+			h = 31 * h + hashCode(fTarget);
+			fHashCode = 31 * h + (filter == null ? 0 : filter.hashCode());
+		}
+
+		private static Object copy(Object target) {
+			if (target instanceof char[])
+				return ((char[]) target).clone();
+			if (target instanceof char[][]) {
+				char[][] names = ((char[][]) target).clone();
+				for (int i = 0; i < names.length; i++) {
+					names[i] = names[i].clone();
+				}
+				return names;
+			}
+			return target;
+		}
+
+		private static int hashCode(Object target) {
+			if (target instanceof char[])
+				return Arrays.hashCode((char[]) target);
+			if (target instanceof char[][])
+				return Arrays.deepHashCode((char[][]) target);
+			return Objects.hashCode(target);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return fHashCode == other.fHashCode && fKind == other.fKind && fOptions == other.fOptions
+					&& Objects.deepEquals(fTarget, other.fTarget) && Objects.equals(fFilter, other.fFilter);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Restricts another filter to a single linkage. Two such filters are equal when they
+ * restrict equal filters to the same linkage, which allows for caching the results of queries.
+ */
+final class LinkageFilter extends IndexFilter {
+	private final int fLinkageID;
+	private final IndexFilter fDelegate;
+
+	LinkageFilter(int linkageID, IndexFilter delegate) {
+		fLinkageID = linkageID;
+		fDelegate = delegate;
+	}
+
+	IndexFilter getDelegate() {
+		return fDelegate;
+	}
+
+	@Override
+	public boolean acceptBinding(IBinding binding) throws CoreException {
+		return fDelegate.acceptBinding(binding);
+	}
+
+	@Override
+	public boolean acceptLinkage(ILinkage other) {
+		return fLinkageID == other.getLinkageID();
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * fLinkageID + fDelegate.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof LinkageFilter))
+			return false;
+		LinkageFilter other = (LinkageFilter) obj;
+		return fLinkageID == other.fLinkageID && fDelegate.equals(other.fDelegate);
+	}
+}
@@ -76,7 +76,7 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 	}
 
 	@Override
-	public void setFileContent(IIndexFragmentFile file, int linkageID, IncludeInformation[] includes,
+	public boolean setFileContent(IIndexFragmentFile file, int linkageID, IncludeInformation[] includes,
 			IASTPreprocessorStatement[] macros, IASTName[][] names, ASTFilePathResolver resolver,
 			YieldableIndexLock lock) throws CoreException, InterruptedException {
 		assert getWritableFragment() == file.getIndexFragment();
@@ -86,7 +86,7 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 				include.fTargetFile = addFile(linkageID, include.fLocation, include.fSignificantMacros);
 			}
 		}
-		getWritableFragment().addFileContent(file, includes, macros, names, resolver, lock);
+		return getWritableFragment().addFileContent(file, includes, macros, names, resolver, lock);
 	}
 
 	@Override
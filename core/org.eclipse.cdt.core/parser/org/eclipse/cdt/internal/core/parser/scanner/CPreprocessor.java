@@ -73,6 +73,7 @@ import org.eclipse.cdt.internal.core.parser.scanner.MacroDefinitionParser.Invali
 import org.eclipse.cdt.internal.core.parser.scanner.ScannerContext.BranchKind;
 import org.eclipse.cdt.internal.core.parser.scanner.ScannerContext.CodeState;
 import org.eclipse.cdt.internal.core.parser.scanner.ScannerContext.Conditional;
+import org.eclipse.cdt.internal.core.parser.util.CompactCharArrayIntMap;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
 import org.osgi.framework.Version;
@@ -267,8 +268,8 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 	// configuration
 	final private LexerOptions fLexOptions = new LexerOptions();
 	final private char[] fAdditionalNumericLiteralSuffixes;
-	final private CharArrayIntMap fKeywords;
-	final private CharArrayIntMap fPPKeywords;
+	final private CompactCharArrayIntMap fKeywords;
+	final private CompactCharArrayIntMap fPPKeywords;
 	private final IncludeSearchPath fIncludeSearchPath;
 	private String[][] fPreIncludedFiles = null;
 
@@ -328,9 +329,8 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		if (info instanceof ExtendedScannerInfo)
 			fLexOptions.fIncludeExportPatterns = ((ExtendedScannerInfo) info).getIncludeExportPatterns();
 		fLocationMap = new LocationMap(fLexOptions);
-		fKeywords = new CharArrayIntMap(40, -1);
-		fPPKeywords = new CharArrayIntMap(40, -1);
-		configureKeywords(language, configuration);
+		fKeywords = createKeywords(language, configuration);
+		fPPKeywords = createPreprocessorKeywords(configuration);
 
 		fExpressionEvaluator = new ExpressionEvaluator(this);
 		fMacroDefinitionParser = new MacroDefinitionParser();
@@ -431,21 +431,30 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		return fAdditionalNumericLiteralSuffixes;
 	}
 
-	private void configureKeywords(ParserLanguage language, IScannerExtensionConfiguration configuration) {
-		Keywords.addKeywordsPreprocessor(fPPKeywords);
+	private static CompactCharArrayIntMap createKeywords(ParserLanguage language,
+			IScannerExtensionConfiguration configuration) {
+		CharArrayIntMap keywords = new CharArrayIntMap(40, -1);
 		if (language == ParserLanguage.C) {
-			Keywords.addKeywordsC(fKeywords);
+			Keywords.addKeywordsC(keywords);
 		} else {
-			Keywords.addKeywordsCpp(fKeywords);
+			Keywords.addKeywordsCpp(keywords);
 		}
 		CharArrayIntMap additionalKeywords = configuration.getAdditionalKeywords();
 		if (additionalKeywords != null) {
-			fKeywords.putAll(additionalKeywords);
+			keywords.putAll(additionalKeywords);
 		}
-		additionalKeywords = configuration.getAdditionalPreprocessorKeywords();
+		// The keywords are looked up for every identifier, use the compact representation.
+		return new CompactCharArrayIntMap(keywords);
+	}
+
+	private static CompactCharArrayIntMap createPreprocessorKeywords(IScannerExtensionConfiguration configuration) {
+		CharArrayIntMap keywords = new CharArrayIntMap(40, -1);
+		Keywords.addKeywordsPreprocessor(keywords);
+		CharArrayIntMap additionalKeywords = configuration.getAdditionalPreprocessorKeywords();
 		if (additionalKeywords != null) {
-			fPPKeywords.putAll(additionalKeywords);
+			keywords.putAll(additionalKeywords);
 		}
+		return new CompactCharArrayIntMap(keywords);
 	}
 
 	protected String getCurrentFilename() {
@@ -1760,8 +1769,12 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 			if (source != null) {
 				ILocationCtx ctx = fLocationMap.pushInclusion(poundOffset, nameOffsets[0], nameOffsets[1],
 						condEndOffset, source, path, headerName, userInclude, isHeuristic, fi.isSource());
-				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext,
-						new Lexer(source, fLexOptions, this, this));
+				Lexer includeLexer = new Lexer(source, fLexOptions, this, this);
+				TokenStreamCache tokenCache = fFileContentProvider.getTokenStreamCache();
+				if (tokenCache != null) {
+					includeLexer.setTokenStreamCache(tokenCache);
+				}
+				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext, includeLexer);
 				fctx.setFoundOnPath(fi.getFoundOnPath(), includeDirective);
 				detectIncludeGuard(path, source, fctx);
 				fCurrentContext = fctx;
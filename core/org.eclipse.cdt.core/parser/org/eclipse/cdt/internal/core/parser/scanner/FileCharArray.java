@@ -34,6 +34,15 @@ public class FileCharArray extends LazyCharArray {
 	private static final String UTF8_CHARSET_NAME = "UTF-8"; //$NON-NLS-1$
 
 	public static AbstractCharArray create(String fileName, String charSet, InputStream in) throws IOException {
+		return create(fileName, charSet, in, MappedCharArray.isEnabled());
+	}
+
+	/**
+	 * Creates the char array for a file.
+	 * @param mapFile whether large files may be mapped into memory, see {@link MappedCharArray}.
+	 */
+	public static AbstractCharArray create(String fileName, String charSet, InputStream in, boolean mapFile)
+			throws IOException {
 		// No support for non-local files.
 		if (!(in instanceof FileInputStream)) {
 			return null;
@@ -47,6 +56,11 @@ public class FileCharArray extends LazyCharArray {
 		if (lsize < CHUNK_SIZE) {
 			return decodeSmallFile(channel, (int) lsize, charSet);
 		}
+		if (mapFile) {
+			AbstractCharArray mapped = MappedCharArray.create(channel, charSet);
+			if (mapped != null)
+				return mapped;
+		}
 
 		return new FileCharArray(fileName, charSet);
 	}
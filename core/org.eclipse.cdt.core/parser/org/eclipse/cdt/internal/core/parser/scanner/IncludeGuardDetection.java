@@ -19,8 +19,8 @@ import org.eclipse.cdt.core.parser.IPreprocessorDirective;
 import org.eclipse.cdt.core.parser.IToken;
 import org.eclipse.cdt.core.parser.Keywords;
 import org.eclipse.cdt.core.parser.OffsetLimitReachedException;
-import org.eclipse.cdt.core.parser.util.CharArrayIntMap;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.parser.util.CompactCharArrayIntMap;
 
 /**
  * Helper class for detecting include guards.
@@ -29,7 +29,7 @@ public class IncludeGuardDetection {
 	private static final String ONCE = "once"; //$NON-NLS-1$
 
 	public static char[] detectIncludeGuard(AbstractCharArray content, Lexer.LexerOptions lexOptions,
-			CharArrayIntMap ppKeywords) {
+			CompactCharArrayIntMap ppKeywords) {
 		Lexer l = new Lexer(content, lexOptions, ILexerLog.NULL, null);
 		char[] guard = findIncludeGuard(l, ppKeywords);
 		if (guard != null && currentIfSpansFile(l, ppKeywords)) {
@@ -55,7 +55,7 @@ public class IncludeGuardDetection {
 	 * #endif
 	 * </pre>
 	 */
-	private static Token skipPragmaOnce(Lexer l, CharArrayIntMap ppKeywords) throws OffsetLimitReachedException {
+	private static Token skipPragmaOnce(Lexer l, CompactCharArrayIntMap ppKeywords) throws OffsetLimitReachedException {
 		boolean foundPragma = false;
 		boolean quit = false;
 		boolean foundIf = false;
@@ -111,7 +111,7 @@ public class IncludeGuardDetection {
 		return t;
 	}
 
-	private static char[] findIncludeGuard(Lexer l, CharArrayIntMap ppKeywords) {
+	private static char[] findIncludeGuard(Lexer l, CompactCharArrayIntMap ppKeywords) {
 		try {
 			if (skipPragmaOnce(l, ppKeywords).getType() == IToken.tPOUND) {
 				Token t = l.nextToken();
@@ -167,7 +167,7 @@ public class IncludeGuardDetection {
 		return CharArrayUtils.equals(t.getCharImage(), image);
 	}
 
-	private static boolean currentIfSpansFile(Lexer l, CharArrayIntMap ppKeywords) {
+	private static boolean currentIfSpansFile(Lexer l, CompactCharArrayIntMap ppKeywords) {
 		// Check if the #ifndef spans the entire file.
 		try {
 			int nesting = 1;
@@ -52,6 +52,7 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 	}
 
 	private IIncludeFileResolutionHeuristics fIncludeResolutionHeuristics;
+	private TokenStreamCache fTokenStreamCache = TokenStreamCache.getSharedInstance();
 	private final Map<String, IFileNomination> fPragmaOnce = new HashMap<>();
 	private final Map<String, List<ISignificantMacros>> fLoadedVersions = new HashMap<>();
 
@@ -133,6 +134,18 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 		fIncludeResolutionHeuristics = heuristics;
 	}
 
+	/**
+	 * Returns the cache for the tokens of included files, or {@code null} if included files
+	 * shall always be lexed.
+	 */
+	public final TokenStreamCache getTokenStreamCache() {
+		return fTokenStreamCache;
+	}
+
+	public final void setTokenStreamCache(TokenStreamCache cache) {
+		fTokenStreamCache = cache;
+	}
+
 	public List<ISignificantMacros> getLoadedVersions(String path) {
 		List<ISignificantMacros> result = fLoadedVersions.get(path);
 		return result == null ? Collections.<ISignificantMacros>emptyList() : result;
@@ -0,0 +1,329 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The sequence of tokens the {@link Lexer} has produced for the entire content of a file,
+ * together with the comments and problems it has reported while doing so. Replaying the
+ * sequence is equivalent to lexing the file again, as long as the lexer is asked for the
+ * tokens in the same mode (inside or outside of include directives).
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ */
+final class LexedTokens {
+	private static final int FORMAT_VERSION = 1;
+
+	// Token flags.
+	private static final byte INSIDE_INCLUDE_DIRECTIVE = 0x1;
+	private static final byte WITH_IMAGE = 0x2;
+	private static final byte DIGRAPH = 0x4;
+
+	// Event kinds.
+	private static final byte BLOCK_COMMENT = 0;
+	private static final byte LINE_COMMENT = 1;
+	private static final byte PROBLEM = 2;
+
+	private final int fCount;
+	private final int[] fKinds;
+	private final int[] fOffsets;
+	private final int[] fEndOffsets;
+	private final byte[] fFlags;
+	private final char[][] fImages;
+	// The events reported before token i are the ones from fFirstEvent[i] to fFirstEvent[i + 1].
+	private final int[] fFirstEvent;
+	private final byte[] fEventKinds;
+	private final int[] fEventOffsets;
+	private final int[] fEventEndOffsets;
+	private final int[] fEventProblemIDs;
+	private final char[][] fEventArgs;
+
+	private LexedTokens(Recorder r) {
+		fCount = r.fCount;
+		fKinds = Arrays.copyOf(r.fKinds, fCount);
+		fOffsets = Arrays.copyOf(r.fOffsets, fCount);
+		fEndOffsets = Arrays.copyOf(r.fEndOffsets, fCount);
+		fFlags = Arrays.copyOf(r.fFlags, fCount);
+		fImages = Arrays.copyOf(r.fImages, fCount);
+		fFirstEvent = Arrays.copyOf(r.fFirstEvent, fCount + 1);
+		fFirstEvent[fCount] = r.fEventCount;
+		fEventKinds = Arrays.copyOf(r.fEventKinds, r.fEventCount);
+		fEventOffsets = Arrays.copyOf(r.fEventOffsets, r.fEventCount);
+		fEventEndOffsets = Arrays.copyOf(r.fEventEndOffsets, r.fEventCount);
+		fEventProblemIDs = Arrays.copyOf(r.fEventProblemIDs, r.fEventCount);
+		fEventArgs = Arrays.copyOf(r.fEventArgs, r.fEventCount);
+	}
+
+	private LexedTokens(int count, int eventCount) {
+		fCount = count;
+		fKinds = new int[count];
+		fOffsets = new int[count];
+		fEndOffsets = new int[count];
+		fFlags = new byte[count];
+		fImages = new char[count][];
+		fFirstEvent = new int[count + 1];
+		fEventKinds = new byte[eventCount];
+		fEventOffsets = new int[eventCount];
+		fEventEndOffsets = new int[eventCount];
+		fEventProblemIDs = new int[eventCount];
+		fEventArgs = new char[eventCount][];
+	}
+
+	int getTokenCount() {
+		return fCount;
+	}
+
+	/**
+	 * Returns whether the token at the given index was lexed inside of an include directive.
+	 */
+	boolean isInsideIncludeDirective(int i) {
+		return (fFlags[i] & INSIDE_INCLUDE_DIRECTIVE) != 0;
+	}
+
+	int getKind(int i) {
+		return fKinds[i];
+	}
+
+	int getEndOffset(int i) {
+		return fEndOffsets[i];
+	}
+
+	/**
+	 * Creates a copy of the token at the given index.
+	 */
+	Token createToken(int i, Object source) {
+		final byte flags = fFlags[i];
+		if ((flags & WITH_IMAGE) != 0)
+			return new TokenWithImage(fKinds[i], source, fOffsets[i], fEndOffsets[i], fImages[i].clone());
+		if ((flags & DIGRAPH) != 0)
+			return new TokenForDigraph(fKinds[i], source, fOffsets[i], fEndOffsets[i]);
+		return new Token(fKinds[i], source, fOffsets[i], fEndOffsets[i]);
+	}
+
+	/**
+	 * Reports the comments and problems that were encountered before the token at the given index.
+	 */
+	void reportEvents(int i, ILexerLog log, AbstractCharArray input) {
+		for (int e = fFirstEvent[i]; e < fFirstEvent[i + 1]; e++) {
+			switch (fEventKinds[e]) {
+			case BLOCK_COMMENT:
+				log.handleComment(true, fEventOffsets[e], fEventEndOffsets[e], input);
+				break;
+			case LINE_COMMENT:
+				log.handleComment(false, fEventOffsets[e], fEventEndOffsets[e], input);
+				break;
+			case PROBLEM:
+				log.handleProblem(fEventProblemIDs[e], fEventArgs[e], fEventOffsets[e], fEventEndOffsets[e]);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the newline token ending at the given offset, or -1.
+	 */
+	int findNewline(int endOffset) {
+		int idx = Arrays.binarySearch(fEndOffsets, 0, fCount, endOffset);
+		if (idx < 0)
+			return -1;
+		// Tokens may be empty, i.e. end at the same offset.
+		while (idx > 0 && fEndOffsets[idx - 1] == endOffset) {
+			idx--;
+		}
+		for (; idx < fCount && fEndOffsets[idx] == endOffset; idx++) {
+			if (fKinds[idx] == Lexer.tNEWLINE)
+				return idx;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns an estimate for the memory used by this object, in bytes.
+	 */
+	long getMemorySize() {
+		long size = fCount * 17L + fEventKinds.length * 17L;
+		for (char[] image : fImages) {
+			if (image != null)
+				size += 16 + 2 * image.length;
+		}
+		return size;
+	}
+
+	void write(DataOutput out) throws IOException {
+		out.writeInt(FORMAT_VERSION);
+		out.writeInt(fCount);
+		out.writeInt(fEventKinds.length);
+		for (int i = 0; i < fCount; i++) {
+			out.writeInt(fKinds[i]);
+			out.writeInt(fOffsets[i]);
+			out.writeInt(fEndOffsets[i]);
+			out.writeByte(fFlags[i]);
+			if ((fFlags[i] & WITH_IMAGE) != 0) {
+				writeChars(out, fImages[i]);
+			}
+			out.writeInt(fFirstEvent[i]);
+		}
+		for (int e = 0; e < fEventKinds.length; e++) {
+			out.writeByte(fEventKinds[e]);
+			out.writeInt(fEventOffsets[e]);
+			out.writeInt(fEventEndOffsets[e]);
+			if (fEventKinds[e] == PROBLEM) {
+				out.writeInt(fEventProblemIDs[e]);
+				writeChars(out, fEventArgs[e]);
+			}
+		}
+	}
+
+	/**
+	 * Reads a token sequence written by {@link #write(DataOutput)}.
+	 * @return the token sequence or {@code null} if it was written in a different format.
+	 */
+	static LexedTokens read(DataInput in) throws IOException {
+		if (in.readInt() != FORMAT_VERSION)
+			return null;
+		final int count = in.readInt();
+		final int eventCount = in.readInt();
+		if (count < 0 || eventCount < 0)
+			throw new IOException("Corrupt token sequence"); //$NON-NLS-1$
+		LexedTokens result = new LexedTokens(count, eventCount);
+		for (int i = 0; i < count; i++) {
+			result.fKinds[i] = in.readInt();
+			result.fOffsets[i] = in.readInt();
+			result.fEndOffsets[i] = in.readInt();
+			result.fFlags[i] = in.readByte();
+			if ((result.fFlags[i] & WITH_IMAGE) != 0) {
+				result.fImages[i] = readChars(in);
+			}
+			result.fFirstEvent[i] = in.readInt();
+		}
+		result.fFirstEvent[count] = eventCount;
+		for (int e = 0; e < eventCount; e++) {
+			result.fEventKinds[e] = in.readByte();
+			result.fEventOffsets[e] = in.readInt();
+			result.fEventEndOffsets[e] = in.readInt();
+			if (result.fEventKinds[e] == PROBLEM) {
+				result.fEventProblemIDs[e] = in.readInt();
+				result.fEventArgs[e] = readChars(in);
+			}
+		}
+		return result;
+	}
+
+	private static void writeChars(DataOutput out, char[] chars) throws IOException {
+		if (chars == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(chars.length);
+		for (char c : chars) {
+			out.writeChar(c);
+		}
+	}
+
+	private static char[] readChars(DataInput in) throws IOException {
+		final int length = in.readInt();
+		if (length < 0)
+			return null;
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = in.readChar();
+		}
+		return chars;
+	}
+
+	/**
+	 * Collects the tokens and events while a file is lexed.
+	 */
+	static final class Recorder {
+		int fCount;
+		int[] fKinds = new int[256];
+		int[] fOffsets = new int[256];
+		int[] fEndOffsets = new int[256];
+		byte[] fFlags = new byte[256];
+		char[][] fImages = new char[256][];
+		int[] fFirstEvent = new int[257];
+
+		int fEventCount;
+		byte[] fEventKinds = new byte[16];
+		int[] fEventOffsets = new int[16];
+		int[] fEventEndOffsets = new int[16];
+		int[] fEventProblemIDs = new int[16];
+		char[][] fEventArgs = new char[16][];
+
+		/**
+		 * Called before the lexer starts to compute the next token.
+		 */
+		void beginToken() {
+			fFirstEvent[fCount] = fEventCount;
+		}
+
+		/**
+		 * Called after the lexer has computed the given token.
+		 */
+		void endToken(Token t, boolean insideIncludeDirective) {
+			if (fCount == fKinds.length) {
+				final int newLength = fCount * 2;
+				fKinds = Arrays.copyOf(fKinds, newLength);
+				fOffsets = Arrays.copyOf(fOffsets, newLength);
+				fEndOffsets = Arrays.copyOf(fEndOffsets, newLength);
+				fFlags = Arrays.copyOf(fFlags, newLength);
+				fImages = Arrays.copyOf(fImages, newLength);
+				fFirstEvent = Arrays.copyOf(fFirstEvent, newLength + 1);
+			}
+			byte flags = insideIncludeDirective ? INSIDE_INCLUDE_DIRECTIVE : 0;
+			if (t instanceof TokenWithImage) {
+				flags |= WITH_IMAGE;
+				// The token may be modified by the preprocessor, its image is not.
+				fImages[fCount] = t.getCharImage().clone();
+			} else if (t instanceof TokenForDigraph) {
+				flags |= DIGRAPH;
+			}
+			fKinds[fCount] = t.getType();
+			fOffsets[fCount] = t.getOffset();
+			fEndOffsets[fCount] = t.getEndOffset();
+			fFlags[fCount] = flags;
+			fCount++;
+		}
+
+		void comment(boolean isBlockComment, int offset, int endOffset) {
+			addEvent(isBlockComment ? BLOCK_COMMENT : LINE_COMMENT, offset, endOffset, 0, null);
+		}
+
+		void problem(int problemID, char[] arg, int offset, int endOffset) {
+			addEvent(PROBLEM, offset, endOffset, problemID, arg);
+		}
+
+		private void addEvent(byte kind, int offset, int endOffset, int problemID, char[] arg) {
+			if (fEventCount == fEventKinds.length) {
+				final int newLength = fEventCount * 2;
+				fEventKinds = Arrays.copyOf(fEventKinds, newLength);
+				fEventOffsets = Arrays.copyOf(fEventOffsets, newLength);
+				fEventEndOffsets = Arrays.copyOf(fEventEndOffsets, newLength);
+				fEventProblemIDs = Arrays.copyOf(fEventProblemIDs, newLength);
+				fEventArgs = Arrays.copyOf(fEventArgs, newLength);
+			}
+			fEventKinds[fEventCount] = kind;
+			fEventOffsets[fEventCount] = offset;
+			fEventEndOffsets[fEventCount] = endOffset;
+			fEventProblemIDs[fEventCount] = problemID;
+			fEventArgs[fEventCount] = arg;
+			fEventCount++;
+		}
+
+		LexedTokens build() {
+			return new LexedTokens(this);
+		}
+	}
+}
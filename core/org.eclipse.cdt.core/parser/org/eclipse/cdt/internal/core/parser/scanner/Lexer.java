@@ -111,6 +111,14 @@ final public class Lexer implements ITokenSequence {
 	private Token fMarkToken;
 	private Token fMarkLastToken;
 
+	// Replaying or recording the tokens of the entire input, see setTokenStreamCache().
+	private LexedTokens fRecorded;
+	private boolean fReplaying;
+	private int fReplayIndex;
+	private int fReplayEndOffset;
+	private TokenStreamCache fTokenCache;
+	private LexedTokens.Recorder fRecorder;
+
 	public Lexer(char[] input, LexerOptions options, ILexerLog log, Object source) {
 		this(new CharArray(input), 0, input.length, options, log, source);
 	}
@@ -148,6 +156,10 @@ final public class Lexer implements ITokenSequence {
 	 * Resets the lexer to the first char and prepares for content-assist mode.
 	 */
 	public void setContentAssistMode(int offset) {
+		stopReplay();
+		fRecorded = null;
+		fRecorder = null;
+		fTokenCache = null;
 		fSupportContentAssist = true;
 		if (isValidOffset(offset)) {
 			fLimit = offset;
@@ -261,9 +273,102 @@ final public class Lexer implements ITokenSequence {
 	}
 
 	/**
-	 * Computes the next token.
+	 * Lets the lexer take the tokens for its input from the given cache, or record them for
+	 * the cache. Has no effect unless the lexer was created for an entire input.
+	 */
+	public void setTokenStreamCache(TokenStreamCache cache) {
+		if (fStart != 0 || fSupportContentAssist || fToken.getType() != tBEFORE_INPUT
+				|| !cache.isCacheable(fInput)) {
+			return;
+		}
+		fRecorded = cache.get(fInput, fOptions);
+		if (fRecorded != null) {
+			fReplaying = true;
+			fReplayIndex = 0;
+			fReplayEndOffset = fStart;
+		} else {
+			fTokenCache = cache;
+			fRecorder = new LexedTokens.Recorder();
+		}
+	}
+
+	/**
+	 * Computes the next token, either by replaying a recorded token or by lexing the input.
 	 */
 	private Token fetchToken() throws OffsetLimitReachedException {
+		if (fReplaying) {
+			Token t = replayToken();
+			if (t != null)
+				return t;
+		}
+		if (fRecorder == null) {
+			Token t = lexToken();
+			if (fRecorded != null && t.getType() == tNEWLINE) {
+				resumeReplay(t.getEndOffset());
+			}
+			return t;
+		}
+
+		final boolean insideIncludeDirective = fInsideIncludeDirective;
+		fRecorder.beginToken();
+		Token t = lexToken();
+		fRecorder.endToken(t, insideIncludeDirective);
+		if (t.getType() == IToken.tEND_OF_INPUT) {
+			fTokenCache.put(fInput, fOptions, fRecorder.build());
+			fRecorder = null;
+			fTokenCache = null;
+		}
+		return t;
+	}
+
+	/**
+	 * Returns the next recorded token, or {@code null} if the token has to be lexed because
+	 * the recording does not match the current mode. In the latter case the lexer is positioned
+	 * after the last replayed token.
+	 */
+	private Token replayToken() {
+		final int i = fReplayIndex;
+		if (i >= fRecorded.getTokenCount() || fRecorded.isInsideIncludeDirective(i) != fInsideIncludeDirective) {
+			stopReplay();
+			return null;
+		}
+		fRecorded.reportEvents(i, fLog, fInput);
+		final Token t = fRecorded.createToken(i, fSource);
+		if (t.getType() == tNEWLINE) {
+			fInsideIncludeDirective = false;
+		}
+		fReplayIndex = i + 1;
+		fReplayEndOffset = t.getEndOffset();
+		return t;
+	}
+
+	/**
+	 * Continues lexing the input after the last replayed token.
+	 */
+	private void stopReplay() {
+		if (fReplaying) {
+			fReplaying = false;
+			fOffset = fEndOffset = fReplayEndOffset;
+			nextCharPhase3();
+		}
+	}
+
+	/**
+	 * Returns to replaying recorded tokens after a newline has been lexed, if possible.
+	 */
+	private void resumeReplay(int endOffset) {
+		final int i = fRecorded.findNewline(endOffset);
+		if (i >= 0) {
+			fReplaying = true;
+			fReplayIndex = i + 1;
+			fReplayEndOffset = endOffset;
+		}
+	}
+
+	/**
+	 * Computes the next token from the input.
+	 */
+	private Token lexToken() throws OffsetLimitReachedException {
 		while (true) {
 			final int start = fOffset;
 			final int c = fCharPhase3;
@@ -735,9 +840,19 @@ final public class Lexer implements ITokenSequence {
 	}
 
 	private void handleProblem(int problemID, char[] arg, int offset) {
+		if (fRecorder != null) {
+			fRecorder.problem(problemID, arg, offset, fOffset);
+		}
 		fLog.handleProblem(problemID, arg, offset, fOffset);
 	}
 
+	private void handleComment(boolean isBlockComment, int offset, int endOffset) {
+		if (fRecorder != null) {
+			fRecorder.comment(isBlockComment, offset, endOffset);
+		}
+		fLog.handleComment(isBlockComment, offset, endOffset, fInput);
+	}
+
 	private Token headerName(final int start, final boolean expectQuotes) throws OffsetLimitReachedException {
 		int length = 1;
 		boolean done = false;
@@ -775,14 +890,14 @@ final public class Lexer implements ITokenSequence {
 				fEndOffset = pos;
 				if (nextCharPhase3() == '/') {
 					nextCharPhase3();
-					fLog.handleComment(true, start, fOffset, fInput);
+					handleComment(true, start, fOffset);
 					return;
 				}
 			}
 		}
 		fCharPhase3 = END_OF_INPUT;
 		fOffset = fEndOffset = pos;
-		fLog.handleComment(true, start, pos, fInput);
+		handleComment(true, start, pos);
 	}
 
 	private void lineComment(final int start) {
@@ -791,7 +906,7 @@ final public class Lexer implements ITokenSequence {
 			switch (c) {
 			case END_OF_INPUT:
 			case '\n':
-				fLog.handleComment(false, start, fOffset, fInput);
+				handleComment(false, start, fOffset);
 				return;
 			}
 			c = nextCharPhase3();
@@ -1463,6 +1578,11 @@ final public class Lexer implements ITokenSequence {
 	}
 
 	public void saveState() {
+		// The state of a lexer replaying or recording tokens cannot be restored.
+		stopReplay();
+		fRecorded = null;
+		fRecorder = null;
+		fTokenCache = null;
 		fMarkOffset = fOffset;
 		fMarkEndOffset = fEndOffset;
 		fMarkPrefetchedChar = fCharPhase3;
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of char array for a file that is mapped into memory. The characters are
+ * decoded from the bytes of the file on access, such that the content is not duplicated
+ * on the heap. This works for files in which every byte is a character, i.e. for files
+ * containing ASCII characters only, in an encoding compatible with ASCII like UTF-8, or for
+ * files in ISO-8859-1. The byte order mark of UTF-8 files is skipped.
+ * <p>
+ * Mapping is disabled on Windows, where mapped files cannot be modified or deleted, and with
+ * the system property {@code org.eclipse.cdt.core.parser.mapSourceFiles=false}.
+ */
+public final class MappedCharArray extends AbstractCharArray {
+	private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(
+			"org.eclipse.cdt.core.parser.mapSourceFiles", String.valueOf(File.separatorChar != '\\'))); //$NON-NLS-1$
+	private static final long NON_ASCII_MASK = 0x8080808080808080L;
+	private static final int HASH_CHUNK_SIZE = 4096;
+	private static final Map<String, Boolean> sAsciiCompatible = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns whether files are mapped into memory rather than decoded into char arrays.
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Maps the given file into memory.
+	 *
+	 * @return the char array or {@code null} if the file cannot be decoded on access because
+	 *     of its encoding or its content.
+	 */
+	public static AbstractCharArray create(FileChannel channel, String charSet) throws IOException {
+		final long size = channel.size();
+		if (size > Integer.MAX_VALUE)
+			return null;
+
+		final Charset charset = Charset.forName(charSet);
+		final boolean latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+		if (!latin1 && !isAsciiCompatible(charset))
+			return null;
+
+		final ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+		int start = 0;
+		if (charset.equals(StandardCharsets.UTF_8) && size >= 3 && buffer.get(0) == (byte) 0xEF
+				&& buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+			start = 3;
+		}
+		if (!latin1 && !isAscii(buffer, start, (int) size))
+			return null;
+
+		return new MappedCharArray(buffer, start, (int) size);
+	}
+
+	/**
+	 * Returns whether the characters of the ASCII character set are encoded as one byte with
+	 * the same value in the given charset.
+	 */
+	private static boolean isAsciiCompatible(Charset charset) {
+		return sAsciiCompatible.computeIfAbsent(charset.name(), name -> {
+			if (!charset.canEncode())
+				return false;
+			char[] chars = new char[128];
+			for (int i = 0; i < chars.length; i++) {
+				chars[i] = (char) i;
+			}
+			byte[] bytes = new String(chars).getBytes(charset);
+			if (bytes.length != chars.length)
+				return false;
+			for (int i = 0; i < bytes.length; i++) {
+				if (bytes[i] != i)
+					return false;
+			}
+			return true;
+		});
+	}
+
+	private static boolean isAscii(ByteBuffer buffer, int start, int end) {
+		int i = start;
+		final ByteBuffer longs = buffer.duplicate().order(ByteOrder.nativeOrder());
+		for (; i + 8 <= end; i += 8) {
+			if ((longs.getLong(i) & NON_ASCII_MASK) != 0)
+				return false;
+		}
+		for (; i < end; i++) {
+			if (buffer.get(i) < 0)
+				return false;
+		}
+		return true;
+	}
+
+	private final ByteBuffer fBuffer;
+	private final int fStart;
+	private final int fLength;
+	private boolean fHasError;
+	private long fHash64;
+
+	private MappedCharArray(ByteBuffer buffer, int start, int end) {
+		fBuffer = buffer;
+		fStart = start;
+		fLength = end - start;
+	}
+
+	@Override
+	public int tryGetLength() {
+		return fLength;
+	}
+
+	@Override
+	public int getLength() {
+		return fLength;
+	}
+
+	@Override
+	public boolean isValidOffset(int offset) {
+		return offset < fLength;
+	}
+
+	@Override
+	public char get(int offset) {
+		try {
+			return (char) (fBuffer.get(fStart + offset) & 0xff);
+		} catch (InternalError e) {
+			// The file has been truncated in the meantime.
+			fHasError = true;
+			return 0;
+		}
+	}
+
+	@Override
+	public void arraycopy(int offset, char[] destination, int destinationPos, int length) {
+		try {
+			int pos = fStart + offset;
+			for (int i = 0; i < length; i++) {
+				destination[destinationPos + i] = (char) (fBuffer.get(pos + i) & 0xff);
+			}
+		} catch (InternalError e) {
+			// The file has been truncated in the meantime.
+			fHasError = true;
+		}
+	}
+
+	@Override
+	public long getContentsHash() {
+		if (fHash64 == 0 && fLength != 0) {
+			StreamHasher hasher = new StreamHasher();
+			char[] chunk = new char[Math.min(HASH_CHUNK_SIZE, fLength)];
+			for (int offset = 0; offset < fLength; offset += chunk.length) {
+				if (fLength - offset < chunk.length) {
+					chunk = new char[fLength - offset];
+				}
+				arraycopy(offset, chunk, 0, chunk.length);
+				hasher.addChunk(chunk);
+			}
+			fHash64 = hasher.computeHash();
+		}
+		return fHash64;
+	}
+
+	@Override
+	public boolean hasError() {
+		return fHasError;
+	}
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+
+/**
+ * Cache for the tokens of large files, such that parsing the same file again does not need
+ * to lex it. The entries are keyed by the hash of the file content and the lexer options,
+ * they do not depend on the macros defined when the file is included. The most recently used
+ * entries are kept in memory, all of them are optionally stored in a directory.
+ * <p>
+ * The cache is an optimization, failures to read or write the directory are ignored.
+ */
+public final class TokenStreamCache {
+	private static final String SUFFIX = ".tokens"; //$NON-NLS-1$
+	private static final int MIN_LENGTH = 8 * 1024;
+	private static final int MAX_FILES = 10000;
+	private static final long DEFAULT_MAX_MEMORY = 32 * 1024 * 1024;
+
+	private static TokenStreamCache sSharedInstance;
+
+	private final File fDirectory;
+	private final long fMaxMemory;
+	private final LinkedHashMap<String, LexedTokens> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+	private long fMemory;
+	private int fFileCount = -1;
+
+	/**
+	 * Returns the cache shared by all parsers, or {@code null} if the cache is disabled. The cache
+	 * is enabled with the system property {@code org.eclipse.cdt.core.parser.tokenCache}.
+	 */
+	public static synchronized TokenStreamCache getSharedInstance() {
+		if (sSharedInstance == null && Boolean.getBoolean("org.eclipse.cdt.core.parser.tokenCache")) { //$NON-NLS-1$
+			File directory = null;
+			CCorePlugin plugin = CCorePlugin.getDefault();
+			if (plugin != null) {
+				directory = plugin.getStateLocation().append("tokenCache").toFile(); //$NON-NLS-1$
+			}
+			sSharedInstance = new TokenStreamCache(directory, DEFAULT_MAX_MEMORY);
+		}
+		return sSharedInstance;
+	}
+
+	/**
+	 * @param directory the directory to store the entries in, or {@code null} to keep them in
+	 *     memory, only.
+	 * @param maxMemory the maximum amount of memory used for the entries kept in memory, in bytes.
+	 */
+	public TokenStreamCache(File directory, long maxMemory) {
+		fDirectory = directory;
+		fMaxMemory = maxMemory;
+	}
+
+	/**
+	 * Returns whether tokens of the given input shall be cached.
+	 */
+	boolean isCacheable(AbstractCharArray input) {
+		return input.isValidOffset(MIN_LENGTH - 1) && !input.hasError();
+	}
+
+	/**
+	 * Returns the tokens recorded for the given input, or {@code null}.
+	 */
+	LexedTokens get(AbstractCharArray input, LexerOptions options) {
+		final String key = getKey(input, options);
+		synchronized (this) {
+			LexedTokens tokens = fEntries.get(key);
+			if (tokens != null)
+				return tokens;
+		}
+		LexedTokens tokens = readEntry(key);
+		if (tokens != null) {
+			add(key, tokens);
+		}
+		return tokens;
+	}
+
+	/**
+	 * Stores the tokens recorded for the given input.
+	 */
+	void put(AbstractCharArray input, LexerOptions options, LexedTokens tokens) {
+		final String key = getKey(input, options);
+		if (add(key, tokens)) {
+			writeEntry(key, tokens);
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public void clear() {
+		synchronized (this) {
+			fEntries.clear();
+			fMemory = 0;
+			fFileCount = 0;
+		}
+		deleteFiles();
+	}
+
+	private synchronized boolean add(String key, LexedTokens tokens) {
+		if (fEntries.containsKey(key))
+			return false;
+		fEntries.put(key, tokens);
+		fMemory += tokens.getMemorySize();
+		Iterator<Map.Entry<String, LexedTokens>> it = fEntries.entrySet().iterator();
+		while (fMemory > fMaxMemory && it.hasNext()) {
+			LexedTokens eldest = it.next().getValue();
+			if (eldest != tokens) {
+				it.remove();
+				fMemory -= eldest.getMemorySize();
+			}
+		}
+		return true;
+	}
+
+	private static String getKey(AbstractCharArray input, LexerOptions options) {
+		int flags = 0;
+		if (options.fSupportDollarInIdentifiers)
+			flags |= 0x1;
+		if (options.fSupportAtSignInIdentifiers)
+			flags |= 0x2;
+		if (options.fSupportMinAndMax)
+			flags |= 0x4;
+		if (options.fSupportSlashPercentComments)
+			flags |= 0x8;
+		if (options.fSupportUTFLiterals)
+			flags |= 0x10;
+		if (options.fSupportRawStringLiterals)
+			flags |= 0x20;
+		if (options.fSupportUserDefinedLiterals)
+			flags |= 0x40;
+		if (options.fSupportDigitSeparators)
+			flags |= 0x80;
+		return Long.toHexString(input.getContentsHash()) + '-' + input.getLength() + '-' + Integer.toHexString(flags);
+	}
+
+	private LexedTokens readEntry(String key) {
+		if (fDirectory == null)
+			return null;
+		File file = new File(fDirectory, key + SUFFIX);
+		if (!file.isFile())
+			return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			return LexedTokens.read(in);
+		} catch (IOException e) {
+			file.delete();
+			return null;
+		}
+	}
+
+	private void writeEntry(String key, LexedTokens tokens) {
+		if (fDirectory == null)
+			return;
+		synchronized (this) {
+			if (fFileCount < 0) {
+				String[] names = fDirectory.list();
+				fFileCount = names == null ? 0 : names.length;
+			}
+			if (++fFileCount > MAX_FILES) {
+				// Start over rather than keeping track of the usage of the files.
+				deleteFiles();
+				fFileCount = 1;
+			}
+		}
+		try {
+			Files.createDirectories(fDirectory.toPath());
+			File tmp = File.createTempFile(key, null, fDirectory);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				tokens.write(out);
+			}
+			try {
+				Files.move(tmp.toPath(), new File(fDirectory, key + SUFFIX).toPath(),
+						StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				tmp.delete();
+			}
+		} catch (IOException e) {
+			// The cache is an optimization, just don't store the entry.
+		}
+	}
+
+	private void deleteFiles() {
+		if (fDirectory == null)
+			return;
+		File[] files = fDirectory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.util;
+
+import org.eclipse.cdt.core.parser.util.CharArrayIntMap;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+
+/**
+ * Map from char arrays to int values using open addressing with linear probing. In contrast
+ * to {@link CharArrayIntMap} there is no chaining table, the hash codes of the keys are stored
+ * next to them, and a lookup does not need to compare keys that have a different hash code.
+ * The map is meant for tables that are filled once and queried very often, e.g. the keywords
+ * of the preprocessor. Entries cannot be removed.
+ * <p>
+ * Maps from char arrays to objects, like the lookup caches of the C++ scopes, do not box their
+ * values and are not replaced by this family of maps.
+ */
+public final class CompactCharArrayIntMap {
+	private static final int MIN_CAPACITY = 8;
+
+	/** The value returned for keys without a mapping. */
+	public final int undefined;
+
+	private char[][] fKeys;
+	private int[] fHashes;
+	private int[] fValues;
+	private int fSize;
+
+	public CompactCharArrayIntMap(int expectedSize, int undefined) {
+		this.undefined = undefined;
+		int capacity = MIN_CAPACITY;
+		while (capacity < 2 * expectedSize) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	/**
+	 * Creates a map with the same content as the given {@link CharArrayIntMap}.
+	 */
+	public CompactCharArrayIntMap(CharArrayIntMap map) {
+		this(map.size(), map.undefined);
+		putAll(map);
+	}
+
+	private void allocate(int capacity) {
+		fKeys = new char[capacity][];
+		fHashes = new int[capacity];
+		fValues = new int[capacity];
+	}
+
+	public int size() {
+		return fSize;
+	}
+
+	public boolean isEmpty() {
+		return fSize == 0;
+	}
+
+	/**
+	 * Adds the mapping and returns the value previously mapped to the key, or {@link #undefined}.
+	 */
+	public int put(char[] key, int value) {
+		final int hash = CharArrayUtils.hash(key);
+		final int mask = fKeys.length - 1;
+		for (int i = spread(hash) & mask;; i = (i + 1) & mask) {
+			final char[] k = fKeys[i];
+			if (k == null) {
+				fKeys[i] = key;
+				fHashes[i] = hash;
+				fValues[i] = value;
+				if (++fSize > fKeys.length >> 1) {
+					rehash(fKeys.length << 1);
+				}
+				return undefined;
+			}
+			if (fHashes[i] == hash && CharArrayUtils.equals(k, key)) {
+				final int old = fValues[i];
+				fValues[i] = value;
+				return old;
+			}
+		}
+	}
+
+	/**
+	 * Adds all mappings of the given map.
+	 */
+	public void putAll(CharArrayIntMap map) {
+		for (int i = 0; i < map.size(); i++) {
+			put(map.keyAt(i), map.get(i));
+		}
+	}
+
+	/**
+	 * Returns the value for the given key, or {@link #undefined}.
+	 */
+	public int get(char[] key) {
+		return get(key, 0, key.length);
+	}
+
+	/**
+	 * Returns the value for the key given as a range of a character buffer, or {@link #undefined}.
+	 */
+	public int get(char[] buffer, int start, int length) {
+		final int i = indexOf(buffer, start, length);
+		return i < 0 ? undefined : fValues[i];
+	}
+
+	public boolean containsKey(char[] key) {
+		return indexOf(key, 0, key.length) >= 0;
+	}
+
+	private int indexOf(char[] buffer, int start, int length) {
+		final int hash = CharArrayUtils.hash(buffer, start, length);
+		final int mask = fKeys.length - 1;
+		for (int i = spread(hash) & mask;; i = (i + 1) & mask) {
+			final char[] k = fKeys[i];
+			if (k == null)
+				return -1;
+			if (fHashes[i] == hash && CharArrayUtils.equals(buffer, start, length, k))
+				return i;
+		}
+	}
+
+	private void rehash(int capacity) {
+		final char[][] keys = fKeys;
+		final int[] hashes = fHashes;
+		final int[] values = fValues;
+		allocate(capacity);
+		final int mask = capacity - 1;
+		for (int j = 0; j < keys.length; j++) {
+			if (keys[j] != null) {
+				int i = spread(hashes[j]) & mask;
+				while (fKeys[i] != null) {
+					i = (i + 1) & mask;
+				}
+				fKeys[i] = keys[j];
+				fHashes[i] = hashes[j];
+				fValues[i] = values[j];
+			}
+		}
+	}
+
+	/**
+	 * The hash codes of char arrays differ mostly in the lower bits, mix in the upper ones to
+	 * reduce clustering.
+	 */
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.util;
+
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.parser.util.ObjectMap;
+
+/**
+ * Map from primitive long keys to objects. The keys are not boxed, the entries are stored
+ * in insertion order in parallel arrays and are found via an open addressing index with
+ * linear probing. Like {@link ObjectMap} the entries can be accessed by position, replacing
+ * the value of a key keeps its position. Entries cannot be removed.
+ */
+public final class CompactLongObjectMap<T> implements Cloneable {
+	private static final long[] EMPTY_KEYS = {};
+	private static final Object[] EMPTY_VALUES = {};
+	private static final int[] EMPTY_INDEX = { 0 };
+
+	private long[] fKeys;
+	private Object[] fValues;
+	/** Positions of the entries plus one, zero marks a free slot. The length is a power of two. */
+	private int[] fIndex;
+	private int fSize;
+
+	public CompactLongObjectMap(int expectedSize) {
+		if (expectedSize <= 0) {
+			fKeys = EMPTY_KEYS;
+			fValues = EMPTY_VALUES;
+			fIndex = EMPTY_INDEX;
+		} else {
+			fKeys = new long[expectedSize];
+			fValues = new Object[expectedSize];
+			fIndex = new int[indexCapacity(expectedSize)];
+		}
+	}
+
+	public int size() {
+		return fSize;
+	}
+
+	public boolean isEmpty() {
+		return fSize == 0;
+	}
+
+	/**
+	 * Returns the key at the given position, the positions reflect the order of insertion.
+	 */
+	public long keyAt(int i) {
+		if (i < 0 || i >= fSize)
+			throw new IndexOutOfBoundsException(String.valueOf(i));
+		return fKeys[i];
+	}
+
+	/**
+	 * Returns the value at the given position, the positions reflect the order of insertion.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getAt(int i) {
+		if (i < 0 || i >= fSize)
+			throw new IndexOutOfBoundsException(String.valueOf(i));
+		return (T) fValues[i];
+	}
+
+	/**
+	 * Returns the value for the given key, or {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(long key) {
+		final int pos = positionOf(key);
+		return pos < 0 ? null : (T) fValues[pos];
+	}
+
+	public boolean containsKey(long key) {
+		return positionOf(key) >= 0;
+	}
+
+	/**
+	 * Adds the mapping and returns the value previously mapped to the key, or {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	public T put(long key, T value) {
+		if (fSize == fKeys.length) {
+			grow();
+		}
+		final int mask = fIndex.length - 1;
+		for (int i = spread(key) & mask;; i = (i + 1) & mask) {
+			final int pos = fIndex[i] - 1;
+			if (pos < 0) {
+				fKeys[fSize] = key;
+				fValues[fSize] = value;
+				fIndex[i] = ++fSize;
+				return null;
+			}
+			if (fKeys[pos] == key) {
+				final T old = (T) fValues[pos];
+				fValues[pos] = value;
+				return old;
+			}
+		}
+	}
+
+	/**
+	 * Returns the keys in the order of insertion.
+	 */
+	public long[] keys() {
+		return Arrays.copyOf(fKeys, fSize);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public CompactLongObjectMap<T> clone() {
+		try {
+			CompactLongObjectMap<T> result = (CompactLongObjectMap<T>) super.clone();
+			if (fKeys != EMPTY_KEYS) {
+				result.fKeys = fKeys.clone();
+				result.fValues = fValues.clone();
+				result.fIndex = fIndex.clone();
+			}
+			return result;
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private int positionOf(long key) {
+		final int[] index = fIndex;
+		final int mask = index.length - 1;
+		for (int i = spread(key) & mask;; i = (i + 1) & mask) {
+			final int pos = index[i] - 1;
+			if (pos < 0 || fKeys[pos] == key)
+				return pos;
+		}
+	}
+
+	private void grow() {
+		final int capacity = Math.max(4, fKeys.length << 1);
+		fKeys = Arrays.copyOf(fKeys, capacity);
+		fValues = Arrays.copyOf(fValues, capacity);
+		final int[] index = new int[indexCapacity(capacity)];
+		final int mask = index.length - 1;
+		for (int pos = 0; pos < fSize; pos++) {
+			int i = spread(fKeys[pos]) & mask;
+			while (index[i] != 0) {
+				i = (i + 1) & mask;
+			}
+			index[i] = pos + 1;
+		}
+		fIndex = index;
+	}
+
+	/**
+	 * Keeps the load of the index at or below one half.
+	 */
+	private static int indexCapacity(int entries) {
+		int capacity = 2;
+		while (capacity < 2 * entries) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private static int spread(long key) {
+		final int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{"); //$NON-NLS-1$
+		for (int i = 0; i < fSize; i++) {
+			if (i > 0) {
+				sb.append(", "); //$NON-NLS-1$
+			}
+			sb.append(fKeys[i]).append('=').append(fValues[i]);
+		}
+		sb.append('}');
+		return sb.toString();
+	}
+}
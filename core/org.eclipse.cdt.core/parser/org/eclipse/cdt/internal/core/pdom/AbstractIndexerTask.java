@@ -32,7 +32,15 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -67,6 +75,7 @@ import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentInclude;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IndexBasedFileContentProvider;
 import org.eclipse.cdt.internal.core.model.DebugLogConstants;
@@ -76,11 +85,14 @@ import org.eclipse.cdt.internal.core.parser.ParserSettings2;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider.DependsOnOutdatedFileException;
 import org.eclipse.cdt.internal.core.parser.util.LRUCache;
+import org.eclipse.cdt.internal.core.util.Canceler;
+import org.eclipse.cdt.internal.core.util.ICanceler;
 import org.eclipse.cdt.utils.EFSExtensionManager;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
@@ -237,6 +249,33 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * A file that is parsed, possibly on one of the parser threads, before its AST is written
+	 * to the index.
+	 */
+	private static class ParsedFile {
+		final Object fTu;
+		final AbstractLanguage fLanguage;
+		final IIndexFileLocation fLocation;
+		final LocationTask fLocationTask;
+		IScannerInfo fScannerInfo;
+		FileContent fCodeReader;
+		IASTTranslationUnit fAST;
+		long fStartTime;
+		long fParsingTime;
+		boolean fCanceled;
+		Throwable fError;
+
+		ParsedFile(Object tu, AbstractLanguage language, IIndexFileLocation location, LocationTask locTask,
+				IScannerInfo scannerInfo) {
+			fTu = tu;
+			fLanguage = language;
+			fLocation = location;
+			fLocationTask = locTask;
+			fScannerInfo = scannerInfo;
+		}
+	}
+
 	public static class FileVersionTask {
 		private final IIndexFragmentFile fIndexFile;
 		private boolean fOutdated;
@@ -323,14 +362,18 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private Set<String> fHeadersToIndexAllVersions = Collections.emptySet();
 	private Pattern fPragmaPrivatePattern;
 	private List<LinkageTask> fRequestsPerLinkage = new ArrayList<>();
-	private Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
-	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
+	// The caches are accessed by the parser threads, see setParserThreadCount(int).
+	private Map<IIndexFile, IndexFileContent> fIndexContentCache = Collections.synchronizedMap(new LRUCache<>(500));
+	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = Collections
+			.synchronizedMap(new LRUCache<>(5000));
 	private Map<IIndexFileLocation, LocationTask> fOneLinkageTasks = new HashMap<>();
 
 	private Object[] fFilesToUpdate;
 	private List<Object> fFilesToRemove = new ArrayList<>();
 	private int fASTOptions;
 	private int fForceNumberFiles;
+	// Sources that are updated only because files included by them have changed.
+	private final Set<IIndexFileLocation> fDependentFiles = new HashSet<>();
 
 	protected IWritableIndex fIndex;
 	private ITodoTaskUpdater fTodoTaskUpdater;
@@ -338,6 +381,11 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fTranslationUnitSizeLimit;
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
+	private int fParserThreads = 1;
+	private ExecutorService fParserExecutor;
+	private final Queue<InternalFileContentProvider> fIdleParserFileContentProviders = new ConcurrentLinkedQueue<>();
+	// fCancelState can cancel only one parser at a time, each parser thread has its own canceler.
+	private final Set<ICanceler> fParserThreadCancelers = ConcurrentHashMap.newKeySet();
 	private int fSwallowOutOfMemoryError = 5;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
@@ -398,6 +446,20 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fPragmaPrivatePattern = pattern;
 	}
 
+	/**
+	 * Sets the number of threads used for parsing the required source files. With more than one
+	 * thread the sources are parsed concurrently in batches, each parser holding a read lock on
+	 * the index. Writing the resulting symbols to the index remains serialized on the thread
+	 * running the task.
+	 */
+	public void setParserThreadCount(int threads) {
+		fParserThreads = Math.max(1, threads);
+	}
+
+	public int getParserThreadCount() {
+		return fParserThreads;
+	}
+
 	/**
 	 * @see IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)
 	 */
@@ -628,6 +690,11 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				fIndex.releaseReadLock();
 			}
 		} finally {
+			if (fParserExecutor != null) {
+				fParserExecutor.shutdownNow();
+				fParserExecutor = null;
+			}
+			fIdleParserFileContentProviders.clear();
 			synchronized (this) {
 				fTaskCompleted = true;
 			}
@@ -685,6 +752,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 								if (update && requestUpdate(linkageID, ifl, ifile, tu, updateKind)) {
 									count++;
 									linkages.set(linkageID);
+									if (!forceAll && isSourceUnit && force && !ifile.hasUnresolvedInclude()
+											&& !isModified(checkTimestamps, checkFileContentsHash, ifl, tu, ifile)) {
+										// The file is forced because of changes to the files it includes.
+										// Files with unresolved includes are not deferred, an include may
+										// now resolve to a file that has been created.
+										fDependentFiles.add(ifl);
+										recordInterfaceChanges();
+									}
 								}
 							}
 						}
@@ -897,19 +972,27 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
+			List<ParsedFile> requiredSources = fParserThreads > 1 ? new ArrayList<>() : null;
 			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
 				IIndexFileLocation ifl = it.next();
 				LocationTask locTask = map.find(ifl);
 				if (locTask == null || locTask.isCompleted()) {
 					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE && !fDependentFiles.contains(ifl)) {
 					if (hasUrgentTasks())
 						return;
 					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					if (requiredSources != null) {
+						// The scanner info is computed when the file is scheduled for parsing.
+						requiredSources.add(new ParsedFile(tu, getLanguage(tu, linkageID), ifl, locTask, null));
+					} else {
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
+			if (requiredSources != null && !parseConcurrently(linkageID, requiredSources, progress))
+				return;
 
 			// Files with context.
 			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
@@ -917,7 +1000,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				LocationTask locTask = map.find(ifl);
 				if (locTask == null || locTask.isCompleted()) {
 					it.remove();
-				} else {
+				} else if (!fDependentFiles.contains(ifl)) {
 					for (FileVersionTask versionTask : locTask.fVersionTasks) {
 						if (versionTask.fOutdated) {
 							if (hasUrgentTasks())
@@ -929,6 +1012,41 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				}
 			}
 
+			// Sources forced because of changes to included files, after the included files are updated.
+			if (!fDependentFiles.isEmpty()) {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					if (!fDependentFiles.contains(ifl))
+						continue;
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						fDependentFiles.remove(ifl);
+						it.remove();
+						continue;
+					}
+					if (hasUrgentTasks())
+						return;
+					fDependentFiles.remove(ifl);
+					if (isAffectedByIncludedFiles(map, locTask)) {
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					} else {
+						// The included files have changed, but not in a way that affects this file.
+						progress.split(1);
+						for (FileVersionTask versionTask : locTask.fVersionTasks) {
+							if (versionTask.fOutdated) {
+								versionTask.setUpdated();
+								reportFile(true, locTask.fKind);
+							}
+						}
+						locTask.fStoredAVersion = true;
+					}
+					if (locTask.isCompleted())
+						it.remove();
+				}
+			}
+
 			// Files without context.
 			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
 				IIndexFileLocation ifl = it.next();
@@ -979,6 +1097,42 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Returns whether a source that is updated because of changes to the files it includes needs
+	 * to be parsed. That is the case when the declarations, macros or includes of one of the files
+	 * it includes directly or indirectly have changed, when one of them has not been updated yet,
+	 * or when one of them has an unresolved include, which may resolve to a new file.
+	 */
+	private boolean isAffectedByIncludedFiles(LinkageTask map, LocationTask locTask) throws CoreException {
+		Deque<IIndexFragmentFile> todo = new ArrayDeque<>();
+		Set<IIndexFragmentFile> visited = new HashSet<>();
+		for (FileVersionTask versionTask : locTask.fVersionTasks) {
+			todo.add(versionTask.fIndexFile);
+			visited.add(versionTask.fIndexFile);
+		}
+		while (!todo.isEmpty()) {
+			IIndexFragmentFile file = todo.remove();
+			for (IIndexInclude include : file.getIncludes()) {
+				if (!include.isActive())
+					continue;
+				if (!include.isResolved())
+					return true;
+				final IIndexFileLocation location = include.getIncludesLocation();
+				if (hasChangedInterface(location))
+					return true;
+				LocationTask task = map.find(location);
+				if (task != null && !task.isCompleted())
+					return true;
+				IIndexFragmentFile target = ((IIndexFragmentInclude) include).getIncludes();
+				if (target == null || !target.hasContent())
+					return true;
+				if (visited.add(target))
+					todo.add(target);
+			}
+		}
+		return false;
+	}
+
 	private void parseVersionInContext(int linkageID, LinkageTask map, IIndexFileLocation ifl,
 			final FileVersionTask versionTask, Object tu, LinkedHashSet<IIndexFile> safeGuard, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
@@ -1087,42 +1241,192 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			IScannerInfo scanInfo, FileContext ctx, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
 		SubMonitor progress = SubMonitor.convert(monitor, 21);
-		boolean resultCacheCleared = false;
-		IPath path = getLabel(ifl);
-		Throwable th = null;
-		try {
-			if (fShowActivity) {
-				trace("Indexer: parsing " + path.toOSString()); //$NON-NLS-1$
-			}
-			progress.subTask(
-					getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
-			FileContent codeReader = fResolver.getCodeReader(tu);
+		ParsedFile file = new ParsedFile(tu, lang, ifl, null, scanInfo);
+		reportParsing(file, progress);
+		fCodeReaderFactory = getFileContentProvider(fCodeReaderFactory, lang, ctx);
+		parse(file, fCodeReaderFactory, getLogService(), progress.split(10));
+		return writeParsedFile(file, ctx, progress.split(11));
+	}
 
+	/**
+	 * Parses the given required source files on the parser threads and writes the resulting ASTs
+	 * to the index in their original order. The files are processed in batches of the size of
+	 * the thread pool. No index writes take place while a batch is being parsed.
+	 *
+	 * @return {@code false} if the parsing was interrupted in favor of an urgent task.
+	 */
+	private boolean parseConcurrently(int linkageID, List<ParsedFile> files, SubMonitor progress)
+			throws CoreException, InterruptedException {
+		final ExecutorService executor = getParserExecutor();
+		// The parsers cannot report progress from their threads, but they stop when the task is canceled.
+		final IProgressMonitor parserMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return progress.isCanceled() || fCancelState.isCanceled();
+			}
+		};
+		for (int i = 0; i < files.size(); i += fParserThreads) {
+			if (hasUrgentTasks())
+				return false;
+			List<ParsedFile> batch = files.subList(i, Math.min(i + fParserThreads, files.size()));
+			List<Future<?>> futures = new ArrayList<>(batch.size());
 			long start = System.currentTimeMillis();
-			IASTTranslationUnit ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, progress.split(10));
-			fStatistics.fParsingTime += System.currentTimeMillis() - start;
-			if (ast == null) {
-				++fStatistics.fTooManyTokensCount;
-			} else {
-				writeToIndex(lang.getLinkageID(), ast, codeReader, ctx, progress.split(10));
-				resultCacheCleared = true; // The cache was cleared while writing to the index.
+			for (ParsedFile file : batch) {
+				if (file.fLocationTask.isCompleted())
+					continue;
+				file.fScannerInfo = getScannerInfo(linkageID, file.fTu);
+				futures.add(executor.submit(() -> {
+					parseOnParserThread(file, parserMonitor);
+					return null;
+				}));
 			}
-			if (fShowActivity) {
-				long time = System.currentTimeMillis() - start;
-				trace("Indexer: processed " + path.toOSString() + " [" + time + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			try {
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			} catch (ExecutionException e) {
+				throw new CoreException(createStatus(e.getMessage(), e.getCause()));
+			} finally {
+				// Don't leave parsers running when the task is interrupted.
+				for (Future<?> future : futures) {
+					future.cancel(true);
+				}
+			}
+			fStatistics.fParallelParsingTime += System.currentTimeMillis() - start;
+
+			for (ParsedFile file : batch) {
+				IProgressMonitor fileProgress = progress.split(1);
+				// Skip files that have been written to the index as part of an earlier AST.
+				if (file.fStartTime != 0 && !file.fLocationTask.isCompleted()) {
+					reportParsing(file, fileProgress);
+					writeParsedFile(file, null, fileProgress);
+				}
+				// Release the AST as early as possible.
+				file.fAST = null;
+				file.fCodeReader = null;
 			}
+		}
+		return true;
+	}
+
+	private ExecutorService getParserExecutor() {
+		if (fParserExecutor == null) {
+			final AtomicInteger threadNumber = new AtomicInteger();
+			fParserExecutor = Executors.newFixedThreadPool(fParserThreads, r -> {
+				Thread thread = new Thread(r, "C/C++ Indexer Parser " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fParserExecutor;
+	}
+
+	/**
+	 * Parses a file on one of the parser threads. Each parser uses its own file content provider
+	 * and canceler, and holds a read lock on the index while the AST is created.
+	 */
+	private void parseOnParserThread(ParsedFile file, IProgressMonitor monitor) throws InterruptedException {
+		if (monitor.isCanceled()) {
+			file.fCanceled = true;
+			return;
+		}
+		ICanceler canceler = new Canceler();
+		fParserThreadCancelers.add(canceler);
+		InternalFileContentProvider provider = fIdleParserFileContentProviders.poll();
+		try {
+			// The task may have been canceled before the canceler was registered.
+			if (fCancelState.isCanceled())
+				canceler.setCanceled(true);
+			fIndex.acquireReadLock();
+			try {
+				provider = getFileContentProvider(provider, file.fLanguage, null);
+				parse(file, provider, getParserThreadLogService(canceler), monitor);
+			} finally {
+				fIndex.releaseReadLock();
+			}
+		} finally {
+			fParserThreadCancelers.remove(canceler);
+			if (provider != null)
+				fIdleParserFileContentProviders.add(provider);
+		}
+	}
+
+	private IParserLogService getParserThreadLogService(ICanceler canceler) {
+		IParserLogService log = getLogService();
+		if (log instanceof ICanceler)
+			return new ParserLogService(DebugLogConstants.PARSER, canceler);
+		return log;
+	}
+
+	@Override
+	public void cancel() {
+		super.cancel();
+		for (ICanceler canceler : fParserThreadCancelers) {
+			canceler.setCanceled(true);
+		}
+	}
+
+	private void reportParsing(ParsedFile file, IProgressMonitor monitor) {
+		IPath path = getLabel(file.fLocation);
+		if (fShowActivity) {
+			trace("Indexer: parsing " + path.toOSString()); //$NON-NLS-1$
+		}
+		monitor.subTask(
+				getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
+	}
+
+	/**
+	 * Creates the AST for the given file. Errors are recorded in the file and are reported when
+	 * the file is written to the index. May be called on a parser thread.
+	 */
+	private void parse(ParsedFile file, InternalFileContentProvider provider, IParserLogService log,
+			IProgressMonitor monitor) {
+		file.fStartTime = System.currentTimeMillis();
+		try {
+			file.fCodeReader = fResolver.getCodeReader(file.fTu);
+			file.fAST = createAST(file.fLanguage, file.fCodeReader, file.fScannerInfo, provider, fASTOptions, log,
+					monitor);
+			file.fParsingTime = System.currentTimeMillis() - file.fStartTime;
 		} catch (OperationCanceledException e) {
-		} catch (RuntimeException e) {
-			final Throwable cause = e.getCause();
+			file.fCanceled = true;
+		} catch (RuntimeException | StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
+			file.fError = e;
+		}
+	}
+
+	private DependsOnOutdatedFileException writeParsedFile(ParsedFile file, FileContext ctx,
+			IProgressMonitor monitor) throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 11);
+		boolean resultCacheCleared = false;
+		IPath path = getLabel(file.fLocation);
+		Throwable th = file.fError;
+		if (th == null && !file.fCanceled) {
+			final long start = file.fStartTime;
+			final IASTTranslationUnit ast = file.fAST;
+			try {
+				fStatistics.fParsingTime += file.fParsingTime;
+				if (ast == null) {
+					++fStatistics.fTooManyTokensCount;
+				} else {
+					writeToIndex(file.fLanguage.getLinkageID(), ast, file.fCodeReader, ctx, progress.split(10));
+					resultCacheCleared = true; // The cache was cleared while writing to the index.
+				}
+				if (fShowActivity) {
+					long time = System.currentTimeMillis() - start;
+					trace("Indexer: processed " + path.toOSString() + " [" + time + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				}
+			} catch (OperationCanceledException e) {
+			} catch (RuntimeException | StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
+				th = e;
+			}
+		}
+		if (th instanceof RuntimeException) {
+			final Throwable cause = th.getCause();
 			if (cause instanceof DependsOnOutdatedFileException)
 				return (DependsOnOutdatedFileException) cause;
-			th = e;
-		} catch (StackOverflowError | CoreException | AssertionError e) {
-			th = e;
-		} catch (OutOfMemoryError e) {
+		} else if (th instanceof OutOfMemoryError) {
 			if (--fSwallowOutOfMemoryError < 0)
-				throw e;
-			th = e;
+				throw (OutOfMemoryError) th;
 		}
 		if (th != null) {
 			swallowError(path, th);
@@ -1209,7 +1513,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
-			IScannerInfo scanInfo, int options, FileContext ctx, IProgressMonitor monitor) throws CoreException {
+			IScannerInfo scanInfo, InternalFileContentProvider fileContentProvider, int options, IParserLogService log,
+			IProgressMonitor monitor) throws CoreException {
 		if (codeReader == null) {
 			return null;
 		}
@@ -1220,8 +1525,23 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			return null;
 		}
+
+		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fileContentProvider, fIndex,
+				options, log);
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		return ast;
+	}
+
+	/**
+	 * Returns a file content provider set up for parsing a file in the given language and context.
+	 * The given provider is reused if it is not {@code null}.
+	 */
+	private InternalFileContentProvider getFileContentProvider(InternalFileContentProvider provider,
+			AbstractLanguage language, FileContext ctx) {
 		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
-		if (fCodeReaderFactory == null) {
+		if (provider == null) {
 			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
 			if (fIsFastIndexer) {
 				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
@@ -1230,23 +1550,17 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
 				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
 				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
+				provider = ibfcp;
 			} else {
-				fCodeReaderFactory = fileContentProvider;
+				provider = fileContentProvider;
 			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
+			provider.setIncludeResolutionHeuristics(createIncludeHeuristics());
 		} else if (fIsFastIndexer) {
-			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
+			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) provider;
 			ibfcp.setContextToHeaderGap(ctx2header);
 			ibfcp.setLinkage(language.getLinkageID());
 		}
-
-		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fCodeReaderFactory, fIndex,
-				options, getLogService());
-		if (monitor.isCanceled()) {
-			throw new OperationCanceledException();
-		}
-		return ast;
+		return provider;
 	}
 
 	private InternalFileContentProvider createInternalFileContentProvider() {
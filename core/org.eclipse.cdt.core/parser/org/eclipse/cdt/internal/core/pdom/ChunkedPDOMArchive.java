@@ -0,0 +1,485 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+/**
+ * Format for team shared indexes that stores the database as a sequence of individually
+ * compressed blocks, each of them with a digest of its content. The archive contains two entries:
+ * <ul>
+ * <li>{@link #BLOCKS_NAME} with the compressed blocks, and
+ * <li>{@link #DIGESTS_NAME} with the digests of all blocks of the database.
+ * </ul>
+ * An archive can be a delta to a previous export, its base. Blocks that did not change since
+ * the base are not stored, they are taken from the base while importing. The base is identified
+ * by its file name, which is expected in the same directory, and by a digest over the digests
+ * of its blocks.
+ * <p>
+ * The database is reconstructed as a stream, one block at a time, such that neither exporting
+ * nor importing needs to hold the database in memory.
+ */
+public final class ChunkedPDOMArchive {
+	/** Name of the archive entry with the compressed blocks. */
+	public static final String BLOCKS_NAME = "cdt-index.blocks"; //$NON-NLS-1$
+	/** Name of the archive entry with the digests of the blocks. */
+	public static final String DIGESTS_NAME = "cdt-index.digests"; //$NON-NLS-1$
+
+	/** Size of the blocks, a multiple of the default chunk size of the database. */
+	public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+	private static final int BLOCKS_MAGIC = 0x43445442; // 'CDTB'
+	private static final int DIGESTS_MAGIC = 0x43445444; // 'CDTD'
+	private static final int FORMAT_VERSION = 1;
+
+	private static final byte END = 0;
+	private static final byte DATA = 1;
+	private static final byte UNCHANGED = 2;
+
+	private ChunkedPDOMArchive() {
+	}
+
+	/**
+	 * The digests of the blocks of an exported database.
+	 */
+	public static final class Digests {
+		final String fAlgorithm;
+		final int fBlockSize;
+		final long fSize;
+		final byte[][] fBlockDigests;
+		private final byte[] fId;
+
+		Digests(String algorithm, int blockSize, long size, byte[][] blockDigests) throws NoSuchAlgorithmException {
+			fAlgorithm = algorithm;
+			fBlockSize = blockSize;
+			fSize = size;
+			fBlockDigests = blockDigests;
+			MessageDigest md = MessageDigest.getInstance(algorithm);
+			for (byte[] digest : blockDigests) {
+				md.update(digest);
+			}
+			fId = md.digest();
+		}
+
+		/**
+		 * Returns a digest over the digests of all blocks, identifying the content of the database.
+		 */
+		public byte[] getId() {
+			return fId.clone();
+		}
+
+		public int getBlockCount() {
+			return fBlockDigests.length;
+		}
+
+		/**
+		 * Returns the digest of the block with the given index, or {@code null} if there is no such block.
+		 */
+		public byte[] getBlockDigest(int i) {
+			return i < fBlockDigests.length ? fBlockDigests[i].clone() : null;
+		}
+
+		public void write(OutputStream stream) throws IOException {
+			DataOutputStream out = new DataOutputStream(stream);
+			out.writeInt(DIGESTS_MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(fAlgorithm);
+			out.writeInt(fBlockSize);
+			out.writeLong(fSize);
+			out.writeInt(fBlockDigests.length);
+			for (byte[] digest : fBlockDigests) {
+				out.write(digest);
+			}
+			out.flush();
+		}
+
+		static Digests read(InputStream stream) throws IOException {
+			DataInputStream in = new DataInputStream(stream);
+			checkHeader(in, DIGESTS_MAGIC);
+			String algorithm = in.readUTF();
+			int blockSize = in.readInt();
+			long size = in.readLong();
+			int count = in.readInt();
+			try {
+				int digestLength = MessageDigest.getInstance(algorithm).getDigestLength();
+				if (count < 0 || digestLength <= 0)
+					throw new IOException("Invalid digests"); //$NON-NLS-1$
+				byte[][] digests = new byte[count][digestLength];
+				for (byte[] digest : digests) {
+					in.readFully(digest);
+				}
+				return new Digests(algorithm, blockSize, size, digests);
+			} catch (NoSuchAlgorithmException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Opens the base of a delta archive.
+	 */
+	public interface BaseResolver {
+		/**
+		 * Returns the blocks of the base with the given name, or throws an exception if it is not
+		 * available or its content does not have the given id.
+		 */
+		BlockInputStream openBase(String name, byte[] id) throws IOException;
+	}
+
+	/**
+	 * Writes the blocks of a database file.
+	 *
+	 * @param database the database file, must not be modified while it is written.
+	 * @param out the stream to write the blocks to.
+	 * @param md the algorithm for the digests of the blocks.
+	 * @param blockSize the size of the blocks.
+	 * @param base the digests of the base of the delta, or {@code null} to write all blocks.
+	 * @param baseName the file name of the base, or {@code null}.
+	 * @return the digests of all blocks of the database.
+	 */
+	public static Digests writeBlocks(File database, OutputStream out, MessageDigest md, int blockSize, Digests base,
+			String baseName, IProgressMonitor monitor) throws IOException {
+		if (base != null && (base.fBlockSize != blockSize || !base.fAlgorithm.equals(md.getAlgorithm()))) {
+			// Blocks are not comparable.
+			base = null;
+		}
+		try (FileInputStream in = new FileInputStream(database)) {
+			FileChannel channel = in.getChannel();
+			final long size = channel.size();
+			final int count = (int) ((size + blockSize - 1) / blockSize);
+			SubMonitor progress = SubMonitor.convert(monitor, count);
+
+			DataOutputStream dout = new DataOutputStream(out);
+			dout.writeInt(BLOCKS_MAGIC);
+			dout.writeInt(FORMAT_VERSION);
+			dout.writeUTF(md.getAlgorithm());
+			dout.writeInt(blockSize);
+			dout.writeLong(size);
+			if (base != null) {
+				dout.writeUTF(baseName);
+				writeBytes(dout, base.getId());
+			} else {
+				dout.writeUTF(""); //$NON-NLS-1$
+				writeBytes(dout, new byte[0]);
+			}
+
+			final byte[][] digests = new byte[count][];
+			final ByteBuffer block = ByteBuffer.allocate(blockSize);
+			final ByteArrayOutputStream compressed = new ByteArrayOutputStream(blockSize);
+			final byte[] buffer = new byte[blockSize];
+			final Deflater deflater = new Deflater();
+			try {
+				for (int i = 0; i < count; i++) {
+					if (progress.isCanceled())
+						throw new OperationCanceledException();
+					block.clear();
+					while (block.hasRemaining() && channel.read(block, (long) i * blockSize + block.position()) > 0) {
+						// Read the entire block.
+					}
+					final int length = block.position();
+					md.update(block.array(), 0, length);
+					digests[i] = md.digest();
+
+					if (base != null && Arrays.equals(digests[i], base.getBlockDigest(i))) {
+						dout.writeByte(UNCHANGED);
+					} else {
+						deflater.reset();
+						deflater.setInput(block.array(), 0, length);
+						deflater.finish();
+						compressed.reset();
+						while (!deflater.finished()) {
+							int n = deflater.deflate(buffer);
+							compressed.write(buffer, 0, n);
+						}
+						dout.writeByte(DATA);
+						dout.writeInt(length);
+						dout.writeInt(compressed.size());
+						compressed.writeTo(dout);
+						dout.write(digests[i]);
+					}
+					progress.worked(1);
+				}
+			} finally {
+				deflater.end();
+			}
+			dout.writeByte(END);
+			dout.flush();
+			return new Digests(md.getAlgorithm(), blockSize, size, digests);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Reads the digests of the blocks from an archive, returns {@code null} if the archive
+	 * does not contain them.
+	 */
+	public static Digests readDigests(File archive) throws IOException {
+		try (InputStream in = openEntry(archive, DIGESTS_NAME)) {
+			return in == null ? null : Digests.read(in);
+		}
+	}
+
+	/**
+	 * Returns a stream positioned at the start of the entry with the given name, or {@code null}
+	 * if the archive has no such entry. Closing the stream closes the archive.
+	 */
+	public static InputStream openEntry(File archive, String name) throws IOException {
+		ZipInputStream in = new ZipInputStream(new FileInputStream(archive));
+		boolean found = false;
+		try {
+			for (ZipEntry entry; (entry = in.getNextEntry()) != null;) {
+				if (entry.getName().equals(name)) {
+					found = true;
+					return in;
+				}
+			}
+			return null;
+		} finally {
+			if (!found) {
+				in.close();
+			}
+		}
+	}
+
+	/**
+	 * Creates a resolver for bases that are stored in the given directory.
+	 */
+	public static BaseResolver createResolver(final File directory) {
+		return new BaseResolver() {
+			@Override
+			public BlockInputStream openBase(String name, byte[] id) throws IOException {
+				File archive = new File(directory, name);
+				if (!archive.isFile())
+					throw new IOException("Missing base of delta archive: " + archive); //$NON-NLS-1$
+				Digests digests = readDigests(archive);
+				if (digests == null || !Arrays.equals(id, digests.getId()))
+					throw new IOException("Base of delta archive does not match: " + archive); //$NON-NLS-1$
+				InputStream in = openEntry(archive, BLOCKS_NAME);
+				if (in == null)
+					throw new IOException("Invalid base of delta archive: " + archive); //$NON-NLS-1$
+				return new BlockInputStream(in, this);
+			}
+		};
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream in, int maxLength) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > maxLength)
+			throw new IOException("Invalid length: " + length); //$NON-NLS-1$
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static void checkHeader(DataInputStream in, int magic) throws IOException {
+		if (in.readInt() != magic)
+			throw new IOException("Not a chunked index archive"); //$NON-NLS-1$
+		int version = in.readInt();
+		if (version != FORMAT_VERSION)
+			throw new IOException("Unsupported format version: " + version); //$NON-NLS-1$
+	}
+
+	/**
+	 * Reconstructs the database from the blocks of an archive. Each block is checked against
+	 * its digest before it is returned, blocks that did not change are read from the base.
+	 */
+	public static final class BlockInputStream extends InputStream {
+		private final DataInputStream fIn;
+		private final MessageDigest fDigest;
+		private final int fBlockSize;
+		private final long fSize;
+		private final BlockInputStream fBase;
+		private final Inflater fInflater = new Inflater();
+		private byte[] fCompressed;
+		private byte[] fBlock;
+		private byte[] fCurrent;
+		private int fCurrentLength;
+		private int fPosition;
+		private long fTotal;
+		private int fUnchangedBlocks;
+		private boolean fEnd;
+
+		public BlockInputStream(InputStream in, BaseResolver resolver) throws IOException {
+			fIn = new DataInputStream(in);
+			try {
+				checkHeader(fIn, BLOCKS_MAGIC);
+				fDigest = MessageDigest.getInstance(fIn.readUTF());
+				fBlockSize = fIn.readInt();
+				fSize = fIn.readLong();
+				if (fBlockSize <= 0 || fSize < 0)
+					throw new IOException("Invalid block size"); //$NON-NLS-1$
+				String baseName = fIn.readUTF();
+				byte[] baseId = readBytes(fIn, fDigest.getDigestLength());
+				if (baseName.isEmpty()) {
+					fBase = null;
+				} else if (resolver == null) {
+					throw new IOException("Cannot resolve base of delta archive: " + baseName); //$NON-NLS-1$
+				} else {
+					fBase = resolver.openBase(baseName, baseId);
+				}
+			} catch (NoSuchAlgorithmException e) {
+				fIn.close();
+				throw new IOException(e);
+			} catch (IOException e) {
+				fIn.close();
+				throw e;
+			}
+			fBlock = new byte[fBlockSize];
+		}
+
+		/**
+		 * Advances to the next block, returns {@code false} at the end of the database.
+		 */
+		private boolean nextBlock() throws IOException {
+			if (fEnd)
+				return false;
+			final boolean haveBase = fBase != null && fBase.nextBlock();
+			final byte kind = fIn.readByte();
+			switch (kind) {
+			case END:
+				fEnd = true;
+				if (fTotal != fSize)
+					throw new EOFException("Truncated index archive"); //$NON-NLS-1$
+				return false;
+			case UNCHANGED:
+				if (!haveBase)
+					throw new IOException("Base of delta archive is too short"); //$NON-NLS-1$
+				fCurrent = fBase.fCurrent;
+				fCurrentLength = fBase.fCurrentLength;
+				fUnchangedBlocks++;
+				break;
+			case DATA:
+				readDataBlock();
+				fCurrent = fBlock;
+				break;
+			default:
+				throw new IOException("Invalid block kind: " + kind); //$NON-NLS-1$
+			}
+			fPosition = 0;
+			fTotal += fCurrentLength;
+			if (fTotal > fSize)
+				throw new IOException("Index archive exceeds its size"); //$NON-NLS-1$
+			return true;
+		}
+
+		private void readDataBlock() throws IOException {
+			final int length = fIn.readInt();
+			final int compressedLength = fIn.readInt();
+			if (length < 0 || length > fBlockSize || compressedLength < 0)
+				throw new IOException("Invalid block length"); //$NON-NLS-1$
+			if (fCompressed == null || fCompressed.length < compressedLength) {
+				fCompressed = new byte[Math.max(compressedLength, fBlockSize)];
+			}
+			fIn.readFully(fCompressed, 0, compressedLength);
+			final byte[] expected = new byte[fDigest.getDigestLength()];
+			fIn.readFully(expected);
+
+			fInflater.reset();
+			fInflater.setInput(fCompressed, 0, compressedLength);
+			try {
+				int n = 0;
+				while (n < length && !fInflater.finished()) {
+					int read = fInflater.inflate(fBlock, n, length - n);
+					if (read == 0 && (fInflater.needsInput() || fInflater.needsDictionary()))
+						break;
+					n += read;
+				}
+				if (n != length)
+					throw new IOException("Corrupt block in index archive"); //$NON-NLS-1$
+			} catch (DataFormatException e) {
+				throw new IOException(e);
+			}
+			fDigest.update(fBlock, 0, length);
+			if (!MessageDigest.isEqual(expected, fDigest.digest()))
+				throw new IOException("Checksum mismatch in index archive"); //$NON-NLS-1$
+			fCurrentLength = length;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (fCurrent == null || fPosition >= fCurrentLength) {
+				if (!nextBlock())
+					return -1;
+				if (fCurrentLength == 0)
+					return read();
+			}
+			return fCurrent[fPosition++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0)
+				return 0;
+			while (fCurrent == null || fPosition >= fCurrentLength) {
+				if (!nextBlock())
+					return -1;
+			}
+			final int n = Math.min(len, fCurrentLength - fPosition);
+			System.arraycopy(fCurrent, fPosition, b, off, n);
+			fPosition += n;
+			return n;
+		}
+
+		/**
+		 * Returns the size of the database in bytes.
+		 */
+		public long getSize() {
+			return fSize;
+		}
+
+		/**
+		 * Returns the number of blocks read so far that were taken from the base of the delta.
+		 */
+		public int getUnchangedBlockCount() {
+			return fUnchangedBlocks;
+		}
+
+		@Override
+		public void close() throws IOException {
+			fInflater.end();
+			try {
+				fIn.close();
+			} finally {
+				if (fBase != null) {
+					fBase.close();
+				}
+			}
+		}
+	}
+}
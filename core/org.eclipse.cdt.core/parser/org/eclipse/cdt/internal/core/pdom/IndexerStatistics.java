@@ -17,6 +17,8 @@ package org.eclipse.cdt.internal.core.pdom;
 public class IndexerStatistics {
 	public int fResolutionTime;
 	public int fParsingTime;
+	/** Wall-clock time spent parsing on multiple threads, see AbstractIndexerTask#setParserThreadCount(int). */
+	public int fParallelParsingTime;
 	public int fAddToIndexTime;
 	public int fErrorCount;
 	public int fReferenceCount = 0;
@@ -26,4 +28,22 @@ public class IndexerStatistics {
 	public int fPreprocessorProblemCount = 0;
 	public int fSyntaxProblemsCount = 0;
 	public int fTooManyTokensCount = 0;
+
+	/**
+	 * Adds the values of the given statistics to this one.
+	 */
+	public void add(IndexerStatistics other) {
+		fResolutionTime += other.fResolutionTime;
+		fParsingTime += other.fParsingTime;
+		fParallelParsingTime += other.fParallelParsingTime;
+		fAddToIndexTime += other.fAddToIndexTime;
+		fErrorCount += other.fErrorCount;
+		fReferenceCount += other.fReferenceCount;
+		fDeclarationCount += other.fDeclarationCount;
+		fProblemBindingCount += other.fProblemBindingCount;
+		fUnresolvedIncludesCount += other.fUnresolvedIncludesCount;
+		fPreprocessorProblemCount += other.fPreprocessorProblemCount;
+		fSyntaxProblemsCount += other.fSyntaxProblemsCount;
+		fTooManyTokensCount += other.fTooManyTokensCount;
+	}
 }
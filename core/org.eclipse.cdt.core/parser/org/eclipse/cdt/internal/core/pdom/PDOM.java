@@ -75,6 +75,7 @@ import org.eclipse.cdt.internal.core.index.IIndexFragmentFileSet;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentInclude;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentName;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
+import org.eclipse.cdt.internal.core.index.IndexQueryCache;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
@@ -350,7 +351,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	public static final int TAG_INDEX = Database.DATA_AREA + 20;
 	public static final int END = Database.DATA_AREA + 24;
 	static {
-		assert END <= Database.CHUNK_SIZE;
+		assert END <= Database.DATA_AREA_END;
 	}
 
 	public static class ChangeEvent {
@@ -418,6 +419,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private final Map<String, IPDOMLinkageFactory> fPDOMLinkageFactoryCache;
 	private final HashMap<Object, Object> fResultCache = new HashMap<>();
 	private final Map<Long, WeakReference<IValue>> fVariableResultCache = new HashMap<>();
+	private final IndexQueryCache fQueryCache = new IndexQueryCache();
 	private List<IListener> listeners;
 	protected ChangeEvent fEvent = new ChangeEvent();
 
@@ -939,6 +941,17 @@ public class PDOM extends PlatformObject implements IPDOM {
 			return findBindings(names[0], true, caseSensitive, filter, monitor);
 		}
 
+		Object key = null;
+		long epoch = 0;
+		if (IndexQueryCache.isCacheable(filter)) {
+			key = IndexQueryCache.createKey(IndexQueryCache.FIND_QUALIFIED_BINDINGS, names, caseSensitive ? 1 : 0,
+					filter);
+			IIndexFragmentBinding[] cached = fQueryCache.get(key);
+			if (cached != null)
+				return cached;
+			epoch = fQueryCache.getEpoch();
+		}
+
 		IIndexFragmentBinding[] candidates = findBindings(names[names.length - 1], false, caseSensitive, filter,
 				monitor);
 		int j = 0;
@@ -948,7 +961,11 @@ public class PDOM extends PlatformObject implements IPDOM {
 				candidates[j++] = cand;
 			}
 		}
-		return ArrayUtil.trimAt(IIndexFragmentBinding.class, candidates, j - 1);
+		IIndexFragmentBinding[] result = ArrayUtil.trimAt(IIndexFragmentBinding.class, candidates, j - 1);
+		if (key != null && (monitor == null || !monitor.isCanceled())) {
+			fQueryCache.put(key, result, epoch);
+		}
+		return result;
 	}
 
 	private boolean matches(IIndexFragmentBinding cand, char[][] names, boolean caseSensitive) {
@@ -1105,6 +1122,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 			if (sDEBUG_LOCKS)
 				timeWriteLockAcquired = System.currentTimeMillis();
 			db.setExclusiveLock();
+			fQueryCache.writeLockChanged();
 		}
 		if (monitor != null)
 			monitor.subTask(""); //$NON-NLS-1$
@@ -1141,6 +1159,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 			if (lockCount < 0)
 				lockCount = establishReadLocks;
+			fQueryCache.writeLockChanged();
 			mutex.notifyAll();
 			db.setLocked(lockCount != 0);
 		}
@@ -1227,8 +1246,23 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@Override
 	public IIndexFragmentName[] findNames(IBinding binding, int options) throws CoreException {
-		ArrayList<IIndexFragmentName> names = new ArrayList<>();
 		IIndexFragmentBinding myBinding = adaptBinding(binding);
+		if (myBinding == null)
+			return IIndexFragmentName.EMPTY_NAME_ARRAY;
+
+		// The names of cross language bindings depend on the binding passed in rather than
+		// on the adapted one.
+		Object key = null;
+		long epoch = 0;
+		if ((options & SEARCH_ACROSS_LANGUAGE_BOUNDARIES) == 0) {
+			key = IndexQueryCache.createKey(IndexQueryCache.FIND_NAMES, myBinding, options, null);
+			IIndexFragmentName[] cached = fQueryCache.get(key);
+			if (cached != null)
+				return cached;
+			epoch = fQueryCache.getEpoch();
+		}
+
+		ArrayList<IIndexFragmentName> names = new ArrayList<>();
 		if (myBinding instanceof PDOMBinding) {
 			PDOMBinding pdomBinding = (PDOMBinding) myBinding;
 			findNamesForMyBinding(pdomBinding, options, names);
@@ -1248,7 +1282,11 @@ public class PDOM extends PlatformObject implements IPDOM {
 				}
 			}
 		}
-		return names.toArray(new IIndexFragmentName[names.size()]);
+		IIndexFragmentName[] result = names.toArray(new IIndexFragmentName[names.size()]);
+		if (key != null) {
+			fQueryCache.put(key, result, epoch);
+		}
+		return result;
 	}
 
 	private void findNamesForMyBinding(PDOMBinding pdomBinding, int options, ArrayList<IIndexFragmentName> names)
@@ -1406,6 +1444,17 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	public IIndexFragmentBinding[] findBindings(char[] name, boolean filescope, boolean isCaseSensitive,
 			IndexFilter filter, IProgressMonitor monitor) throws CoreException {
+		Object key = null;
+		long epoch = 0;
+		if (IndexQueryCache.isCacheable(filter)) {
+			key = IndexQueryCache.createKey(IndexQueryCache.FIND_BINDINGS, name,
+					(filescope ? 1 : 0) | (isCaseSensitive ? 2 : 0), filter);
+			IIndexFragmentBinding[] cached = fQueryCache.get(key);
+			if (cached != null)
+				return cached;
+			epoch = fQueryCache.getEpoch();
+		}
+
 		ArrayList<IIndexFragmentBinding> result = new ArrayList<>();
 		try {
 			for (PDOMLinkage linkage : getLinkageList()) {
@@ -1441,8 +1490,14 @@ public class PDOM extends PlatformObject implements IPDOM {
 				}
 			}
 		} catch (OperationCanceledException e) {
+			// Don't cache incomplete results.
+			key = null;
 		}
-		return result.toArray(new IIndexFragmentBinding[result.size()]);
+		IIndexFragmentBinding[] bindings = result.toArray(new IIndexFragmentBinding[result.size()]);
+		if (key != null) {
+			fQueryCache.put(key, bindings, epoch);
+		}
+		return bindings;
 	}
 
 	public IIndexFragmentBinding[] findMacroContainers(char[] prefix, boolean isPrefix, boolean isCaseSensitive,
@@ -1515,6 +1570,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		indexOfFiledWithUnresolvedIncludes = null;
 		fLinkageIDCache.clear();
 		clearResultCache();
+		fQueryCache.invalidate();
 	}
 
 	@Override
@@ -1540,6 +1596,17 @@ public class PDOM extends PlatformObject implements IPDOM {
 	@Override
 	public void resetCacheCounters() {
 		db.resetCacheCounters();
+		fQueryCache.resetCounters();
+	}
+
+	@Override
+	public long getQueryCacheHits() {
+		return fQueryCache.getHits();
+	}
+
+	@Override
+	public long getQueryCacheMisses() {
+		return fQueryCache.getMisses();
 	}
 
 	protected void flush() throws CoreException {
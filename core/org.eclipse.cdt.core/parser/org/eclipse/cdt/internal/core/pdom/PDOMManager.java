@@ -85,6 +85,7 @@ import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMProjectIndexLocationConverter;
 import org.eclipse.cdt.internal.core.pdom.indexer.AbstractPDOMIndexer;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.cdt.internal.core.pdom.indexer.PDOMCompactionTask;
 import org.eclipse.cdt.internal.core.pdom.indexer.PDOMNullIndexer;
 import org.eclipse.cdt.internal.core.pdom.indexer.PDOMRebuildTask;
 import org.eclipse.cdt.internal.core.pdom.indexer.PDOMUpdateTask;
@@ -192,6 +193,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	private Set<String> fClosingProjects = new HashSet<>();
 
 	private Map<IProject, PCL> fPrefListeners = new HashMap<>();
+	private Map<IProject, IndexerStatistics> fIndexerStatistics = new HashMap<>();
 	private List<IndexerSetupParticipant> fSetupParticipants = new ArrayList<>();
 	private Set<ICProject> fPostponedProjects = new HashSet<>();
 	private int fLastNotifiedState = IndexerStateEvent.STATE_IDLE;
@@ -895,6 +897,9 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			stopIndexer(indexer);
 		}
 		unregisterPreferenceListener(cproject);
+		synchronized (fIndexerStatistics) {
+			fIndexerStatistics.remove(rproject);
+		}
 		Object pdom = null;
 		synchronized (fProjectToPDOM) {
 			pdom = fProjectToPDOM.remove(rproject);
@@ -1024,6 +1029,20 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		job.schedule();
 	}
 
+	/**
+	 * Schedules the compaction of the index of the given project. The compaction runs as a task of
+	 * the indexer job, see {@link PDOMCompactionTask}. The indexer calls this after an update that
+	 * leaves enough free space in the index, see {@link WritablePDOM#needsCompaction()}.
+	 */
+	public void compactIndex(ICProject project) {
+		synchronized (fUpdatePolicies) {
+			IPDOMIndexer indexer = getIndexer(project);
+			if (indexer != null) {
+				enqueue(new PDOMCompactionTask(indexer));
+			}
+		}
+	}
+
 	@Override
 	public void addIndexChangeListener(IIndexChangeListener listener) {
 		fChangeListeners.add(listener);
@@ -1325,6 +1344,35 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		}
 	}
 
+	/**
+	 * Adds the statistics of an indexer task that has completed to the totals of the project.
+	 */
+	public void addIndexerStatistics(ICProject cproject, IndexerStatistics statistics) {
+		synchronized (fIndexerStatistics) {
+			IndexerStatistics total = fIndexerStatistics.get(cproject.getProject());
+			if (total == null) {
+				total = new IndexerStatistics();
+				fIndexerStatistics.put(cproject.getProject(), total);
+			}
+			total.add(statistics);
+		}
+	}
+
+	/**
+	 * Returns the accumulated statistics of the indexer tasks that have completed for the given
+	 * project since it was opened.
+	 */
+	public IndexerStatistics getIndexerStatistics(ICProject cproject) {
+		IndexerStatistics result = new IndexerStatistics();
+		synchronized (fIndexerStatistics) {
+			IndexerStatistics total = fIndexerStatistics.get(cproject.getProject());
+			if (total != null) {
+				result.add(total);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Resets the pdom for the project with the provided stream.
 	 * @param monitor
@@ -1338,6 +1386,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		String newName = createNewDatabaseName(project);
 		File newFile = fileFromDatabaseName(newName);
 		OutputStream out = new FileOutputStream(newFile);
+		boolean ok = false;
 		try {
 			int version = 0;
 			for (int i = 0; i < 4; i++) {
@@ -1360,8 +1409,12 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			while ((read = stream.read(buffer)) >= 0) {
 				out.write(buffer, 0, read);
 			}
+			ok = true;
 		} finally {
 			out.close();
+			if (!ok) {
+				newFile.delete();
+			}
 		}
 
 		WritablePDOM pdom = (WritablePDOM) getPDOM(project);
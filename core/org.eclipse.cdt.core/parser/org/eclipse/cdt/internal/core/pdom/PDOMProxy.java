@@ -169,6 +169,22 @@ public class PDOMProxy implements IPDOM {
 		return 0;
 	}
 
+	@Override
+	public synchronized long getQueryCacheHits() {
+		if (fDelegate != null)
+			return fDelegate.getQueryCacheHits();
+
+		return 0;
+	}
+
+	@Override
+	public synchronized long getQueryCacheMisses() {
+		if (fDelegate != null)
+			return fDelegate.getQueryCacheMisses();
+
+		return 0;
+	}
+
 	@Deprecated
 	@Override
 	public synchronized IIndexFragmentFile getFile(int linkageID, IIndexFileLocation location) throws CoreException {
@@ -218,6 +218,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 	protected final ICanceler fCancelState = new Canceler();
 
 	private int fSkipReferences = SKIP_NO_REFERENCES;
+	private Set<IIndexFileLocation> fFilesWithChangedInterface;
 
 	public PDOMWriter(IndexerInputAdapter resolver) {
 		fStatistics = new IndexerStatistics();
@@ -228,6 +229,26 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		return fResolver;
 	}
 
+	/**
+	 * Starts recording the files whose declarations, macros or includes have changed when they
+	 * were stored in the index, see {@link #hasChangedInterface(IIndexFileLocation)}.
+	 */
+	protected final void recordInterfaceChanges() {
+		if (fFilesWithChangedInterface == null) {
+			fFilesWithChangedInterface = new HashSet<>();
+		}
+	}
+
+	/**
+	 * Returns whether the declarations, macros or includes of a file differed from the ones of the
+	 * previous version when it was stored in the index. New files and new versions of files count
+	 * as changed. Requires that {@link #recordInterfaceChanges()} has been called before the file
+	 * was stored.
+	 */
+	protected final boolean hasChangedInterface(IIndexFileLocation location) {
+		return fFilesWithChangedInterface != null && fFilesWithChangedInterface.contains(location);
+	}
+
 	public void setShowActivity(boolean val) {
 		fShowActivity = val;
 	}
@@ -637,6 +658,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 			boolean pragmaOnce = owner != null ? owner.hasPragmaOnceSemantics() : data.fAST.hasPragmaOnceSemantics();
 			file.setPragmaOnceSemantics(pragmaOnce);
 
+			boolean changedInterface = true;
 			if (data.fReplacementHeaders != null) {
 				String headerKey = IndexLocationFactory.getAbsolutePath(location).toOSString();
 				String replacementHeader = data.fReplacementHeaders.get(headerKey);
@@ -676,7 +698,11 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 				}
 				IncludeInformation[] includeInfoArray = includeInfos
 						.toArray(new IncludeInformation[includeInfos.size()]);
-				index.setFileContent(file, storageLinkageID, includeInfoArray, macros, names, fResolver, lock);
+				changedInterface = index.setFileContent(file, storageLinkageID, includeInfoArray, macros, names,
+						fResolver, lock);
+			}
+			if (changedInterface && fFilesWithChangedInterface != null) {
+				fFilesWithChangedInterface.add(location);
 			}
 			file.setTimestamp(astFile.hasError ? 0 : astFile.timestamp);
 			file.setSourceReadTime(astFile.sourceReadTime);
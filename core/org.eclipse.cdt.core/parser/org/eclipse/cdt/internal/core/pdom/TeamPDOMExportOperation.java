@@ -51,6 +51,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.osgi.util.NLS;
 
 public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 	/**
@@ -60,6 +61,13 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 	 */
 	public static int EXPORT_OPTION_RESOURCE_SNAPSHOT = 1;
 
+	/**
+	 * Option constant (value:2) to indicate that the index should be exported in blocks
+	 * that are compressed individually and carry a digest each, see {@link ChunkedPDOMArchive}.
+	 * Archives in this format can only be imported by CDT versions that support it.
+	 */
+	public static int EXPORT_OPTION_CHUNKED_FORMAT = 2;
+
 	private static final String RESOURCE_PREFIX = "res-"; //$NON-NLS-1$
 	private static final String CDT_PREFIX = "cdt-"; //$NON-NLS-1$
 	private static final String RESOURCE_SNAP_EXTENSION = "snap.zip"; //$NON-NLS-1$
@@ -69,6 +77,7 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 	private File fTargetLocationFile;
 	private MessageDigest fMessageDigest;
 	private int fOptions;
+	private String fDeltaBaseLocation;
 
 	public TeamPDOMExportOperation(ICProject project) {
 		fProject = project;
@@ -82,6 +91,15 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		fOptions = options;
 	}
 
+	/**
+	 * Sets the location of a previous export in the chunked format. The index is then exported
+	 * as a delta that contains only the blocks that changed since that export, the previous
+	 * export has to be kept in the same directory to be able to import the delta.
+	 */
+	public void setDeltaBase(String location) {
+		fDeltaBaseLocation = location;
+	}
+
 	public void setAlgorithm(MessageDigest md) {
 		fMessageDigest = md;
 	}
@@ -110,15 +128,14 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 
 			// Create index.
 			IIndexLocationConverter converter = new PDOMProjectIndexLocationConverter(fProject.getProject(), true);
-			pdomManager.exportProjectPDOM(fProject, tmpPDOM, converter, progress.split(50));
-			monitor.worked(5);
+			pdomManager.exportProjectPDOM(fProject, tmpPDOM, converter, progress.split(45));
 
 			// Create checksums.
 			PDOM pdom = new PDOM(tmpPDOM, converter, LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
 			pdom.acquireReadLock();
 			try {
 				progress.setTaskName(Messages.Checksums_taskComputeChecksums);
-				createChecksums(fProject, pdom, tmpChecksums, progress.split(49));
+				createChecksums(fProject, pdom, tmpChecksums, progress.split(44));
 				pdom.db.setExclusiveLock(); // The tmpPDOM is all ours.
 				pdom.close();
 			} finally {
@@ -126,7 +143,11 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 			}
 
 			// Create archive.
-			createArchive(tmpPDOM, tmpChecksums);
+			if ((fOptions & EXPORT_OPTION_CHUNKED_FORMAT) != 0 || fDeltaBaseLocation != null) {
+				createChunkedArchive(tmpPDOM, tmpChecksums, progress.split(10));
+			} else {
+				createArchive(tmpPDOM, tmpChecksums);
+			}
 
 			// Store preferences.
 			progress.setTaskName(Messages.TeamPDOMExportOperation_taskExportIndex);
@@ -255,6 +276,59 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		}
 	}
 
+	private void createChunkedArchive(File tmpPDOM, File tmpChecksums, IProgressMonitor monitor)
+			throws CoreException {
+		// Read the base before the target is replaced.
+		File baseFile = null;
+		ChunkedPDOMArchive.Digests base = null;
+		if (fDeltaBaseLocation != null) {
+			baseFile = TeamPDOMImportOperation.expandLocation(fProject.getProject(), fDeltaBaseLocation)
+					.getAbsoluteFile();
+			File target = fTargetLocationFile.getAbsoluteFile();
+			// The importer looks for the base next to the delta.
+			if (baseFile.equals(target) || !baseFile.getParentFile().equals(target.getParentFile())) {
+				throw new CoreException(CCorePlugin
+						.createStatus(NLS.bind(Messages.TeamPDOMExportOperation_errorDeltaBase, baseFile)));
+			}
+			try {
+				base = ChunkedPDOMArchive.readDigests(baseFile);
+			} catch (IOException e) {
+				throw new CoreException(CCorePlugin
+						.createStatus(NLS.bind(Messages.TeamPDOMExportOperation_errorDeltaBase, baseFile), e));
+			}
+			if (base == null) {
+				throw new CoreException(CCorePlugin
+						.createStatus(NLS.bind(Messages.TeamPDOMExportOperation_errorDeltaBase, baseFile)));
+			}
+		}
+
+		fTargetLocationFile.delete();
+		ZipOutputStream out = null;
+		try {
+			fTargetLocationFile.getParentFile().mkdirs();
+			out = new ZipOutputStream(new FileOutputStream(fTargetLocationFile));
+			// The blocks are compressed already.
+			out.setLevel(Deflater.NO_COMPRESSION);
+			out.putNextEntry(new ZipEntry(ChunkedPDOMArchive.BLOCKS_NAME));
+			ChunkedPDOMArchive.Digests digests = ChunkedPDOMArchive.writeBlocks(tmpPDOM, out, fMessageDigest,
+					ChunkedPDOMArchive.DEFAULT_BLOCK_SIZE, base, base == null ? null : baseFile.getName(), monitor);
+			out.closeEntry();
+			out.setLevel(Deflater.BEST_COMPRESSION);
+			out.putNextEntry(new ZipEntry(ChunkedPDOMArchive.DIGESTS_NAME));
+			digests.write(out);
+			out.closeEntry();
+			writeEntry(out, TeamPDOMImportOperation.CHECKSUMS_NAME, tmpChecksums);
+		} catch (IOException e) {
+			throw new CoreException(CCorePlugin.createStatus(Messages.TeamPDOMExportOperation_errorCreateArchive, e));
+		} finally {
+			close(out);
+		}
+		IFile[] wsResource = ResourceLookup.findFilesForLocation(new Path(fTargetLocationFile.getAbsolutePath()));
+		for (IFile file : wsResource) {
+			file.refreshLocal(0, new NullProgressMonitor());
+		}
+	}
+
 	private void writeEntry(ZipOutputStream out, String name, File input) throws IOException {
 		ZipEntry e = new ZipEntry(name);
 		out.putNextEntry(e);
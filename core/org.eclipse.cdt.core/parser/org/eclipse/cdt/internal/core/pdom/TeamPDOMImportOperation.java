@@ -142,7 +142,7 @@ public class TeamPDOMImportOperation implements IWorkspaceRunnable {
 		ZipFile zip = new ZipFile(importFile);
 		Map<?, ?> checksums = null;
 		try {
-			importIndex(zip, monitor);
+			importIndex(zip, importFile, monitor);
 			checksums = getChecksums(zip);
 		} finally {
 			try {
@@ -155,7 +155,20 @@ public class TeamPDOMImportOperation implements IWorkspaceRunnable {
 		checkIndex(checksums, monitor);
 	}
 
-	private void importIndex(ZipFile zip, IProgressMonitor monitor) throws CoreException, IOException {
+	private void importIndex(ZipFile zip, File importFile, IProgressMonitor monitor)
+			throws CoreException, IOException {
+		ZipEntry blocksEntry = zip.getEntry(ChunkedPDOMArchive.BLOCKS_NAME);
+		if (blocksEntry != null) {
+			// Decompress the blocks directly into the new database.
+			InputStream stream = new ChunkedPDOMArchive.BlockInputStream(zip.getInputStream(blocksEntry),
+					ChunkedPDOMArchive.createResolver(importFile.getAbsoluteFile().getParentFile()));
+			try {
+				CCoreInternals.getPDOMManager().importProjectPDOM(fProject, stream, monitor);
+			} finally {
+				stream.close();
+			}
+			return;
+		}
 		ZipEntry indexEntry = zip.getEntry(INDEX_NAME);
 		if (indexEntry == null) {
 			throw new CoreException(
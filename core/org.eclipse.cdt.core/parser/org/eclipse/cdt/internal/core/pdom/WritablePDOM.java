@@ -37,8 +37,10 @@ import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IWritableIndex.IncludeInformation;
 import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
 import org.eclipse.cdt.internal.core.model.TranslationUnit;
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
@@ -48,9 +50,18 @@ import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacro;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacroReferenceName;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMName;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 
 public class WritablePDOM extends PDOM implements IWritableIndexFragment {
+	/**
+	 * The index is compacted when the space freed since its last compaction exceeds this fraction
+	 * of its size.
+	 */
+	private static final int COMPACTION_THRESHOLD_DIVISOR = 4;
+
 	private boolean fClearedBecauseOfVersionMismatch = false;
+	private long fBytesFreedAtCompaction;
 	private boolean fCreatedFromScratch = false;
 	private ASTFilePathResolver fPathResolver;
 	private PDOMFile fileBeingUpdated;
@@ -145,28 +156,35 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 	}
 
 	@Override
-	public void addFileContent(IIndexFragmentFile sourceFile, IncludeInformation[] includes,
+	public boolean addFileContent(IIndexFragmentFile sourceFile, IncludeInformation[] includes,
 			IASTPreprocessorStatement[] macros, IASTName[][] names, ASTFilePathResolver pathResolver,
 			YieldableIndexLock lock) throws CoreException, InterruptedException {
 		assert sourceFile.getIndexFragment() == this;
 
 		PDOMFile pdomFile = (PDOMFile) sourceFile;
+		// Unchanged references are taken over from the file being updated.
+		PDOMFile previous = pdomFile == uncommittedFile ? fileBeingUpdated : null;
 		pdomFile.addMacros(macros);
 		final ASTFilePathResolver origResolver = fPathResolver;
 		fPathResolver = pathResolver;
+		boolean changed;
 		try {
-			pdomFile.addNames(names, lock);
+			changed = pdomFile.addNames(names, previous, lock);
 		} finally {
 			fPathResolver = origResolver;
 		}
 		// Includes expose the temporary file in the index, we must not yield the lock beyond this point.
 		pdomFile.addIncludesTo(includes);
+		if (!changed) {
+			changed = !pdomFile.hasSamePreprocessorDirectives(previous);
+		}
 
 		final IIndexFileLocation location = pdomFile.getLocation();
 		if (location != null) {
 			fEvent.fClearedFiles.remove(location);
 			fEvent.fFilesWritten.add(location);
 		}
+		return changed;
 	}
 
 	@Override
@@ -232,15 +250,19 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 
 		clearFileIndex();
 		final List<PDOMFile> notConverted = new ArrayList<>();
+		final long[] converted = new long[pdomfiles.size()];
+		int count = 0;
 		for (PDOMFile file : pdomfiles) {
 			String internalFormat = newConverter.toInternalFormat(file.getLocation());
 			if (internalFormat != null) {
 				file.setInternalLocation(internalFormat);
-				getFileIndex().insert(file.getRecord());
+				converted[count++] = file.getRecord();
 			} else {
 				notConverted.add(file);
 			}
 		}
+		// The file index is empty, it is built in one go.
+		getFileIndex().insertAll(converted, count);
 
 		// remove content where converter returns null
 		for (PDOMFile file : notConverted) {
@@ -352,6 +374,69 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 				|| uncommittedFile.getRecord() != name.getFileRecord();
 	}
 
+	/**
+	 * Compacts the database without moving any of its records. The B-trees of the files and of
+	 * the linkages are rebuilt in key order and densely packed, adjacent free blocks are merged,
+	 * and the chunks at the end of the file that are no longer used are released. Each step leaves
+	 * the database consistent, the lock is yielded between them.
+	 *
+	 * <b>The write-lock must be held via the given lock</b>
+	 *
+	 * @param lock the write-lock of the index this fragment belongs to
+	 * @param monitor the progress monitor, compaction stops early when it is canceled
+	 * @return the number of bytes the database has shrunk
+	 * @throws CoreException
+	 * @throws InterruptedException
+	 */
+	public long compact(YieldableIndexLock lock, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		final Database db = getDB();
+		final long sizeBefore = (long) db.getChunkCount() * db.getChunkSize();
+		List<BTree> btrees = new ArrayList<>();
+		btrees.add(getFileIndex());
+		btrees.add(getIndexOfDefectiveFiles());
+		btrees.add(getIndexOfFilesWithUnresolvedIncludes());
+		for (PDOMLinkage linkage : getLinkageImpls()) {
+			btrees.add(linkage.getIndex());
+			btrees.add(linkage.getNestedBindingsIndex());
+			btrees.add(linkage.getMacroIndex());
+		}
+
+		SubMonitor progress = SubMonitor.convert(monitor, btrees.size() + db.getChunkCount());
+		for (BTree btree : btrees) {
+			if (progress.isCanceled()) {
+				break;
+			}
+			btree.rebuild();
+			progress.worked(1);
+			lock.yield();
+		}
+		// The chunk count may change while the lock is yielded.
+		for (int i = 1; i < db.getChunkCount() && !progress.isCanceled(); i++) {
+			db.coalesceFreeBlocks(i);
+			progress.worked(1);
+			lock.yield();
+		}
+		db.truncateFreeChunks();
+		fBytesFreedAtCompaction = db.getBytesFreed();
+		return sizeBefore - (long) db.getChunkCount() * db.getChunkSize();
+	}
+
+	/**
+	 * Returns whether the space freed since the index was last compacted exceeds a quarter of its
+	 * size, such that it is worth running {@link #compact}.
+	 */
+	public boolean needsCompaction() {
+		final Database db = getDB();
+		long freed = db.getBytesFreed();
+		if (freed < fBytesFreedAtCompaction) {
+			// The database has been cleared.
+			fBytesFreedAtCompaction = 0;
+		}
+		return (freed - fBytesFreedAtCompaction) * COMPACTION_THRESHOLD_DIVISOR > (long) db.getChunkCount()
+				* db.getChunkSize();
+	}
+
 	@Override
 	protected boolean isCommitted(PDOMMacroReferenceName name) throws CoreException {
 		return uncommittedFile == null || !uncommittedFile.getPDOM().equals(name.getPDOM())
@@ -17,6 +17,7 @@
 package org.eclipse.cdt.internal.core.pdom.db;
 
 import java.text.MessageFormat;
+import java.util.Arrays;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -599,6 +600,175 @@ public class BTree {
 		}
 	}
 
+	/**
+	 * Inserts a batch of records. The records are sorted first, then an empty B-tree is built
+	 * bottom up and densely packed, without any node splits. Records for a B-tree that is not
+	 * empty are inserted in key order, such that consecutive insertions touch the same nodes.
+	 * As with {@link #insert(long)}, a record is not inserted if an equal one is already present.
+	 *
+	 * @param records the records to insert, the array is reordered
+	 * @param count the number of records at the start of the array to insert
+	 * @throws CoreException
+	 */
+	public void insertAll(long[] records, int count) throws CoreException {
+		if (count == 0) {
+			return;
+		}
+		sortRecords(records, count);
+		if (getRoot() != 0) {
+			for (int i = 0; i < count; i++) {
+				insert(records[i]);
+			}
+			return;
+		}
+		// The sort is stable, the first of several equal records is kept.
+		int unique = 1;
+		for (int i = 1; i < count; i++) {
+			if (cmp.compare(records[unique - 1], records[i]) != 0) {
+				records[unique++] = records[i];
+			}
+		}
+		db.putRecPtr(rootPointer, buildFromSortedRecords(records, unique, new int[1]));
+	}
+
+	/**
+	 * Stable merge sort, the comparator may throw a {@link CoreException}.
+	 */
+	private void sortRecords(long[] records, int count) throws CoreException {
+		long[] src = Arrays.copyOf(records, count);
+		long[] dst = records;
+		for (int width = 1; width < count; width *= 2) {
+			for (int lo = 0; lo < count; lo += 2 * width) {
+				final int mid = Math.min(lo + width, count);
+				final int hi = Math.min(lo + 2 * width, count);
+				int i = lo;
+				int j = mid;
+				for (int k = lo; k < hi; k++) {
+					if (i < mid && (j >= hi || cmp.compare(src[i], src[j]) <= 0)) {
+						dst[k] = src[i++];
+					} else {
+						dst[k] = src[j++];
+					}
+				}
+			}
+			long[] tmp = src;
+			src = dst;
+			dst = tmp;
+		}
+		if (src != records) {
+			System.arraycopy(src, 0, records, 0, count);
+		}
+	}
+
+	/**
+	 * Rebuilds the B-tree from its records in key order. The nodes are packed as densely as the
+	 * B-tree invariants allow and the old nodes are returned to the database. The records themselves
+	 * are neither moved nor compared, such that the comparator does not need to be consulted.
+	 *
+	 * @return the number of nodes saved by the rebuild, may be negative for trees that are already packed
+	 * @throws CoreException
+	 */
+	public int rebuild() throws CoreException {
+		final long root = getRoot();
+		if (root == 0) {
+			return 0;
+		}
+		final long[][] nodes = { new long[16] };
+		final long[][] records = { new long[64] };
+		final int[] counts = new int[2];
+		accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return 0;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				if (counts[1] == records[0].length) {
+					records[0] = Arrays.copyOf(records[0], counts[1] * 2);
+				}
+				records[0][counts[1]++] = record;
+				return true;
+			}
+
+			@Override
+			public void preVisit(long node) throws CoreException {
+				if (counts[0] == nodes[0].length) {
+					nodes[0] = Arrays.copyOf(nodes[0], counts[0] * 2);
+				}
+				nodes[0][counts[0]++] = node;
+			}
+		});
+		// Free the old nodes first, such that the new ones can reuse their space.
+		for (int i = 0; i < counts[0]; i++) {
+			db.free(nodes[0][i]);
+		}
+		final int[] newNodeCount = new int[1];
+		db.putRecPtr(rootPointer, buildFromSortedRecords(records[0], counts[1], newNodeCount));
+		return counts[0] - newNodeCount[0];
+	}
+
+	/**
+	 * Builds a B-tree bottom up from records sorted by key, one level at a time. Each level uses
+	 * the minimum number of nodes and distributes the records evenly between them, which keeps
+	 * all nodes at least half full.
+	 *
+	 * @return the root node, or 0 for an empty tree
+	 */
+	private long buildFromSortedRecords(long[] records, int count, int[] nodeCount) throws CoreException {
+		if (count == 0) {
+			return 0;
+		}
+		// The leaves.
+		int nodes = (count + 1 + MAX_RECORDS) / (MAX_RECORDS + 1);
+		long[] level = new long[nodes];
+		long[] separators = new long[nodes - 1];
+		int total = count - (nodes - 1);
+		int pos = 0;
+		for (int i = 0; i < nodes; i++) {
+			final int n = total / nodes + (i < total % nodes ? 1 : 0);
+			final long node = allocateNode();
+			final Chunk chunk = db.getChunk(node);
+			for (int j = 0; j < n; j++) {
+				putRecord(chunk, node, j, records[pos++]);
+			}
+			level[i] = node;
+			if (i < nodes - 1) {
+				separators[i] = records[pos++];
+			}
+		}
+		nodeCount[0] += nodes;
+
+		// The inner nodes, until a single root is left.
+		while (level.length > 1) {
+			nodes = (level.length + MAX_CHILDREN - 1) / MAX_CHILDREN;
+			long[] parents = new long[nodes];
+			long[] parentSeparators = new long[nodes - 1];
+			total = level.length;
+			pos = 0;
+			for (int i = 0; i < nodes; i++) {
+				final int n = total / nodes + (i < total % nodes ? 1 : 0);
+				final long node = allocateNode();
+				final Chunk chunk = db.getChunk(node);
+				for (int j = 0; j < n; j++) {
+					putChild(chunk, node, j, level[pos + j]);
+					if (j < n - 1) {
+						putRecord(chunk, node, j, separators[pos + j]);
+					}
+				}
+				pos += n;
+				parents[i] = node;
+				if (i < nodes - 1) {
+					parentSeparators[i] = separators[pos - 1];
+				}
+			}
+			nodeCount[0] += nodes;
+			level = parents;
+			separators = parentSeparators;
+		}
+		return level[0];
+	}
+
 	/**
 	 * Debugging method for checking B-tree invariants.
 	 *
@@ -25,7 +25,7 @@ import org.eclipse.core.runtime.CoreException;
  * Caches the content of a piece of the database.
  */
 final class Chunk {
-	final private byte[] fBuffer = new byte[Database.CHUNK_SIZE];
+	final private byte[] fBuffer;
 
 	final Database fDatabase;
 	final int fSequenceNumber;
@@ -38,12 +38,13 @@ final class Chunk {
 	Chunk(Database db, int sequenceNumber) {
 		fDatabase = db;
 		fSequenceNumber = sequenceNumber;
+		fBuffer = new byte[db.getChunkSize()];
 	}
 
 	void read() throws CoreException {
 		try {
 			final ByteBuffer buf = ByteBuffer.wrap(fBuffer);
-			fDatabase.read(buf, (long) fSequenceNumber * Database.CHUNK_SIZE);
+			fDatabase.read(buf, (long) fSequenceNumber * fBuffer.length);
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
 		}
@@ -52,15 +53,15 @@ final class Chunk {
 	void flush() throws CoreException {
 		try {
 			final ByteBuffer buf = ByteBuffer.wrap(fBuffer);
-			fDatabase.write(buf, (long) fSequenceNumber * Database.CHUNK_SIZE);
+			fDatabase.write(buf, (long) fSequenceNumber * fBuffer.length);
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
 		}
 		fDirty = false;
 	}
 
-	private static int recPtrToIndex(final long offset) {
-		return (int) (offset & Database.OFFSET_IN_CHUNK_MASK);
+	private int recPtrToIndex(final long offset) {
+		return (int) (offset & (fBuffer.length - 1));
 	}
 
 	public void putByte(final long offset, final byte value) {
@@ -111,19 +112,21 @@ final class Chunk {
 	/**
 	 * A free Record Pointer is a pointer to a raw block, i.e. the
 	 * pointer is not moved past the BLOCK_HEADER_SIZE.
+	 * @param alignmentBits the number of low bits that are clear in any block address.
 	 */
-	static int compressFreeRecPtr(final long value) {
+	static int compressFreeRecPtr(final long value, final int alignmentBits) {
 		// This assert verifies the alignment. We expect the low bits to be clear.
-		assert (value & (Database.BLOCK_SIZE_DELTA - 1)) == 0;
-		final int dense = (int) (value >> Database.BLOCK_SIZE_DELTA_BITS);
+		assert (value & ((1 << alignmentBits) - 1)) == 0;
+		final int dense = (int) (value >> alignmentBits);
 		return dense;
 	}
 
 	/**
 	 * A free Record Pointer is a pointer to a raw block,
 	 * i.e. the pointer is not moved past the BLOCK_HEADER_SIZE.
+	 * @param alignmentBits the number of low bits that are clear in any block address.
 	 */
-	static long expandToFreeRecPtr(int value) {
+	static long expandToFreeRecPtr(int value, final int alignmentBits) {
 		/*
 		 * We need to properly manage the integer that was read. The value will be sign-extended
 		 * so if the most significant bit is set, the resulting long will look negative. By
@@ -132,7 +135,7 @@ final class Chunk {
 		 * stored record pointers.
 		 */
 		long address = value & 0xFFFFFFFFL;
-		return address << Database.BLOCK_SIZE_DELTA_BITS;
+		return address << alignmentBits;
 	}
 
 	/**
@@ -143,7 +146,7 @@ final class Chunk {
 		assert fLocked;
 		fDirty = true;
 		int idx = recPtrToIndex(offset);
-		Database.putRecPtr(value, fBuffer, idx);
+		fDatabase.putRecPtr(value, fBuffer, idx);
 	}
 
 	/**
@@ -154,18 +157,18 @@ final class Chunk {
 		assert fLocked;
 		fDirty = true;
 		int idx = recPtrToIndex(offset);
-		putInt(compressFreeRecPtr(value), fBuffer, idx);
+		putInt(compressFreeRecPtr(value, fDatabase.getRecordAlignmentBits()), fBuffer, idx);
 	}
 
 	public long getRecPtr(final long offset) {
 		final int idx = recPtrToIndex(offset);
-		return Database.getRecPtr(fBuffer, idx);
+		return fDatabase.getRecPtr(fBuffer, idx);
 	}
 
 	public long getFreeRecPtr(final long offset) {
 		final int idx = recPtrToIndex(offset);
 		int value = getInt(fBuffer, idx);
-		return expandToFreeRecPtr(value);
+		return expandToFreeRecPtr(value, fDatabase.getRecordAlignmentBits());
 	}
 
 	public void put3ByteUnsignedInt(final long offset, final int value) {
@@ -13,12 +13,24 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.Arrays;
+
+/**
+ * Cache for the chunks of databases. The cache is divided into stripes, each of them protected
+ * by its own lock and managed by the CLOCK (second chance) algorithm. A chunk is always cached
+ * in the same stripe, which is determined by its database and its sequence number, such that
+ * readers of different chunks rarely contend for the same lock.
+ * <p>
+ * The lock of a stripe also protects the slots of the chunks in {@link Database}, see
+ * {@link #getLock(Database, int)}.
+ */
 public final class ChunkCache {
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	private static final int MAX_STRIPES = 64;
+
+	private final Stripe[] fStripes;
+	private final int fStripeMask;
 
 	public static ChunkCache getSharedInstance() {
 		return sSharedInstance;
@@ -29,82 +41,78 @@ public final class ChunkCache {
 	}
 
 	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
+		this(maxSize, Runtime.getRuntime().availableProcessors() * 2);
 	}
 
-	public synchronized void add(Chunk chunk, boolean locked) {
-		if (locked) {
-			chunk.fLocked = true;
-		}
-		if (chunk.fCacheIndex >= 0) {
-			chunk.fCacheHitFlag = true;
-			return;
+	/**
+	 * Creates a cache with the given maximum size in bytes, divided into at most the given number
+	 * of stripes. The number of stripes is rounded down to a power of two.
+	 */
+	public ChunkCache(long maxSize, int stripes) {
+		final long length = maxSize / Database.CHUNK_SIZE;
+		int n = Integer.highestOneBit(Math.max(1, Math.min(stripes, MAX_STRIPES)));
+		// Every stripe must be able to hold a few chunks.
+		while (n > 1 && length / n < 16) {
+			n >>= 1;
 		}
-		if (fTableIsFull) {
-			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
-			}
+		fStripes = new Stripe[n];
+		fStripeMask = n - 1;
+		for (int i = 0; i < n; i++) {
+			fStripes[i] = new Stripe(maxSize / n);
 		}
 	}
 
 	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
+	 * Returns the lock that protects the chunk with the given sequence number of the database.
+	 * All changes to the state of a chunk, as well as to its slot in the database, have to
+	 * be made while holding this lock.
 	 */
-	private void evictChunk() {
-		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
-		 */
-		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
-				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
-			} else {
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-				fPageTable[fPointer] = null;
-				return;
-			}
+	Object getLock(Database db, int sequenceNumber) {
+		return getStripe(db, sequenceNumber);
+	}
+
+	Object getLock(Chunk chunk) {
+		return getStripe(chunk.fDatabase, chunk.fSequenceNumber);
+	}
+
+	private Stripe getStripe(Database db, int sequenceNumber) {
+		int h = db.fCacheHash + sequenceNumber * 0x9E3779B9;
+		h ^= h >>> 16;
+		return fStripes[h & fStripeMask];
+	}
+
+	public void add(Chunk chunk, boolean locked) {
+		Stripe stripe = getStripe(chunk.fDatabase, chunk.fSequenceNumber);
+		synchronized (stripe) {
+			stripe.add(chunk, locked);
 		}
 	}
 
-	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
-				fTableIsFull = false;
-			} else {
-				fPointer--;
-			}
-			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
+	public void remove(Chunk chunk) {
+		Stripe stripe = getStripe(chunk.fDatabase, chunk.fSequenceNumber);
+		synchronized (stripe) {
+			stripe.remove(chunk);
 		}
 	}
 
+	/**
+	 * Returns the number of stripes the cache is divided into.
+	 */
+	public int getStripeCount() {
+		return fStripes.length;
+	}
+
 	/**
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
-	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+	public long getMaxSize() {
+		long size = 0;
+		for (Stripe stripe : fStripes) {
+			synchronized (stripe) {
+				size += stripe.fMaxBytes;
+			}
+		}
+		return size;
 	}
 
 	/**
@@ -112,31 +120,105 @@ public final class ChunkCache {
 	 * maximum total memory of <code>maxSize</code>.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
-	public synchronized void setMaxSize(long maxSize) {
-		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
+	public void setMaxSize(long maxSize) {
+		final long stripeSize = maxSize / fStripes.length;
+		for (Stripe stripe : fStripes) {
+			synchronized (stripe) {
+				stripe.setMaxBytes(stripeSize);
 			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
 		}
 	}
 
-	private int computeLength(long maxSize) {
-		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
-		return Math.max(1, (int) maxLength);
+	/**
+	 * A part of the cache managed by the CLOCK algorithm. All methods must be called while
+	 * holding the lock of the stripe.
+	 * <p>
+	 * Chunks of different databases may differ in size, the stripe is limited by the total size
+	 * of its chunks rather than by their number. The page table holds the cached chunks at the
+	 * indices below {@link #fCount}.
+	 */
+	private static final class Stripe {
+		private Chunk[] fPageTable;
+		private int fCount;
+		private int fPointer; // The hand of the clock.
+		private long fBytes;
+		long fMaxBytes;
+
+		Stripe(long maxBytes) {
+			fPageTable = new Chunk[16];
+			fMaxBytes = Math.max(maxBytes, Database.CHUNK_SIZE);
+		}
+
+		void add(Chunk chunk, boolean locked) {
+			if (locked) {
+				chunk.fLocked = true;
+			}
+			if (chunk.fCacheIndex >= 0) {
+				chunk.fCacheHitFlag = true;
+				return;
+			}
+			final int size = chunk.fDatabase.getChunkSize();
+			while (fCount > 0 && fBytes + size > fMaxBytes) {
+				evictChunk();
+			}
+			if (fCount == fPageTable.length) {
+				fPageTable = Arrays.copyOf(fPageTable, fCount * 2);
+			}
+			chunk.fCacheIndex = fCount;
+			fPageTable[fCount++] = chunk;
+			fBytes += size;
+		}
+
+		/**
+		 * Evicts a chunk from the page table and the chunk table.
+		 */
+		private void evictChunk() {
+			/*
+			 * Use the CLOCK algorithm to determine which chunk to evict.
+			 * i.e., if the chunk in the current slot of the page table has been
+			 * recently referenced (i.e. the reference flag is set), unset the
+			 * reference flag and move to the next slot.  Otherwise, evict the
+			 * chunk in the current slot.
+			 */
+			while (true) {
+				if (fPointer >= fCount) {
+					fPointer = 0;
+				}
+				Chunk chunk = fPageTable[fPointer];
+				if (chunk.fCacheHitFlag) {
+					chunk.fCacheHitFlag = false;
+					fPointer++;
+				} else {
+					chunk.fDatabase.releaseChunk(chunk);
+					remove(chunk);
+					return;
+				}
+			}
+		}
+
+		void remove(Chunk chunk) {
+			final int idx = chunk.fCacheIndex;
+			if (idx >= 0) {
+				chunk.fCacheIndex = -1;
+				fBytes -= chunk.fDatabase.getChunkSize();
+				// The last chunk takes the place of the removed one.
+				final Chunk move = fPageTable[--fCount];
+				fPageTable[fCount] = null;
+				if (move != chunk) {
+					fPageTable[idx] = move;
+					move.fCacheIndex = idx;
+				}
+			}
+		}
+
+		void setMaxBytes(long maxBytes) {
+			fMaxBytes = Math.max(maxBytes, Database.CHUNK_SIZE);
+			while (fBytes > fMaxBytes) {
+				final Chunk chunk = fPageTable[fCount - 1];
+				chunk.fDatabase.releaseChunk(chunk);
+				remove(chunk);
+			}
+			fPointer = 0;
+		}
 	}
 }
@@ -33,6 +33,7 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -47,22 +48,30 @@ import org.eclipse.osgi.util.NLS;
  * @author Doug Schaefer
  */
 /*
- * The file encapsulated is divided into Chunks of size CHUNK_SIZE, and a table of contents
- * mapping chunk index to chunk address is maintained. Chunk structure exists only conceptually -
- * it is not a structure that appears in the file.
+ * The file encapsulated is divided into Chunks of a size chosen when the database is created
+ * (CHUNK_SIZE unless configured otherwise), and a table of contents mapping chunk index to chunk
+ * address is maintained. Chunk structure exists only conceptually - it is not a structure that
+ * appears in the file.
  *
  * ===== The first chunk is used by Database itself for house-keeping purposes and has structure
  *
- * offset            content
- * 	                 _____________________________
- * 0                | version number
- * INT_SIZE         | pointer to head of linked list of blocks of size MIN_BLOCK_DELTAS*BLOCK_SIZE_DELTA
- * ..               | ...
- * INT_SIZE * m (1) | pointer to head of linked list of blocks of size (m + MIN_BLOCK_DELTAS) * BLOCK_SIZE_DELTA
- * DATA_AREA        | undefined (PDOM stores its own house-keeping data in this area)
+ * offset                content
+ * 	                     _____________________________
+ * 0                    | version number, or FORMAT_MAGIC for databases with a non-default layout
+ * INT_SIZE             | pointer to head of linked list of blocks of size MIN_BLOCK_DELTAS*BLOCK_SIZE_DELTA
+ * ..                   | ...
+ * INT_SIZE * m (1)     | pointer to head of linked list of blocks of size (m + MIN_BLOCK_DELTAS) * BLOCK_SIZE_DELTA
+ * DATA_AREA            | undefined (PDOM stores its own house-keeping data in this area)
+ * DATA_AREA_END        | version number (only with FORMAT_MAGIC)
+ * DATA_AREA_END + 4    | log2 of the chunk size << 8 | log2 of the record alignment (only with FORMAT_MAGIC)
  *
  * (1) where 2 <= m <= CHUNK_SIZE / BLOCK_SIZE_DELTA - MIN_BLOCK_DELTAS + 1
  *
+ * Blocks never exceed CHUNK_SIZE, larger chunks simply hold more blocks. Record pointers are stored
+ * in 4 bytes, in units of the record alignment, which therefore determines the maximum size of the
+ * database. The default layout (chunks of CHUNK_SIZE, records aligned to BLOCK_SIZE_DELTA) is
+ * stored without FORMAT_MAGIC, exactly as by earlier versions.
+ *
  * ===== block structure
  *
  * offset            content
@@ -75,8 +84,9 @@ import org.eclipse.osgi.util.NLS;
 public class Database {
 	// Public for tests only, you shouldn't need these.
 	public static final int INT_SIZE = 4;
-	public static final int CHUNK_SIZE = 1024 * 4;
+	public static final int CHUNK_SIZE = 1024 * 4; // size of the chunks of the default layout, also the minimum.
 	public static final int OFFSET_IN_CHUNK_MASK = CHUNK_SIZE - 1;
+	public static final int MAX_CHUNK_SIZE = 1024 * 1024;
 	public static final int BLOCK_HEADER_SIZE = 2;
 	public static final int BLOCK_SIZE_DELTA_BITS = 3;
 	public static final int BLOCK_SIZE_DELTA = 1 << BLOCK_SIZE_DELTA_BITS;
@@ -91,32 +101,66 @@ public class Database {
 	public static final int EVALUATION_SIZE = TYPE_SIZE; // size of an evaluation in the database in bytes
 	public static final int EXECUTION_SIZE = TYPE_SIZE; // size of an execution in the database in bytes
 	public static final int ARGUMENT_SIZE = TYPE_SIZE; // size of a template argument in the database in bytes
-	public static final long MAX_DB_SIZE = ((long) 1 << (Integer.SIZE + BLOCK_SIZE_DELTA_BITS));
+	public static final long MAX_DB_SIZE = ((long) 1 << (Integer.SIZE + BLOCK_SIZE_DELTA_BITS)); // for the default layout.
+	public static final int MAX_RECORD_ALIGNMENT = 64;
 
 	public static final int VERSION_OFFSET = 0;
 	public static final int DATA_AREA = (CHUNK_SIZE / BLOCK_SIZE_DELTA - MIN_BLOCK_DELTAS + 2) * INT_SIZE;
+	public static final int DATA_AREA_END = CHUNK_SIZE - 2 * INT_SIZE;
+
+	private static final int FORMAT_MAGIC = 0xCDBF0001;
+	private static final int FORMAT_VERSION_OFFSET = DATA_AREA_END;
+	private static final int FORMAT_LAYOUT_OFFSET = DATA_AREA_END + INT_SIZE;
+	private static final int MAX_BLOCK_SIZE = MAX_BLOCK_DELTAS * BLOCK_SIZE_DELTA;
 
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	/**
+	 * Whether databases access their files through memory-mapped regions by default, see
+	 * {@link #Database(File, ChunkCache, int, boolean, boolean)}.
+	 */
+	private static final boolean USE_MEMORY_MAPPED_IO = Boolean
+			.getBoolean("org.eclipse.cdt.core.parser.pdom.mmap"); //$NON-NLS-1$
+	/**
+	 * The layout of new databases, see {@link #Database(File, ChunkCache, int, boolean, boolean, int, int)}.
+	 */
+	private static final int DEFAULT_CHUNK_SIZE = Integer.getInteger("org.eclipse.cdt.core.parser.pdom.chunkSize", //$NON-NLS-1$
+			CHUNK_SIZE);
+	private static final int DEFAULT_RECORD_ALIGNMENT = Integer
+			.getInteger("org.eclipse.cdt.core.parser.pdom.recordAlignment", BLOCK_SIZE_DELTA); //$NON-NLS-1$
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
+	private final MappedFileRegions fMappedRegions; // null unless memory-mapped I/O is used.
 	private boolean fExclusiveLock; // Necessary for any write operation.
 	private boolean fLocked; // Necessary for any operation.
 	private boolean fIsMarkedIncomplete;
 
 	private int fVersion;
-	private final Chunk fHeaderChunk;
-	private Chunk[] fChunks;
+	// The layout requested for new databases, applied when the database is created or cleared.
+	private final int fNewChunkSize;
+	private final int fNewRecordAlignment;
+	// The layout of the file, replaced only while the database is cleared.
+	private int fChunkSize;
+	private int fChunkSizeBits;
+	private int fRecordAlignmentBits;
+	private Chunk fHeaderChunk;
+	/**
+	 * The slot of a chunk is protected by the lock returned by {@link ChunkCache#getLock(Database, int)}.
+	 * The array itself is replaced only while holding the exclusive lock.
+	 */
+	private volatile Chunk[] fChunks;
 	private int fChunksUsed;
 	private int fChunksAllocated;
 	private ChunkCache fCache;
+	final int fCacheHash = System.identityHashCode(this);
 
 	private long malloced;
 	private long freed;
-	private long cacheHits;
-	private long cacheMisses;
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
 
 	/** Soft reference wrapper to keep track of the record for disposed strings. */
 	private static class SoftStringRef extends SoftReference<IString> {
@@ -145,30 +189,140 @@ public class Database {
 	 * @throws CoreException
 	 */
 	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, USE_MEMORY_MAPPED_IO);
+	}
+
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param memoryMapped whether chunks are read from and written to memory-mapped regions of
+	 *     the file rather than through the file channel
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean memoryMapped)
+			throws CoreException {
+		this(location, cache, version, openReadOnly, memoryMapped,
+				isValidLayout(DEFAULT_CHUNK_SIZE, DEFAULT_RECORD_ALIGNMENT) ? DEFAULT_CHUNK_SIZE : CHUNK_SIZE,
+				isValidLayout(DEFAULT_CHUNK_SIZE, DEFAULT_RECORD_ALIGNMENT) ? DEFAULT_RECORD_ALIGNMENT : BLOCK_SIZE_DELTA);
+	}
+
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * <p>
+	 * The chunk size and the record alignment are used only if the file is created or
+	 * {@link #clear(int) cleared}, an existing database keeps the layout it was created with. Larger
+	 * chunks reduce the number of chunks of a large database, a larger record alignment raises the
+	 * maximum size of a database ({@link #getMaxSize()}) at the expense of some padding per record.
+	 *
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param memoryMapped whether chunks are read from and written to memory-mapped regions of
+	 *     the file rather than through the file channel, ignored on platforms where the file
+	 *     could not be truncated or deleted while it is mapped
+	 * @param chunkSize the size of the chunks of a new database, a power of two between
+	 *     {@link #CHUNK_SIZE} and {@link #MAX_CHUNK_SIZE}
+	 * @param recordAlignment the alignment of the records of a new database, a power of two between
+	 *     {@link #BLOCK_SIZE_DELTA} and {@link #MAX_RECORD_ALIGNMENT}
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean memoryMapped,
+			int chunkSize, int recordAlignment) throws CoreException {
+		if (!isValidLayout(chunkSize, recordAlignment)) {
+			throw new IllegalArgumentException("Invalid layout: " + chunkSize + ", " + recordAlignment); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
 			fCache = cache;
+			fNewChunkSize = chunkSize;
+			fNewRecordAlignment = recordAlignment;
+			fMappedRegions = memoryMapped && MappedFileRegions.isSupported() ? new MappedFileRegions(openReadOnly)
+					: null;
 			openFile();
 
-			int nChunksOnDisk = (int) (fFile.length() / CHUNK_SIZE);
-			fHeaderChunk = new Chunk(this, 0);
-			fHeaderChunk.fLocked = true; // Never makes it into the cache, needed to satisfy assertions.
-			if (nChunksOnDisk <= 0) {
+			if (fFile.length() < CHUNK_SIZE) {
+				setLayout(fNewChunkSize, fNewRecordAlignment);
 				fVersion = version;
 				fChunks = new Chunk[1];
 				fChunksUsed = fChunksAllocated = fChunks.length;
 			} else {
+				readLayout();
 				fHeaderChunk.read();
-				fVersion = fHeaderChunk.getInt(VERSION_OFFSET);
-				fChunks = new Chunk[nChunksOnDisk]; // chunk[0] is unused.
-				fChunksUsed = fChunksAllocated = nChunksOnDisk;
+				fVersion = readVersion();
+				int nChunksOnDisk = (int) (fFile.length() >>> fChunkSizeBits);
+				fChunks = new Chunk[Math.max(1, nChunksOnDisk)]; // chunk[0] is unused.
+				fChunksUsed = fChunksAllocated = fChunks.length;
 			}
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
 		}
 	}
 
+	private static boolean isValidLayout(int chunkSize, int recordAlignment) {
+		return isPowerOfTwo(chunkSize) && chunkSize >= CHUNK_SIZE && chunkSize <= MAX_CHUNK_SIZE
+				&& isPowerOfTwo(recordAlignment) && recordAlignment >= BLOCK_SIZE_DELTA
+				&& recordAlignment <= MAX_RECORD_ALIGNMENT;
+	}
+
+	private static boolean isPowerOfTwo(int value) {
+		return value > 0 && (value & (value - 1)) == 0;
+	}
+
+	/**
+	 * Determines the layout of an existing file from the beginning of its header.
+	 */
+	private void readLayout() throws IOException {
+		final ByteBuffer buf = ByteBuffer.allocate(CHUNK_SIZE);
+		read(buf, 0);
+		if (buf.getInt(VERSION_OFFSET) == FORMAT_MAGIC) {
+			final int layout = buf.getInt(FORMAT_LAYOUT_OFFSET);
+			final int chunkSize = 1 << (layout >>> 8);
+			final int recordAlignment = 1 << (layout & 0xff);
+			if (isValidLayout(chunkSize, recordAlignment)) {
+				setLayout(chunkSize, recordAlignment);
+				return;
+			}
+		}
+		// The default layout, also used for files that are incomplete or corrupt. Such files are
+		// reported as having an unsupported version and get cleared.
+		setLayout(CHUNK_SIZE, BLOCK_SIZE_DELTA);
+	}
+
+	private void setLayout(int chunkSize, int recordAlignment) {
+		fChunkSize = chunkSize;
+		fChunkSizeBits = Integer.numberOfTrailingZeros(chunkSize);
+		fRecordAlignmentBits = Integer.numberOfTrailingZeros(recordAlignment);
+		fHeaderChunk = new Chunk(this, 0);
+		fHeaderChunk.fLocked = true; // Never makes it into the cache, needed to satisfy assertions.
+	}
+
+	private boolean hasDefaultLayout() {
+		return fChunkSize == CHUNK_SIZE && fRecordAlignmentBits == BLOCK_SIZE_DELTA_BITS;
+	}
+
+	private int readVersion() {
+		if (fHeaderChunk.getInt(VERSION_OFFSET) == FORMAT_MAGIC && !hasDefaultLayout()) {
+			return fHeaderChunk.getInt(FORMAT_VERSION_OFFSET);
+		}
+		return fHeaderChunk.getInt(VERSION_OFFSET);
+	}
+
+	private void writeVersion(int version) {
+		if (hasDefaultLayout()) {
+			fHeaderChunk.putInt(VERSION_OFFSET, version);
+		} else {
+			// Earlier versions treat the magic number as an unsupported version and clear the database.
+			fHeaderChunk.putInt(VERSION_OFFSET, FORMAT_MAGIC);
+			fHeaderChunk.putInt(FORMAT_VERSION_OFFSET, version);
+			fHeaderChunk.putInt(FORMAT_LAYOUT_OFFSET, (fChunkSizeBits << 8) | fRecordAlignmentBits);
+		}
+	}
+
 	private void openFile() throws FileNotFoundException {
 		fFile = new RandomAccessFile(fLocation, fReadOnly ? "r" : "rw"); //$NON-NLS-1$ //$NON-NLS-2$
 	}
@@ -177,6 +331,8 @@ public class Database {
 		int retries = 0;
 		do {
 			try {
+				if (fMappedRegions != null && fMappedRegions.read(fFile.getChannel(), buf, position))
+					return;
 				fFile.getChannel().read(buf, position);
 				return;
 			} catch (ClosedChannelException e) {
@@ -190,6 +346,8 @@ public class Database {
 		int retries = 0;
 		while (true) {
 			try {
+				if (fMappedRegions != null && fMappedRegions.write(fFile.getChannel(), buf, position))
+					return;
 				fFile.getChannel().write(buf, position);
 				return;
 			} catch (ClosedChannelException e) {
@@ -227,9 +385,41 @@ public class Database {
 		return fVersion;
 	}
 
+	/**
+	 * Returns the size of the chunks of this database in bytes.
+	 */
+	public int getChunkSize() {
+		return fChunkSize;
+	}
+
+	/**
+	 * Returns the alignment of the records of this database in bytes.
+	 */
+	public int getRecordAlignment() {
+		return 1 << fRecordAlignmentBits;
+	}
+
+	int getRecordAlignmentBits() {
+		return fRecordAlignmentBits;
+	}
+
+	/**
+	 * Returns the maximum size of this database in bytes, which is limited by the range of record pointers.
+	 */
+	public long getMaxSize() {
+		return 1L << (Integer.SIZE + fRecordAlignmentBits);
+	}
+
+	/**
+	 * Returns whether the file of this database is accessed through memory-mapped regions.
+	 */
+	public boolean isMemoryMapped() {
+		return fMappedRegions != null;
+	}
+
 	public void setVersion(int version) throws CoreException {
 		assert fExclusiveLock;
-		fHeaderChunk.putInt(VERSION_OFFSET, version);
+		writeVersion(version);
 		fVersion = version;
 	}
 
@@ -242,14 +432,23 @@ public class Database {
 		removeChunksFromCache();
 
 		fVersion = version;
-		// Clear the first chunk.
-		fHeaderChunk.clear(0, CHUNK_SIZE);
+		// Clear the first chunk. This is also where a database migrates to the layout for new databases.
+		fHeaderChunk.clear(0, fChunkSize);
+		final boolean migrate = fChunkSize != fNewChunkSize || getRecordAlignment() != fNewRecordAlignment;
 		// Chunks have been removed from the cache, so we may just reset the array of chunks.
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
 		try {
+			if (fMappedRegions != null) {
+				// Accessing a mapped region beyond the end of the truncated file would crash the VM.
+				fMappedRegions.clear();
+			}
+			if (migrate) {
+				fFile.getChannel().truncate(0);
+				setLayout(fNewChunkSize, fNewRecordAlignment);
+			}
 			fHeaderChunk.flush(); // Zero out header chunk.
-			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
+			fFile.getChannel().truncate(fChunkSize); // Truncate database.
 		} catch (IOException e) {
 			CCorePlugin.log(e);
 		}
@@ -274,12 +473,13 @@ public class Database {
 	}
 
 	private void removeChunksFromCache() {
-		synchronized (fCache) {
-			for (int i = 1; i < fChunks.length; i++) {
-				Chunk chunk = fChunks[i];
+		final Chunk[] chunks = fChunks;
+		for (int i = 1; i < chunks.length; i++) {
+			synchronized (fCache.getLock(this, i)) {
+				Chunk chunk = chunks[i];
 				if (chunk != null) {
 					fCache.remove(chunk);
-					fChunks[i] = null;
+					chunks[i] = null;
 				}
 			}
 		}
@@ -290,27 +490,28 @@ public class Database {
 	 * @throws CoreException
 	 */
 	public Chunk getChunk(long offset) throws CoreException {
-		if (offset < CHUNK_SIZE) {
+		if (offset < fChunkSize) {
 			return fHeaderChunk;
 		}
-		long long_index = offset / CHUNK_SIZE;
+		long long_index = offset >>> fChunkSizeBits;
 		assert long_index < Integer.MAX_VALUE;
 
-		synchronized (fCache) {
+		final int index = (int) long_index;
+		synchronized (fCache.getLock(this, index)) {
 			assert fLocked;
-			final int index = (int) long_index;
-			if (index < 0 || index >= fChunks.length) {
+			final Chunk[] chunks = fChunks;
+			if (index < 0 || index >= chunks.length) {
 				databaseCorruptionDetected();
 			}
-			Chunk chunk = fChunks[index];
+			Chunk chunk = chunks[index];
 			if (chunk == null) {
-				cacheMisses++;
+				cacheMisses.increment();
 				chunk = new Chunk(this, index);
 				chunk.read();
 				// Put the chunk in fChunks after it was read successfully.
-				fChunks[index] = chunk;
+				chunks[index] = chunk;
 			} else {
-				cacheHits++;
+				cacheHits.increment();
 			}
 			fCache.add(chunk, fExclusiveLock);
 			return chunk;
@@ -330,15 +531,18 @@ public class Database {
 		assert fExclusiveLock;
 		assert datasize >= 0 && datasize <= MAX_MALLOC_SIZE;
 
+		// Blocks are multiples of the record alignment, such that all of them stay aligned.
+		final int alignDeltas = getRecordAlignment() / BLOCK_SIZE_DELTA;
 		int needDeltas = (datasize + BLOCK_HEADER_SIZE + BLOCK_SIZE_DELTA - 1) / BLOCK_SIZE_DELTA;
 		if (needDeltas < MIN_BLOCK_DELTAS) {
 			needDeltas = MIN_BLOCK_DELTAS;
 		}
+		needDeltas = (needDeltas + alignDeltas - 1) / alignDeltas * alignDeltas;
 
 		// Which block size.
 		long freeblock = 0;
 		int useDeltas;
-		for (useDeltas = needDeltas; useDeltas <= MAX_BLOCK_DELTAS; useDeltas++) {
+		for (useDeltas = needDeltas; useDeltas <= MAX_BLOCK_DELTAS; useDeltas += alignDeltas) {
 			freeblock = getFirstBlock(useDeltas * BLOCK_SIZE_DELTA);
 			if (freeblock != 0)
 				break;
@@ -351,6 +555,10 @@ public class Database {
 			freeblock = createNewChunk();
 			useDeltas = MAX_BLOCK_DELTAS;
 			chunk = getChunk(freeblock);
+			// A chunk larger than a block is split into blocks of maximum size.
+			for (long block = freeblock + fChunkSize - MAX_BLOCK_SIZE; block > freeblock; block -= MAX_BLOCK_SIZE) {
+				addBlock(chunk, MAX_BLOCK_SIZE, block);
+			}
 		} else {
 			chunk = getChunk(freeblock);
 			removeBlock(chunk, useDeltas * BLOCK_SIZE_DELTA, freeblock);
@@ -376,40 +584,41 @@ public class Database {
 
 	private long createNewChunk() throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
-			final int newChunkIndex = fChunksUsed; // fChunks.length;
+		final int newChunkIndex = fChunksUsed; // fChunks.length;
 
-			final Chunk chunk = new Chunk(this, newChunkIndex);
-			chunk.fDirty = true;
+		final Chunk chunk = new Chunk(this, newChunkIndex);
+		chunk.fDirty = true;
 
-			if (newChunkIndex >= fChunksAllocated) {
-				int increment = Math.max(1024, fChunksAllocated / 20);
-				Chunk[] newchunks = new Chunk[fChunksAllocated + increment];
-				System.arraycopy(fChunks, 0, newchunks, 0, fChunksAllocated);
+		if (newChunkIndex >= fChunksAllocated) {
+			int increment = Math.max(1024, fChunksAllocated / 20);
+			Chunk[] newchunks = new Chunk[fChunksAllocated + increment];
+			// A chunk released by a concurrent eviction while copying stays in the new array,
+			// it will be added to the cache again on its next access.
+			System.arraycopy(fChunks, 0, newchunks, 0, fChunksAllocated);
 
-				fChunks = newchunks;
-				fChunksAllocated += increment;
-			}
-			fChunksUsed += 1;
+			fChunks = newchunks;
+			fChunksAllocated += increment;
+		}
+		fChunksUsed += 1;
+		synchronized (fCache.getLock(this, newChunkIndex)) {
 			fChunks[newChunkIndex] = chunk;
-
 			fCache.add(chunk, true);
-			long address = (long) newChunkIndex * CHUNK_SIZE;
-
-			/*
-			 * Non-dense pointers are at most 31 bits dense pointers are at most 35 bits Check the sizes here
-			 * and throw an exception if the address is too large. By throwing the CoreException with the
-			 * special status, the indexing operation should be stopped. This is desired since generally, once
-			 * the max size is exceeded, there are lots of errors.
-			 */
-			if (address >= MAX_DB_SIZE) {
-				Object bindings[] = { this.getLocation().getAbsolutePath(), MAX_DB_SIZE };
-				throw new CoreException(
-						new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, CCorePlugin.STATUS_PDOM_TOO_LARGE,
-								NLS.bind(CCorePlugin.getResourceString("pdom.DatabaseTooLarge"), bindings), null)); //$NON-NLS-1$
-			}
-			return address;
 		}
+		long address = (long) newChunkIndex << fChunkSizeBits;
+
+		/*
+		 * Non-dense pointers are at most 31 bits dense pointers are at most 35 bits Check the sizes here
+		 * and throw an exception if the address is too large. By throwing the CoreException with the
+		 * special status, the indexing operation should be stopped. This is desired since generally, once
+		 * the max size is exceeded, there are lots of errors.
+		 */
+		if (address >= getMaxSize()) {
+			Object bindings[] = { this.getLocation().getAbsolutePath(), getMaxSize() };
+			throw new CoreException(
+					new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, CCorePlugin.STATUS_PDOM_TOO_LARGE,
+							NLS.bind(CCorePlugin.getResourceString("pdom.DatabaseTooLarge"), bindings), null)); //$NON-NLS-1$
+		}
+		return address;
 	}
 
 	/**
@@ -417,22 +626,23 @@ public class Database {
 	 */
 	private long createNewChunks(int numChunks) throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
-			final int oldLen = fChunks.length;
-			Chunk[] newchunks = new Chunk[oldLen + numChunks];
-			System.arraycopy(fChunks, 0, newchunks, 0, oldLen);
-			for (int i = oldLen; i < oldLen + numChunks; i++) {
-				newchunks[i] = null;
-			}
-			final Chunk chunk = new Chunk(this, oldLen + numChunks - 1);
-			chunk.fDirty = true;
-			newchunks[oldLen + numChunks - 1] = chunk;
-			fChunks = newchunks;
+		final int oldLen = fChunks.length;
+		Chunk[] newchunks = new Chunk[oldLen + numChunks];
+		System.arraycopy(fChunks, 0, newchunks, 0, oldLen);
+		for (int i = oldLen; i < oldLen + numChunks; i++) {
+			newchunks[i] = null;
+		}
+		final int newChunkIndex = oldLen + numChunks - 1;
+		final Chunk chunk = new Chunk(this, newChunkIndex);
+		chunk.fDirty = true;
+		fChunks = newchunks;
+		synchronized (fCache.getLock(this, newChunkIndex)) {
+			newchunks[newChunkIndex] = chunk;
 			fCache.add(chunk, true);
-			fChunksAllocated = oldLen + numChunks;
-			fChunksUsed = oldLen + numChunks;
-			return (long) (oldLen + numChunks - 1) * CHUNK_SIZE;
 		}
+		fChunksAllocated = oldLen + numChunks;
+		fChunksUsed = oldLen + numChunks;
+		return (long) newChunkIndex << fChunkSizeBits;
 	}
 
 	private long getFirstBlock(int blocksize) throws CoreException {
@@ -494,6 +704,144 @@ public class Database {
 		stringCache.remove(offset); // also remove record from string cache (if it exists)
 	}
 
+	/**
+	 * Returns the number of chunks in use, including the header chunk.
+	 */
+	public int getChunkCount() {
+		return fChunksUsed;
+	}
+
+	/**
+	 * Returns the number of bytes freed since the database was opened or cleared.
+	 */
+	public long getBytesFreed() {
+		return freed;
+	}
+
+	/**
+	 * Merges runs of adjacent free blocks of a chunk into larger blocks. {@link #free(long)} only
+	 * returns a block to the list for its size, over time the free space of a database is thus split
+	 * into blocks too small for most allocations.
+	 *
+	 * @param chunkIndex the index of the chunk, the header chunk is never touched
+	 * @return the number of free blocks that were merged into a neighbor
+	 * @throws CoreException
+	 */
+	public int coalesceFreeBlocks(int chunkIndex) throws CoreException {
+		assert fExclusiveLock;
+		if (chunkIndex < 1 || chunkIndex >= fChunksUsed) {
+			return 0;
+		}
+		final long chunkStart = (long) chunkIndex << fChunkSizeBits;
+		final Chunk chunk = getChunk(chunkStart);
+		int merged = 0;
+		// Blocks never cross a multiple of the maximum block size, see malloc.
+		for (long page = chunkStart; page < chunkStart + fChunkSize; page += MAX_BLOCK_SIZE) {
+			final long pageEnd = page + MAX_BLOCK_SIZE;
+			long run = 0;
+			int runLength = 0;
+			for (long block = page; block < pageEnd;) {
+				final short size = chunk.getShort(block);
+				if (size == 0) {
+					// A chunk set aside for testing, it has never been split into blocks.
+					return merged;
+				}
+				final int blocksize = Math.abs(size);
+				if (blocksize % BLOCK_SIZE_DELTA != 0 || block + blocksize > pageEnd) {
+					databaseCorruptionDetected();
+				}
+				if (size > 0) {
+					if (runLength++ == 0) {
+						run = block;
+					}
+				} else {
+					merged += mergeFreeBlocks(chunk, run, block, runLength);
+					runLength = 0;
+				}
+				block += blocksize;
+			}
+			merged += mergeFreeBlocks(chunk, run, pageEnd, runLength);
+		}
+		return merged;
+	}
+
+	private int mergeFreeBlocks(Chunk chunk, long start, long end, int count) throws CoreException {
+		if (count < 2) {
+			return 0;
+		}
+		for (long block = start; block < end;) {
+			final int blocksize = chunk.getShort(block);
+			removeBlock(chunk, blocksize, block);
+			block += blocksize;
+		}
+		addBlock(chunk, (int) (end - start), start);
+		return count - 1;
+	}
+
+	/**
+	 * Removes the chunks at the end of the database that no longer contain an allocated block and
+	 * shrinks the file accordingly. The free blocks of a chunk need to be merged with
+	 * {@link #coalesceFreeBlocks(int)} before the chunk is recognized as unused.
+	 *
+	 * @return the number of chunks removed
+	 * @throws CoreException
+	 */
+	public int truncateFreeChunks() throws CoreException {
+		assert fExclusiveLock;
+		final int oldChunksUsed = fChunksUsed;
+		int newChunksUsed = oldChunksUsed;
+		while (newChunksUsed > 1 && isUnusedChunk(newChunksUsed - 1)) {
+			newChunksUsed--;
+		}
+		if (newChunksUsed == oldChunksUsed) {
+			return 0;
+		}
+
+		for (int i = newChunksUsed; i < oldChunksUsed; i++) {
+			final long chunkStart = (long) i << fChunkSizeBits;
+			final Chunk chunk = getChunk(chunkStart);
+			for (long block = chunkStart; block < chunkStart + fChunkSize; block += MAX_BLOCK_SIZE) {
+				removeBlock(chunk, MAX_BLOCK_SIZE, block);
+			}
+		}
+		// Until the header is flushed it still refers to the removed blocks on disk.
+		markFileIncomplete();
+		final Chunk[] chunks = fChunks;
+		for (int i = newChunksUsed; i < oldChunksUsed; i++) {
+			synchronized (fCache.getLock(this, i)) {
+				Chunk chunk = chunks[i];
+				if (chunk != null) {
+					fCache.remove(chunk);
+					chunk.fDirty = false;
+					chunk.fLocked = false;
+					chunks[i] = null;
+				}
+			}
+		}
+		fChunksUsed = newChunksUsed;
+		try {
+			if (fMappedRegions != null) {
+				// Accessing a mapped region beyond the end of the truncated file would crash the VM.
+				fMappedRegions.clear();
+			}
+			fFile.getChannel().truncate((long) newChunksUsed << fChunkSizeBits);
+		} catch (IOException e) {
+			throw new CoreException(new DBStatus(e));
+		}
+		return oldChunksUsed - newChunksUsed;
+	}
+
+	private boolean isUnusedChunk(int chunkIndex) throws CoreException {
+		final long chunkStart = (long) chunkIndex << fChunkSizeBits;
+		final Chunk chunk = getChunk(chunkStart);
+		for (long block = chunkStart; block < chunkStart + fChunkSize; block += MAX_BLOCK_SIZE) {
+			if (chunk.getShort(block) != MAX_BLOCK_SIZE) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public void putByte(long offset, byte value) throws CoreException {
 		getChunk(offset).putByte(offset, value);
 	}
@@ -641,12 +989,12 @@ public class Database {
 	 * For debugging purposes, only.
 	 */
 	public void reportFreeBlocks() throws CoreException {
-		System.out.println("Allocated size: " + fChunksUsed * CHUNK_SIZE); //$NON-NLS-1$
+		System.out.println("Allocated size: " + (long) fChunksUsed * fChunkSize); //$NON-NLS-1$
 		System.out.println("malloc'ed: " + malloced); //$NON-NLS-1$
 		System.out.println("free'd: " + freed); //$NON-NLS-1$
-		System.out.println("wasted: " + (fChunksUsed * CHUNK_SIZE - (malloced - freed))); //$NON-NLS-1$
+		System.out.println("wasted: " + ((long) fChunksUsed * fChunkSize - (malloced - freed))); //$NON-NLS-1$
 		System.out.println("Free blocks"); //$NON-NLS-1$
-		for (int bs = MIN_BLOCK_DELTAS * BLOCK_SIZE_DELTA; bs <= CHUNK_SIZE; bs += BLOCK_SIZE_DELTA) {
+		for (int bs = MIN_BLOCK_DELTAS * BLOCK_SIZE_DELTA; bs <= MAX_BLOCK_SIZE; bs += BLOCK_SIZE_DELTA) {
 			int count = 0;
 			long block = getFirstBlock(bs);
 			while (block != 0) {
@@ -670,10 +1018,13 @@ public class Database {
 		removeChunksFromCache();
 
 		// Chunks have been removed from the cache, so we are fine.
-		fHeaderChunk.clear(0, CHUNK_SIZE);
+		fHeaderChunk.clear(0, fChunkSize);
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		if (fMappedRegions != null) {
+			fMappedRegions.clear();
+		}
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -690,11 +1041,15 @@ public class Database {
 	}
 
 	/**
-	 * Called from any thread via the cache, protected by {@link #fCache}.
+	 * Called from any thread via the cache, protected by the lock of the chunk in {@link #fCache}.
 	 */
 	void releaseChunk(final Chunk chunk) {
 		if (!chunk.fLocked) {
-			fChunks[chunk.fSequenceNumber] = null;
+			final Chunk[] chunks = fChunks;
+			final int index = chunk.fSequenceNumber;
+			if (index < chunks.length && chunks[index] == chunk) {
+				chunks[index] = null;
+			}
 		}
 	}
 
@@ -723,9 +1078,10 @@ public class Database {
 		if (fExclusiveLock) {
 			try {
 				ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-				synchronized (fCache) {
-					for (int i = 1; i < fChunksUsed; i++) {
-						Chunk chunk = fChunks[i];
+				final Chunk[] chunks = fChunks;
+				for (int i = 1; i < fChunksUsed; i++) {
+					synchronized (fCache.getLock(this, i)) {
+						Chunk chunk = chunks[i];
 						if (chunk != null) {
 							if (chunk.fCacheIndex < 0) {
 								// Locked chunk that has been removed from cache.
@@ -733,7 +1089,7 @@ public class Database {
 									dirtyChunks.add(chunk); // Keep in fChunks until it is flushed.
 								} else {
 									chunk.fLocked = false;
-									fChunks[i] = null;
+									chunks[i] = null;
 								}
 							} else if (chunk.fLocked) {
 								// Locked chunk, still in cache.
@@ -771,9 +1127,10 @@ public class Database {
 
 		// Be careful as other readers may access chunks concurrently.
 		ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-		synchronized (fCache) {
-			for (int i = 1; i < fChunksUsed; i++) {
-				Chunk chunk = fChunks[i];
+		final Chunk[] chunks = fChunks;
+		for (int i = 1; i < fChunksUsed; i++) {
+			synchronized (fCache.getLock(this, i)) {
+				Chunk chunk = chunks[i];
 				if (chunk != null && chunk.fDirty) {
 					dirtyChunks.add(chunk);
 				}
@@ -794,7 +1151,6 @@ public class Database {
 	}
 
 	private void flushAndUnlockChunks(final ArrayList<Chunk> dirtyChunks, boolean isComplete) throws CoreException {
-		assert !Thread.holdsLock(fCache);
 		synchronized (fHeaderChunk) {
 			final boolean haveDirtyChunks = !dirtyChunks.isEmpty();
 			if (haveDirtyChunks || fHeaderChunk.fDirty) {
@@ -808,11 +1164,11 @@ public class Database {
 				}
 
 				// Only after the chunks are flushed we may unlock and release them.
-				synchronized (fCache) {
-					for (Chunk chunk : dirtyChunks) {
+				for (Chunk chunk : dirtyChunks) {
+					synchronized (fCache.getLock(chunk)) {
 						chunk.fLocked = false;
 						if (chunk.fCacheIndex < 0) {
-							fChunks[chunk.fSequenceNumber] = null;
+							releaseChunk(chunk);
 						}
 					}
 				}
@@ -820,7 +1176,7 @@ public class Database {
 
 			if (isComplete) {
 				if (fHeaderChunk.fDirty || fIsMarkedIncomplete) {
-					fHeaderChunk.putInt(VERSION_OFFSET, fVersion);
+					writeVersion(fVersion);
 					fHeaderChunk.flush();
 					fIsMarkedIncomplete = false;
 				}
@@ -841,15 +1197,16 @@ public class Database {
 	}
 
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		cacheHits.reset();
+		cacheMisses.reset();
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return cacheHits.sum();
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		return cacheMisses.sum();
 	}
 
 	public long getSizeBytes() {
@@ -864,8 +1221,9 @@ public class Database {
 	 * A Record Pointer is a pointer as returned by Database.malloc().
 	 * This is a pointer to a block + BLOCK_HEADER_SIZE.
 	 */
-	public static void putRecPtr(final long value, byte[] buffer, int idx) {
-		final int denseValue = value == 0 ? 0 : Chunk.compressFreeRecPtr(value - BLOCK_HEADER_SIZE);
+	public void putRecPtr(final long value, byte[] buffer, int idx) {
+		final int denseValue = value == 0 ? 0
+				: Chunk.compressFreeRecPtr(value - BLOCK_HEADER_SIZE, fRecordAlignmentBits);
 		Chunk.putInt(denseValue, buffer, idx);
 	}
 
@@ -873,9 +1231,9 @@ public class Database {
 	 * A Record Pointer is a pointer as returned by Database.malloc().
 	 * This is a pointer to a block + BLOCK_HEADER_SIZE.
 	 */
-	public static long getRecPtr(byte[] buffer, final int idx) {
+	public long getRecPtr(byte[] buffer, final int idx) {
 		int value = Chunk.getInt(buffer, idx);
-		long address = Chunk.expandToFreeRecPtr(value);
+		long address = Chunk.expandToFreeRecPtr(value, fRecordAlignmentBits);
 		return address != 0 ? (address + BLOCK_HEADER_SIZE) : address;
 	}
 }
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.cdt.core.CCorePlugin;
+
+/**
+ * Provides access to the file of a {@link Database} through memory-mapped regions. The content of
+ * chunks is copied directly from and to the page cache, which avoids a system call per chunk.
+ * <p>
+ * Regions are mapped only within the current size of the file, such that mapping never grows
+ * the file. Accesses beyond the end of the file are left to the file channel, the affected
+ * region is remapped once the file has grown.
+ * <p>
+ * Reads and writes of chunks proceed concurrently, only mapping a region is serialized. The
+ * regions are unmapped by {@link #clear()}, which waits for the accesses in progress.
+ */
+final class MappedFileRegions {
+	private static final int REGION_SHIFT = 26;
+	static final long REGION_SIZE = 1L << REGION_SHIFT; // 64 MB, a multiple of the chunk size.
+
+	private static final Unmapper UNMAPPER = Unmapper.create();
+
+	private final boolean fReadOnly;
+	// Accesses to mapped regions hold the read lock, unmapping the regions requires the write lock.
+	private final ReadWriteLock fLock = new ReentrantReadWriteLock();
+	private volatile MappedByteBuffer[] fRegions = new MappedByteBuffer[0];
+	// Regions replaced after the file has grown, they may still be accessed until the next clear().
+	private final List<MappedByteBuffer> fReplacedRegions = new ArrayList<>();
+
+	MappedFileRegions(boolean readOnly) {
+		fReadOnly = readOnly;
+	}
+
+	/**
+	 * Returns whether database files can be mapped on this platform. On Windows a mapped file
+	 * cannot be truncated or deleted, there mapping requires that regions can be unmapped
+	 * explicitly.
+	 */
+	static boolean isSupported() {
+		return File.separatorChar != '\\' || UNMAPPER != null;
+	}
+
+	/**
+	 * Reads the remaining bytes of the buffer from the given position of the file.
+	 *
+	 * @return {@code false} if the range cannot be read from a mapped region, in which case
+	 *     the buffer is not modified.
+	 */
+	boolean read(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+		final int length = buf.remaining();
+		fLock.readLock().lock();
+		try {
+			final ByteBuffer region = getRegion(channel, position, length);
+			if (region == null)
+				return false;
+
+			final int idx = (int) (position - regionStart(position));
+			final ByteBuffer src = region.duplicate();
+			src.position(idx).limit(idx + length);
+			buf.put(src);
+			return true;
+		} finally {
+			fLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Writes the remaining bytes of the buffer to the given position of the file.
+	 *
+	 * @return {@code false} if the range cannot be written to a mapped region, in which case
+	 *     the buffer is not modified.
+	 */
+	boolean write(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+		if (fReadOnly)
+			return false;
+		fLock.readLock().lock();
+		try {
+			final ByteBuffer region = getRegion(channel, position, buf.remaining());
+			if (region == null)
+				return false;
+
+			final ByteBuffer dst = region.duplicate();
+			dst.position((int) (position - regionStart(position)));
+			dst.put(buf);
+			return true;
+		} finally {
+			fLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Unmaps all regions. Must be called before the file is truncated or closed.
+	 */
+	void clear() {
+		fLock.writeLock().lock();
+		try {
+			if (UNMAPPER != null) {
+				for (MappedByteBuffer region : fRegions) {
+					if (region != null)
+						UNMAPPER.unmap(region);
+				}
+				for (MappedByteBuffer region : fReplacedRegions) {
+					UNMAPPER.unmap(region);
+				}
+			}
+			fReplacedRegions.clear();
+			fRegions = new MappedByteBuffer[0];
+		} finally {
+			fLock.writeLock().unlock();
+		}
+	}
+
+	private static long regionStart(long position) {
+		return position & ~(REGION_SIZE - 1);
+	}
+
+	private MappedByteBuffer getRegion(FileChannel channel, long position, int length) throws IOException {
+		final long regionStart = regionStart(position);
+		final long end = position + length;
+		if (end > regionStart + REGION_SIZE)
+			return null; // Crosses a region boundary, does not happen for chunks.
+
+		final int index = (int) (position >>> REGION_SHIFT);
+		MappedByteBuffer[] regions = fRegions;
+		MappedByteBuffer region = index < regions.length ? regions[index] : null;
+		if (region != null && regionStart + region.capacity() >= end)
+			return region;
+
+		synchronized (this) {
+			regions = fRegions;
+			region = index < regions.length ? regions[index] : null;
+			if (region == null || regionStart + region.capacity() < end) {
+				// The region is not mapped yet, or the file has grown since it was mapped.
+				final long fileSize = channel.size();
+				if (end > fileSize)
+					return null;
+				if (region != null)
+					fReplacedRegions.add(region);
+				region = channel.map(fReadOnly ? MapMode.READ_ONLY : MapMode.READ_WRITE, regionStart,
+						Math.min(REGION_SIZE, fileSize - regionStart));
+				regions = Arrays.copyOf(regions, Math.max(regions.length, index + 1));
+				regions[index] = region;
+				fRegions = regions;
+			}
+			return region;
+		}
+	}
+
+	/**
+	 * Releases mapped buffers without waiting for the garbage collector. Relies on
+	 * {@code sun.misc.Unsafe.invokeCleaner(ByteBuffer)}, which is available from Java 9 on.
+	 */
+	private static final class Unmapper {
+		private final Object fUnsafe;
+		private final Method fInvokeCleaner;
+
+		private Unmapper(Object unsafe, Method invokeCleaner) {
+			fUnsafe = unsafe;
+			fInvokeCleaner = invokeCleaner;
+		}
+
+		static Unmapper create() {
+			try {
+				Class<?> unsafeClass = Class.forName("sun.misc.Unsafe"); //$NON-NLS-1$
+				Field field = unsafeClass.getDeclaredField("theUnsafe"); //$NON-NLS-1$
+				field.setAccessible(true);
+				return new Unmapper(field.get(null), unsafeClass.getMethod("invokeCleaner", ByteBuffer.class)); //$NON-NLS-1$
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				return null;
+			}
+		}
+
+		void unmap(MappedByteBuffer buffer) {
+			try {
+				fInvokeCleaner.invoke(fUnsafe, buffer);
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				CCorePlugin.log(e);
+			}
+		}
+	}
+}
@@ -19,20 +19,32 @@ package org.eclipse.cdt.internal.core.pdom.dom;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IPDOMNode;
+import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorUndefStatement;
 import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IEnumerator;
+import org.eclipse.cdt.core.dom.ast.IFunction;
 import org.eclipse.cdt.core.dom.ast.IMacroBinding;
 import org.eclipse.cdt.core.dom.ast.IParameter;
 import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.core.dom.ast.ITypedef;
+import org.eclipse.cdt.core.dom.ast.IValue;
+import org.eclipse.cdt.core.dom.ast.IVariable;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPUsingDirective;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexInclude;
@@ -40,6 +52,7 @@ import org.eclipse.cdt.core.index.IIndexLocationConverter;
 import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentName;
@@ -472,12 +485,24 @@ public class PDOMFile implements IIndexFragmentFile {
 		return fLinkage;
 	}
 
-	public void addNames(IASTName[][] names, YieldableIndexLock lock) throws CoreException, InterruptedException {
+	/**
+	 * Adds the names to this file. If the previous version of the file is given, references that
+	 * differ from the ones of the previous version in their position, only, are moved from the
+	 * previous version to this file rather than being recreated. The moved references are taken
+	 * out of the previous version before this method returns, the lock is not yielded after that.
+	 *
+	 * @param previous the version of the file that is replaced by this one, or {@code null}.
+	 * @return whether the declarations and definitions differ from the ones of the previous
+	 *     version, {@code true} if there is no previous version.
+	 */
+	public boolean addNames(IASTName[][] names, PDOMFile previous, YieldableIndexLock lock)
+			throws CoreException, InterruptedException {
 		assert getFirstName() == null;
 		assert getFirstMacroReference() == null;
 		final PDOMLinkage linkage = getLinkage();
+		final PreviousVersion previousVersion = previous != null ? new PreviousVersion(previous) : null;
 		HashMap<IASTName, PDOMName> nameCache = new HashMap<>();
-		PDOMName lastName = null;
+		List<PDOMName> pdomNames = new ArrayList<>(names.length);
 		PDOMMacroReferenceName lastMacroName = null;
 		for (IASTName[] name : names) {
 			if (name[0] != null) {
@@ -485,16 +510,11 @@ public class PDOMFile implements IIndexFragmentFile {
 					lock.yield();
 				}
 				PDOMName caller = nameCache.get(name[1]);
-				IIndexFragmentName fname = createPDOMName(linkage, name[0], caller);
+				IIndexFragmentName fname = createPDOMName(linkage, name[0], caller, previousVersion);
 				if (fname instanceof PDOMName) {
 					PDOMName pdomName = (PDOMName) fname;
 					nameCache.put(name[0], pdomName);
-					if (lastName == null) {
-						setFirstName(pdomName);
-					} else {
-						lastName.setNextInFile(pdomName);
-					}
-					lastName = pdomName;
+					pdomNames.add(pdomName);
 				} else if (fname instanceof PDOMMacroReferenceName) {
 					PDOMMacroReferenceName macroName = (PDOMMacroReferenceName) fname;
 					if (lastMacroName == null) {
@@ -506,10 +526,59 @@ public class PDOMFile implements IIndexFragmentFile {
 				}
 			}
 		}
+
+		boolean changed = true;
+		if (previousVersion != null) {
+			changed = previousVersion.hasChangedDeclarations(pdomNames);
+			previousVersion.moveReferences(this);
+		}
+
+		PDOMName lastName = null;
+		for (PDOMName pdomName : pdomNames) {
+			if (lastName == null) {
+				setFirstName(pdomName);
+			} else {
+				lastName.setNextInFile(pdomName);
+			}
+			lastName = pdomName;
+		}
+		if (lastName != null) {
+			lastName.setNextInFile(null);
+		}
+		return changed;
 	}
 
-	private IIndexFragmentName createPDOMName(PDOMLinkage linkage, IASTName name, PDOMName caller)
-			throws CoreException {
+	/**
+	 * Returns whether this file and the other one have the same macro definitions and includes.
+	 */
+	public boolean hasSamePreprocessorDirectives(PDOMFile other) throws CoreException {
+		PDOMMacro m1 = getFirstMacro();
+		PDOMMacro m2 = other.getFirstMacro();
+		for (; m1 != null && m2 != null; m1 = m1.getNextMacro(), m2 = m2.getNextMacro()) {
+			if (m1.isMacroDefinition() != m2.isMacroDefinition()
+					|| !CharArrayUtils.equals(m1.getNameCharArray(), m2.getNameCharArray())
+					|| !Arrays.deepEquals(m1.getParameterList(), m2.getParameterList())
+					|| !CharArrayUtils.equals(m1.getExpansionImage(), m2.getExpansionImage())) {
+				return false;
+			}
+		}
+		if (m1 != null || m2 != null)
+			return false;
+
+		PDOMInclude i1 = getFirstInclude();
+		PDOMInclude i2 = other.getFirstInclude();
+		for (; i1 != null && i2 != null; i1 = i1.getNextInIncludes(), i2 = i2.getNextInIncludes()) {
+			if (i1.isActive() != i2.isActive() || i1.isResolved() != i2.isResolved()
+					|| !Objects.equals(i1.getIncludes(), i2.getIncludes())
+					|| !i1.getFullName().equals(i2.getFullName())) {
+				return false;
+			}
+		}
+		return i1 == null && i2 == null;
+	}
+
+	private IIndexFragmentName createPDOMName(PDOMLinkage linkage, IASTName name, PDOMName caller,
+			PreviousVersion previousVersion) throws CoreException {
 		final IBinding binding = name.getBinding();
 		if (binding instanceof IParameter) {
 			return null;
@@ -521,6 +590,11 @@ public class PDOMFile implements IIndexFragmentFile {
 			}
 			PDOMBinding pdomBinding = linkage.addBinding(name);
 			if (pdomBinding != null) {
+				if (previousVersion != null) {
+					PDOMName reused = previousVersion.takeReference(linkage, name, pdomBinding, caller);
+					if (reused != null)
+						return reused;
+				}
 				final PDOMName result = new PDOMName(fLinkage, name, this, pdomBinding, caller,
 						false /* exact match */);
 				linkage.onCreateName(this, name, result);
@@ -560,6 +634,188 @@ public class PDOMFile implements IIndexFragmentFile {
 		return new PDOMMacroReferenceName(fLinkage, name, this, cont, caller);
 	}
 
+	/**
+	 * Returns a string for the properties of a binding that are not reflected by its identity,
+	 * such that a change of the type of a function or variable or of the value of a constant
+	 * is detected.
+	 */
+	private static String getSignature(PDOMBinding binding) {
+		if (binding instanceof IFunction) {
+			return ASTTypeUtil.getType(((IFunction) binding).getType());
+		}
+		if (binding instanceof IVariable) {
+			IVariable variable = (IVariable) binding;
+			return ASTTypeUtil.getType(variable.getType()) + '=' + getValue(variable.getInitialValue());
+		}
+		if (binding instanceof ITypedef) {
+			return ASTTypeUtil.getType(((ITypedef) binding).getType());
+		}
+		if (binding instanceof IEnumerator) {
+			return getValue(((IEnumerator) binding).getValue());
+		}
+		return ""; //$NON-NLS-1$
+	}
+
+	private static String getValue(IValue value) {
+		return String.valueOf(value != null ? value.numberValue() : null);
+	}
+
+	/**
+	 * The version of a file that is replaced by a new one. Provides the references that can be
+	 * taken over by the new version and the declarations to compare the new version with.
+	 */
+	private static final class PreviousVersion {
+		private final PDOMFile fFile;
+		// The references that can be taken over, by the record of their binding, in the order of the file.
+		private final Map<Long, List<PDOMName>> fReferences = new HashMap<>();
+		// The number of declarations and definitions, by the record of their binding and their role.
+		private final Map<Long, Integer> fDeclarations = new HashMap<>();
+		// The signatures of the declared bindings, before they are updated by the new version.
+		private final Map<Long, String> fSignatures = new HashMap<>();
+		private final List<MovedReference> fMovedReferences = new ArrayList<>();
+
+		PreviousVersion(PDOMFile file) throws CoreException {
+			fFile = file;
+			for (PDOMName name = file.getFirstName(); name != null; name = name.getNextInFile()) {
+				final int flags = name.getFlags();
+				final long bindingRec = name.getBindingRecord();
+				if ((flags & PDOMName.DECL_DEF_REF_MASK) == PDOMName.IS_REFERENCE) {
+					if ((flags & (PDOMName.INHERIT_FRIEND_INLINE_MASK | PDOMName.IS_POTENTIAL_MATCH)) == 0) {
+						List<PDOMName> list = fReferences.get(bindingRec);
+						if (list == null) {
+							list = new ArrayList<>(2);
+							fReferences.put(bindingRec, list);
+						}
+						list.add(name);
+					}
+				} else {
+					fDeclarations.merge(getDeclarationKey(bindingRec, flags), 1, Integer::sum);
+					if (!fSignatures.containsKey(bindingRec)) {
+						fSignatures.put(bindingRec, getSignature(name.getBinding()));
+					}
+				}
+			}
+		}
+
+		private static long getDeclarationKey(long bindingRec, int flags) {
+			return (bindingRec << 2) | (flags & PDOMName.DECL_DEF_REF_MASK);
+		}
+
+		/**
+		 * Returns a reference of the previous version that is equal to the one that would be
+		 * created for the given name, apart from its position, or {@code null}. The reference
+		 * is moved to the new version by {@link #moveReferences(PDOMFile)}.
+		 */
+		PDOMName takeReference(PDOMLinkage linkage, IASTName name, PDOMBinding binding, PDOMName caller)
+				throws CoreException {
+			List<PDOMName> candidates = fReferences.get(binding.getRecord());
+			if (candidates == null || name.isDefinition() || name.isDeclaration()
+					|| !linkage.canReuseReference(name)) {
+				return null;
+			}
+			final IASTFileLocation fileLocation = name.getFileLocation();
+			if (fileLocation == null)
+				return null;
+
+			final int flags = (PDOMName.IS_REFERENCE
+					| binding.getAdditionalNameFlags(PDOMName.IS_REFERENCE, name)) & 0xff;
+			final int length = fileLocation.getNodeLength() & 0xffff;
+			for (Iterator<PDOMName> it = candidates.iterator(); it.hasNext();) {
+				PDOMName candidate = it.next();
+				if (candidate.getFlags() == flags && candidate.getNodeLength() == length) {
+					it.remove();
+					fMovedReferences
+							.add(new MovedReference(candidate, name, caller, fileLocation.getNodeOffset(), flags));
+					return candidate;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Returns whether the declarations and definitions of the new version differ from the
+		 * ones of the previous version, or whether the declared bindings have been changed.
+		 */
+		boolean hasChangedDeclarations(List<PDOMName> names) throws CoreException {
+			Map<Long, Integer> declarations = new HashMap<>(fDeclarations);
+			Set<Long> checkedBindings = new HashSet<>();
+			for (PDOMName name : names) {
+				final int flags = name.getFlags();
+				if ((flags & PDOMName.DECL_DEF_REF_MASK) == PDOMName.IS_REFERENCE)
+					continue;
+
+				final long bindingRec = name.getBindingRecord();
+				final Long key = getDeclarationKey(bindingRec, flags);
+				Integer count = declarations.get(key);
+				if (count == null)
+					return true;
+				if (count == 1) {
+					declarations.remove(key);
+				} else {
+					declarations.put(key, count - 1);
+				}
+				if (checkedBindings.add(bindingRec)
+						&& !getSignature(name.getBinding()).equals(fSignatures.get(bindingRec))) {
+					return true;
+				}
+			}
+			return !declarations.isEmpty();
+		}
+
+		/**
+		 * Moves the references taken over to the given file and removes them from the previous
+		 * version, such that they are not deleted when the previous version is cleared.
+		 */
+		void moveReferences(PDOMFile file) throws CoreException {
+			if (fMovedReferences.isEmpty())
+				return;
+
+			final PDOMLinkage linkage = file.getLinkage();
+			Set<Long> moved = new HashSet<>();
+			for (MovedReference ref : fMovedReferences) {
+				linkage.onDeleteName(ref.fName);
+				ref.fName.moveTo(file, ref.fCaller, ref.fNodeOffset, ref.fFlags);
+				linkage.onCreateName(file, ref.fASTName, ref.fName);
+				moved.add(ref.fName.getRecord());
+			}
+
+			PDOMName last = null;
+			for (PDOMName name = fFile.getFirstName(); name != null;) {
+				final PDOMName next = name.getNextInFile();
+				if (!moved.contains(name.getRecord())) {
+					if (last == null) {
+						fFile.setFirstName(name);
+					} else {
+						last.setNextInFile(name);
+					}
+					last = name;
+				}
+				name = next;
+			}
+			if (last == null) {
+				fFile.setFirstName(null);
+			} else {
+				last.setNextInFile(null);
+			}
+		}
+	}
+
+	private static final class MovedReference {
+		final PDOMName fName;
+		final IASTName fASTName;
+		final PDOMName fCaller;
+		final int fNodeOffset;
+		final int fFlags;
+
+		MovedReference(PDOMName name, IASTName astName, PDOMName caller, int nodeOffset, int flags) {
+			fName = name;
+			fASTName = astName;
+			fCaller = caller;
+			fNodeOffset = nodeOffset;
+			fFlags = flags;
+		}
+	}
+
 	public void clear() throws CoreException {
 		ICPPUsingDirective[] directives = getUsingDirectives();
 		for (ICPPUsingDirective ud : directives) {
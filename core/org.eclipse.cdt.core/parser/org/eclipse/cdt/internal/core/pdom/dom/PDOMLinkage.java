@@ -330,6 +330,16 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	public void onDeleteName(PDOMName name) throws CoreException {
 	}
 
+	/**
+	 * Returns whether a reference stored for the previous version of a file may be taken over for
+	 * the given name, rather than deleting the old reference and creating a new one. This must not
+	 * be the case for names for which {@link #onCreateName(PDOMFile, IASTName, PDOMName)} stores
+	 * information that depends on the order of the names in the file.
+	 */
+	public boolean canReuseReference(IASTName name) {
+		return true;
+	}
+
 	/**
 	 * Callback informing the linkage that a binding has been added. Used to index nested bindings.
 	 * @param pdomBinding
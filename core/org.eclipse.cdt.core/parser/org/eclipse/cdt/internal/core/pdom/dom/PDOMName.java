@@ -151,6 +151,10 @@ public final class PDOMName implements IIndexFragmentName {
 		return linkage.getBinding(bindingrec);
 	}
 
+	long getBindingRecord() throws CoreException {
+		return getRecField(BINDING_REC_OFFSET);
+	}
+
 	public void setBinding(PDOMBinding binding) throws CoreException {
 		long bindingrec = binding != null ? binding.getRecord() : 0;
 		setRecField(BINDING_REC_OFFSET, bindingrec);
@@ -264,6 +268,23 @@ public final class PDOMName implements IIndexFragmentName {
 		return linkage.getDB().getByte(record + FLAGS) & mask;
 	}
 
+	int getFlags() throws CoreException {
+		return getFlags(0xff);
+	}
+
+	/**
+	 * Moves this name to another file, the name stays linked to its binding. Used to take over
+	 * a reference from a previous version of a file, the role of the name must not change.
+	 */
+	void moveTo(PDOMFile file, PDOMName caller, int nodeOffset, int flags) throws CoreException {
+		assert (flags & DECL_DEF_REF_MASK) == getFlags(DECL_DEF_REF_MASK);
+		Database db = linkage.getDB();
+		db.putRecPtr(record + FILE_REC_OFFSET, file.getRecord());
+		db.putRecPtr(record + CALLER_REC_OFFSET, caller != null ? caller.getRecord() : 0);
+		db.put3ByteUnsignedInt(record + NODE_OFFSET_OFFSET, nodeOffset);
+		db.putByte(record + FLAGS, (byte) flags);
+	}
+
 	public void setIsFriendSpecifier() throws CoreException {
 		int flags = linkage.getDB().getByte(record + FLAGS) & 0xff;
 		flags |= IS_FRIEND_SPEC;
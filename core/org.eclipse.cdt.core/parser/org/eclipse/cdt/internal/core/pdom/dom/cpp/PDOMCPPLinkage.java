@@ -1543,6 +1543,16 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 		return uds.toArray(new ICPPUsingDirective[uds.size()]);
 	}
 
+	@Override
+	public boolean canReuseReference(IASTName name) {
+		// Using directives are stored in the order of their names.
+		IASTNode parentNode = name.getParent();
+		if (parentNode instanceof ICPPASTQualifiedName) {
+			parentNode = parentNode.getParent();
+		}
+		return !(parentNode instanceof ICPPASTUsingDirective);
+	}
+
 	@Override
 	public void onDeleteName(PDOMName pdomName) throws CoreException {
 		super.onDeleteName(pdomName);
@@ -27,6 +27,7 @@ import org.eclipse.cdt.core.index.export.IExportProjectProvider;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.internal.core.CCoreInternals;
+import org.eclipse.cdt.internal.core.pdom.IndexerStatistics;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.runtime.CoreException;
@@ -50,6 +51,10 @@ public class GeneratePDOM {
 	protected String indexerID;
 	protected boolean deleteOnExit;
 	protected boolean checkIndexStatus;
+	protected int parserThreads;
+	private IndexerStatistics statistics;
+	private long indexingTime;
+	private long exportTime;
 
 	/**
 	 * Runnable to export a PDOM.
@@ -80,6 +85,39 @@ public class GeneratePDOM {
 		this.deleteOnExit = deleteOnExit;
 	}
 
+	/**
+	 * Sets the number of threads the indexer uses to parse the sources of the project. The files
+	 * are parsed concurrently, the results are written to a single index. By default the number
+	 * configured in the indexer preferences is used.
+	 * @param threads the number of parser threads, a value smaller than one selects the default.
+	 */
+	public void setParserThreadCount(int threads) {
+		this.parserThreads = threads;
+	}
+
+	/**
+	 * Returns the accumulated statistics of the indexer after {@link #run()} has completed,
+	 * or {@code null}.
+	 */
+	public IndexerStatistics getIndexerStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Returns the wall-clock time in milliseconds spent on indexing the project.
+	 */
+	public long getIndexingTime() {
+		return indexingTime;
+	}
+
+	/**
+	 * Returns the wall-clock time in milliseconds spent on exporting the index and writing
+	 * its properties.
+	 */
+	public long getExportTime() {
+		return exportTime;
+	}
+
 	/**
 	 * Executes the PDOM generation
 	 * @return {@link IStatus#OK} if the generated content is complete, {@link IStatus#ERROR} otherwise.
@@ -102,9 +140,14 @@ public class GeneratePDOM {
 		}
 
 		// Index the project
+		if (parserThreads > 0) {
+			IndexerPreferences.set(cproject.getProject(), IndexerPreferences.KEY_PARSER_THREADS,
+					String.valueOf(parserThreads));
+		}
 		IndexerPreferences.set(cproject.getProject(), IndexerPreferences.KEY_INDEXER_ID, indexerID);
 
 		try {
+			long start = System.currentTimeMillis();
 			final IIndexManager manager = CCorePlugin.getIndexManager();
 			for (int i = 0; i < 20; i++) {
 				if (CCoreInternals.getPDOMManager().isProjectRegistered(cproject)) {
@@ -115,6 +158,8 @@ public class GeneratePDOM {
 				}
 				Thread.sleep(200);
 			}
+			indexingTime = System.currentTimeMillis() - start;
+			statistics = CCoreInternals.getPDOMManager().getIndexerStatistics(cproject);
 
 			if (checkIndexStatus) {
 				// Check status
@@ -131,6 +176,7 @@ public class GeneratePDOM {
 				}
 			}
 			// Export a .pdom file
+			start = System.currentTimeMillis();
 			CCoreInternals.getPDOMManager().exportProjectPDOM(cproject, targetLocation, converter, null);
 
 			// Write properties to exported PDOM
@@ -148,6 +194,7 @@ public class GeneratePDOM {
 			} finally {
 				exportedPDOM.releaseWriteLock();
 			}
+			exportTime = System.currentTimeMillis() - start;
 		} catch (InterruptedException ie) {
 			String msg = MessageFormat.format(Messages.GeneratePDOM_GenericGenerationFailed,
 					new Object[] { ie.getMessage() });
@@ -27,6 +27,7 @@ import org.eclipse.cdt.core.dom.IPDOMIndexerTask;
 import org.eclipse.cdt.core.dom.IPDOMManager;
 import org.eclipse.cdt.core.index.export.ExternalExportProjectProvider;
 import org.eclipse.cdt.core.index.export.IExportProjectProvider;
+import org.eclipse.cdt.internal.core.pdom.IndexerStatistics;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
@@ -52,6 +53,7 @@ public class GeneratePDOMApplication implements IApplication {
 	public static final String OPT_TARGET = "-target"; //$NON-NLS-1$
 	public static final String OPT_QUIET = "-quiet"; //$NON-NLS-1$
 	public static final String OPT_INDEXER_ID = "-indexer"; //$NON-NLS-1$
+	public static final String OPT_THREADS = "-threads"; //$NON-NLS-1$
 
 	/**
 	 * Applications needing to fail in an expected way (without stack dump), should throw
@@ -110,6 +112,20 @@ public class GeneratePDOMApplication implements IApplication {
 			}
 		}
 
+		int parserThreads = 0;
+		if (arguments.containsKey(OPT_THREADS)) {
+			String threads = CLIUtil.getArg(arguments, OPT_THREADS, 1).get(0);
+			try {
+				parserThreads = Integer.parseInt(threads);
+			} catch (NumberFormatException e) {
+				// Reported below.
+			}
+			if (parserThreads < 1) {
+				fail(MessageFormat.format(Messages.GeneratePDOMApplication_InvalidThreadCount,
+						new Object[] { OPT_THREADS, threads }));
+			}
+		}
+
 		String[] oldvals = null;
 		if (!quiet) {
 			oldvals = new String[] { System.getProperty(IPDOMIndexerTask.TRACE_ACTIVITY),
@@ -128,11 +144,13 @@ public class GeneratePDOMApplication implements IApplication {
 			File targetLocation = new File(target);
 
 			GeneratePDOM generate = new GeneratePDOM(pprovider, appArgs, targetLocation, indexerID);
+			generate.setParserThreadCount(parserThreads);
 			output(Messages.GeneratePDOMApplication_GenerationStarts);
 			IStatus status = generate.run(); // CoreException handled in start method
 			if (!status.isOK()) {
 				output(status.getMessage());
 			}
+			outputTimings(generate);
 			output(Messages.GeneratePDOMApplication_GenerationEnds);
 		} finally {
 			if (oldvals != null) {
@@ -144,6 +162,21 @@ public class GeneratePDOMApplication implements IApplication {
 		return null;
 	}
 
+	/**
+	 * Reports the time spent in the phases of the generation. Parsing may happen on multiple
+	 * threads, its time is reported as the sum over all threads and as elapsed time.
+	 */
+	private void outputTimings(GeneratePDOM generate) {
+		IndexerStatistics stats = generate.getIndexerStatistics();
+		if (stats == null)
+			return;
+		int parseElapsed = stats.fParallelParsingTime > 0 ? stats.fParallelParsingTime : stats.fParsingTime;
+		output(MessageFormat.format(Messages.GeneratePDOMApplication_Timings,
+				new Object[] { String.valueOf(generate.getIndexingTime()), String.valueOf(stats.fParsingTime),
+						String.valueOf(parseElapsed), String.valueOf(stats.fResolutionTime),
+						String.valueOf(stats.fAddToIndexTime), String.valueOf(generate.getExportTime()) }));
+	}
+
 	private void restoreSystemProperty(String key, String value) {
 		if (value == null) {
 			System.clearProperty(key);
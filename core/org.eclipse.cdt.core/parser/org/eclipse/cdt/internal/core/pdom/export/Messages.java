@@ -26,6 +26,8 @@ public class Messages extends NLS {
 	public static String GeneratePDOMApplication_GenerationStarts;
 	public static String GeneratePDOMApplication_Initializing;
 	public static String GeneratePDOMApplication_InvalidIndexerID;
+	public static String GeneratePDOMApplication_InvalidThreadCount;
+	public static String GeneratePDOMApplication_Timings;
 	public static String GeneratePDOMApplication_UsingDefaultProjectProvider;
 
 	static {
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.indexer;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMIndexer;
+import org.eclipse.cdt.core.dom.IPDOMIndexerTask;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.internal.core.index.IWritableIndex;
+import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
+import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
+import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * A task compacting the index of a project in the background, see {@link WritablePDOM#compact}.
+ * The write-lock is yielded whenever readers are waiting for it.
+ */
+public class PDOMCompactionTask implements IPDOMIndexerTask {
+	private final IPDOMIndexer fIndexer;
+	private volatile long fReclaimedBytes;
+
+	public PDOMCompactionTask(IPDOMIndexer indexer) {
+		fIndexer = indexer;
+	}
+
+	@Override
+	public IPDOMIndexer getIndexer() {
+		return fIndexer;
+	}
+
+	@Override
+	public IndexerProgress getProgressInformation() {
+		return new IndexerProgress();
+	}
+
+	/**
+	 * Returns the number of bytes the index has shrunk, available after the task has run.
+	 */
+	public long getReclaimedBytes() {
+		return fReclaimedBytes;
+	}
+
+	@Override
+	public void run(IProgressMonitor monitor) throws InterruptedException {
+		ICProject cproject = fIndexer.getProject();
+		try {
+			IWritableIndex index = ((IWritableIndexManager) CCorePlugin.getIndexManager()).getWritableIndex(cproject);
+			if (index == null) {
+				return;
+			}
+			IWritableIndexFragment fragment = index.getWritableFragment();
+			if (!(fragment instanceof WritablePDOM)) {
+				return;
+			}
+			YieldableIndexLock lock = new YieldableIndexLock(index, true, monitor);
+			lock.acquire();
+			try {
+				fReclaimedBytes = ((WritablePDOM) fragment).compact(lock, monitor);
+			} finally {
+				lock.release();
+			}
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
+	@Override
+	public boolean acceptUrgentTask(IPDOMIndexerTask task) {
+		// A compaction that is scheduled while another one is pending or running is redundant.
+		return task instanceof PDOMCompactionTask
+				&& task.getIndexer().getProject().getProject() == fIndexer.getProject().getProject();
+	}
+}
@@ -34,12 +34,14 @@ import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.model.CProject;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -71,6 +73,8 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		final long fileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB, 0);
 		final long includedFileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, 0);
 		setFileSizeLimits(fileLimit * 1024 * 1024, includedFileLimit * 1024 * 1024);
+		setParserThreadCount(
+				getIntProperty(IndexerPreferences.KEY_PARSER_THREADS, IndexerPreferences.DEFAULT_PARSER_THREADS));
 		setIndexAllHeaderVersions(checkProperty(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS));
 		setHeadersToIndexAllVersions(getStringSet(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS));
 		if (checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES)) {
@@ -162,6 +166,13 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 	public final void run(IProgressMonitor monitor) throws InterruptedException {
 		long start = System.currentTimeMillis();
 		runTask(monitor);
+		if (!monitor.isCanceled()) {
+			CCoreInternals.getPDOMManager().addIndexerStatistics(getCProject(), fStatistics);
+			if (fIndex != null && fIndex.getWritableFragment() instanceof WritablePDOM
+					&& ((WritablePDOM) fIndex.getWritableFragment()).needsCompaction()) {
+				CCoreInternals.getPDOMManager().compactIndex(getCProject());
+			}
+		}
 		traceEnd(start, fIndex, monitor.isCanceled());
 	}
 
@@ -292,6 +303,15 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+ fStatistics.fParsingTime + " parser, " //$NON-NLS-1$
 					+ fStatistics.fResolutionTime + " resolution, " //$NON-NLS-1$
 					+ fStatistics.fAddToIndexTime + " index update."); //$NON-NLS-1$
+			if (getParserThreadCount() > 1 && fStatistics.fParallelParsingTime > 0) {
+				NumberFormat nfSpeedup = NumberFormat.getNumberInstance();
+				nfSpeedup.setMaximumFractionDigits(2);
+				System.out.println(indent + " Parser threads: " //$NON-NLS-1$
+						+ getParserThreadCount() + " threads, " //$NON-NLS-1$
+						+ fStatistics.fParallelParsingTime + " elapsed, " //$NON-NLS-1$
+						+ nfSpeedup.format((double) fStatistics.fParsingTime / fStatistics.fParallelParsingTime)
+						+ "x speedup."); //$NON-NLS-1$
+			}
 			System.out.println(indent + " Errors: " //$NON-NLS-1$
 					+ fStatistics.fErrorCount + " internal, " //$NON-NLS-1$
 					+ fStatistics.fUnresolvedIncludesCount + " include, " //$NON-NLS-1$
@@ -93,7 +93,7 @@ public class ProjectIndexerInputAdapter extends IndexerInputAdapter {
 	}
 
 	@Override
-	public IIndexFileLocation resolveASTPath(String astPath) {
+	public synchronized IIndexFileLocation resolveASTPath(String astPath) {
 		if (fIflCache == null) {
 			return doResolveASTPath(astPath);
 		}
@@ -110,7 +110,7 @@ public class ProjectIndexerInputAdapter extends IndexerInputAdapter {
 	}
 
 	@Override
-	public IIndexFileLocation resolveIncludeFile(String includePath) {
+	public synchronized IIndexFileLocation resolveIncludeFile(String includePath) {
 		if (fIflCache == null) {
 			return doResolveASTPath(includePath);
 		}
@@ -134,7 +134,7 @@ public class ProjectIndexerInputAdapter extends IndexerInputAdapter {
 	}
 
 	@Override
-	public boolean doesIncludeFileExist(String includePath) {
+	public synchronized boolean doesIncludeFileExist(String includePath) {
 		if (fExistsCache != null) {
 			return fExistsCache.isFile(includePath);
 		}
@@ -331,7 +331,9 @@ public class ProjectIndexerInputAdapter extends IndexerInputAdapter {
 		final FileContent reader = FileContent.create(tu);
 		if (reader != null) {
 			IIndexFileLocation ifl = IndexLocationFactory.getIFL(tu);
-			fIflCache.put(reader.getFileLocation(), ifl);
+			synchronized (this) {
+				fIflCache.put(reader.getFileLocation(), ifl);
+			}
 		}
 		return reader;
 	}
@@ -333,7 +333,8 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 		 * If the tool outputs colored text, it will contain ANSI escape
 		 * sequences. Remove them, since they can confuse the error parsers.
 		 */
-		String lineTrimmed = ANSI_ESCAPE_RE.matcher(line).replaceAll("").trim(); //$NON-NLS-1$
+		String lineTrimmed = line.indexOf('\u001b') >= 0 ? ANSI_ESCAPE_RE.matcher(line).replaceAll("") : line; //$NON-NLS-1$
+		lineTrimmed = lineTrimmed.trim();
 		lineCounter++;
 
 		ProblemMarkerInfo marker = null;
@@ -699,26 +700,22 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 	// parsers (processLine method).
 	// If flush is true rest of line is checked by error parsers.
 	private void checkLine(boolean flush) {
-		String buffer = currentLine.toString();
-		int i = 0;
-		while ((i = buffer.indexOf('\n')) != -1) {
-			String line = buffer.substring(0, i);
+		int start = 0;
+		int i;
+		while ((i = currentLine.indexOf("\n", start)) != -1) { //$NON-NLS-1$
 			// get rid of any trailing '\r'
-			if (line.endsWith("\r")) { //$NON-NLS-1$
-				line = line.substring(0, line.length() - 1);
-			}
+			int end = i > start && currentLine.charAt(i - 1) == '\r' ? i - 1 : i;
+			String line = currentLine.substring(start, end);
 			processLine(line);
 			previousLine = line;
-			buffer = buffer.substring(i + 1); // skip the \n and advance
+			start = i + 1; // skip the \n and advance
 		}
-		currentLine.setLength(0);
-		if (flush) {
-			if (buffer.length() > 0) {
-				processLine(buffer);
-				previousLine = buffer;
-			}
-		} else {
-			currentLine.append(buffer);
+		currentLine.delete(0, start);
+		if (flush && currentLine.length() > 0) {
+			String line = currentLine.toString();
+			currentLine.setLength(0);
+			processLine(line);
+			previousLine = line;
 		}
 	}
 
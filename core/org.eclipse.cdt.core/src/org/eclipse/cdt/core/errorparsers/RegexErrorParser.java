@@ -16,6 +16,8 @@ package org.eclipse.cdt.core.errorparsers;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.ErrorParserManager;
@@ -38,6 +40,24 @@ public class RegexErrorParser implements IErrorParserNamed {
 	private String fId;
 	private String fName;
 	private final List<RegexErrorPattern> fPatterns = new ArrayList<>();
+	private volatile CombinedPattern fCombinedPattern;
+
+	private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)"); //$NON-NLS-1$
+
+	/**
+	 * Alternation of all patterns of the parser. A line not matched by it is not matched by
+	 * any of the patterns, which saves trying the patterns one by one for the vast majority
+	 * of the lines of build output.
+	 */
+	private static class CombinedPattern {
+		final String[] sources;
+		final Pattern pattern;
+
+		CombinedPattern(String[] sources, Pattern pattern) {
+			this.sources = sources;
+			this.pattern = pattern;
+		}
+	}
 
 	/**
 	 * Default constructor will initialize the error parser with the name of the class
@@ -145,6 +165,10 @@ public class RegexErrorParser implements IErrorParserNamed {
 	 */
 	@Override
 	public boolean processLine(String line, ErrorParserManager epManager) {
+		Pattern combined = getCombinedPattern();
+		if (combined != null && !combined.matcher(line).matches())
+			return false;
+
 		for (RegexErrorPattern pattern : fPatterns)
 			try {
 				if (pattern.processLine(line, epManager))
@@ -157,6 +181,55 @@ public class RegexErrorParser implements IErrorParserNamed {
 		return false;
 	}
 
+	/**
+	 * Returns the alternation of all patterns, or {@code null} if the patterns cannot be combined.
+	 * Patterns are mutable, so the combined pattern is checked against their current sources.
+	 */
+	private Pattern getCombinedPattern() {
+		int size = fPatterns.size();
+		if (size < 2)
+			return null;
+
+		CombinedPattern combined = fCombinedPattern;
+		if (combined != null && combined.sources.length == size) {
+			boolean upToDate = true;
+			for (int i = 0; i < size; i++) {
+				// the source of an unmodified pattern is the same instance
+				if (combined.sources[i] != fPatterns.get(i).getPattern()) {
+					upToDate = false;
+					break;
+				}
+			}
+			if (upToDate)
+				return combined.pattern;
+		}
+
+		String[] sources = new String[size];
+		StringBuilder buf = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			RegexErrorPattern errorPattern = fPatterns.get(i);
+			sources[i] = errorPattern.getPattern();
+			// Subclasses may match differently and group numbers shift in the alternation
+			if (errorPattern.getClass() != RegexErrorPattern.class || BACK_REFERENCE.matcher(sources[i]).find()) {
+				buf = null;
+			} else if (buf != null) {
+				if (i > 0)
+					buf.append('|');
+				buf.append("(?:").append(sources[i]).append(')'); //$NON-NLS-1$
+			}
+		}
+		Pattern pattern = null;
+		if (buf != null) {
+			try {
+				pattern = Pattern.compile(buf.toString());
+			} catch (PatternSyntaxException e) {
+				// use the patterns one by one
+			}
+		}
+		fCombinedPattern = new CombinedPattern(sources, pattern);
+		return pattern;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (o instanceof RegexErrorParser) {
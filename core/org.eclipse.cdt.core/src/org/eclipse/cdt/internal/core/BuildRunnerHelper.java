@@ -72,6 +72,7 @@ public class BuildRunnerHelper implements Closeable {
 
 	private IConsole console = null;
 	private ErrorParserManager errorParserManager = null;
+	private ConsoleOutputSniffer sniffer = null;
 	private StreamProgressMonitor streamProgressMonitor = null;
 	private OutputStream stdout = null;
 	private OutputStream stderr = null;
@@ -167,8 +168,10 @@ public class BuildRunnerHelper implements Closeable {
 		}
 
 		streamProgressMonitor = new StreamProgressMonitor(monitor, null, lastWork.intValue());
-		ConsoleOutputSniffer sniffer = new ConsoleOutputSniffer(streamProgressMonitor, streamProgressMonitor,
+		sniffer = new ConsoleOutputSniffer(streamProgressMonitor, streamProgressMonitor,
 				parsers.toArray(new IConsoleParser[parsers.size()]));
+		// Parsing must not hold up the build processes writing to the streams
+		sniffer.setParseInBackground(true);
 		stdout = sniffer.getOutputStream();
 		stderr = sniffer.getErrorStream();
 	}
@@ -507,9 +510,22 @@ public class BuildRunnerHelper implements Closeable {
 	 */
 	public void printLine(String msg) {
 		Assert.isNotNull(errorParserManager, "Streams must be created and connected before calling this method"); //$NON-NLS-1$
+		// Keep the order with the output written to the streams
+		waitForParsers();
 		errorParserManager.processLine(msg);
 	}
 
+	/**
+	 * Wait until the console parsers have processed the output written to the streams so far.
+	 * The output is parsed in background, call this before accessing the ErrorParserManager
+	 * while the streams are open.
+	 */
+	public void waitForParsers() {
+		if (sniffer != null) {
+			sniffer.waitForPendingLines();
+		}
+	}
+
 	/**
 	 * Compose command line that presumably will be run by launcher.
 	 */
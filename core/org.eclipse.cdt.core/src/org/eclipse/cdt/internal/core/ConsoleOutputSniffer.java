@@ -15,14 +15,24 @@ package org.eclipse.cdt.internal.core;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.IConsoleParser;
+import org.eclipse.core.runtime.Platform;
 
 /**
  * Intercepts an output to console and forwards it to console parsers for processing
  */
 public class ConsoleOutputSniffer {
+	private static final boolean TRACE = Boolean
+			.parseBoolean(Platform.getDebugOption(CCorePlugin.PLUGIN_ID + "/debug/consoleParsing")); //$NON-NLS-1$
+
+	/** Number of queued lines at which the writers of the output wait for the parsers to catch up */
+	private static final int MAX_PENDING_LINES = 64 * 1024;
+	/** Time in milliseconds the parser thread waits for new output before it terminates */
+	private static final long IDLE_TIMEOUT = 1000;
 
 	/**
 	 * Private class to sniff the output stream for this sniffer.
@@ -88,36 +98,150 @@ public class ConsoleOutputSniffer {
 			if (currentLine.length() == 0) {
 				return;
 			}
-
-			String buffer = currentLine.toString();
-			int i = 0;
-			while ((i = buffer.indexOf('\n')) != -1) {
+			List<String> lines = null;
+			int start = 0;
+			int i;
+			while ((i = currentLine.indexOf("\n", start)) != -1) { //$NON-NLS-1$
 				int eol = i;
-				if (i > 0 && buffer.charAt(i - 1) == '\r') {
+				if (i > start && currentLine.charAt(i - 1) == '\r') {
 					// also get rid of trailing \r in case of Windows line delimiter "\r\n"
 					eol = i - 1;
 				}
-				String line = buffer.substring(0, eol);
-				processLine(line);
+				if (lines == null) {
+					lines = new ArrayList<>();
+				}
+				lines.add(currentLine.substring(start, eol));
+				start = i + 1; // skip the \n and advance
+			}
+			currentLine.delete(0, start);
+			if (flush && currentLine.length() > 0) {
+				if (lines == null) {
+					lines = new ArrayList<>();
+				}
+				lines.add(currentLine.toString());
+				currentLine.setLength(0);
+			}
+			if (lines != null) {
+				processLines(lines);
+			}
+		}
+	} // end ConsoleOutputStream class
+
+	/**
+	 * Hands the lines over to a thread that runs the parsers, such that the processes writing the
+	 * output are not held up by the parsers. The lines are parsed in the order they were written,
+	 * the thread takes all lines queued up in the meantime as one batch.
+	 */
+	private class ParserThread implements Runnable {
+		private final Object lock = new Object();
+		private List<String> pending = new ArrayList<>();
+		private Thread thread;
+		private boolean busy;
 
-				buffer = buffer.substring(i + 1); // skip the \n and advance
+		private long lineCount;
+		private int maxPending;
+		private long parseTime;
+
+		void submit(List<String> lines) {
+			synchronized (lock) {
+				if (Thread.currentThread() != thread) {
+					try {
+						while (thread != null && pending.size() >= MAX_PENDING_LINES) {
+							lock.wait();
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				pending.addAll(lines);
+				maxPending = Math.max(maxPending, pending.size());
+				if (thread == null) {
+					thread = startThread();
+				} else {
+					lock.notifyAll();
+				}
 			}
-			currentLine.setLength(0);
-			if (flush) {
-				if (buffer.length() > 0) {
-					processLine(buffer);
+		}
+
+		/**
+		 * Waits until all lines submitted so far have been parsed.
+		 */
+		void waitForPendingLines() {
+			synchronized (lock) {
+				if (Thread.currentThread() == thread)
+					return;
+				try {
+					while (thread != null && (busy || !pending.isEmpty())) {
+						lock.wait();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
 				}
-			} else {
-				currentLine.append(buffer);
 			}
 		}
 
-	} // end ConsoleOutputStream class
+		private Thread startThread() {
+			Thread t = new Thread(this, "Console Output Parser"); //$NON-NLS-1$
+			t.setDaemon(true);
+			t.start();
+			return t;
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					List<String> batch;
+					synchronized (lock) {
+						busy = false;
+						lock.notifyAll();
+						if (pending.isEmpty()) {
+							lock.wait(IDLE_TIMEOUT);
+							if (pending.isEmpty()) {
+								thread = null;
+								return;
+							}
+						}
+						batch = pending;
+						pending = new ArrayList<>();
+						busy = true;
+					}
+					long start = System.nanoTime();
+					for (String line : batch) {
+						processLine(line);
+					}
+					parseTime += System.nanoTime() - start;
+					lineCount += batch.size();
+				}
+			} catch (InterruptedException e) {
+				// Handled below
+			} finally {
+				synchronized (lock) {
+					if (thread == Thread.currentThread()) {
+						// Terminated abnormally, let another thread parse the remaining lines
+						busy = false;
+						thread = pending.isEmpty() ? null : startThread();
+						lock.notifyAll();
+					}
+				}
+			}
+		}
+
+		void trace() {
+			synchronized (lock) {
+				long millis = parseTime / 1000000;
+				long linesPerSecond = parseTime > 0 ? lineCount * 1000000000L / parseTime : 0;
+				System.out.println("Console parsing: " + lineCount + " lines in " + millis + " ms (" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ linesPerSecond + " lines/s), up to " + maxPending + " lines queued"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
 
 	private int nOpens = 0;
 	private OutputStream consoleOutputStream;
 	private OutputStream consoleErrorStream;
 	private IConsoleParser[] parsers;
+	private ParserThread parserThread;
 
 	public ConsoleOutputSniffer(IConsoleParser[] parsers) {
 		this.parsers = parsers;
@@ -149,14 +273,43 @@ public class ConsoleOutputSniffer {
 		return new ConsoleOutputStream(consoleErrorStream);
 	}
 
+	/**
+	 * Parses the output on a separate thread rather than on the threads writing it. Must be
+	 * called before the streams are used. {@link #waitForPendingLines()} must be called before
+	 * other clients access the parsers while the streams are open.
+	 */
+	public void setParseInBackground(boolean background) {
+		parserThread = background ? new ParserThread() : null;
+	}
+
+	/**
+	 * Waits until the parsers have processed the output written so far.
+	 */
+	public void waitForPendingLines() {
+		if (parserThread != null) {
+			parserThread.waitForPendingLines();
+		}
+	}
+
 	private synchronized void incNOpens() {
 		nOpens++;
 	}
 
 	/*
 	 */
-	public synchronized void closeConsoleOutputStream() throws IOException {
-		if (nOpens > 0 && --nOpens == 0) {
+	public void closeConsoleOutputStream() throws IOException {
+		synchronized (this) {
+			if (nOpens == 0 || --nOpens > 0)
+				return;
+		}
+		if (parserThread != null) {
+			// Don't hold the lock of the sniffer, the parser thread needs it
+			parserThread.waitForPendingLines();
+			if (TRACE) {
+				parserThread.trace();
+			}
+		}
+		synchronized (this) {
 			for (int i = 0; i < parsers.length; ++i) {
 				try {
 					parsers[i].shutdown();
@@ -168,6 +321,16 @@ public class ConsoleOutputSniffer {
 		}
 	}
 
+	private void processLines(List<String> lines) {
+		if (parserThread != null) {
+			parserThread.submit(lines);
+		} else {
+			for (String line : lines) {
+				processLine(line);
+			}
+		}
+	}
+
 	/*
 	 * Processes the line by passing the line to the parsers.
 	 *
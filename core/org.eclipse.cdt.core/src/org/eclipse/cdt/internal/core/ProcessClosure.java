@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -105,6 +106,32 @@ public class ProcessClosure {
 		}
 	}
 
+	/**
+	 * Reader thread that runs a callback when it is the last of its group to finish.
+	 */
+	private static class CompletionReaderThread extends ReaderThread {
+		private final AtomicInteger fRunning;
+		private final Runnable fOnCompletion;
+
+		public CompletionReaderThread(ThreadGroup group, String name, InputStream in, OutputStream out,
+				AtomicInteger running, Runnable onCompletion) {
+			super(group, name, in, out);
+			fRunning = running;
+			fOnCompletion = onCompletion;
+		}
+
+		@Override
+		public void run() {
+			try {
+				super.run();
+			} finally {
+				if (fRunning.decrementAndGet() == 0) {
+					fOnCompletion.run();
+				}
+			}
+		}
+	}
+
 	protected static int fCounter = 0;
 
 	protected Process fProcess;
@@ -135,13 +162,32 @@ public class ProcessClosure {
 	 * reader threads.
 	 */
 	public void runNonBlocking() {
+		runNonBlocking(null);
+	}
+
+	/**
+	 * Same as {@link #runNonBlocking()}, in addition the given callback is run as soon as
+	 * both the output and the error stream of the process have been read to the end. The
+	 * callback is run on one of the reader threads.
+	 *
+	 * @param onCompletion callback to run when the process is finished, may be <code>null</code>.
+	 */
+	public void runNonBlocking(Runnable onCompletion) {
 		ThreadGroup group = new ThreadGroup("CBuilder" + fCounter++); //$NON-NLS-1$
 
 		InputStream stdin = fProcess.getInputStream();
 		InputStream stderr = fProcess.getErrorStream();
 
-		fOutputReader = new ReaderThread(group, "OutputReader", stdin, fOutput); //$NON-NLS-1$
-		fErrorReader = new ReaderThread(group, "ErrorReader", stderr, fError); //$NON-NLS-1$
+		if (onCompletion == null) {
+			fOutputReader = new ReaderThread(group, "OutputReader", stdin, fOutput); //$NON-NLS-1$
+			fErrorReader = new ReaderThread(group, "ErrorReader", stderr, fError); //$NON-NLS-1$
+		} else {
+			AtomicInteger running = new AtomicInteger(2);
+			fOutputReader = new CompletionReaderThread(group, "OutputReader", stdin, fOutput, running, //$NON-NLS-1$
+					onCompletion);
+			fErrorReader = new CompletionReaderThread(group, "ErrorReader", stderr, fError, running, //$NON-NLS-1$
+					onCompletion);
+		}
 
 		fOutputReader.start();
 		fErrorReader.start();
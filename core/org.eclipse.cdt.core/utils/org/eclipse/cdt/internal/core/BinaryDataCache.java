@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.cdt.core.CCorePlugin;
+
+/**
+ * Stores data decoded from binary files in a directory, such that it does not need to be decoded
+ * again after a restart. An entry is identified by the path of the binary and the kind of data, it
+ * is valid as long as the size and the modification time of the binary are unchanged.
+ * <p>
+ * The cache is an optimization, failures to read or write the directory are ignored.
+ */
+public final class BinaryDataCache {
+	private static final int MAGIC = 0x43445442; // "CDTB"
+	private static final String SUFFIX = ".data"; //$NON-NLS-1$
+	private static final int MAX_FILES = 10000;
+	private static final String ENABLED_PROPERTY = "org.eclipse.cdt.core.binaryDataCache"; //$NON-NLS-1$
+
+	private static BinaryDataCache sSharedInstance;
+
+	private final File fDirectory;
+	private int fFileCount = -1;
+
+	/**
+	 * Returns the cache stored in the state location of the core plug-in, or {@code null} if the
+	 * plug-in is not running or the cache is disabled with the system property
+	 * {@code org.eclipse.cdt.core.binaryDataCache=false}.
+	 */
+	public static synchronized BinaryDataCache getSharedInstance() {
+		if (sSharedInstance == null && Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) { //$NON-NLS-1$
+			CCorePlugin plugin = CCorePlugin.getDefault();
+			if (plugin != null) {
+				File directory = plugin.getStateLocation().append("binaryData").toFile(); //$NON-NLS-1$
+				sSharedInstance = new BinaryDataCache(directory);
+			}
+		}
+		return sSharedInstance;
+	}
+
+	/**
+	 * @param directory the directory to store the entries in.
+	 */
+	public BinaryDataCache(File directory) {
+		fDirectory = directory;
+	}
+
+	/**
+	 * Returns the data stored for the given binary, or {@code null} if there is none or the binary
+	 * has been modified since the data was stored.
+	 */
+	public byte[] get(String path, String kind) {
+		File binary = new File(path).getAbsoluteFile();
+		long lastModified = binary.lastModified();
+		if (lastModified == 0)
+			return null;
+		File file = getEntryFile(binary, kind);
+		if (!file.isFile())
+			return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || !in.readUTF().equals(binary.getPath()) || !in.readUTF().equals(kind)
+					|| in.readLong() != binary.length() || in.readLong() != lastModified) {
+				return null;
+			}
+			byte[] data = new byte[in.readInt()];
+			in.readFully(data);
+			return data;
+		} catch (IOException e) {
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * Stores data decoded from the given binary, replacing the data stored before.
+	 */
+	public void put(String path, String kind, byte[] data) {
+		File binary = new File(path).getAbsoluteFile();
+		long lastModified = binary.lastModified();
+		if (lastModified == 0)
+			return;
+		synchronized (this) {
+			if (fFileCount < 0) {
+				String[] names = fDirectory.list();
+				fFileCount = names == null ? 0 : names.length;
+			}
+			if (++fFileCount > MAX_FILES) {
+				// Start over rather than keeping track of the usage of the files.
+				deleteFiles();
+				fFileCount = 1;
+			}
+		}
+		try {
+			Files.createDirectories(fDirectory.toPath());
+			File tmp = File.createTempFile("binary", null, fDirectory); //$NON-NLS-1$
+			try {
+				try (DataOutputStream out = new DataOutputStream(
+						new BufferedOutputStream(new FileOutputStream(tmp)))) {
+					out.writeInt(MAGIC);
+					out.writeUTF(binary.getPath());
+					out.writeUTF(kind);
+					out.writeLong(binary.length());
+					out.writeLong(lastModified);
+					out.writeInt(data.length);
+					out.write(data);
+				}
+				Files.move(tmp.toPath(), getEntryFile(binary, kind).toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				tmp.delete();
+			}
+		} catch (IOException e) {
+			// The cache is an optimization, just don't store the entry.
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public void clear() {
+		synchronized (this) {
+			fFileCount = 0;
+		}
+		deleteFiles();
+	}
+
+	/**
+	 * Returns the file for an entry. Entries whose names collide replace each other, the path and
+	 * the kind stored in the file tell them apart.
+	 */
+	private File getEntryFile(File binary, String kind) {
+		String key = binary.getPath() + '\0' + kind;
+		return new File(fDirectory, Integer.toHexString(key.hashCode()) + '-' + key.length() + SUFFIX);
+	}
+
+	private void deleteFiles() {
+		File[] files = fDirectory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+	}
+}
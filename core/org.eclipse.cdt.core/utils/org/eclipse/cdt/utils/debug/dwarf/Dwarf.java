@@ -471,17 +471,7 @@ public class Dwarf {
 		if (data != null) {
 			try {
 				while (data.hasRemaining()) {
-					CompilationUnitHeader header = new CompilationUnitHeader();
-					InitialLengthValue sectionLength = readInitialLengthField(data);
-					header.length = sectionLength.length;
-					header.offsetSize = sectionLength.offsetSize;
-
-					header.version = read_2_bytes(data);
-					if (header.offsetSize == 8)
-						header.abbreviationOffset = (int) read_8_bytes(data);
-					else
-						header.abbreviationOffset = read_4_bytes(data);
-					header.addressSize = data.get();
+					CompilationUnitHeader header = readCompilationUnitHeader(data);
 
 					if (printEnabled) {
 						System.out.println("Compilation Unit @ " + Long.toHexString(data.position())); //$NON-NLS-1$
@@ -507,6 +497,28 @@ public class Dwarf {
 		}
 	}
 
+	/**
+	 * Read the header of a compilation unit in the .debug_info section.
+	 *
+	 * @param data - byte buffer positioned at the start of the compilation unit
+	 * @return the header, the buffer is positioned at the first debugging information entry
+	 * @throws IOException
+	 */
+	CompilationUnitHeader readCompilationUnitHeader(ByteBuffer data) throws IOException {
+		CompilationUnitHeader header = new CompilationUnitHeader();
+		InitialLengthValue sectionLength = readInitialLengthField(data);
+		header.length = sectionLength.length;
+		header.offsetSize = sectionLength.offsetSize;
+
+		header.version = read_2_bytes(data);
+		if (header.offsetSize == 8)
+			header.abbreviationOffset = (int) read_8_bytes(data);
+		else
+			header.abbreviationOffset = read_4_bytes(data);
+		header.addressSize = data.get();
+		return header;
+	}
+
 	/**
 	 *
 	 */
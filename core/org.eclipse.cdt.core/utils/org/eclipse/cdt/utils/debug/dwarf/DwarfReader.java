@@ -42,6 +42,7 @@ import org.eclipse.cdt.utils.elf.Elf.Section;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.SubMonitor;
 
 /**
  * Light-weight parser of Dwarf2 data which is intended for getting only
@@ -62,8 +63,25 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	private String[] m_fileNames = null;
 	private boolean m_parsed = false;
 	private boolean m_macros_parsed = false;
-	private final ArrayList<Integer> m_parsedLineTableOffsets = new ArrayList<>();
+	private final Set<Integer> m_parsedLineTableOffsets = new HashSet<>();
 	private long m_parsedLineTableSize = 0;
+	private List<CompileUnitRef> m_compileUnits = null;
+
+	/*
+	 * The attributes of a compile unit needed to find its source files, as read from its
+	 * DW_TAG_compile_unit entry.
+	 */
+	private static class CompileUnitRef {
+		final String name;
+		final String compDir;
+		final int stmtList;
+
+		CompileUnitRef(String name, String compDir, int stmtList) {
+			this.name = name;
+			this.compDir = compDir;
+			this.stmtList = stmtList;
+		}
+	}
 
 	public DwarfReader(String file) throws IOException {
 		super(file);
@@ -533,12 +551,29 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 
 	@Override
 	public String[] getSourceFiles() {
+		return getSourceFiles(null);
+	}
+
+	/**
+	 * Returns the source files, the files found so far if the monitor is cancelled. A cancelled
+	 * request is not remembered, the next one reads the source files again.
+	 *
+	 * @since 5.2
+	 */
+	@Override
+	public String[] getSourceFiles(IProgressMonitor monitor) {
 		if (!m_parsed) {
+			SubMonitor progress = SubMonitor.convert(monitor, 10);
 			m_fileCollection.clear();
+			m_parsedLineTableOffsets.clear();
+			m_parsedLineTableSize = 0;
 
-			getSourceFilesFromDebugInfoSection();
+			getSourceFilesFromDebugInfoSection(progress.newChild(9));
+			if (progress.isCanceled())
+				return m_fileCollection.toArray(new String[m_fileCollection.size()]);
 
 			getSourceFilesFromDebugLineSection();
+			progress.worked(1);
 
 			m_parsed = true;
 
@@ -555,10 +590,94 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	 *
 	 * The file names are stored in member "m_fileCollection".
 	 */
-	private void getSourceFilesFromDebugInfoSection() {
-		// This will parse the data in .debug_info section which
-		// will call this->processCompileUnit() to get source files.
-		parse(null);
+	private void getSourceFilesFromDebugInfoSection(IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, 2);
+		List<CompileUnitRef> compileUnits = getCompileUnits(progress.newChild(1));
+		progress.setWorkRemaining(compileUnits.size());
+		for (CompileUnitRef cu : compileUnits) {
+			if (progress.isCanceled())
+				return;
+			progress.worked(1);
+			addSourceFile(cu.compDir, cu.name);
+			if (cu.stmtList > -1) // this CU has "stmt_list" attribute
+				parseSourceInCULineInfo(cu.compDir, cu.stmtList);
+		}
+	}
+
+	/*
+	 * Get the compile units in .debug_info section. Only the first entry of each unit,
+	 * the TAG_compile_unit, is decoded. The remaining entries are skipped using the
+	 * length in the unit header, which avoids decoding most of a large .debug_info
+	 * section. Line tables are not read here.
+	 */
+	private List<CompileUnitRef> getCompileUnits(IProgressMonitor monitor) {
+		if (m_compileUnits != null)
+			return m_compileUnits;
+
+		List<CompileUnitRef> compileUnits = new ArrayList<>();
+		ByteBuffer data = dwarfSections.get(DWARF_DEBUG_INFO);
+		if (data != null) {
+			int sectionSize = data.limit();
+			// Report progress in kilobytes of the section.
+			SubMonitor progress = SubMonitor.convert(monitor, (sectionSize >> 10) + 1);
+			int unitStart = 0;
+			try {
+				while (unitStart < sectionSize) {
+					data.position(unitStart);
+					CompilationUnitHeader header = readCompilationUnitHeader(data);
+					long unitEnd = unitStart + header.length + (header.offsetSize == 8 ? 12 : 4);
+					if (unitEnd > sectionSize || header.length <= 0)
+						break;
+
+					Map<Long, AbbreviationEntry> abbrevs = parseDebugAbbreviation(header);
+					ByteBuffer entryBuffer = data.slice();
+					entryBuffer.limit((int) unitEnd - data.position());
+					CompileUnitRef cu = readCompileUnit(entryBuffer, abbrevs, header);
+					if (cu != null) {
+						compileUnits.add(cu);
+						m_stmtFileMap.put(Long.valueOf(cu.stmtList), getFullName(cu.compDir, cu.name));
+					}
+
+					progress.worked((int) (unitEnd >> 10) - (unitStart >> 10));
+					unitStart = (int) unitEnd;
+					if (progress.isCanceled()) {
+						// Return the units found so far without remembering them.
+						return compileUnits;
+					}
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		m_compileUnits = compileUnits;
+		return compileUnits;
+	}
+
+	/*
+	 * Read the first debugging information entry of a compile unit, returns null if it is
+	 * not a TAG_compile_unit.
+	 */
+	private CompileUnitRef readCompileUnit(ByteBuffer in, Map<Long, AbbreviationEntry> abbrevs,
+			CompilationUnitHeader header) throws IOException {
+		if (!in.hasRemaining())
+			return null;
+		long code = read_unsigned_leb128(in);
+		AbbreviationEntry entry = abbrevs.get(Long.valueOf(code));
+		if (entry == null || entry.tag != DwarfConstants.DW_TAG_compile_unit)
+			return null;
+
+		int len = entry.attributes.size();
+		List<AttributeValue> list = new ArrayList<>(len);
+		try {
+			for (int i = 0; i < len; i++) {
+				Attribute attr = entry.attributes.get(i);
+				Object obj = readAttribute((int) attr.form, in, header);
+				list.add(new AttributeValue(attr, obj));
+			}
+		} catch (IOException e) {
+			// Use the attributes read so far, like parseDebugInfoEntry() does.
+		}
+		return createCompileUnitRef(list);
 	}
 
 	private String addSourceFileWithStmt(String dir, String name, int stmt) {
@@ -568,6 +687,13 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	}
 
 	private String addSourceFile(String dir, String name) {
+		String fullName = getFullName(dir, name);
+		if (fullName != null)
+			m_fileCollection.add(fullName);
+		return fullName;
+	}
+
+	private static String getFullName(String dir, String name) {
 		if (name == null || name.length() == 0)
 			return null;
 
@@ -587,9 +713,6 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 		// is different from java.io.File.getCanonicalPath()).
 		fullName = pa.toOSString();
 
-		if (!m_fileCollection.contains(fullName))
-			m_fileCollection.add(fullName);
-
 		return fullName;
 	}
 
@@ -612,7 +735,13 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	// Argument "requestor" is ignored.
 	@Override
 	void processCompileUnit(IDebugEntryRequestor requestor, List<AttributeValue> list) {
+		CompileUnitRef cu = createCompileUnitRef(list);
+		addSourceFileWithStmt(cu.compDir, cu.name, cu.stmtList);
+		if (cu.stmtList > -1) // this CU has "stmt_list" attribute
+			parseSourceInCULineInfo(cu.compDir, cu.stmtList);
+	}
 
+	private CompileUnitRef createCompileUnitRef(List<AttributeValue> list) {
 		String cuName, cuCompDir;
 		int stmtList = -1;
 
@@ -639,17 +768,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 			}
 		}
 
-		addSourceFileWithStmt(cuCompDir, cuName, stmtList);
-		if (stmtList > -1) // this CU has "stmt_list" attribute
-			parseSourceInCULineInfo(cuCompDir, stmtList);
-	}
-
-	/**
-	 * @since 5.2
-	 */
-	@Override
-	public String[] getSourceFiles(IProgressMonitor monitor) {
-		return getSourceFiles();
+		return new CompileUnitRef(cuName, cuCompDir, stmtList);
 	}
 
 	private class OpcodeInfo {
@@ -1038,7 +1157,8 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	@Override
 	public String getCompileOptions(String fileName) {
 		if (!m_macros_parsed) {
-			getSourceFiles();
+			// Only the compile unit names are needed, not their line tables.
+			getCompileUnits(null);
 			getCommandMacrosFromMacroSection();
 			m_macros_parsed = true;
 		}
@@ -18,22 +18,30 @@ import static org.eclipse.cdt.internal.core.ByteUtils.makeInt;
 import static org.eclipse.cdt.internal.core.ByteUtils.makeLong;
 import static org.eclipse.cdt.internal.core.ByteUtils.makeShort;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.core.IAddressFactory;
 import org.eclipse.cdt.core.ISymbolReader;
+import org.eclipse.cdt.internal.core.BinaryDataCache;
 import org.eclipse.cdt.utils.Addr32;
 import org.eclipse.cdt.utils.Addr32Factory;
 import org.eclipse.cdt.utils.Addr64;
@@ -60,6 +68,13 @@ public class Elf {
 	/** .dynSym section */
 	private Symbol[] dynamicSymbols;
 	private boolean areSectionsMapped; // Have sections been mapped? Used to clean up properly in Elf.Dispose.
+	/** String tables read so far, a {@code null} value for a table too large to be held in memory. */
+	private Map<Section, ByteBuffer> stringTables;
+	/** Symbol and string tables up to this size are read at once. */
+	private static final int MAX_BUFFERED_SECTION_SIZE = 64 * 1024 * 1024;
+	/** Kind of the symbol tables stored in the {@link BinaryDataCache}, followed by the offset of the ELF file. */
+	private static final String SYMBOL_CACHE_KIND = "elf.symbols@"; //$NON-NLS-1$
+	private static final int SYMBOL_CACHE_VERSION = 1;
 
 	protected String EMPTY_STRING = ""; //$NON-NLS-1$
 	private long elfOffset;
@@ -387,12 +402,23 @@ public class Elf {
 	}
 
 	protected String string_from_elf_section(Elf.Section section, int index) throws IOException {
-		if (index > section.sh_size) {
+		if (index < 0 || index > section.sh_size) {
 			return EMPTY_STRING;
 		}
 
 		section.makeSureNotCompressed();
 		StringBuilder str = new StringBuilder();
+		ByteBuffer strings = getStringTable(section);
+		if (strings != null) {
+			for (int i = index; i < strings.limit(); i++) {
+				byte b = strings.get(i);
+				if (b == 0) {
+					break;
+				}
+				str.append((char) b);
+			}
+			return str.toString();
+		}
 		//Most string symbols will be less than 50 bytes in size
 		byte[] tmp = new byte[50];
 		efile.seek(section.sh_offset + index);
@@ -980,6 +1006,7 @@ public class Elf {
 
 	public void dispose() {
 		try {
+			stringTables = null;
 			if (efile != null) {
 				efile.close();
 				efile = null;
@@ -1178,19 +1205,125 @@ public class Elf {
 		}
 		section.makeSureNotCompressed();
 		ArrayList<Symbol> symList = new ArrayList<>(numSyms);
-		try (ElfSectionIterator elfIterator = symbolIterator(section)) {
-			while (elfIterator.hasNext()) {
-				Symbol symbol = elfIterator.next();
+		ByteBuffer data = readSectionData(section);
+		if (data != null) {
+			for (int i = 0; i < numSyms; i++) {
+				Symbol symbol = decodeSymbol(section, data, (int) section.sh_entsize * i);
 				if (symbol.st_info == 0)
 					continue;
 				symList.add(symbol);
 			}
+		} else {
+			try (ElfSectionIterator elfIterator = symbolIterator(section)) {
+				while (elfIterator.hasNext()) {
+					Symbol symbol = elfIterator.next();
+					if (symbol.st_info == 0)
+						continue;
+					symList.add(symbol);
+				}
+			}
 		}
 		Symbol[] results = symList.toArray(new Symbol[0]);
 		Arrays.sort(results);
 		return results;
 	}
 
+	/**
+	 * Decodes a symbol from the data of a symbol table, the counterpart of {@link ElfSectionIterator#next()}.
+	 */
+	private Symbol decodeSymbol(Section section, ByteBuffer data, int offset) throws IOException {
+		Symbol symbol = new Symbol(section);
+		switch (ehdr.e_ident[ELFhdr.EI_CLASS]) {
+		case ELFhdr.ELFCLASS32:
+			if (offset < 0 || offset + 16 > data.limit())
+				throw new EOFException();
+			symbol.st_name = data.getInt(offset) & 0xffffffffL;
+			symbol.st_value = new Addr32(data.getInt(offset + 4) & 0xffffffffL);
+			symbol.st_size = data.getInt(offset + 8) & 0xffffffffL;
+			symbol.st_info = data.get(offset + 12);
+			symbol.st_other = data.get(offset + 13);
+			symbol.st_shndx = data.getShort(offset + 14);
+			break;
+		case ELFhdr.ELFCLASS64:
+			if (offset < 0 || offset + 24 > data.limit())
+				throw new EOFException();
+			symbol.st_name = data.getInt(offset) & 0xffffffffL;
+			symbol.st_info = data.get(offset + 4);
+			symbol.st_other = data.get(offset + 5);
+			symbol.st_shndx = data.getShort(offset + 6);
+			symbol.st_value = createAddr64(data.getLong(offset + 8));
+			symbol.st_size = data.getLong(offset + 16);
+			if (symbol.st_size < 0) {
+				throw new IOException("Maximal file offset is " + Long.toHexString(Long.MAX_VALUE) + //$NON-NLS-1$
+						" given offset is " + Long.toHexString(symbol.st_size)); //$NON-NLS-1$
+			}
+			break;
+		default:
+			throw new IOException("Unknown ELF class " + ehdr.e_ident[ELFhdr.EI_CLASS]); //$NON-NLS-1$
+		}
+		return symbol;
+	}
+
+	/**
+	 * Creates the unsigned 64-bit address for the bits of the given value.
+	 */
+	private static Addr64 createAddr64(long value) {
+		byte[] addrArray = new byte[ELF64_ADDR_SIZE];
+		for (int i = 0; i < ELF64_ADDR_SIZE; i++) {
+			addrArray[i] = (byte) (value >>> (56 - 8 * i));
+		}
+		return new Addr64(addrArray);
+	}
+
+	/**
+	 * Returns the content of a string table, or {@code null} if the table is too large to be held in memory.
+	 */
+	private ByteBuffer getStringTable(Section section) throws IOException {
+		if (stringTables == null) {
+			stringTables = new HashMap<>();
+		}
+		ByteBuffer strings = stringTables.get(section);
+		if (strings == null && !stringTables.containsKey(section)) {
+			strings = readSectionData(section);
+			stringTables.put(section, strings);
+		}
+		return strings;
+	}
+
+	/**
+	 * Reads the content of a section with a single positional read instead of a read per field.
+	 * The content of an unmodified file is shared between Elf instances. Sections are not mapped
+	 * into memory, such that {@link #dispose()} does not need to force a garbage collection.
+	 *
+	 * @return the content in the byte order of the file, or {@code null} if the section is too large
+	 *     to be held in memory
+	 */
+	private ByteBuffer readSectionData(Section section) throws IOException {
+		if (section.sh_size < 0 || section.sh_size > MAX_BUFFERED_SECTION_SIZE)
+			return null;
+		final int size = (int) section.sh_size;
+		final long position = elfOffset + section.sh_offset;
+		if (section.sh_offset < 0 || position + size > efile.length())
+			throw new EOFException();
+
+		SectionDataCache cache = SectionDataCache.getDefault();
+		SectionDataCache.Key key = cache.createKey(efile.getPath(), position, size);
+		byte[] data = key != null ? cache.get(key) : null;
+		if (data == null) {
+			data = new byte[size];
+			ByteBuffer buf = ByteBuffer.wrap(data);
+			FileChannel channel = efile.getChannel();
+			while (buf.hasRemaining()) {
+				if (channel.read(buf, position + buf.position()) < 0)
+					throw new EOFException();
+			}
+			if (key != null) {
+				cache.put(key, data);
+			}
+		}
+		return ByteBuffer.wrap(data).asReadOnlyBuffer().order(efile.order());
+	}
+
 	/**
 	 * Get a symbol iterator
 	 * @param section the section to iterate over
@@ -1203,31 +1336,117 @@ public class Elf {
 	}
 
 	public void loadSymbols() throws IOException {
-		Section symbolsTableSection = null;
-		Section dynamicSymbolSection = null;
 		if (symbols == null) {
-			Section section[] = getSections(Section.SHT_SYMTAB);
-			if (section.length > 0) {
-				symbolsTableSection = section[0];
-				symbolsTable = loadSymbolsBySection(section[0]);
-			} else {
-				symbolsTable = new Symbol[0];
+			BinaryDataCache cache = BinaryDataCache.getSharedInstance();
+			String kind = SYMBOL_CACHE_KIND + elfOffset;
+			byte[] cached = cache != null ? cache.get(file, kind) : null;
+			if (cached == null || !readSymbols(cached)) {
+				Section section[] = getSections(Section.SHT_SYMTAB);
+				Section symbolsTableSection = section.length > 0 ? section[0] : null;
+				symbolsTable = symbolsTableSection != null ? loadSymbolsBySection(symbolsTableSection) : new Symbol[0];
+
+				section = getSections(Section.SHT_DYNSYM);
+				Section dynamicSymbolSection = section.length > 0 ? section[0] : null;
+				dynamicSymbols = dynamicSymbolSection != null ? loadSymbolsBySection(dynamicSymbolSection)
+						: new Symbol[0];
+
+				if (symbolsTableSection != null) {
+					symbols = symbolsTable;
+				} else if (dynamicSymbolSection != null) {
+					symbols = dynamicSymbols;
+				}
+				if (cache != null) {
+					byte[] data = writeSymbols(symbolsTableSection, dynamicSymbolSection);
+					if (data != null) {
+						cache.put(file, kind, data);
+					}
+				}
 			}
+		}
+	}
 
-			section = getSections(Section.SHT_DYNSYM);
-			if (section.length > 0) {
-				dynamicSymbolSection = section[0];
-				dynamicSymbols = loadSymbolsBySection(section[0]);
-			} else {
-				dynamicSymbols = new Symbol[0];
-			}
+	/**
+	 * Encodes the symbol tables together with the names of the symbols, such that reading them back
+	 * neither needs the symbol tables nor the string tables of the file.
+	 *
+	 * @return the encoded tables, or {@code null} if they cannot be encoded
+	 */
+	private byte[] writeSymbols(Section symbolsTableSection, Section dynamicSymbolSection) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(SYMBOL_CACHE_VERSION);
+			out.writeByte(ehdr.e_ident[ELFhdr.EI_CLASS]);
+			writeSymbols(out, symbolsTableSection, symbolsTable);
+			writeSymbols(out, dynamicSymbolSection, dynamicSymbols);
+		} catch (IOException e) {
+			// Names that are too long to be encoded, the symbols are not cached.
+			return null;
+		}
+		return bytes.toByteArray();
+	}
 
-			if (symbolsTableSection != null) {
+	private void writeSymbols(DataOutputStream out, Section section, Symbol[] syms) throws IOException {
+		out.writeInt(section != null ? Arrays.asList(getSections()).indexOf(section) : -1);
+		out.writeInt(syms.length);
+		for (Symbol symbol : syms) {
+			out.writeUTF(symbol.toString());
+			out.writeLong(symbol.st_name);
+			out.writeLong(symbol.st_value.getValue().longValue());
+			out.writeLong(symbol.st_size);
+			out.writeShort(symbol.st_info);
+			out.writeShort(symbol.st_other);
+			out.writeShort(symbol.st_shndx);
+		}
+	}
+
+	/**
+	 * Restores the symbol tables encoded by {@link #writeSymbols(Section, Section)}.
+	 *
+	 * @return whether the tables have been restored, {@code false} if they do not match the file
+	 */
+	private boolean readSymbols(byte[] data) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+			if (in.readInt() != SYMBOL_CACHE_VERSION || in.readByte() != ehdr.e_ident[ELFhdr.EI_CLASS])
+				return false;
+			Symbol[] table = readSymbols(in, Section.SHT_SYMTAB);
+			Symbol[] dynamic = readSymbols(in, Section.SHT_DYNSYM);
+			if (table == null || dynamic == null)
+				return false;
+			symbolsTable = table;
+			dynamicSymbols = dynamic;
+			if (getSections(Section.SHT_SYMTAB).length > 0) {
 				symbols = symbolsTable;
-			} else if (dynamicSymbolSection != null) {
+			} else if (getSections(Section.SHT_DYNSYM).length > 0) {
 				symbols = dynamicSymbols;
 			}
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private Symbol[] readSymbols(DataInputStream in, int sectionType) throws IOException {
+		int index = in.readInt();
+		int count = in.readInt();
+		Section[] allSections = getSections();
+		if (count < 0 || index >= allSections.length || index >= 0 && allSections[index].sh_type != sectionType)
+			return null;
+		Section section = index >= 0 ? allSections[index] : null;
+		Symbol[] result = new Symbol[count];
+		for (int i = 0; i < count; i++) {
+			Symbol symbol = new Symbol(section);
+			symbol.name = in.readUTF();
+			symbol.st_name = in.readLong();
+			long value = in.readLong();
+			symbol.st_value = ehdr.e_ident[ELFhdr.EI_CLASS] == ELFhdr.ELFCLASS64 ? createAddr64(value)
+					: new Addr32(value);
+			symbol.st_size = in.readLong();
+			symbol.st_info = in.readShort();
+			symbol.st_other = in.readShort();
+			symbol.st_shndx = in.readShort();
+			result[i] = symbol;
 		}
+		return result;
 	}
 
 	public Symbol[] getSymbols() {
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils.elf;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shares the content of the symbol and string tables of ELF files between {@link Elf} instances.
+ * An entry is identified by the path, the size and the modification time of the file together with
+ * the position of the section, such that a rebuilt binary is never served from the cache. The least
+ * recently used entries are dropped once the cache exceeds its size, the data is in addition held
+ * softly.
+ */
+final class SectionDataCache {
+	private static final long MAX_SIZE = 32 * 1024 * 1024;
+	private static final SectionDataCache INSTANCE = new SectionDataCache(MAX_SIZE);
+
+	static final class Key {
+		final String path;
+		final long fileSize;
+		final long lastModified;
+		final long position;
+		final int size;
+
+		Key(String path, long fileSize, long lastModified, long position, int size) {
+			this.path = path;
+			this.fileSize = fileSize;
+			this.lastModified = lastModified;
+			this.position = position;
+			this.size = size;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return position == other.position && size == other.size && fileSize == other.fileSize
+					&& lastModified == other.lastModified && path.equals(other.path);
+		}
+
+		@Override
+		public int hashCode() {
+			return path.hashCode() * 31 + Long.hashCode(position);
+		}
+	}
+
+	private static final class Entry {
+		final SoftReference<byte[]> data;
+		final int size;
+
+		Entry(byte[] data) {
+			this.data = new SoftReference<>(data);
+			this.size = data.length;
+		}
+	}
+
+	private final long fMaxSize;
+	private final LinkedHashMap<Key, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+	private long fSize;
+
+	static SectionDataCache getDefault() {
+		return INSTANCE;
+	}
+
+	SectionDataCache(long maxSize) {
+		fMaxSize = maxSize;
+	}
+
+	/**
+	 * Returns the key for a section of the given file, or {@code null} if the file cannot be identified.
+	 */
+	Key createKey(String path, long position, int size) {
+		if (path == null)
+			return null;
+		File file = new File(path);
+		long lastModified = file.lastModified();
+		if (lastModified == 0)
+			return null;
+		return new Key(path, file.length(), lastModified, position, size);
+	}
+
+	synchronized byte[] get(Key key) {
+		Entry entry = fEntries.get(key);
+		if (entry == null)
+			return null;
+		byte[] data = entry.data.get();
+		if (data == null) {
+			fEntries.remove(key);
+			fSize -= entry.size;
+		}
+		return data;
+	}
+
+	synchronized void put(Key key, byte[] data) {
+		if (data.length > fMaxSize / 4)
+			return;
+		Entry old = fEntries.put(key, new Entry(data));
+		if (old != null) {
+			fSize -= old.size;
+		}
+		fSize += data.length;
+		for (Iterator<Map.Entry<Key, Entry>> it = fEntries.entrySet().iterator(); fSize > fMaxSize && it.hasNext();) {
+			fSize -= it.next().getValue().size;
+			it.remove();
+		}
+	}
+}
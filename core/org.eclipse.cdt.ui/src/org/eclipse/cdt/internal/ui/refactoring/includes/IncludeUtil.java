@@ -39,6 +39,7 @@ import org.eclipse.cdt.internal.core.dom.rewrite.util.ASTNodes;
 import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.IncludeGuardDetection;
 import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.util.CompactCharArrayIntMap;
 import org.eclipse.cdt.internal.core.util.TextUtil;
 import org.eclipse.cdt.internal.corext.codemanipulation.IncludeInfo;
 import org.eclipse.cdt.internal.corext.codemanipulation.InclusionContext;
@@ -288,7 +289,7 @@ public class IncludeUtil {
 		CharArrayIntMap ppKeywords = new CharArrayIntMap(40, -1);
 		Keywords.addKeywordsPreprocessor(ppKeywords);
 		char[] guardChars = IncludeGuardDetection.detectIncludeGuard(new CharArray(contentsChars), new LexerOptions(),
-				ppKeywords);
+				new CompactCharArrayIntMap(ppKeywords));
 		return guardChars;
 	}
 
@@ -292,7 +292,10 @@ public class Executable extends PlatformObject {
 			}
 		}
 
-		refreshSourceFiles = false;
+		if (!monitor.isCanceled()) {
+			// The files read before a cancellation are incomplete, read them again next time.
+			refreshSourceFiles = false;
+		}
 		remapSourceFiles = false;
 		return sourceFiles.toArray(new TranslationUnit[sourceFiles.size()]);
 	}
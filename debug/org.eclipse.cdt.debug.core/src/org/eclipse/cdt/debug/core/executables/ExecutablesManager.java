@@ -585,17 +585,20 @@ public class ExecutablesManager extends PlatformObject
 			});
 
 			monitor.beginTask("Finding source files in " + executable.getName(), sourceFileProviders.size() * 1000); //$NON-NLS-1$
-			for (ISourceFilesProvider provider : sourceFileProviders) {
-				String[] sourceFiles = provider.getSourceFiles(executable, new SubProgressMonitor(monitor, 1000));
-				if (sourceFiles.length > 0) {
-					result = sourceFiles;
-					if (Trace.DEBUG_EXECUTABLES)
-						Trace.getTrace().trace(null,
-								"Got " + sourceFiles.length + " files from " + provider.toString()); //$NON-NLS-1$ //$NON-NLS-2$
-					break;
+			try {
+				for (ISourceFilesProvider provider : sourceFileProviders) {
+					String[] sourceFiles = provider.getSourceFiles(executable, new SubProgressMonitor(monitor, 1000));
+					if (sourceFiles.length > 0) {
+						result = sourceFiles;
+						if (Trace.DEBUG_EXECUTABLES)
+							Trace.getTrace().trace(null,
+									"Got " + sourceFiles.length + " files from " + provider.toString()); //$NON-NLS-1$ //$NON-NLS-2$
+						break;
+					}
 				}
+			} finally {
+				monitor.done();
 			}
-			monitor.done();
 		}
 
 		if (Trace.DEBUG_EXECUTABLES)
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.mi.service.command.output.MIAsyncRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIConst;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIList;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResult;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResultRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MITuple;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIValue;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of the {@link MIParser} on a transcript of GDB output, dispatching
+ * the lines the way the receiving thread of the MI control does. {@code parse} only builds the
+ * records, as done for the replies of which the services use a few fields, {@code parseAndDecode}
+ * also decodes every value. Besides the number of passes over the transcript the benchmarks
+ * report the number of lines and characters per second as the secondary results {@code lines}
+ * and {@code chars}. Running with {@code -prof gc} shows the allocation per pass.
+ *
+ * A transcript recorded from GDB can be used with {@code -p file=<path>}, which takes precedence
+ * over the {@code transcript} parameter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MIParserBenchmark {
+	@Param
+	public Transcript transcript;
+
+	@Param("")
+	public String file;
+
+	private List<String> fLines;
+	private int fChars;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class LineCounter {
+		public long lines;
+		public long chars;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			lines = 0;
+			chars = 0;
+		}
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		if (file.isEmpty()) {
+			fLines = transcript.getLines();
+		} else {
+			fLines = Transcript.read(Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8));
+		}
+		fChars = 0;
+		for (String line : fLines) {
+			fChars += line.length();
+		}
+	}
+
+	@Benchmark
+	public void parse(LineCounter counter, Blackhole bh) {
+		MIParser parser = new MIParser();
+		for (String line : fLines) {
+			bh.consume(parseLine(parser, line));
+		}
+		counter.lines += fLines.size();
+		counter.chars += fChars;
+	}
+
+	@Benchmark
+	public void parseAndDecode(LineCounter counter, Blackhole bh) {
+		MIParser parser = new MIParser();
+		for (String line : fLines) {
+			Object record = parseLine(parser, line);
+			if (record instanceof MIResultRecord) {
+				decode(((MIResultRecord) record).getMIResults(), bh);
+			} else if (record instanceof MIAsyncRecord) {
+				decode(((MIAsyncRecord) record).getMIResults(), bh);
+			} else {
+				bh.consume(record);
+			}
+		}
+		counter.lines += fLines.size();
+		counter.chars += fChars;
+	}
+
+	private static Object parseLine(MIParser parser, String line) {
+		switch (parser.getRecordType(line)) {
+		case ResultRecord:
+			return parser.parseMIResultRecord(line);
+		case OOBRecord:
+			return parser.parseMIOOBRecord(line);
+		default:
+			return null;
+		}
+	}
+
+	private static void decode(MIResult[] results, Blackhole bh) {
+		for (MIResult result : results) {
+			bh.consume(result.getVariable());
+			decode(result.getMIValue(), bh);
+		}
+	}
+
+	private static void decode(MIValue value, Blackhole bh) {
+		if (value instanceof MIConst) {
+			bh.consume(((MIConst) value).getCString());
+		} else if (value instanceof MITuple) {
+			decode(((MITuple) value).getMIResults(), bh);
+			for (MIValue v : ((MITuple) value).getMIValues()) {
+				decode(v, bh);
+			}
+		} else if (value instanceof MIList) {
+			decode(((MIList) value).getMIResults(), bh);
+			for (MIValue v : ((MIList) value).getMIValues()) {
+				decode(v, bh);
+			}
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GDB/MI output the benchmarks parse. Besides a session recorded with GDB the transcripts
+ * contain the large replies that dominate the parsing time when stopping in a big program.
+ * Those are generated in the format GDB uses, such that they can be scaled.
+ */
+public enum Transcript {
+	/**
+	 * Recorded output of starting a program, stopping at a breakpoint, populating the
+	 * views and stepping once.
+	 */
+	STEP_SESSION {
+		@Override
+		protected void generate(List<String> lines) {
+			try (InputStream in = Transcript.class.getResourceAsStream("step-session.mi")) { //$NON-NLS-1$
+				lines.addAll(read(new InputStreamReader(in, StandardCharsets.UTF_8)));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	},
+
+	/**
+	 * A stop in deep recursion followed by the reply of -stack-list-frames.
+	 */
+	STACK_LIST_FRAMES {
+		@Override
+		protected void generate(List<String> lines) {
+			lines.add("*stopped,reason=\"breakpoint-hit\",disp=\"keep\",bkptno=\"1\",frame={addr=\"0x0000555555555149\","
+					+ "func=\"recurse\",args=[{name=\"depth\",value=\"5000\"}],file=\"../src/recurse.c\","
+					+ "fullname=\"/home/user/project/src/recurse.c\",line=\"7\",arch=\"i386:x86-64\"},"
+					+ "thread-id=\"1\",stopped-threads=\"all\",core=\"1\"");
+			StringBuilder buf = new StringBuilder("42^done,stack=[");
+			for (int i = 0; i < 5000; i++) {
+				if (i > 0) {
+					buf.append(',');
+				}
+				buf.append("frame={level=\"").append(i).append("\",addr=\"0x0000555555555")
+						.append(Integer.toHexString(0x149 + i % 16)).append("\",func=\"recurse\",")
+						.append("file=\"../src/recurse.c\",fullname=\"/home/user/project/src/recurse.c\",line=\"")
+						.append(7 + i % 3).append("\",arch=\"i386:x86-64\"}");
+			}
+			lines.add(buf.append(']').toString());
+			lines.add("(gdb)");
+		}
+	},
+
+	/**
+	 * The reply of -var-list-children --all-values for an array of structures.
+	 */
+	VAR_LIST_CHILDREN {
+		@Override
+		protected void generate(List<String> lines) {
+			StringBuilder buf = new StringBuilder("43^done,numchild=\"2000\",children=[");
+			for (int i = 0; i < 2000; i++) {
+				if (i > 0) {
+					buf.append(',');
+				}
+				buf.append("child={name=\"var3.").append(i).append("\",exp=\"").append(i)
+						.append("\",numchild=\"3\",value=\"{id = ").append(i)
+						.append(", name = 0x5555555592a0 \\\"item\\\", flags = 0}\",type=\"struct item\",")
+						.append("thread-id=\"1\"}");
+			}
+			lines.add(buf.append("],has_more=\"0\"").toString());
+			lines.add("(gdb)");
+		}
+	},
+
+	/**
+	 * The replies of -data-read-memory-bytes for 64 KiB, read in blocks of 4 KiB as
+	 * the memory view does.
+	 */
+	DATA_READ_MEMORY_BYTES {
+		@Override
+		protected void generate(List<String> lines) {
+			for (int block = 0; block < 16; block++) {
+				long begin = 0x7ffffffde000L + block * 4096L;
+				StringBuilder buf = new StringBuilder();
+				buf.append(44 + block).append("^done,memory=[{begin=\"0x").append(Long.toHexString(begin))
+						.append("\",offset=\"0x0000000000000000\",end=\"0x").append(Long.toHexString(begin + 4096))
+						.append("\",contents=\"");
+				for (int i = 0; i < 4096; i++) {
+					int b = (i * 31 + block) & 0xff;
+					buf.append(Character.forDigit(b >> 4, 16)).append(Character.forDigit(b & 0xf, 16));
+				}
+				lines.add(buf.append("\"}]").toString());
+				lines.add("(gdb)");
+			}
+		}
+	};
+
+	private List<String> fLines;
+
+	protected abstract void generate(List<String> lines);
+
+	/**
+	 * Returns the lines of output of this transcript.
+	 */
+	public synchronized List<String> getLines() {
+		if (fLines == null) {
+			List<String> lines = new ArrayList<>();
+			generate(lines);
+			fLines = lines;
+		}
+		return fLines;
+	}
+
+	/**
+	 * Reads a transcript recorded from the output of GDB, e.g. with
+	 * {@code gdb --interpreter=mi2 ... | tee transcript.mi}.
+	 */
+	public static List<String> read(Reader reader) throws IOException {
+		List<String> lines = new ArrayList<>();
+		BufferedReader in = new BufferedReader(reader);
+		String line;
+		while ((line = in.readLine()) != null) {
+			if (!line.isEmpty()) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+}
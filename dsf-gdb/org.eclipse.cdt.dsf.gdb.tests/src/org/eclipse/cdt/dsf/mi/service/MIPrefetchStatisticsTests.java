@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MIPrefetchStatisticsTests {
+	private DsfSession fSession;
+
+	@Before
+	public void startSession() {
+		fSession = DsfSession.startSession(new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID), GdbPlugin.PLUGIN_ID);
+	}
+
+	@After
+	public void endSession() {
+		DsfSession.endSession(fSession);
+		fSession.getExecutor().shutdown();
+	}
+
+	@Test
+	public void testDisabledWithoutLaunch() {
+		MIPrefetchSettings settings = MIPrefetchSettings.fromLaunch(fSession);
+		assertEquals(0, settings.getFrames());
+		assertEquals(0, settings.getVariables());
+		assertEquals(0, settings.getRegisters());
+	}
+
+	@Test
+	public void testTimeToPopulated() {
+		MIPrefetchStatistics stats = MIPrefetchStatistics.getStatistics(fSession);
+		assertSame(stats, MIPrefetchStatistics.getStatistics(fSession));
+
+		stats.populated(MIPrefetchStatistics.VARIABLES, 3000);
+		stats.populated(MIPrefetchStatistics.STACK, 1000);
+		stats.populated(MIPrefetchStatistics.STACK, 2000);
+		assertEquals(2, stats.getTimeToPopulated(MIPrefetchStatistics.STACK).getCount());
+		assertEquals(2000, stats.getTimeToPopulated(MIPrefetchStatistics.STACK).getMax());
+		assertEquals(1, stats.getTimeToPopulated(MIPrefetchStatistics.VARIABLES).getCount());
+
+		StringBuilder buf = new StringBuilder();
+		stats.appendJSON(buf);
+		String json = buf.toString();
+		assertTrue(json.startsWith("{\"timeToPopulated\":{\"stack\":{\"count\":2,"));
+		assertTrue(json.contains("},\"variables\":{\"count\":1,"));
+
+		stats.reset();
+		buf.setLength(0);
+		stats.appendJSON(buf);
+		assertEquals("{\"timeToPopulated\":{}}", buf.toString());
+	}
+}
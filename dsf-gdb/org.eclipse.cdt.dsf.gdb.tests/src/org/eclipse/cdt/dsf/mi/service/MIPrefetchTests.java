@@ -0,0 +1,427 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.datamodel.DMContexts;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.IExpressions;
+import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMContext;
+import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMData;
+import org.eclipse.cdt.dsf.debug.service.IProcesses.IProcessDMContext;
+import org.eclipse.cdt.dsf.debug.service.IProcesses.IThreadDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRegisters.IRegisterDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRegisters.IRegisterDMData;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.StateChangeReason;
+import org.eclipse.cdt.dsf.debug.service.IStack;
+import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
+import org.eclipse.cdt.dsf.debug.service.IStack.IVariableDMContext;
+import org.eclipse.cdt.dsf.debug.service.IStack.IVariableDMData;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.MIRegisters.MIRegisterDMC;
+import org.eclipse.cdt.dsf.mi.service.MIRegisters.MIRegisterGroupDMC;
+import org.eclipse.cdt.dsf.mi.service.MIRunControl.ContainerSuspendedEvent;
+import org.eclipse.cdt.dsf.mi.service.MIRunControl.SuspendedEvent;
+import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
+import org.eclipse.cdt.dsf.mi.service.command.MIControlDMContext;
+import org.eclipse.cdt.dsf.mi.service.command.events.MIStoppedEvent;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResult;
+import org.eclipse.cdt.dsf.service.DsfServicesTracker;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests which requests the services send to prefetch the data of a stopped
+ * thread, and that the time to populate the data is recorded exactly once,
+ * after the last of these requests has completed.
+ */
+public class MIPrefetchTests {
+	/** A request sent by a prefetch, completed by the test */
+	private static class Request {
+		final String method;
+		final Object[] args;
+		final RequestMonitor rm;
+
+		Request(String method, Object[] args, RequestMonitor rm) {
+			this.method = method;
+			this.args = args;
+			this.rm = rm;
+		}
+	}
+
+	private DsfSession fSession;
+	private MIProcesses fProcesses;
+	private IProcessDMContext fProcessDmc;
+	private IMIContainerDMContext fContainerDmc;
+	private IMIExecutionDMContext fExecDmc;
+	/** The requests not completed yet, only accessed on the executor or while it waits for the test */
+	private final List<Request> fRequests = new ArrayList<>();
+
+	@Before
+	public void startSession() {
+		fSession = DsfSession.startSession(new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID), GdbPlugin.PLUGIN_ID);
+		fProcesses = new MIProcesses(fSession);
+		MIControlDMContext controlDmc = new MIControlDMContext(fSession.getId(), "test");
+		fProcessDmc = fProcesses.createProcessContext(controlDmc, "1");
+		fContainerDmc = fProcesses.createContainerContext(fProcessDmc, "i1");
+		fExecDmc = createThread("1");
+	}
+
+	@After
+	public void endSession() {
+		DsfSession.endSession(fSession);
+		fSession.getExecutor().shutdown();
+	}
+
+	private IMIExecutionDMContext createThread(String tid) {
+		IThreadDMContext threadDmc = fProcesses.createThreadContext(fProcessDmc, tid);
+		return fProcesses.createExecutionContext(fContainerDmc, threadDmc, tid);
+	}
+
+	/** Runs the given code on the executor and waits for it */
+	private void run(Runnable runnable) throws Exception {
+		fSession.getExecutor().submit(runnable).get();
+	}
+
+	/** Waits until the executor has run the monitors completed by the previous ones */
+	private void flush() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			run(() -> {
+			});
+		}
+	}
+
+	private void record(String method, RequestMonitor rm, Object... args) {
+		fRequests.add(new Request(method, args, rm));
+	}
+
+	/** Removes and returns the oldest pending request to the given method */
+	private Request take(String method) {
+		for (Iterator<Request> it = fRequests.iterator(); it.hasNext();) {
+			Request request = it.next();
+			if (request.method.equals(method)) {
+				it.remove();
+				return request;
+			}
+		}
+		throw new AssertionError("No pending request to " + method);
+	}
+
+	private int count(String method) {
+		int count = 0;
+		for (Request request : fRequests) {
+			if (request.method.equals(method)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void complete(Request request, Object data) throws Exception {
+		run(() -> {
+			if (request.rm instanceof DataRequestMonitor) {
+				((DataRequestMonitor<Object>) request.rm).done(data);
+			} else {
+				request.rm.done();
+			}
+		});
+		flush();
+	}
+
+	private void fail(Request request) throws Exception {
+		run(() -> request.rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, "test failure")));
+		flush();
+	}
+
+	private long populated(String kind) {
+		return MIPrefetchStatistics.getStatistics(fSession).getTimeToPopulated(kind).getCount();
+	}
+
+	/** Creates an implementation of the given interface which records the requests sent to it */
+	private <T> T fake(Class<T> type, InvocationHandler answers) {
+		return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "toString":
+						return type.getSimpleName();
+					default:
+						break;
+					}
+					if (answers != null) {
+						return answers.invoke(proxy, method, args);
+					}
+					if (args != null && args.length != 0 && args[args.length - 1] instanceof RequestMonitor) {
+						record(method.getName(), (RequestMonitor) args[args.length - 1], args);
+					}
+					return null;
+				}));
+	}
+
+	private static MIStoppedEvent stopped(IExecutionDMContext dmc) {
+		return MIStoppedEvent.parse(dmc, 0, new MIResult[0]);
+	}
+
+	@Test
+	public void testStoppedThreadOfThreadEvent() {
+		assertSame(fExecDmc, MIPrefetchSettings.getStoppedThread(new SuspendedEvent(fExecDmc, stopped(fExecDmc))));
+	}
+
+	@Test
+	public void testStoppedThreadOfContainerEvent() {
+		IMIExecutionDMContext otherDmc = createThread("2");
+		// In all-stop mode the stopped event of GDB is for the whole process
+		assertSame(otherDmc, MIPrefetchSettings.getStoppedThread(
+				new ContainerSuspendedEvent(fContainerDmc, stopped(fContainerDmc), otherDmc)));
+		assertNull(MIPrefetchSettings
+				.getStoppedThread(new ContainerSuspendedEvent(fContainerDmc, stopped(fContainerDmc), null)));
+		// The thread reported by GDB wins over the triggering context
+		assertSame(fExecDmc, MIPrefetchSettings
+				.getStoppedThread(new ContainerSuspendedEvent(fContainerDmc, stopped(fExecDmc), otherDmc)));
+	}
+
+	@Test
+	public void testStoppedThreadOfOtherEvent() {
+		ISuspendedDMEvent event = new ISuspendedDMEvent() {
+			@Override
+			public IExecutionDMContext getDMContext() {
+				return fExecDmc;
+			}
+
+			@Override
+			public StateChangeReason getReason() {
+				return StateChangeReason.USER_REQUEST;
+			}
+		};
+		assertSame(fExecDmc, MIPrefetchSettings.getStoppedThread(event));
+	}
+
+	private class TestStack extends MIStack {
+		TestStack() {
+			super(fSession);
+		}
+
+		@Override
+		public void getFrames(IDMContext ctx, int startIndex, int endIndex, DataRequestMonitor<IFrameDMContext[]> rm) {
+			record("getFrames", rm, ctx, startIndex, endIndex);
+		}
+
+		@Override
+		void listFrames(IMIExecutionDMContext execDmc, int low, int high, RequestMonitor rm) {
+			record("listFrames", rm, execDmc, low, high);
+		}
+	}
+
+	@Test
+	public void testPrefetchFrames() throws Exception {
+		TestStack stack = new TestStack();
+		run(() -> stack.prefetchFrames(fExecDmc, 3, System.nanoTime()));
+		// The depth is limited to the prefetched frames, and the frames below
+		// the top one are listed with a bounded command
+		Request frames = take("getFrames");
+		assertArrayEquals(new Object[] { fExecDmc, 0, 2 }, frames.args);
+		Request list = take("listFrames");
+		assertArrayEquals(new Object[] { fExecDmc, 1, 2 }, list.args);
+		assertTrue(fRequests.isEmpty());
+
+		complete(frames, new IFrameDMContext[0]);
+		assertEquals(0, populated(MIPrefetchStatistics.STACK));
+		fail(list);
+		assertEquals(1, populated(MIPrefetchStatistics.STACK));
+	}
+
+	@Test
+	public void testPrefetchTopFrame() throws Exception {
+		TestStack stack = new TestStack();
+		run(() -> stack.prefetchFrames(fExecDmc, 1, System.nanoTime()));
+		Request frames = take("getFrames");
+		assertArrayEquals(new Object[] { fExecDmc, 0, 0 }, frames.args);
+		assertTrue(fRequests.isEmpty());
+
+		complete(frames, new IFrameDMContext[0]);
+		assertEquals(1, populated(MIPrefetchStatistics.STACK));
+	}
+
+	private class TestRegisters extends MIRegisters {
+		TestRegisters() {
+			super(fSession);
+		}
+
+		@Override
+		public void getRegisters(IDMContext dmc, DataRequestMonitor<IRegisterDMContext[]> rm) {
+			record("getRegisters", rm, dmc);
+		}
+
+		@Override
+		public void getRegisterData(IRegisterDMContext regDmc, DataRequestMonitor<IRegisterDMData> rm) {
+			record("getRegisterData", rm, regDmc);
+		}
+
+		@Override
+		public void getFormattedExpressionValue(FormattedValueDMContext dmc,
+				DataRequestMonitor<FormattedValueDMData> rm) {
+			record("getFormattedExpressionValue", rm, dmc);
+		}
+	}
+
+	@Test
+	public void testPrefetchRegisters() throws Exception {
+		TestRegisters registers = new TestRegisters();
+		IFrameDMContext frameDmc = new MIStack(fSession).createFrameDMContext(fExecDmc, 0);
+		run(() -> registers.prefetchRegisters(frameDmc, 2, System.nanoTime()));
+
+		// The real service provides the register group of the process
+		Request list = take("getRegisters");
+		assertSame(frameDmc, DMContexts.getAncestorOfType((IDMContext) list.args[0], IFrameDMContext.class));
+		assertNotNull(DMContexts.getAncestorOfType((IDMContext) list.args[0], MIRegisterGroupDMC.class));
+		MIRegisterGroupDMC groupDmc = new MIRegisterGroupDMC(registers, fContainerDmc, 0, MIRegisters.ROOT_GROUP_NAME);
+		MIRegisterDMC[] regDmcs = new MIRegisterDMC[3];
+		for (int i = 0; i < regDmcs.length; i++) {
+			regDmcs[i] = new MIRegisterDMC(registers, groupDmc, frameDmc, i, "r" + i);
+		}
+		complete(list, regDmcs);
+
+		assertEquals(2, count("getRegisterData"));
+		assertEquals(2, count("getFormattedExpressionValue"));
+		for (int i = 0; i < 2; i++) {
+			Request data = take("getRegisterData");
+			assertSame(regDmcs[i], data.args[0]);
+			Request value = take("getFormattedExpressionValue");
+			assertNotNull(value.args[0]);
+			assertSame(regDmcs[i], ((FormattedValueDMContext) value.args[0]).getParents()[0]);
+			complete(value, null);
+			assertEquals(0, populated(MIPrefetchStatistics.REGISTERS));
+			complete(data, null);
+		}
+		assertEquals(1, populated(MIPrefetchStatistics.REGISTERS));
+		assertTrue(fRequests.isEmpty());
+	}
+
+	@Test
+	public void testPrefetchRegistersCompletes() throws Exception {
+		TestRegisters registers = new TestRegisters();
+		IFrameDMContext frameDmc = new MIStack(fSession).createFrameDMContext(fExecDmc, 0);
+		run(() -> registers.prefetchRegisters(frameDmc, 2, System.nanoTime()));
+		MIRegisterGroupDMC groupDmc = new MIRegisterGroupDMC(registers, fContainerDmc, 0, MIRegisters.ROOT_GROUP_NAME);
+		complete(take("getRegisters"),
+				new MIRegisterDMC[] { new MIRegisterDMC(registers, groupDmc, frameDmc, 0, "r0") });
+
+		complete(take("getRegisterData"), null);
+		assertEquals(0, populated(MIPrefetchStatistics.REGISTERS));
+		fail(take("getFormattedExpressionValue"));
+		assertEquals(1, populated(MIPrefetchStatistics.REGISTERS));
+
+		// No registers, or no list of registers, is recorded too
+		run(() -> registers.prefetchRegisters(frameDmc, 2, System.nanoTime()));
+		complete(take("getRegisters"), new MIRegisterDMC[0]);
+		assertEquals(2, populated(MIPrefetchStatistics.REGISTERS));
+		run(() -> registers.prefetchRegisters(frameDmc, 2, System.nanoTime()));
+		fail(take("getRegisters"));
+		assertEquals(3, populated(MIPrefetchStatistics.REGISTERS));
+		assertTrue(fRequests.isEmpty());
+	}
+
+	private MIVariableManager createVariableManager() throws Exception {
+		IStack stack = fake(IStack.class, null);
+		IExpressions expressions = fake(IExpressions.class, null);
+		IMICommandControl commandControl = fake(IMICommandControl.class,
+				(proxy, method, args) -> method.getName().equals("getCommandFactory") ? new CommandFactory() : null);
+		ICommandControl control = fake(ICommandControl.class, (proxy, method, args) -> null);
+		DsfServicesTracker tracker = new DsfServicesTracker(GdbPlugin.getBundleContext(), fSession.getId()) {
+			@Override
+			public <V> V getService(Class<V> serviceClass) {
+				if (serviceClass == IStack.class) {
+					return serviceClass.cast(stack);
+				} else if (serviceClass == IExpressions.class) {
+					return serviceClass.cast(expressions);
+				} else if (serviceClass == IMICommandControl.class) {
+					return serviceClass.cast(commandControl);
+				} else if (serviceClass == ICommandControl.class) {
+					return serviceClass.cast(control);
+				}
+				return null;
+			}
+		};
+		MIVariableManager[] manager = new MIVariableManager[1];
+		// The manager registers for events, which is only allowed on the executor
+		run(() -> manager[0] = new MIVariableManager(fSession, tracker));
+		tracker.dispose();
+		return manager[0];
+	}
+
+	private IVariableDMData variableData(String name) {
+		return fake(IVariableDMData.class,
+				(proxy, method, args) -> method.getName().equals("getName") ? name : null);
+	}
+
+	@Test
+	public void testPrefetchVariables() throws Exception {
+		MIVariableManager manager = createVariableManager();
+		IFrameDMContext frameDmc = new MIStack(fSession).createFrameDMContext(fExecDmc, 0);
+		try {
+			run(() -> manager.prefetchVariables(frameDmc, 2, System.nanoTime()));
+
+			Request locals = take("getLocals");
+			assertSame(frameDmc, locals.args[0]);
+			complete(locals, new IVariableDMContext[] { fake(IVariableDMContext.class, null),
+					fake(IVariableDMContext.class, null), fake(IVariableDMContext.class, null) });
+			assertEquals(2, count("getVariableData"));
+
+			// The value of a variable is requested once its name is known
+			complete(take("getVariableData"), variableData("a"));
+			fail(take("getVariableData"));
+			assertEquals(1, count("getExpressionData"));
+			assertEquals(1, count("getFormattedExpressionValue"));
+			complete(take("getExpressionData"), null);
+			assertEquals(0, populated(MIPrefetchStatistics.VARIABLES));
+			complete(take("getFormattedExpressionValue"), null);
+			assertEquals(1, populated(MIPrefetchStatistics.VARIABLES));
+			assertTrue(fRequests.isEmpty());
+
+			// A frame without locals, or whose locals fail, is recorded too
+			run(() -> manager.prefetchVariables(frameDmc, 2, System.nanoTime()));
+			complete(take("getLocals"), new IVariableDMContext[0]);
+			assertEquals(2, populated(MIPrefetchStatistics.VARIABLES));
+			run(() -> manager.prefetchVariables(frameDmc, 2, System.nanoTime()));
+			fail(take("getLocals"));
+			assertEquals(3, populated(MIPrefetchStatistics.VARIABLES));
+			assertTrue(fRequests.isEmpty());
+		} finally {
+			run(manager::dispose);
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class MICommandStatisticsTests {
+
+	@Test
+	public void testLatencyPerOperation() {
+		MICommandStatistics stats = new MICommandStatistics();
+		stats.commandCompleted("-thread-info", 2000, false);
+		stats.commandCompleted("-stack-list-frames", 1000, false);
+		stats.commandCompleted("-stack-list-frames", 3000, true);
+
+		assertEquals(3, stats.getCompletedCount());
+		List<MICommandStatistics.Entry> entries = stats.getEntries();
+		assertEquals(2, entries.size());
+
+		MICommandStatistics.Entry frames = entries.get(0);
+		assertEquals("-stack-list-frames", frames.getOperation());
+		assertEquals(2, frames.getCount());
+		assertEquals(1, frames.getErrorCount());
+		assertEquals(2000, frames.getAverageLatency());
+		assertEquals(3000, frames.getMaxLatency());
+
+		MICommandStatistics.Entry threads = entries.get(1);
+		assertEquals("-thread-info", threads.getOperation());
+		assertEquals(1, threads.getCount());
+		assertEquals(0, threads.getErrorCount());
+		assertTrue(stats.getCommandsPerSecond() > 0);
+	}
+
+	@Test
+	public void testBatches() {
+		MICommandStatistics stats = new MICommandStatistics();
+		stats.batchSent(1, 1);
+		stats.batchSent(5, 6);
+		stats.batchSent(2, 3);
+
+		assertEquals(8, stats.getSentCount());
+		assertEquals(3, stats.getFlushCount());
+		assertEquals(6, stats.getMaxInFlight());
+	}
+}
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
+import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIThreadInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIThreadInfoInfo;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Verifies that the command control only sends as many commands as its window allows before
+ * it has received their results, and how the size of the window is chosen.
+ */
+public class MICommandWindowTests {
+	private static final long TIMEOUT = 10000;
+
+	/**
+	 * A command control talking to streams instead of GDB, the lines it sends are collected.
+	 */
+	private static class TestControl extends AbstractMIControl {
+		final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+		private final MIControlDMContext fContext;
+
+		TestControl(DsfSession session) {
+			super(session, false, true, new CommandFactory());
+			fContext = new MIControlDMContext(session.getId(), "test");
+		}
+
+		void start(InputStream inStream) {
+			startCommandProcessing(inStream, new OutputStream() {
+				private final StringBuilder fLine = new StringBuilder();
+
+				@Override
+				public void write(int b) {
+					if (b == '\n') {
+						sent.add(fLine.toString());
+						fLine.setLength(0);
+					} else {
+						fLine.append((char) b);
+					}
+				}
+			});
+		}
+
+		@Override
+		protected BundleContext getBundleContext() {
+			return GdbPlugin.getBundleContext();
+		}
+
+		@Override
+		public String getId() {
+			return "test";
+		}
+
+		@Override
+		public MIControlDMContext getControlDMContext() {
+			return fContext;
+		}
+
+		@Override
+		public ICommandControlDMContext getContext() {
+			return fContext;
+		}
+	}
+
+	private DsfSession fSession;
+	private TestControl fControl;
+	private PipedOutputStream fGdbOutput;
+	private final Map<String, IStatus> fResults = new ConcurrentHashMap<>();
+
+	@Before
+	public void startSession() {
+		fSession = DsfSession.startSession(new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID), GdbPlugin.PLUGIN_ID);
+		fControl = new TestControl(fSession);
+		fGdbOutput = new PipedOutputStream();
+	}
+
+	@After
+	public void endSession() throws Exception {
+		fSession.getExecutor().submit(() -> fControl.stopCommandProcessing()).get();
+		fGdbOutput.close();
+		DsfSession.endSession(fSession);
+		fSession.getExecutor().shutdown();
+	}
+
+	private void start() throws Exception {
+		fControl.start(new PipedInputStream(fGdbOutput));
+	}
+
+	/**
+	 * Queues a command asking for the given thread, its result is stored under the thread id.
+	 */
+	private ICommandToken queue(String threadId) throws Exception {
+		MIThreadInfo command = new MIThreadInfo(fControl.getContext(), threadId);
+		return fSession.getExecutor().submit(() -> fControl.queueCommand(command,
+				new DataRequestMonitor<MIThreadInfoInfo>(ImmediateExecutor.getInstance(), null) {
+					@Override
+					protected void handleCompleted() {
+						fResults.put(threadId, getStatus());
+					}
+				})).get();
+	}
+
+	/**
+	 * Returns the next line sent to GDB, <code>null</code> if none is sent within the given time.
+	 */
+	private String nextSent(long timeout) throws Exception {
+		return fControl.sent.poll(timeout, TimeUnit.MILLISECONDS);
+	}
+
+	private static String getToken(String line) {
+		int i = 0;
+		while (Character.isDigit(line.charAt(i))) {
+			i++;
+		}
+		return line.substring(0, i);
+	}
+
+	private void waitForResult(String threadId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (!fResults.containsKey(threadId) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue(fResults.containsKey(threadId));
+	}
+
+	@Test
+	public void windowShouldDefaultToPreference() throws Exception {
+		start();
+		int expected = Math.max(1, Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MAX_MI_COMMANDS_IN_FLIGHT,
+				IGdbDebugPreferenceConstants.MAX_MI_COMMANDS_IN_FLIGHT_DEFAULT, null));
+		assertEquals(expected, fControl.getMaxInFlightCommands());
+	}
+
+	@Test
+	public void windowSetBeforeStartShouldBeKept() throws Exception {
+		fControl.setMaxInFlightCommands(2);
+		start();
+		assertEquals(2, fControl.getMaxInFlightCommands());
+	}
+
+	@Test
+	public void commandsBeyondWindowShouldBeHeldBack() throws Exception {
+		fControl.setMaxInFlightCommands(2);
+		start();
+		ICommandToken[] tokens = new ICommandToken[4];
+		for (int i = 0; i < tokens.length; i++) {
+			tokens[i] = queue(String.valueOf(i + 1));
+		}
+
+		String first = nextSent(TIMEOUT);
+		assertNotNull(first);
+		assertTrue(first, first.endsWith("-thread-info 1"));
+		String second = nextSent(TIMEOUT);
+		assertNotNull(second);
+		assertTrue(second, second.endsWith("-thread-info 2"));
+		assertNull(nextSent(200));
+
+		// A result lets the next command go
+		fGdbOutput.write((getToken(first) + "^done,threads=[]\n").getBytes());
+		fGdbOutput.flush();
+		String third = nextSent(TIMEOUT);
+		assertNotNull(third);
+		assertTrue(third, third.endsWith("-thread-info 3"));
+		assertNull(nextSent(200));
+		waitForResult("1");
+		assertTrue(fResults.get("1").isOK());
+
+		// So does a command that failed without a result, e.g. after a timeout
+		fSession.getExecutor().submit(() -> fControl.commandFailed(tokens[1],
+				IDsfStatusConstants.REQUEST_FAILED, "Timed out")).get();
+		String fourth = nextSent(TIMEOUT);
+		assertNotNull(fourth);
+		assertTrue(fourth, fourth.endsWith("-thread-info 4"));
+		waitForResult("2");
+		assertFalse(fResults.get("2").isOK());
+		assertNull(nextSent(200));
+	}
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.service.command.GDBControlDMContext;
+import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIFrame;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListFramesInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIThreadInfoInfo;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies that the -thread-info and -stack-list-frames commands are combined for
+ * the command cache, and that the result of each original command can be extracted
+ * from the result of the combined one.
+ */
+public class TestMICommandCoalescing {
+	private DsfSession fSession;
+	private GDBControlDMContext fControlDmc;
+
+	@Before
+	public void startSession() {
+		fSession = DsfSession.startSession(new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID), GdbPlugin.PLUGIN_ID);
+		fControlDmc = new GDBControlDMContext(fSession.getId(), "1");
+	}
+
+	@After
+	public void endSession() {
+		DsfSession.endSession(fSession);
+		fSession.getExecutor().shutdown();
+	}
+
+	private static MIOutput parse(String line) {
+		return new MIOutput(new MIParser().parseMIResultRecord(line), new MIOOBRecord[0]);
+	}
+
+	@Test
+	public void threadInfoForDifferentThreadsShouldListAllThreads() {
+		MIThreadInfo info2 = new MIThreadInfo(fControlDmc, "2");
+		MIThreadInfo info3 = new MIThreadInfo(fControlDmc, "3");
+
+		MIThreadInfo coalesced = info2.coalesceWith(info3);
+		assertNotNull(coalesced);
+		assertNull(coalesced.getThreadId());
+		assertEquals("-thread-info\n", coalesced.constructCommand());
+
+		// Combining with the command for all threads does not change it
+		assertEquals(coalesced, coalesced.coalesceWith(new MIThreadInfo(fControlDmc, "1")));
+
+		assertNull(info2.coalesceWith(new MIThreadInfo(new GDBControlDMContext(fSession.getId(), "2"), "3")));
+		assertNull(info2.coalesceWith(new MIStackListFrames(new TestExecutionContext("2"), 0, 0)));
+	}
+
+	@Test
+	public void threadInfoSubsetShouldOnlyHoldRequestedThread() {
+		MIThreadInfoInfo all = new MIThreadInfoInfo(parse("^done,threads=[{id=\"1\",target-id=\"Thread 0x1 (LWP 11)\","
+				+ "state=\"stopped\"},{id=\"2\",target-id=\"Thread 0x2 (LWP 12)\",state=\"stopped\"},"
+				+ "{id=\"3\",target-id=\"Thread 0x3 (LWP 13)\",state=\"running\"}],current-thread-id=\"1\""));
+		assertEquals(3, all.getThreadList().length);
+
+		MIThreadInfoInfo subset = all.getSubsetResult(new MIThreadInfo(fControlDmc, "3"));
+		assertEquals(1, subset.getThreadList().length);
+		assertEquals("3", subset.getThreadList()[0].getThreadId());
+		assertEquals("13", subset.getThreadList()[0].getOsId());
+		assertNull(subset.getCurrentThread());
+
+		// A thread which has exited is reported as missing, as GDB would
+		assertEquals(0, all.getSubsetResult(new MIThreadInfo(fControlDmc, "4")).getThreadList().length);
+		assertSame(all, all.getSubsetResult(new MIThreadInfo(fControlDmc)));
+	}
+
+	@Test
+	public void stackListFramesShouldCombineAdjacentRanges() {
+		TestExecutionContext execDmc = new TestExecutionContext("2");
+		MIStackListFrames top = new MIStackListFrames(execDmc, 0, 1);
+
+		MIStackListFrames coalesced = top.coalesceWith(new MIStackListFrames(execDmc, 2, 4));
+		assertNotNull(coalesced);
+		assertEquals(0, coalesced.getLow());
+		assertEquals(4, coalesced.getHigh());
+
+		coalesced = coalesced.coalesceWith(new MIStackListFrames(execDmc, 3, 9));
+		assertNotNull(coalesced);
+		assertEquals(0, coalesced.getLow());
+		assertEquals(9, coalesced.getHigh());
+
+		assertNull(top.coalesceWith(new MIStackListFrames(execDmc, 3, 4)));
+		assertNull(top.coalesceWith(new MIStackListFrames(execDmc)));
+		assertNull(new MIStackListFrames(execDmc).coalesceWith(top));
+		assertNull(top.coalesceWith(new MIStackListFrames(new TestExecutionContext("3"), 2, 3)));
+	}
+
+	/**
+	 * A request for a single frame is the fallback when listing more frames failed,
+	 * combining it with other requests could make it fail as well.
+	 */
+	@Test
+	public void stackListFramesShouldNotCombineSingleFrames() {
+		TestExecutionContext execDmc = new TestExecutionContext("2");
+		MIStackListFrames single = new MIStackListFrames(execDmc, 2, 2);
+
+		assertNull(single.coalesceWith(new MIStackListFrames(execDmc, 0, 4)));
+		assertNull(new MIStackListFrames(execDmc, 0, 4).coalesceWith(single));
+		assertNull(single.coalesceWith(new MIStackListFrames(execDmc, 3, 3)));
+		assertNull(new MIStackListFrames(execDmc, 0, 0).coalesceWith(new MIStackListFrames(execDmc, 1, 4)));
+	}
+
+	@Test
+	public void stackListFramesSubsetShouldOnlyHoldRequestedLevels() {
+		TestExecutionContext execDmc = new TestExecutionContext("2");
+		MIStackListFramesInfo all = new MIStackListFramesInfo(parse("^done,stack=[frame={level=\"0\",func=\"f0\"},"
+				+ "frame={level=\"1\",func=\"f1\"},frame={level=\"2\",func=\"f2\"},frame={level=\"3\",func=\"f3\"}]"));
+		assertEquals(4, all.getMIFrames().length);
+
+		MIFrame[] frames = all.getSubsetResult(new MIStackListFrames(execDmc, 1, 2)).getMIFrames();
+		assertEquals(2, frames.length);
+		assertEquals("f1", frames[0].getFunction());
+		assertEquals("f2", frames[1].getFunction());
+
+		// The stack may be shallower than requested
+		frames = all.getSubsetResult(new MIStackListFrames(execDmc, 3, 9)).getMIFrames();
+		assertEquals(1, frames.length);
+		assertEquals(3, frames[0].getLevel());
+	}
+
+	private class TestExecutionContext implements IMIExecutionDMContext {
+		private final String fThreadId;
+
+		public TestExecutionContext(String threadId) {
+			fThreadId = threadId;
+		}
+
+		@Override
+		public String getThreadId() {
+			return fThreadId;
+		}
+
+		@Override
+		public IDMContext[] getParents() {
+			return new IDMContext[] { fControlDmc };
+		}
+
+		@Override
+		public String getSessionId() {
+			return fSession.getId();
+		}
+
+		@Override
+		public <T> T getAdapter(Class<T> adapter) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MIParserTests {
+	private final MIParser fParser = new MIParser();
+
+	@Test
+	public void testResultRecord() {
+		String line = "12^done,stack=[frame={level=\"0\",func=\"main\"},frame={level=\"1\",func=\"start\"}]";
+		assertEquals(MIParser.RecordType.ResultRecord, fParser.getRecordType(line));
+		MIResultRecord rr = fParser.parseMIResultRecord(line);
+		assertEquals(12, rr.getToken());
+		assertEquals(MIResultRecord.DONE, rr.getResultClass());
+		assertEquals(1, rr.getMIResults().length);
+		assertEquals("stack", rr.getMIResults()[0].getVariable());
+
+		MIList stack = (MIList) rr.getMIResults()[0].getMIValue();
+		assertEquals(2, stack.getMIResults().length);
+		MITuple frame = (MITuple) stack.getMIResults()[1].getMIValue();
+		assertEquals("1", ((MIConst) frame.getField("level")).getCString());
+		assertEquals("start", ((MIConst) frame.getField("func")).getCString());
+		// Names are shared between the results
+		assertSame(stack.getMIResults()[0].getVariable(), stack.getMIResults()[1].getVariable());
+	}
+
+	@Test
+	public void testErrorRecordWithEscapes() {
+		MIResultRecord rr = fParser.parseMIResultRecord("^error,msg=\"No symbol \\\"x\\\" in \\\\ context.\"");
+		assertEquals(-1, rr.getToken());
+		assertEquals(MIResultRecord.ERROR, rr.getResultClass());
+		assertEquals("No symbol \"x\" in \\ context.", ((MIConst) rr.getMIResults()[0].getMIValue()).getCString());
+	}
+
+	@Test
+	public void testEmptyValues() {
+		MIResultRecord rr = fParser.parseMIResultRecord("^done,a=[],b={},c=\"\"");
+		assertEquals(3, rr.getMIResults().length);
+		assertEquals(0, ((MIList) rr.getMIResults()[0].getMIValue()).getMIValues().length);
+		assertEquals(0, ((MITuple) rr.getMIResults()[1].getMIValue()).getMIResults().length);
+		assertEquals("", ((MIConst) rr.getMIResults()[2].getMIValue()).getCString());
+	}
+
+	@Test
+	public void testAsyncRecord() {
+		MIOOBRecord oob = fParser.parseMIOOBRecord("*stopped,reason=\"end-stepping-range\",thread-id=\"3\"");
+		assertTrue(oob instanceof MIExecAsyncOutput);
+		MIExecAsyncOutput exec = (MIExecAsyncOutput) oob;
+		assertEquals("stopped", exec.getAsyncClass());
+		assertEquals(2, exec.getMIResults().length);
+		assertEquals("thread-id", exec.getMIResults()[1].getVariable());
+		assertEquals("3", ((MIConst) exec.getMIResults()[1].getMIValue()).getCString());
+
+		oob = fParser.parseMIOOBRecord("=thread-group-added,id=\"i1\"");
+		assertTrue(oob instanceof MINotifyAsyncOutput);
+		assertEquals("thread-group-added", ((MINotifyAsyncOutput) oob).getAsyncClass());
+	}
+
+	@Test
+	public void testStreamRecord() {
+		// Backslashes of stream records are not escaped
+		MIOOBRecord oob = fParser.parseMIOOBRecord("~\"C:\\\\dir \\\"quoted\\\"\\n\"");
+		assertTrue(oob instanceof MIConsoleStreamOutput);
+		assertEquals("C:\\\\dir \"quoted\"\\n", ((MIStreamRecord) oob).getCString());
+
+		oob = fParser.parseMIOOBRecord("not an MI record");
+		assertTrue(oob instanceof MITargetStreamOutput);
+		assertEquals("not an MI record\n", ((MIStreamRecord) oob).getCString());
+	}
+
+	@Test
+	public void testLongValues() {
+		StringBuilder contents = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			contents.append("\\\"x");
+		}
+		// A value making up most of the line, decoded on first access
+		MIResultRecord rr = fParser.parseMIResultRecord("^done,value=\"" + contents + "\"");
+		String decoded = "\"x".repeat(300);
+		assertEquals(decoded, ((MIConst) rr.getMIResults()[0].getMIValue()).getCString());
+		assertEquals(decoded, ((MIConst) rr.getMIResults()[0].getMIValue()).getCString());
+
+		// Long values sharing their line with others, decoded when parsed
+		rr = fParser.parseMIResultRecord("^done,a=\"" + contents + "\",b=\"" + contents + "\",c=\"" + contents + "\"");
+		assertEquals(3, rr.getMIResults().length);
+		for (MIResult result : rr.getMIResults()) {
+			assertEquals(decoded, ((MIConst) result.getMIValue()).getCString());
+		}
+	}
+
+	@Test
+	public void testTokenOverflow() {
+		MIResultRecord rr = fParser.parseMIResultRecord("99999999999^done");
+		assertEquals(-1, rr.getToken());
+		assertEquals(MIResultRecord.DONE, rr.getResultClass());
+	}
+}
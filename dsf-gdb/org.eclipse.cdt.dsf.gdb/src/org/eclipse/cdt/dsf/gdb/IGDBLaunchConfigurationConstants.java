@@ -156,6 +156,43 @@ public class IGDBLaunchConfigurationConstants {
 	 */
 	public static final String ATTR_DEBUGGER_REMOTE_TIMEOUT_VALUE = GdbPlugin.PLUGIN_ID + ".REMOTE_TIMEOUT_VALUE"; //$NON-NLS-1$
 
+	/**
+	 * Launch configuration attribute key. Boolean value. When set, the stack, variables
+	 * and registers of a thread are requested from GDB as soon as it stops, before the
+	 * views ask for them. The amount of data requested is set by
+	 * {@link #ATTR_DEBUGGER_PREFETCH_FRAMES}, {@link #ATTR_DEBUGGER_PREFETCH_VARIABLES}
+	 * and {@link #ATTR_DEBUGGER_PREFETCH_REGISTERS}.
+	 *
+	 * @since 6.0
+	 */
+	public static final String ATTR_DEBUGGER_PREFETCH_ON_SUSPEND = GdbPlugin.PLUGIN_ID + ".PREFETCH_ON_SUSPEND"; //$NON-NLS-1$
+
+	/**
+	 * Launch configuration attribute key. Integer value. The number of frames of the
+	 * stopped thread to prefetch, 0 to not prefetch the stack.
+	 *
+	 * @since 6.0
+	 */
+	public static final String ATTR_DEBUGGER_PREFETCH_FRAMES = GdbPlugin.PLUGIN_ID + ".PREFETCH_FRAMES"; //$NON-NLS-1$
+
+	/**
+	 * Launch configuration attribute key. Integer value. The maximum number of local
+	 * variables and arguments of the top frame of the stopped thread whose values are
+	 * prefetched, 0 to not prefetch variables.
+	 *
+	 * @since 6.0
+	 */
+	public static final String ATTR_DEBUGGER_PREFETCH_VARIABLES = GdbPlugin.PLUGIN_ID + ".PREFETCH_VARIABLES"; //$NON-NLS-1$
+
+	/**
+	 * Launch configuration attribute key. Integer value. The number of registers, in
+	 * the order GDB lists them, whose values in the top frame of the stopped thread are
+	 * prefetched, 0 to not prefetch registers.
+	 *
+	 * @since 6.0
+	 */
+	public static final String ATTR_DEBUGGER_PREFETCH_REGISTERS = GdbPlugin.PLUGIN_ID + ".PREFETCH_REGISTERS"; //$NON-NLS-1$
+
 	/**
 	 * Launch configuration attribute value. The key is ATTR_DEBUG_NAME.
 	 */
@@ -297,4 +334,29 @@ public class IGDBLaunchConfigurationConstants {
 	 * @since 5.5
 	 */
 	public static final String DEBUGGER_REMOTE_TIMEOUT_VALUE_DEFAULT = ""; //$NON-NLS-1$
+
+	/**
+	 * The default value of {@link #ATTR_DEBUGGER_PREFETCH_ON_SUSPEND}.
+	 * @since 6.0
+	 */
+	public static final boolean DEBUGGER_PREFETCH_ON_SUSPEND_DEFAULT = false;
+
+	/**
+	 * The default value of {@link #ATTR_DEBUGGER_PREFETCH_FRAMES}, which matches the
+	 * default limit of frames shown by the Debug view.
+	 * @since 6.0
+	 */
+	public static final int DEBUGGER_PREFETCH_FRAMES_DEFAULT = 10;
+
+	/**
+	 * The default value of {@link #ATTR_DEBUGGER_PREFETCH_VARIABLES}.
+	 * @since 6.0
+	 */
+	public static final int DEBUGGER_PREFETCH_VARIABLES_DEFAULT = 20;
+
+	/**
+	 * The default value of {@link #ATTR_DEBUGGER_PREFETCH_REGISTERS}.
+	 * @since 6.0
+	 */
+	public static final int DEBUGGER_PREFETCH_REGISTERS_DEFAULT = 0;
 }
@@ -146,6 +146,20 @@ public interface IGdbDebugPreferenceConstants {
 	 */
 	public static final int COMMAND_TIMEOUT_VALUE_DEFAULT = 10000;
 
+	/**
+	 * The value is an integer specifying the maximum number of MI commands that are sent
+	 * to GDB before the result of the first of them has been received.
+	 * Default is {@value #MAX_MI_COMMANDS_IN_FLIGHT_DEFAULT}.
+	 * @since 6.0
+	 */
+	public static final String PREF_MAX_MI_COMMANDS_IN_FLIGHT = PREFIX + "maxMiCommandsInFlight"; //$NON-NLS-1$
+
+	/**
+	 * The default for {@link #PREF_MAX_MI_COMMANDS_IN_FLIGHT}.
+	 * @since 6.0
+	 */
+	public static final int MAX_MI_COMMANDS_IN_FLIGHT_DEFAULT = 8;
+
 	/**
 	 * Boolean preference whether to use RTTI for MI variables type
 	 * determination. Default is <code>true</code>.
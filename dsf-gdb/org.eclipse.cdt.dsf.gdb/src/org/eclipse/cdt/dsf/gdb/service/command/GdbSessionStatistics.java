@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.service.command;
+
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.cdt.dsf.concurrent.ConfinedToDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.concurrent.ThreadSafeAndProhibitedFromDsfExecutor;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.internal.JSONUtils;
+import org.eclipse.cdt.dsf.mi.service.IMICommandControl;
+import org.eclipse.cdt.dsf.mi.service.MIPrefetchStatistics;
+import org.eclipse.cdt.dsf.mi.service.command.AbstractMIControl;
+import org.eclipse.cdt.dsf.service.DsfServicesTracker;
+import org.eclipse.cdt.dsf.service.DsfSession;
+
+/**
+ * Exports the statistics collected by a running GDB session as JSON, in order to find
+ * out where the time goes when the debugger feels slow. The export combines:
+ * <ul>
+ * <li>the latency histograms per MI operation, the MI parse time and the delay before
+ * a result is processed, from {@link AbstractMIControl#getCommandStatistics()}</li>
+ * <li>the queue depth and the run time of the executables of the session executor,
+ * from {@link DefaultDsfExecutor#getStatistics()}</li>
+ * <li>the hit, miss and coalesce counts of the command caches of the session,
+ * from {@link CommandCache#getStatistics(DsfSession)}</li>
+ * <li>the time from a stop to the prefetched stack, variables and registers being cached,
+ * from {@link MIPrefetchStatistics#getStatistics(DsfSession)}</li>
+ * </ul>
+ * When the <code>debug/commandStatistics</code> option is set, the JSON of a session
+ * is traced when its command processing stops.
+ *
+ * @since 6.0
+ */
+public final class GdbSessionStatistics {
+
+	private GdbSessionStatistics() {
+	}
+
+	/**
+	 * Returns the statistics of the given session as a JSON object.
+	 */
+	@ConfinedToDsfExecutor("session.getExecutor()")
+	public static String toJSON(DsfSession session) {
+		StringBuilder buf = new StringBuilder();
+		buf.append("{\"session\":"); //$NON-NLS-1$
+		JSONUtils.appendString(buf, session.getId());
+		buf.append(",\"time\":").append(System.currentTimeMillis()); //$NON-NLS-1$
+
+		DsfServicesTracker tracker = new DsfServicesTracker(GdbPlugin.getBundleContext(), session.getId());
+		try {
+			IMICommandControl control = tracker.getService(IMICommandControl.class);
+			if (control instanceof AbstractMIControl) {
+				buf.append(",\"commandControl\":"); //$NON-NLS-1$
+				((AbstractMIControl) control).getCommandStatistics().appendJSON(buf);
+			}
+		} finally {
+			tracker.dispose();
+		}
+
+		if (session.getExecutor() instanceof DefaultDsfExecutor) {
+			buf.append(",\"executor\":"); //$NON-NLS-1$
+			((DefaultDsfExecutor) session.getExecutor()).getStatistics().appendJSON(buf);
+		}
+
+		buf.append(",\"commandCache\":"); //$NON-NLS-1$
+		CommandCache.getStatistics(session).appendJSON(buf);
+		buf.append(",\"prefetch\":"); //$NON-NLS-1$
+		MIPrefetchStatistics.getStatistics(session).appendJSON(buf);
+		buf.append('}');
+		return buf.toString();
+	}
+
+	/**
+	 * Returns the statistics of the given session as a JSON object, waiting for
+	 * the session executor to collect them.
+	 */
+	@ThreadSafeAndProhibitedFromDsfExecutor("session.getExecutor()")
+	public static String exportJSON(final DsfSession session) throws InterruptedException, ExecutionException {
+		Query<String> query = new Query<String>() {
+			@Override
+			protected void execute(DataRequestMonitor<String> rm) {
+				rm.done(toJSON(session));
+			}
+		};
+		session.getExecutor().execute(query);
+		return query.get();
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import org.eclipse.cdt.dsf.datamodel.DMContexts;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerSuspendedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
+import org.eclipse.cdt.dsf.gdb.IGDBLaunchConfigurationConstants;
+import org.eclipse.cdt.dsf.mi.service.command.events.IMIDMEvent;
+import org.eclipse.cdt.dsf.mi.service.command.events.MIStoppedEvent;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+
+/**
+ * The launch settings controlling which data {@link MIStack}, {@link MIRegisters} and
+ * {@link MIVariableManager} request from GDB as soon as a thread stops, so that the
+ * requests of the views find the results cached or already on their way.
+ */
+final class MIPrefetchSettings {
+	private final boolean fEnabled;
+	private final int fFrames;
+	private final int fVariables;
+	private final int fRegisters;
+
+	private MIPrefetchSettings(boolean enabled, int frames, int variables, int registers) {
+		fEnabled = enabled;
+		fFrames = frames;
+		fVariables = variables;
+		fRegisters = registers;
+	}
+
+	/**
+	 * Reads the settings from the launch configuration of the given session.
+	 * Prefetching is disabled if the session has no launch.
+	 */
+	static MIPrefetchSettings fromLaunch(DsfSession session) {
+		ILaunch launch = (ILaunch) session.getModelAdapter(ILaunch.class);
+		if (launch != null && launch.getLaunchConfiguration() != null) {
+			ILaunchConfiguration config = launch.getLaunchConfiguration();
+			try {
+				return new MIPrefetchSettings(
+						config.getAttribute(IGDBLaunchConfigurationConstants.ATTR_DEBUGGER_PREFETCH_ON_SUSPEND,
+								IGDBLaunchConfigurationConstants.DEBUGGER_PREFETCH_ON_SUSPEND_DEFAULT),
+						config.getAttribute(IGDBLaunchConfigurationConstants.ATTR_DEBUGGER_PREFETCH_FRAMES,
+								IGDBLaunchConfigurationConstants.DEBUGGER_PREFETCH_FRAMES_DEFAULT),
+						config.getAttribute(IGDBLaunchConfigurationConstants.ATTR_DEBUGGER_PREFETCH_VARIABLES,
+								IGDBLaunchConfigurationConstants.DEBUGGER_PREFETCH_VARIABLES_DEFAULT),
+						config.getAttribute(IGDBLaunchConfigurationConstants.ATTR_DEBUGGER_PREFETCH_REGISTERS,
+								IGDBLaunchConfigurationConstants.DEBUGGER_PREFETCH_REGISTERS_DEFAULT));
+			} catch (CoreException e) {
+			}
+		}
+		return new MIPrefetchSettings(false, 0, 0, 0);
+	}
+
+	/** Returns the number of frames of the stopped thread to prefetch, 0 if none */
+	int getFrames() {
+		return fEnabled ? fFrames : 0;
+	}
+
+	/** Returns the maximum number of variables of the top frame to prefetch, 0 if none */
+	int getVariables() {
+		return fEnabled ? fVariables : 0;
+	}
+
+	/** Returns the number of registers of the top frame to prefetch, 0 if none */
+	int getRegisters() {
+		return fEnabled ? fRegisters : 0;
+	}
+
+	/**
+	 * Returns the thread whose stop caused the given event, or <code>null</code>
+	 * if it is not known.
+	 */
+	static IMIExecutionDMContext getStoppedThread(ISuspendedDMEvent e) {
+		if (e instanceof IMIDMEvent && ((IMIDMEvent) e).getMIEvent() instanceof MIStoppedEvent) {
+			IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(
+					((MIStoppedEvent) ((IMIDMEvent) e).getMIEvent()).getDMContext(), IMIExecutionDMContext.class);
+			if (execDmc != null) {
+				return execDmc;
+			}
+		}
+		if (e instanceof IContainerSuspendedDMEvent) {
+			IExecutionDMContext[] triggers = ((IContainerSuspendedDMEvent) e).getTriggeringContexts();
+			if (triggers.length != 0 && triggers[0] instanceof IMIExecutionDMContext) {
+				return (IMIExecutionDMContext) triggers[0];
+			}
+			return null;
+		}
+		return DMContexts.getAncestorOfType(e.getDMContext(), IMIExecutionDMContext.class);
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.dsf.concurrent.LatencyHistogram;
+import org.eclipse.cdt.dsf.gdb.IGDBLaunchConfigurationConstants;
+import org.eclipse.cdt.dsf.internal.JSONUtils;
+import org.eclipse.cdt.dsf.service.DsfSession;
+
+/**
+ * Measures the data prefetched when a thread stops, as enabled by
+ * {@link IGDBLaunchConfigurationConstants#ATTR_DEBUGGER_PREFETCH_ON_SUSPEND}.
+ * For each kind of data, the time from the stop event to the moment the data
+ * is in the caches of the services is recorded. This is the time after which
+ * the views can be populated without waiting for GDB.
+ *
+ * @since 6.0
+ */
+public class MIPrefetchStatistics {
+	/** The frames of the stopped thread, prefetched by {@link MIStack} */
+	public static final String STACK = "stack"; //$NON-NLS-1$
+	/** The variables of the top frame, prefetched by {@link MIVariableManager} */
+	public static final String VARIABLES = "variables"; //$NON-NLS-1$
+	/** The registers of the top frame, prefetched by {@link MIRegisters} */
+	public static final String REGISTERS = "registers"; //$NON-NLS-1$
+
+	private static final Map<DsfSession, MIPrefetchStatistics> fgSessionStatistics = new WeakHashMap<>();
+
+	private final Map<String, LatencyHistogram> fTimeToPopulated = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the prefetch statistics of the given session.
+	 */
+	public static MIPrefetchStatistics getStatistics(DsfSession session) {
+		synchronized (fgSessionStatistics) {
+			return fgSessionStatistics.computeIfAbsent(session, s -> new MIPrefetchStatistics());
+		}
+	}
+
+	/**
+	 * Returns the histogram of the time from a stop to the data of the given kind being
+	 * cached, in nanoseconds.
+	 *
+	 * @param kind one of {@link #STACK}, {@link #VARIABLES} or {@link #REGISTERS}
+	 */
+	public LatencyHistogram getTimeToPopulated(String kind) {
+		return fTimeToPopulated.computeIfAbsent(kind, k -> new LatencyHistogram());
+	}
+
+	/** Clears all statistics */
+	public void reset() {
+		fTimeToPopulated.clear();
+	}
+
+	void populated(String kind, long nanos) {
+		getTimeToPopulated(kind).record(nanos);
+	}
+
+	/**
+	 * Appends the statistics as a JSON object to the given buffer.
+	 */
+	public void appendJSON(StringBuilder buf) {
+		buf.append("{\"timeToPopulated\":{"); //$NON-NLS-1$
+		boolean first = true;
+		for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(fTimeToPopulated).entrySet()) {
+			if (!first) {
+				buf.append(',');
+			}
+			first = false;
+			JSONUtils.appendString(buf, entry.getKey());
+			buf.append(':');
+			entry.getValue().appendJSON(buf);
+		}
+		buf.append("}}"); //$NON-NLS-1$
+	}
+}
@@ -24,12 +24,15 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
+import org.eclipse.cdt.dsf.datamodel.CompositeDMContext;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
 import org.eclipse.cdt.dsf.debug.service.ICachingService;
@@ -256,6 +259,8 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	private CommandCache fRegisterNameCache; // Cache for holding the Register Names in the single Group
 	private CommandCache fRegisterValueCache; // Cache for holding the Register Values
 
+	private MIPrefetchSettings fPrefetchSettings; // Which registers to request as soon as a thread stops
+
 	public MIRegisters(DsfSession session) {
 		super(session);
 	}
@@ -299,6 +304,8 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 		fRegisterNameCache = new CommandCache(getSession(), commandControl);
 		fRegisterNameCache.setContextAvailable(commandControl.getContext(), true);
 
+		fPrefetchSettings = MIPrefetchSettings.fromLaunch(getSession());
+
 		/*
 		 * Sign up so we see events. We use these events to decide how to manage
 		 * any local caches we are providing as well as the lower level register
@@ -599,6 +606,82 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	public void eventDispatched(IRunControl.ISuspendedDMEvent e) {
 		fRegisterValueCache.setContextAvailable(e.getDMContext(), true);
 		fRegisterValueCache.reset();
+
+		prefetchRegisters(e);
+	}
+
+	/**
+	 * Requests the values of the first registers in the top frame of the thread that
+	 * stopped, so that the Registers view finds them cached when it asks.
+	 */
+	private void prefetchRegisters(IRunControl.ISuspendedDMEvent e) {
+		final int count = fPrefetchSettings.getRegisters();
+		final IMIExecutionDMContext execDmc = MIPrefetchSettings.getStoppedThread(e);
+		if (count <= 0 || execDmc == null) {
+			return;
+		}
+
+		final long stopTime = System.nanoTime();
+		// Let all services process the event first, so that the stack service
+		// knows the top frame of this stop
+		getExecutor().execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				IStack stackService = getServicesTracker().getService(IStack.class);
+				if (stackService == null) {
+					return;
+				}
+				stackService.getTopFrame(execDmc, new ImmediateDataRequestMonitor<IFrameDMContext>() {
+					@Override
+					protected void handleCompleted() {
+						if (isSuccess()) {
+							prefetchRegisters(getData(), count, stopTime);
+						}
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Requests the values of the given number of registers in a frame the way the Registers
+	 * view requests them, and records the time since the stop once all requests have completed.
+	 * The single register requests are coalesced into one command per format.
+	 */
+	void prefetchRegisters(final IFrameDMContext frameDmc, final int count, final long stopTime) {
+		final RequestMonitor rm = new RequestMonitor(getExecutor(), null) {
+			@Override
+			protected void handleCompleted() {
+				// Errors are reported again if a view asks for the register
+				MIPrefetchStatistics.getStatistics(getSession()).populated(MIPrefetchStatistics.REGISTERS,
+						System.nanoTime() - stopTime);
+			}
+		};
+		getRegisterGroups(frameDmc, new DataRequestMonitor<IRegisterGroupDMContext[]>(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				if (getData().length == 0) {
+					rm.done();
+					return;
+				}
+				IDMContext groupDmc = new CompositeDMContext(new IDMContext[] { getData()[0], frameDmc });
+				getRegisters(groupDmc, new DataRequestMonitor<IRegisterDMContext[]>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						IRegisterDMContext[] registers = getData() != null ? getData() : new IRegisterDMContext[0];
+						int prefetched = Math.min(count, registers.length);
+						CountingRequestMonitor crm = new CountingRequestMonitor(getExecutor(), rm);
+						for (int i = 0; i < prefetched; i++) {
+							// The format of getRegisterData() and the default format of the view
+							getRegisterData(registers[i], new DataRequestMonitor<IRegisterDMData>(getExecutor(), crm));
+							getFormattedExpressionValue(getFormattedValueContext(registers[i], NATURAL_FORMAT),
+									new DataRequestMonitor<FormattedValueDMData>(getExecutor(), crm));
+						}
+						crm.setDoneCount(2 * prefetched);
+					}
+				});
+			}
+		});
 	}
 
 	/**
@@ -27,6 +27,7 @@ import java.util.Map;
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
@@ -343,6 +344,9 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 	 */
 	private boolean fTraceVisualization;
 
+	/** Which data to request as soon as a thread stops */
+	private MIPrefetchSettings fPrefetchSettings;
+
 	/**
 	 * A Map of a return value for each thread.
 	 * A return value is stored when the user performs a step-return,
@@ -468,6 +472,7 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		fRunControl = getServicesTracker().getService(IRunControl.class);
 
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
+		fPrefetchSettings = MIPrefetchSettings.fromLaunch(getSession());
 
 		getSession().addServiceEventListener(this, null);
 		register(new String[] { IStack.class.getName(), MIStack.class.getName() }, new Hashtable<String, String>());
@@ -1179,6 +1184,68 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		fFramesCache.clear();
 
 		handleReturnValues(e);
+		prefetchFrames(e);
+	}
+
+	/**
+	 * Requests the frames of the thread that stopped, so that the Debug view finds them
+	 * cached, or at least already requested, when it asks.
+	 */
+	private void prefetchFrames(ISuspendedDMEvent e) {
+		final int frames = fPrefetchSettings.getFrames();
+		final IMIExecutionDMContext execDmc = MIPrefetchSettings.getStoppedThread(e);
+		if (frames <= 0 || execDmc == null) {
+			return;
+		}
+
+		final long stopTime = System.nanoTime();
+		// Let all services process the event first, as that is when
+		// they stop using the data of the previous stop
+		getExecutor().execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				prefetchFrames(execDmc, frames, stopTime);
+			}
+		});
+	}
+
+	/**
+	 * Requests the given number of frames of a thread, and records the time since the stop
+	 * once all requests have completed. The frames are requested the way the Debug view
+	 * requests them, with the depth limited to these frames. Their data is listed with a
+	 * single bounded -stack-list-frames, the top frame comes from the stopped event.
+	 */
+	void prefetchFrames(final IMIExecutionDMContext execDmc, final int frames, final long stopTime) {
+		CountingRequestMonitor crm = new CountingRequestMonitor(getExecutor(), null) {
+			@Override
+			protected void handleCompleted() {
+				// Errors are reported again if a view asks for that data
+				MIPrefetchStatistics.getStatistics(getSession()).populated(MIPrefetchStatistics.STACK,
+						System.nanoTime() - stopTime);
+			}
+		};
+		getFrames(execDmc, 0, frames - 1, new DataRequestMonitor<IFrameDMContext[]>(getExecutor(), crm));
+		if (frames > 1) {
+			listFrames(execDmc, 1, frames - 1, crm);
+			crm.setDoneCount(2);
+		} else {
+			crm.setDoneCount(1);
+		}
+	}
+
+	/**
+	 * Lists the data of the frames from level <code>low</code> to level <code>high</code>
+	 * of a thread into the frames cache, where {@link #getFrameData} finds it.
+	 */
+	void listFrames(final IMIExecutionDMContext execDmc, int low, int high, final RequestMonitor rm) {
+		fMICommandCache.execute(createMIStackListFrames(execDmc, low, high),
+				new DataRequestMonitor<MIStackListFramesInfo>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						fFramesCache.update(execDmc.getThreadId(), getData());
+						rm.done();
+					}
+				});
 	}
 
 	private void handleReturnValues(ISuspendedDMEvent e) {
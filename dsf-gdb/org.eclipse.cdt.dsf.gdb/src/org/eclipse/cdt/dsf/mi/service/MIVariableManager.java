@@ -35,11 +35,13 @@ import java.util.Map;
 
 import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.debug.service.IExpressions;
 import org.eclipse.cdt.dsf.debug.service.IExpressions.IExpressionDMContext;
+import org.eclipse.cdt.dsf.debug.service.IExpressions.IExpressionDMData;
 import org.eclipse.cdt.dsf.debug.service.IExpressions.IIndexedPartitionDMContext;
 import org.eclipse.cdt.dsf.debug.service.IExpressions2.ICastedExpressionDMContext;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
@@ -50,6 +52,8 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
 import org.eclipse.cdt.dsf.debug.service.IStack;
 import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
+import org.eclipse.cdt.dsf.debug.service.IStack.IVariableDMContext;
+import org.eclipse.cdt.dsf.debug.service.IStack.IVariableDMData;
 import org.eclipse.cdt.dsf.debug.service.command.ICommand;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
@@ -2642,6 +2646,9 @@ public class MIVariableManager implements ICommandControl {
 	/** The list of root variable objects that have been updated */
 	private final LinkedList<MIRootVariableObject> updatedRootList = new LinkedList<>();
 
+	/** Which data to request as soon as a thread stops */
+	private final MIPrefetchSettings fPrefetchSettings;
+
 	/**
 	 * MIVariableManager constructor
 	 *
@@ -2657,6 +2664,7 @@ public class MIVariableManager implements ICommandControl {
 		fStackService = tracker.getService(IStack.class);
 		fExpressionService = tracker.getService(IExpressions.class);
 		fCommandFactory = tracker.getService(IMICommandControl.class).getCommandFactory();
+		fPrefetchSettings = MIPrefetchSettings.fromLaunch(session);
 
 		// Register to receive service events for this session.
 		fSession.addServiceEventListener(this, null);
@@ -3164,6 +3172,80 @@ public class MIVariableManager implements ICommandControl {
 
 	@DsfServiceEventHandler
 	public void eventDispatched(IRunControl.ISuspendedDMEvent e) {
+		final int count = fPrefetchSettings.getVariables();
+		final IMIExecutionDMContext execDmc = MIPrefetchSettings.getStoppedThread(e);
+		if (count <= 0 || execDmc == null || fExpressionService == null) {
+			return;
+		}
+
+		final long stopTime = System.nanoTime();
+		// Let all services process the event first, as that is when
+		// they stop using the data of the previous stop
+		fSession.getExecutor().execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				fStackService.getTopFrame(execDmc,
+						new DataRequestMonitor<IFrameDMContext>(fSession.getExecutor(), null) {
+							@Override
+							protected void handleCompleted() {
+								if (isSuccess()) {
+									prefetchVariables(getData(), count, stopTime);
+								}
+							}
+						});
+			}
+		});
+	}
+
+	/**
+	 * Requests the variables of the given frame the way the Variables view does, so
+	 * that the view finds the variable objects created and their values cached, or at
+	 * least already requested, when it asks. The time since the stop is recorded once
+	 * all requests have completed.
+	 */
+	void prefetchVariables(final IFrameDMContext frameDmc, final int count, final long stopTime) {
+		final RequestMonitor rm = new RequestMonitor(fSession.getExecutor(), null) {
+			@Override
+			protected void handleCompleted() {
+				// Errors, e.g. for variables which are not initialized yet, are
+				// reported again if the view asks for the same data
+				MIPrefetchStatistics.getStatistics(fSession).populated(MIPrefetchStatistics.VARIABLES,
+						System.nanoTime() - stopTime);
+			}
+		};
+		fStackService.getLocals(frameDmc, new DataRequestMonitor<IVariableDMContext[]>(fSession.getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				IVariableDMContext[] variables = getData();
+				int prefetched = Math.min(count, variables.length);
+				final CountingRequestMonitor crm = new CountingRequestMonitor(fSession.getExecutor(), rm);
+				for (int i = 0; i < prefetched; i++) {
+					fStackService.getVariableData(variables[i],
+							new DataRequestMonitor<IVariableDMData>(fSession.getExecutor(), crm) {
+								@Override
+								protected void handleSuccess() {
+									prefetchExpression(frameDmc, getData().getName(), crm);
+								}
+							});
+				}
+				crm.setDoneCount(prefetched);
+			}
+		});
+	}
+
+	private void prefetchExpression(IFrameDMContext frameDmc, String name, RequestMonitor rm) {
+		if (name == null) {
+			rm.done();
+			return;
+		}
+		IExpressionDMContext exprDmc = fExpressionService.createExpression(frameDmc, name);
+		CountingRequestMonitor crm = new CountingRequestMonitor(fSession.getExecutor(), rm);
+		fExpressionService.getExpressionData(exprDmc,
+				new DataRequestMonitor<IExpressionDMData>(fSession.getExecutor(), crm));
+		fExpressionService.getFormattedExpressionValue(
+				fExpressionService.getFormattedValueContext(exprDmc, IFormattedValues.NATURAL_FORMAT),
+				new DataRequestMonitor<FormattedValueDMData>(fSession.getExecutor(), crm));
+		crm.setDoneCount(2);
 	}
 
 	@DsfServiceEventHandler
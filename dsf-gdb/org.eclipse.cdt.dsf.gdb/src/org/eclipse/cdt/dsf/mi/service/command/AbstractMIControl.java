@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.mi.service.command;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -35,6 +36,7 @@ import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.dsf.concurrent.ConfinedToDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
@@ -52,6 +54,7 @@ import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
 import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
 import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.service.command.GdbSessionStatistics;
 import org.eclipse.cdt.dsf.mi.service.IMICommandControl;
 import org.eclipse.cdt.dsf.mi.service.IMIContainerDMContext;
 import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
@@ -70,6 +73,7 @@ import org.eclipse.cdt.dsf.mi.service.command.output.MIValue;
 import org.eclipse.cdt.dsf.service.AbstractDsfService;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
@@ -85,7 +89,6 @@ import com.ibm.icu.text.MessageFormat;
  */
 public abstract class AbstractMIControl extends AbstractDsfService implements IMICommandControl {
 	private static final String MI_TRACE_IDENTIFIER = "[MI]"; //$NON-NLS-1$
-	private static final int NUMBER_CONCURRENT_COMMANDS = 3;
 	private static final int DEVELOPMENT_TRACE_LIMIT_CHARS = 5000;
 
 	/*
@@ -118,6 +121,25 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	 */
 	private final CommandHandle fTerminatorHandle = new CommandHandle(null, null);
 
+	/**
+	 * The number of commands that have been handed to the TX thread and are awaiting their result.
+	 * RawCommands are not counted since they never get a result.
+	 */
+	private final AtomicInteger fInFlightCommands = new AtomicInteger();
+
+	/**
+	 * The maximum number of commands that can be in flight, see {@link #setMaxInFlightCommands(int)}.
+	 */
+	private int fMaxInFlightCommands = IGdbDebugPreferenceConstants.MAX_MI_COMMANDS_IN_FLIGHT_DEFAULT;
+
+	/**
+	 * Whether the window has been set by {@link #setMaxInFlightCommands(int)}, in which case the
+	 * preference is not applied.
+	 */
+	private boolean fMaxInFlightCommandsOverridden;
+
+	private final MICommandStatistics fStatistics = new MICommandStatistics();
+
 	/*
 	 *   Various listener control variables used to keep track of listeners who want to monitor
 	 *   what the control object is doing.
@@ -212,6 +234,40 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		}
 	}
 
+	/**
+	 * Returns the maximum number of commands that are sent to the back end before
+	 * the result of the first of them has been received.
+	 * @since 6.0
+	 */
+	public int getMaxInFlightCommands() {
+		return fMaxInFlightCommands;
+	}
+
+	/**
+	 * Sets the maximum number of commands that are sent to the back end before the result
+	 * of the first of them has been received. A larger window hides the round trip time to
+	 * the back end, which matters for remote targets, while the commands held back in the
+	 * queue can still be removed or coalesced by the services. The default is taken from
+	 * {@link IGdbDebugPreferenceConstants#PREF_MAX_MI_COMMANDS_IN_FLIGHT} when the command
+	 * processing starts, unless this method has been called before, e.g. from
+	 * <code>initialize()</code>.
+	 *
+	 * @param max the size of the window, values smaller than one are treated as one
+	 * @since 6.0
+	 */
+	protected void setMaxInFlightCommands(int max) {
+		fMaxInFlightCommands = Math.max(1, max);
+		fMaxInFlightCommandsOverridden = true;
+	}
+
+	/**
+	 * Returns the statistics about the commands exchanged with the back end.
+	 * @since 6.0
+	 */
+	public MICommandStatistics getCommandStatistics() {
+		return fStatistics;
+	}
+
 	/**
 	 * @since 3.0
 	 */
@@ -245,6 +301,12 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	 */
 	protected void startCommandProcessing(InputStream inStream, OutputStream outStream, InputStream errorStream) {
 
+		if (!fMaxInFlightCommandsOverridden) {
+			fMaxInFlightCommands = Math.max(1, Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+					IGdbDebugPreferenceConstants.PREF_MAX_MI_COMMANDS_IN_FLIGHT,
+					IGdbDebugPreferenceConstants.MAX_MI_COMMANDS_IN_FLIGHT_DEFAULT, null));
+		}
+
 		fTxThread = new TxThread(outStream);
 		fRxThread = new RxThread(inStream);
 
@@ -279,6 +341,12 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			return;
 		fStoppedCommandProcessing = true;
 
+		if (GdbDebugOptions.DEBUG_COMMAND_STATISTICS) {
+			// The JSON holds the statistics of the whole session, the MI ones included
+			GdbDebugOptions.trace(String.format("%s %s MI command statistics:\n%s%s\n", GdbPlugin.getDebugTime(), //$NON-NLS-1$
+					MI_TRACE_IDENTIFIER, fStatistics, GdbSessionStatistics.toJSON(getSession())), -1);
+		}
+
 		/*
 		 *  First go through the commands which have been queueud and not yet sent to the backend.
 		 */
@@ -319,6 +387,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			commandHandle.getRequestMonitor().done();
 		}
 		fRxCommands.clear();
+		fInFlightCommands.set(0);
 	}
 
 	/**
@@ -353,21 +422,21 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			rm.done();
 		} else {
 			/*
-			 *  We only allow three outstanding commands to be on the wire to the backend
-			 *  at any one time. This allows for coalescing as well as canceling
+			 *  We only allow a bounded number of outstanding commands to be on the wire to
+			 *  the backend at any one time. This allows for coalescing as well as canceling
 			 *  existing commands on a state change. So we add it to the waiting list and let
 			 *  the user know they can now work with this item if need be.
 			 */
 			fCommandQueue.add(handle);
 			processCommandQueued(handle);
 
-			if (fRxCommands.size() < NUMBER_CONCURRENT_COMMANDS) {
+			if (fInFlightCommands.get() < fMaxInFlightCommands) {
 				// In a separate dispatch cycle.  This allows command listeners
 				// to respond to the command queued event.
 				getExecutor().execute(new DsfRunnable() {
 					@Override
 					public void run() {
-						processNextQueuedCommand();
+						processQueuedCommands();
 					}
 				});
 			}
@@ -376,6 +445,16 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		return handle;
 	}
 
+	/**
+	 * Hands the queued commands to the TX thread until the queue is empty or
+	 * the window of in-flight commands is full.
+	 */
+	private void processQueuedCommands() {
+		while (!fCommandQueue.isEmpty() && fInFlightCommands.get() < fMaxInFlightCommands) {
+			processNextQueuedCommand();
+		}
+	}
+
 	private void processNextQueuedCommand() {
 		if (!fCommandQueue.isEmpty()) {
 			final CommandHandle handle = fCommandQueue.remove(0);
@@ -407,7 +486,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIThreadSelect(targetContext, targetThread), null);
 							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
+							transmit(cmdHandle);
 						}
 
 						// Before the command is sent, Check the Stack level and send it to
@@ -417,7 +496,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIStackSelectFrame(targetContext, targetFrame), null);
 							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
+							transmit(cmdHandle);
 						}
 					}
 				}
@@ -428,11 +507,30 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 					// need a token id.  In fact, GDB will fail if we send one in this case.
 					handle.generateTokenId();
 				}
-				fTxCommands.add(handle);
+				transmit(handle);
 			}
 		}
 	}
 
+	private void transmit(CommandHandle handle) {
+		if (!(handle.getCommand() instanceof RawCommand)) {
+			fInFlightCommands.incrementAndGet();
+		}
+		fTxCommands.add(handle);
+	}
+
+	/**
+	 * Called when the given command is no longer awaiting a result.
+	 * @param time the time the result was received, as given by {@link System#nanoTime()}
+	 */
+	private void commandCompleted(CommandHandle handle, boolean error, long time) {
+		fInFlightCommands.decrementAndGet();
+		long sentTime = handle.fSentTime;
+		if (sentTime != 0) {
+			fStatistics.commandCompleted(handle.getOperationClass(), time - sentTime, error);
+		}
+	}
+
 	/*
 	 *   This is the command which allows the user to retract a previously issued command. The
 	 *   state of the command  is that it is in the waiting queue  and has not yet been handed
@@ -625,6 +723,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		private MICommand<MIInfo> fCommand;
 		private DataRequestMonitor<MIInfo> fRequestMonitor;
 		private int fTokenId;
+		private volatile long fSentTime;
 
 		CommandHandle(MICommand<MIInfo> c, DataRequestMonitor<MIInfo> d) {
 			fCommand = c;
@@ -675,6 +774,16 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			return null;
 		}
 
+		/**
+		 * Returns the MI operation the statistics of this command are accounted to. CLI commands
+		 * are accounted to their first word, e.g. all "info ..." commands to "info".
+		 */
+		String getOperationClass() {
+			String operation = fCommand.getOperation();
+			int end = operation.indexOf(' ');
+			return end < 0 ? operation : operation.substring(0, end);
+		}
+
 		@Override
 		public String toString() {
 			return Integer.toString(fTokenId) + fCommand;
@@ -687,82 +796,63 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	 *  makes it easier from state management.  Whomever fill this pipeline handles all of
 	 *  the required state notification ( callbacks ). This thread simply physically gives
 	 *  the message to the backend.
+	 *
+	 *  All the commands that are available when the thread wakes up are written as one
+	 *  batch and the stream is flushed once at the end of it, so that a burst of commands
+	 *  reaches the backend together instead of one write per command.  The results are
+	 *  matched to their commands by token in the RX thread.
 	 */
 
 	private class TxThread extends Thread {
 
 		final private OutputStream fOutputStream;
+		private final List<CommandHandle> fBatch = new ArrayList<>();
 
 		public TxThread(OutputStream outStream) {
 			super("MI TX Thread"); //$NON-NLS-1$
-			fOutputStream = outStream;
+			// Buffer the stream so that a batch reaches the backend with a single write
+			fOutputStream = outStream != null ? new BufferedOutputStream(outStream) : null;
 		}
 
 		@Override
 		public void run() {
-			while (true) {
-				CommandHandle commandHandle = null;
-
+			boolean shutdown = false;
+			while (!shutdown) {
+				fBatch.clear();
 				try {
-					commandHandle = fTxCommands.take();
+					fBatch.add(fTxCommands.take());
 				} catch (InterruptedException e) {
 					break; // Shutting down.
 				}
+				fTxCommands.drainTo(fBatch);
 
-				if (commandHandle == fTerminatorHandle) {
-					// There is a small possibility that a new command was inserted
-					// in the fRxCommands map after we cleared that map.
-					// Just to be safe, clear it again.
-					// We do this to avoid synchronizing the handling of fRxCommands
-					// because this is more efficient, as it happens only once at shutdown.
-					cancelRxCommands();
-					break; // Null command is an indicator that we're shutting down.
-				}
-
-				/*
-				 *  We note that this is an outstanding request at this point.
-				 */
-				if (!(commandHandle.getCommand() instanceof RawCommand)) {
-					// RawCommands will not get an answer, so we cannot put them in the receive queue.
-					fRxCommands.put(commandHandle.getTokenId(), commandHandle);
-				}
-
-				/*
-				 *   Construct the new command and push this command out the pipeline.
-				 */
-
-				final String str;
-				if (commandHandle.getCommand() instanceof RawCommand) {
-					// RawCommands CANNOT have a token id: GDB would read it as part of the RawCommand!
-					str = commandHandle.getCommand().constructCommand();
-				} else if (fUseThreadGroupOption) {
-					// Implies that fUseThreadAndFrameOptions == true
-					str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand(
-							commandHandle.getGroupId(), commandHandle.getThreadId(), commandHandle.getStackFrameId());
-				} else if (fUseThreadAndFrameOptions) {
-					str = commandHandle.getTokenId() + commandHandle.getCommand()
-							.constructCommand(commandHandle.getThreadId(), commandHandle.getStackFrameId());
-				} else {
-					str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand();
-				}
-
+				int count = 0;
 				try {
-					if (fOutputStream != null) {
-
-						if (GdbDebugOptions.DEBUG) {
-							GdbDebugOptions.trace(
-									String.format("%s %s  %s", GdbPlugin.getDebugTime(), MI_TRACE_IDENTIFIER, str)); //$NON-NLS-1$
+					for (CommandHandle commandHandle : fBatch) {
+						if (commandHandle == fTerminatorHandle) {
+							// There is a small possibility that a new command was inserted
+							// in the fRxCommands map after we cleared that map.
+							// Just to be safe, clear it again.
+							// We do this to avoid synchronizing the handling of fRxCommands
+							// because this is more efficient, as it happens only once at shutdown.
+							cancelRxCommands();
+							shutdown = true; // Null command is an indicator that we're shutting down.
+							break;
 						}
-						writeToTracingStream(true, str);
+						send(commandHandle);
+						count++;
+					}
 
-						fOutputStream.write(str.getBytes());
+					if (fOutputStream != null && count > 0) {
 						fOutputStream.flush();
+						fStatistics.batchSent(count, fRxCommands.size());
 					}
 				} catch (IOException e) {
 					// Shutdown thread in case of IO error.
 					break;
 				}
 			}
+			fBatch.clear();
 			// Must close the stream here to avoid leaking
 			// Bug 345164 and Bug 339379
 			try {
@@ -771,6 +861,47 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			} catch (IOException e) {
 			}
 		}
+
+		private void send(CommandHandle commandHandle) throws IOException {
+			/*
+			 *  We note that this is an outstanding request at this point.
+			 */
+			if (!(commandHandle.getCommand() instanceof RawCommand)) {
+				// RawCommands will not get an answer, so we cannot put them in the receive queue.
+				commandHandle.fSentTime = System.nanoTime();
+				fRxCommands.put(commandHandle.getTokenId(), commandHandle);
+			}
+
+			/*
+			 *   Construct the new command and push this command out the pipeline.
+			 */
+
+			final String str;
+			if (commandHandle.getCommand() instanceof RawCommand) {
+				// RawCommands CANNOT have a token id: GDB would read it as part of the RawCommand!
+				str = commandHandle.getCommand().constructCommand();
+			} else if (fUseThreadGroupOption) {
+				// Implies that fUseThreadAndFrameOptions == true
+				str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand(
+						commandHandle.getGroupId(), commandHandle.getThreadId(), commandHandle.getStackFrameId());
+			} else if (fUseThreadAndFrameOptions) {
+				str = commandHandle.getTokenId() + commandHandle.getCommand()
+						.constructCommand(commandHandle.getThreadId(), commandHandle.getStackFrameId());
+			} else {
+				str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand();
+			}
+
+			if (fOutputStream != null) {
+
+				if (GdbDebugOptions.DEBUG) {
+					GdbDebugOptions.trace(
+							String.format("%s %s  %s", GdbPlugin.getDebugTime(), MI_TRACE_IDENTIFIER, str)); //$NON-NLS-1$
+				}
+				writeToTracingStream(true, str);
+
+				fOutputStream.write(str.getBytes());
+			}
+		}
 	}
 
 	private class RxThread extends Thread {
@@ -956,7 +1087,9 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			MIParser.RecordType recordType = fMiParser.getRecordType(line);
 
 			if (recordType == MIParser.RecordType.ResultRecord) {
+				final long receivedTime = System.nanoTime();
 				final MIResultRecord rr = fMiParser.parseMIResultRecord(line);
+				fStatistics.recordParsed(System.nanoTime() - receivedTime);
 
 				/*
 				 *  Find the command in the current output list. If we cannot then this is
@@ -967,6 +1100,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 				final CommandHandle commandHandle = fRxCommands.remove(id);
 
 				if (commandHandle != null) {
+					commandCompleted(commandHandle, MIResultRecord.ERROR.equals(rr.getResultClass()), receivedTime);
+
 					final MIOutput response = new MIOutput(rr,
 							fAccumulatedOOBRecords.toArray(new MIOOBRecord[fAccumulatedOOBRecords.size()]));
 					fAccumulatedOOBRecords.clear();
@@ -1002,6 +1137,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 						getExecutor().execute(new DsfRunnable() {
 							@Override
 							public void run() {
+								fStatistics.resultDispatched(System.nanoTime() - receivedTime);
+
 								/*
 								 *  Complete the specific command.
 								 */
@@ -1031,6 +1168,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 						getExecutor().execute(new DsfRunnable() {
 							@Override
 							public void run() {
+								fStatistics.resultDispatched(System.nanoTime() - receivedTime);
 								processCommandDone(commandHandle, finalResult);
 							}
 
@@ -1063,7 +1201,9 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 				}
 			} else if (recordType == MIParser.RecordType.OOBRecord) {
 				// Process OOBs
+				long parseStartTime = System.nanoTime();
 				final MIOOBRecord oob = fMiParser.parseMIOOBRecord(line);
+				fStatistics.recordParsed(System.nanoTime() - parseStartTime);
 
 				fAccumulatedOOBRecords.add(oob);
 				// limit growth, but only if these are not responses to CLI commands
@@ -1110,7 +1250,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			getExecutor().execute(new DsfRunnable() {
 				@Override
 				public void run() {
-					processNextQueuedCommand();
+					processQueuedCommands();
 				}
 			});
 		}
@@ -1200,6 +1340,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		if (h == null)
 			// Command has already been processed by RxThread.
 			return;
+		commandCompleted(commandHandle, true, System.nanoTime());
 
 		MIConst value = new MIConst();
 		value.setCString(errorMessage);
@@ -1225,5 +1366,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			 */
 			processCommandDone(commandHandle, info);
 		}
+
+		// The command no longer occupies the window, let the next one go.
+		processQueuedCommands();
 	}
 }
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.LatencyHistogram;
+import org.eclipse.cdt.dsf.internal.JSONUtils;
+
+/**
+ * Statistics about the MI commands exchanged with the back end by an {@link AbstractMIControl}.
+ * The latency of a command is the time between the command being written to the back end and
+ * its result record being received. Commands are grouped by their MI operation, e.g.
+ * <code>-stack-list-frames</code>. In addition the time spent parsing the output of the
+ * back end and the time a received result waited for the DSF executor are recorded, so
+ * that the time spent in the back end can be told apart from the time spent in the
+ * command control.
+ * <p>
+ * The instance is updated by the transmit and receive threads of the command control and
+ * can be read from any thread.
+ *
+ * @since 6.0
+ */
+public class MICommandStatistics {
+
+	/**
+	 * The statistics of one MI operation.
+	 */
+	public static final class Entry {
+		private final String fOperation;
+		private final LatencyHistogram fLatency;
+		private final long fErrors;
+
+		Entry(String operation, LatencyHistogram latency, long errors) {
+			fOperation = operation;
+			fLatency = latency;
+			fErrors = errors;
+		}
+
+		/** Returns the MI operation, e.g. <code>-stack-list-frames</code> */
+		public String getOperation() {
+			return fOperation;
+		}
+
+		/** Returns the number of completed commands, including the failed ones */
+		public long getCount() {
+			return fLatency.getCount();
+		}
+
+		/** Returns the number of commands that completed with an error or timed out */
+		public long getErrorCount() {
+			return fErrors;
+		}
+
+		/** Returns the average latency in nanoseconds */
+		public long getAverageLatency() {
+			return fLatency.getMean();
+		}
+
+		/** Returns the maximum latency in nanoseconds */
+		public long getMaxLatency() {
+			return fLatency.getMax();
+		}
+
+		/** Returns the histogram of the latency of the commands */
+		public LatencyHistogram getLatency() {
+			return fLatency;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-32s %8d %6d %10.3f %10.3f %10.3f", fOperation, getCount(), fErrors, //$NON-NLS-1$
+					toMillis(getAverageLatency()), toMillis(fLatency.getPercentile(90)), toMillis(getMaxLatency()));
+		}
+	}
+
+	private static final class Counter {
+		final LatencyHistogram latency = new LatencyHistogram();
+		long errors;
+	}
+
+	private final long fStartTime = System.nanoTime();
+	private final Map<String, Counter> fCounters = new HashMap<>();
+	private long fCompleted;
+	private long fSent;
+	private long fFlushes;
+	private int fMaxInFlight;
+	private final LatencyHistogram fParseTime = new LatencyHistogram();
+	private final LatencyHistogram fDispatchDelay = new LatencyHistogram();
+
+	/**
+	 * Records that a batch of commands has been written to the back end with a single flush.
+	 *
+	 * @param count the number of commands in the batch
+	 * @param inFlight the number of commands awaiting a result after the batch was written
+	 */
+	synchronized void batchSent(int count, int inFlight) {
+		fSent += count;
+		fFlushes++;
+		if (inFlight > fMaxInFlight) {
+			fMaxInFlight = inFlight;
+		}
+	}
+
+	/**
+	 * Records the completion of a command.
+	 *
+	 * @param operation the MI operation of the command
+	 * @param latency the latency in nanoseconds
+	 * @param error whether the command completed with an error
+	 */
+	synchronized void commandCompleted(String operation, long latency, boolean error) {
+		Counter counter = fCounters.get(operation);
+		if (counter == null) {
+			counter = new Counter();
+			fCounters.put(operation, counter);
+		}
+		counter.latency.record(latency);
+		if (error) {
+			counter.errors++;
+		}
+		fCompleted++;
+	}
+
+	/**
+	 * Records the time spent parsing a record of the output of the back end.
+	 */
+	void recordParsed(long nanos) {
+		fParseTime.record(nanos);
+	}
+
+	/**
+	 * Records the time between the reception of a result and the processing of it
+	 * in the DSF executor.
+	 */
+	void resultDispatched(long nanos) {
+		fDispatchDelay.record(nanos);
+	}
+
+	/**
+	 * Returns the histogram of the time spent parsing the records of the output of the back end.
+	 */
+	public LatencyHistogram getParseTime() {
+		return fParseTime;
+	}
+
+	/**
+	 * Returns the histogram of the time results waited for the DSF executor after
+	 * they had been received.
+	 */
+	public LatencyHistogram getDispatchDelay() {
+		return fDispatchDelay;
+	}
+
+	/**
+	 * Returns the number of commands that have completed.
+	 */
+	public synchronized long getCompletedCount() {
+		return fCompleted;
+	}
+
+	/**
+	 * Returns the number of commands that have been written to the back end.
+	 */
+	public synchronized long getSentCount() {
+		return fSent;
+	}
+
+	/**
+	 * Returns the number of times the stream to the back end was flushed. Compared to
+	 * {@link #getSentCount()} this tells how well the commands were batched.
+	 */
+	public synchronized long getFlushCount() {
+		return fFlushes;
+	}
+
+	/**
+	 * Returns the highest number of commands that were awaiting a result at the same time.
+	 */
+	public synchronized int getMaxInFlight() {
+		return fMaxInFlight;
+	}
+
+	/**
+	 * Returns the number of completed commands per second since the command control started.
+	 */
+	public synchronized double getCommandsPerSecond() {
+		long elapsed = System.nanoTime() - fStartTime;
+		return elapsed <= 0 ? 0 : fCompleted * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+	}
+
+	/**
+	 * Returns the statistics per MI operation, sorted by operation.
+	 */
+	public synchronized List<Entry> getEntries() {
+		List<Entry> entries = new ArrayList<>(fCounters.size());
+		for (Map.Entry<String, Counter> e : fCounters.entrySet()) {
+			Counter c = e.getValue();
+			entries.add(new Entry(e.getKey(), c.latency, c.errors));
+		}
+		Collections.sort(entries, (a, b) -> a.getOperation().compareTo(b.getOperation()));
+		return entries;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buf = new StringBuilder();
+		synchronized (this) {
+			buf.append(String.format("%d commands completed, %.1f commands/s, %d sent in %d flushes, max in flight %d\n", //$NON-NLS-1$
+					fCompleted, getCommandsPerSecond(), fSent, fFlushes, fMaxInFlight));
+		}
+		buf.append(String.format("parse %.3f ms avg, dispatch delay %.3f ms avg\n", //$NON-NLS-1$
+				toMillis(fParseTime.getMean()), toMillis(fDispatchDelay.getMean())));
+		buf.append(String.format("%-32s %8s %6s %10s %10s %10s\n", "operation", "count", "errors", "avg ms", "p90 ms", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+				"max ms")); //$NON-NLS-1$
+		for (Entry entry : getEntries()) {
+			buf.append(entry).append('\n');
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Appends the statistics as a JSON object to the given buffer.
+	 */
+	public void appendJSON(StringBuilder buf) {
+		synchronized (this) {
+			buf.append("{\"completed\":").append(fCompleted); //$NON-NLS-1$
+			buf.append(",\"commandsPerSecond\":") //$NON-NLS-1$
+					.append(String.format(Locale.ROOT, "%.1f", getCommandsPerSecond())); //$NON-NLS-1$
+			buf.append(",\"sent\":").append(fSent); //$NON-NLS-1$
+			buf.append(",\"flushes\":").append(fFlushes); //$NON-NLS-1$
+			buf.append(",\"maxInFlight\":").append(fMaxInFlight); //$NON-NLS-1$
+		}
+		buf.append(",\"parseTime\":"); //$NON-NLS-1$
+		fParseTime.appendJSON(buf);
+		buf.append(",\"dispatchDelay\":"); //$NON-NLS-1$
+		fDispatchDelay.appendJSON(buf);
+		buf.append(",\"operations\":{"); //$NON-NLS-1$
+		boolean first = true;
+		for (Entry entry : getEntries()) {
+			if (!first) {
+				buf.append(',');
+			}
+			first = false;
+			JSONUtils.appendString(buf, entry.getOperation());
+			buf.append(":{\"errors\":").append(entry.getErrorCount()).append(",\"latency\":"); //$NON-NLS-1$ //$NON-NLS-2$
+			entry.getLatency().appendJSON(buf);
+			buf.append('}');
+		}
+		buf.append("}}"); //$NON-NLS-1$
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1e6;
+	}
+}
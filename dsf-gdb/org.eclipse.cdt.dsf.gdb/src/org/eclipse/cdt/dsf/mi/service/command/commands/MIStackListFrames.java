@@ -16,6 +16,8 @@
 
 package org.eclipse.cdt.dsf.mi.service.command.commands;
 
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
 import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListFramesInfo;
@@ -54,12 +56,89 @@ import org.eclipse.cdt.dsf.mi.service.command.output.MIStackListFramesInfo;
  *
  */
 public class MIStackListFrames extends MICommand<MIStackListFramesInfo> {
+
+	private final int fLow;
+	private final int fHigh;
+
 	public MIStackListFrames(IMIExecutionDMContext execDmc) {
 		super(execDmc, "-stack-list-frames"); //$NON-NLS-1$
+		fLow = -1;
+		fHigh = -1;
 	}
 
 	public MIStackListFrames(IMIExecutionDMContext execDmc, int low, int high) {
 		super(execDmc, "-stack-list-frames", new String[] { Integer.toString(low), Integer.toString(high) }); //$NON-NLS-1$
+		fLow = low;
+		fHigh = high;
+	}
+
+	/**
+	 * Returns whether this command lists a range of frames rather than the whole stack.
+	 * @since 6.0
+	 */
+	public boolean hasRange() {
+		return fLow >= 0;
+	}
+
+	/**
+	 * Returns the level of the first frame listed, or -1 if the whole stack is listed.
+	 * @since 6.0
+	 */
+	public int getLow() {
+		return fLow;
+	}
+
+	/**
+	 * Returns the level of the last frame listed, or -1 if the whole stack is listed.
+	 * @since 6.0
+	 */
+	public int getHigh() {
+		return fHigh;
+	}
+
+	/**
+	 * Requests for overlapping or adjacent ranges of frames of the same thread are
+	 * combined into a single request for the range covering them. The frames of each
+	 * request are then extracted by {@link MIStackListFramesInfo#getSubsetResult(ICommand)}.
+	 * <p>
+	 * A request for the whole stack is never combined with a ranged one, as GDB can
+	 * fail to list the whole stack when it succeeds in listing a part of it. For the
+	 * same reason a request for a single frame is never combined either, it is the
+	 * fallback used when listing more frames failed.
+	 * @since 6.0
+	 */
+	@Override
+	public MIStackListFrames coalesceWith(ICommand<? extends ICommandResult> command) {
+		/*
+		 * Subclasses may produce a different result type, which the subset
+		 * would not preserve.
+		 */
+		if (getClass() != MIStackListFrames.class || command.getClass() != MIStackListFrames.class) {
+			return null;
+		}
+
+		if (!command.getContext().equals(getContext())) {
+			return null;
+		}
+
+		MIStackListFrames cmd = (MIStackListFrames) command;
+		if (!hasRange() || !cmd.hasRange() || fHigh < fLow || cmd.fHigh < cmd.fLow) {
+			return null;
+		}
+
+		if (fLow == fHigh || cmd.fLow == cmd.fHigh) {
+			return null;
+		}
+
+		/*
+		 * Don't list frames nobody asked for.
+		 */
+		if (cmd.fLow > fHigh + 1 || fLow > cmd.fHigh + 1) {
+			return null;
+		}
+
+		return new MIStackListFrames((IMIExecutionDMContext) getContext(), Math.min(fLow, cmd.fLow),
+				Math.max(fHigh, cmd.fHigh));
 	}
 
 	@Override
@@ -14,7 +14,9 @@
 
 package org.eclipse.cdt.dsf.mi.service.command.commands;
 
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIThreadInfoInfo;
 
@@ -30,12 +32,49 @@ import org.eclipse.cdt.dsf.mi.service.command.output.MIThreadInfoInfo;
  */
 public class MIThreadInfo extends MICommand<MIThreadInfoInfo> {
 
+	private final String fThreadId;
+
 	public MIThreadInfo(ICommandControlDMContext dmc) {
 		super(dmc, "-thread-info"); //$NON-NLS-1$
+		fThreadId = null;
 	}
 
 	public MIThreadInfo(ICommandControlDMContext dmc, String threadId) {
 		super(dmc, "-thread-info", new String[] { threadId }); //$NON-NLS-1$
+		fThreadId = threadId;
+	}
+
+	/**
+	 * Returns the id of the thread this command reports about, or <code>null</code>
+	 * if it reports about all threads.
+	 * @since 6.0
+	 */
+	public String getThreadId() {
+		return fThreadId;
+	}
+
+	/**
+	 * Requests for different threads of the same process are combined into a single
+	 * request for all threads, so that a view refreshing hundreds of threads only
+	 * costs one round trip to GDB. The result for each thread is then extracted by
+	 * {@link MIThreadInfoInfo#getSubsetResult(ICommand)}.
+	 * @since 6.0
+	 */
+	@Override
+	public MIThreadInfo coalesceWith(ICommand<? extends ICommandResult> command) {
+		/*
+		 * Subclasses may produce a different result type, which the subset
+		 * would not preserve.
+		 */
+		if (getClass() != MIThreadInfo.class || command.getClass() != MIThreadInfo.class) {
+			return null;
+		}
+
+		if (!command.getContext().equals(getContext())) {
+			return null;
+		}
+
+		return new MIThreadInfo((ICommandControlDMContext) getContext());
 	}
 
 	@Override
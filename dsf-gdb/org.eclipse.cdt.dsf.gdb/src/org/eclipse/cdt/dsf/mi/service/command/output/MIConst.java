@@ -23,14 +23,48 @@ package org.eclipse.cdt.dsf.mi.service.command.output;
  */
 public class MIConst extends MIValue {
 
+	/**
+	 * Values shorter than this are decoded when they are parsed. A longer value which
+	 * takes at least half of its line of output is only decoded on first access.
+	 * Until then it keeps the whole line, i.e. at most twice its own size, reachable
+	 * from cached results.
+	 */
+	private static final int DEFERRED_MIN_LENGTH = 256;
+
 	private String cstring = ""; //$NON-NLS-1$
 
+	// The line of GDB output holding the escaped value, while it is not decoded. Volatile,
+	// such that a thread seeing it cleared also sees the decoded value.
+	private volatile String source;
+	private int start;
+	private int end;
+
 	public String getCString() {
+		String src = source;
+		if (src != null) {
+			cstring = MIParser.decodeCString(src, start, end, true);
+			source = null;
+		}
 		return cstring;
 	}
 
 	public void setCString(String str) {
 		cstring = str;
+		source = null;
+	}
+
+	/**
+	 * Sets the value to the escaped C string found in the given range of a line of GDB output.
+	 */
+	void setCString(String line, int start, int end) {
+		int length = end - start;
+		if (length < DEFERRED_MIN_LENGTH || 2 * length < line.length()) {
+			cstring = MIParser.decodeCString(line, start, end, true);
+			return;
+		}
+		this.start = start;
+		this.end = end;
+		this.source = line;
 	}
 
 	/**
@@ -38,7 +72,7 @@ public class MIConst extends MIValue {
 	 * @return The translated string.
 	 */
 	public String getString() {
-		return MIStringHandler.translateCString(cstring, true);
+		return MIStringHandler.translateCString(getCString(), true);
 	}
 
 	public static String getString(String str) {
@@ -103,6 +103,49 @@ public class MIParser {
 	public String cliPrompt = primaryPrompt;
 	public String secondaryPrompt = ">"; //$NON-NLS-1$
 
+	private static final int NAME_CACHE_SIZE = 512;
+	private static final MIResult[] NO_RESULTS = new MIResult[0];
+	private static final MIValue[] NO_VALUES = new MIValue[0];
+	private static final String[] RESULT_CLASSES = { MIResultRecord.DONE, MIResultRecord.ERROR, MIResultRecord.EXIT,
+			MIResultRecord.RUNNING, MIResultRecord.CONNECTED };
+
+	/**
+	 * Variable names and async classes seen so far, such that parsing a record does not
+	 * allocate a new string for each of them. Concurrent use of the cache merely causes misses.
+	 */
+	private final String[] fNames = new String[NAME_CACHE_SIZE];
+
+	/**
+	 * Position of the parser in the line of output being parsed. The parser moves forward
+	 * on the line, it does not copy or modify it.
+	 */
+	private static final class Cursor {
+		final String line;
+		final int length;
+		int pos;
+
+		Cursor(String line) {
+			this.line = line;
+			this.length = line.length();
+		}
+
+		boolean atEnd() {
+			return pos >= length;
+		}
+
+		char current() {
+			return line.charAt(pos);
+		}
+
+		boolean skip(char c) {
+			if (pos < length && line.charAt(pos) == c) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+	}
+
 	public RecordType getRecordType(String line) {
 		int i = 0;
 		if (Character.isDigit(line.charAt(0))) {
@@ -126,37 +169,25 @@ public class MIParser {
 	 *
 	 */
 	public MIResultRecord parseMIResultRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
+		Cursor cursor = new Cursor(line);
 		// Fetch the Token/Id
-		int id = parseToken(buffer);
+		int id = parseToken(cursor);
 		// Consume the '^'
-		buffer.deleteCharAt(0);
+		cursor.pos++;
 
 		MIResultRecord rr = new MIResultRecord();
 		rr.setToken(id);
-		if (buffer.toString().startsWith(MIResultRecord.DONE)) {
-			rr.setResultClass(MIResultRecord.DONE);
-			buffer.delete(0, MIResultRecord.DONE.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.ERROR)) {
-			rr.setResultClass(MIResultRecord.ERROR);
-			buffer.delete(0, MIResultRecord.ERROR.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.EXIT)) {
-			rr.setResultClass(MIResultRecord.EXIT);
-			buffer.delete(0, MIResultRecord.EXIT.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.RUNNING)) {
-			rr.setResultClass(MIResultRecord.RUNNING);
-			buffer.delete(0, MIResultRecord.RUNNING.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.CONNECTED)) {
-			rr.setResultClass(MIResultRecord.CONNECTED);
-			buffer.delete(0, MIResultRecord.CONNECTED.length());
-		} else {
-			// Error throw an exception?
+		for (String resultClass : RESULT_CLASSES) {
+			if (line.startsWith(resultClass, cursor.pos)) {
+				rr.setResultClass(resultClass);
+				cursor.pos += resultClass.length();
+				break;
+			}
 		}
 
 		// Results are separated by commas.
-		if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			MIResult[] res = processMIResults(new FSB(buffer));
+		if (cursor.skip(',')) {
+			MIResult[] res = processMIResults(cursor);
 			rr.setMIResults(res);
 		}
 		return rr;
@@ -166,13 +197,13 @@ public class MIParser {
 	 * Find OutOfBand Records depending on the starting token.
 	 */
 	public MIOOBRecord parseMIOOBRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
-		int id = parseToken(buffer);
+		Cursor cursor = new Cursor(line);
+		int id = parseToken(cursor);
 		MIOOBRecord oob = null;
-		char c = buffer.length() != 0 ? buffer.charAt(0) : 0;
+		char c = !cursor.atEnd() ? cursor.current() : 0;
 		if (c == '*' || c == '+' || c == '=') {
 			// Consume the first char
-			buffer.deleteCharAt(0);
+			cursor.pos++;
 			MIAsyncRecord async = null;
 			switch (c) {
 			case '*':
@@ -192,22 +223,21 @@ public class MIParser {
 			}
 			async.setToken(id);
 			// Extract the Async-Class
-			int i = buffer.toString().indexOf(',');
+			int i = line.indexOf(',', cursor.pos);
 			if (i != -1) {
-				String asyncClass = buffer.substring(0, i);
-				async.setAsyncClass(asyncClass);
+				async.setAsyncClass(getName(line, cursor.pos, i));
 				// Consume the async-class and the comma
-				buffer.delete(0, i + 1);
+				cursor.pos = i + 1;
 			} else {
-				async.setAsyncClass(buffer.toString().trim());
-				buffer.setLength(0);
+				async.setAsyncClass(line.substring(cursor.pos).trim());
+				cursor.pos = cursor.length;
 			}
-			MIResult[] res = processMIResults(new FSB(buffer));
+			MIResult[] res = processMIResults(cursor);
 			async.setMIResults(res);
 			oob = async;
 		} else if (c == '~' || c == '@' || c == '&') {
 			// Consume the first char
-			buffer.deleteCharAt(0);
+			cursor.pos++;
 			MIStreamRecord stream = null;
 			switch (c) {
 			case '~':
@@ -225,13 +255,13 @@ public class MIParser {
 				assert false;
 				stream = new MIConsoleStreamOutput();
 			}
-			// translateCString() assumes that the leading " is deleted
-			if (buffer.length() > 0 && buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
-			}
+			// skipCString() assumes that the leading " is consumed
+			cursor.skip('"');
 			// Don't parse any backslashes - backslashes within stream records
 			// aren't escaped.
-			stream.setCString(translateCString(new FSB(buffer), false));
+			int start = cursor.pos;
+			int end = skipCString(cursor);
+			stream.setCString(decodeCString(line, start, end, false));
 			oob = stream;
 		} else {
 			// Badly format MI line, just pass it to the user as target stream
@@ -242,21 +272,21 @@ public class MIParser {
 		return oob;
 	}
 
-	private int parseToken(StringBuffer buffer) {
+	private int parseToken(Cursor cursor) {
 		int id = -1;
 		// Fetch the Token/Id
-		if (Character.isDigit(buffer.charAt(0))) {
-			int i = 1;
-			while (i < buffer.length() && Character.isDigit(buffer.charAt(i))) {
-				i++;
+		if (!cursor.atEnd() && Character.isDigit(cursor.current())) {
+			long value = 0;
+			while (!cursor.atEnd() && Character.isDigit(cursor.current())) {
+				if (value <= Integer.MAX_VALUE) {
+					value = value * 10 + Character.digit(cursor.current(), 10);
+				}
+				// Consume the token.
+				cursor.pos++;
 			}
-			String numbers = buffer.substring(0, i);
-			try {
-				id = Integer.parseInt(numbers);
-			} catch (NumberFormatException e) {
+			if (value <= Integer.MAX_VALUE) {
+				id = (int) value;
 			}
-			// Consume the token.
-			buffer.delete(0, i);
 		}
 		return id;
 	}
@@ -265,45 +295,38 @@ public class MIParser {
 	 * Assuming that the usual leading comma was consumed.
 	 * Extract the MI Result comma seperated responses.
 	 */
-	private MIResult[] processMIResults(FSB buffer) {
+	private MIResult[] processMIResults(Cursor cursor) {
 		List<MIResult> aList = new ArrayList<>();
-		MIResult result = processMIResult(buffer);
-		if (result != null) {
-			aList.add(result);
-		}
-		while (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			result = processMIResult(buffer);
-			if (result != null) {
-				aList.add(result);
-			}
+		aList.add(processMIResult(cursor));
+		while (cursor.skip(',')) {
+			aList.add(processMIResult(cursor));
 		}
 		return aList.toArray(new MIResult[aList.size()]);
 	}
 
 	/**
-	 * Construct the DsfMIResult.  Characters will be consume/delete
+	 * Construct the DsfMIResult.  Characters will be consumed
 	 * moving forward constructing the AST.
 	 */
-	private MIResult processMIResult(FSB buffer) {
+	private MIResult processMIResult(Cursor cursor) {
 		MIResult result = new MIResult();
 		int equal;
-		if (buffer.length() > 0 && Character.isLetter(buffer.charAt(0)) && (equal = buffer.indexOf('=')) != -1) {
+		if (!cursor.atEnd() && Character.isLetter(cursor.current())
+				&& (equal = cursor.line.indexOf('=', cursor.pos)) != -1) {
 			// Result is a variable and value
-			String variable = buffer.substring(0, equal);
-			result.setVariable(variable);
-			buffer.delete(0, equal + 1);
-			MIValue value = processMIValue(buffer);
+			result.setVariable(getName(cursor.line, cursor.pos, equal));
+			cursor.pos = equal + 1;
+			MIValue value = processMIValue(cursor);
 			result.setMIValue(value);
 		} else {
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(cursor);
 			if (value != null) {
 				// Result is a value only (bug 527419)
 				result.setMIValue(value);
 			} else {
-				result.setVariable(buffer.toString());
+				result.setVariable(cursor.line.substring(cursor.pos));
 				result.setMIValue(new MIConst()); // Empty string:???
-				buffer.setLength(0);
+				cursor.pos = cursor.length;
 			}
 		}
 		return result;
@@ -312,21 +335,21 @@ public class MIParser {
 	/**
 	 * Find a DsfMIValue implementation or return null.
 	 */
-	private MIValue processMIValue(FSB buffer) {
+	private MIValue processMIValue(Cursor cursor) {
 		MIValue value = null;
-		if (buffer.length() > 0) {
-			if (buffer.charAt(0) == '{') {
-				buffer.deleteCharAt(0);
-				value = processMITuple(buffer);
-			} else if (buffer.charAt(0) == '[') {
-				buffer.deleteCharAt(0);
-				value = processMIList(buffer);
-			} else if (buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
+		if (!cursor.atEnd()) {
+			if (cursor.skip('{')) {
+				value = processMITuple(cursor);
+			} else if (cursor.skip('[')) {
+				value = processMIList(cursor);
+			} else if (cursor.skip('"')) {
 				MIConst cnst = new MIConst();
 				// Parse backslashes - backslashes within result
-				// and out of band records are escaped.
-				cnst.setCString(translateCString(buffer, true));
+				// and out of band records are escaped. A long value is
+				// only decoded if it is asked for.
+				int start = cursor.pos;
+				int end = skipCString(cursor);
+				cnst.setCString(cursor.line, start, end);
 				value = cnst;
 			}
 		}
@@ -334,96 +357,138 @@ public class MIParser {
 	}
 
 	/**
-	 * Assuming the starting '{' was deleted form the StringBuffer,
-	 * go to the closing '}' consuming/deleting all the characters.
+	 * Assuming the starting '{' was consumed,
+	 * go to the closing '}' consuming all the characters.
 	 * This is usually call by processMIvalue();
 	 */
-	private MIValue processMITuple(FSB buffer) {
+	private MIValue processMITuple(Cursor cursor) {
 		MITuple tuple = new MITuple();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
+		List<MIValue> valueList = null;
+		List<MIResult> resultList = null;
 		// Catch closing '}'
-		while (buffer.length() > 0 && buffer.charAt(0) != '}') {
+		while (!cursor.atEnd() && cursor.current() != '}') {
 			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(cursor);
 			if (value != null) {
+				if (valueList == null) {
+					valueList = new ArrayList<>();
+				}
 				valueList.add(value);
 			} else {
-				MIResult result = processMIResult(buffer);
-				if (result != null) {
-					resultList.add(result);
+				if (resultList == null) {
+					resultList = new ArrayList<>();
 				}
+				resultList.add(processMIResult(cursor));
 			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
-			}
-		}
-		if (buffer.length() > 0 && buffer.charAt(0) == '}') {
-			buffer.deleteCharAt(0);
+			cursor.skip(',');
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		tuple.setMIValues(values);
-		tuple.setMIResults(res);
+		cursor.skip('}');
+		tuple.setMIValues(valueList != null ? valueList.toArray(new MIValue[valueList.size()]) : NO_VALUES);
+		tuple.setMIResults(resultList != null ? resultList.toArray(new MIResult[resultList.size()]) : NO_RESULTS);
 		return tuple;
 	}
 
 	/**
-	 * Assuming the leading '[' was deleted, find the closing
-	 * ']' consuming/delete chars from the StringBuffer.
+	 * Assuming the leading '[' was consumed, find the closing
+	 * ']' consuming the chars.
 	 */
-	private MIValue processMIList(FSB buffer) {
+	private MIValue processMIList(Cursor cursor) {
 		MIList list = new MIList();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
+		List<MIValue> valueList = null;
+		List<MIResult> resultList = null;
 		// catch closing ']'
-		while (buffer.length() > 0 && buffer.charAt(0) != ']') {
+		while (!cursor.atEnd() && cursor.current() != ']') {
 			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue(cursor);
 			if (value != null) {
+				if (valueList == null) {
+					valueList = new ArrayList<>();
+				}
 				valueList.add(value);
 			} else {
-				MIResult result = processMIResult(buffer);
-				if (result != null) {
-					resultList.add(result);
+				if (resultList == null) {
+					resultList = new ArrayList<>();
 				}
+				resultList.add(processMIResult(cursor));
 			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
-			}
-		}
-		if (buffer.length() > 0 && buffer.charAt(0) == ']') {
-			buffer.deleteCharAt(0);
+			cursor.skip(',');
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		list.setMIValues(values);
-		list.setMIResults(res);
+		cursor.skip(']');
+		list.setMIValues(valueList != null ? valueList.toArray(new MIValue[valueList.size()]) : NO_VALUES);
+		list.setMIResults(resultList != null ? resultList.toArray(new MIResult[resultList.size()]) : NO_RESULTS);
 		return list;
 	}
 
+	/**
+	 * Returns the string in the given range of the line, shared with previous
+	 * occurrences of the same name.
+	 */
+	private String getName(String line, int start, int end) {
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + line.charAt(i);
+		}
+		int slot = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+		String name = fNames[slot];
+		int length = end - start;
+		if (name == null || name.length() != length || !line.regionMatches(start, name, 0, length)) {
+			name = line.substring(start, end);
+			fNames[slot] = name;
+		}
+		return name;
+	}
+
 	/**
 	 * MI C-String rather MIConst values are enclosed in double quotes
 	 * and any double quotes or backslashes in the string are escaped.
-	 * Assuming the starting double quote was removed. This method will
-	 * stop at the closing double quote, remove the extra backslash escaping
-	 * and return the string __without__ the enclosing double quotes. The
-	 * original string buffer will move forward.
-	 * @param buffer The string buffer to read from.
+	 * Assuming the starting double quote was consumed, this method will
+	 * move to after the closing double quote and return the end of the
+	 * string __without__ the closing double quote.
+	 */
+	private static int skipCString(Cursor cursor) {
+		String line = cursor.line;
+		boolean escape = false;
+		for (int index = cursor.pos; index < cursor.length; index++) {
+			char c = line.charAt(index);
+			if (c == '\\') {
+				escape = !escape;
+			} else if (c == '"' && !escape) {
+				// Bail out.
+				cursor.pos = index + 1;
+				return index;
+			} else {
+				escape = false;
+			}
+		}
+		cursor.pos = cursor.length;
+		return cursor.length;
+	}
+
+	/**
+	 * Removes the extra backslash escaping of an MI C-String
+	 * found in the given range of a line.
+	 * @param line The line of output.
+	 * @param start The start of the string after the opening double quote.
+	 * @param end The end of the string before the closing double quote.
 	 * @param parseBackslashes Defines whether backslashes should be parsed.
 	 * This parameter is necessary to differentiate between records which
 	 * contain escaped backslashes and records which do not.
 	 * @return The translated C string.
 	 */
-	private String translateCString(FSB buffer, boolean parseBackslashes) {
-		boolean escape = false;
-		boolean closingQuotes = false;
-
-		StringBuffer sb = new StringBuffer();
+	static String decodeCString(String line, int start, int end, boolean parseBackslashes) {
+		int backslash = start;
+		while (backslash < end && line.charAt(backslash) != '\\') {
+			backslash++;
+		}
+		if (backslash == end) {
+			return line.substring(start, end);
+		}
 
-		int index = 0;
-		for (; index < buffer.length() && !closingQuotes; index++) {
-			char c = buffer.charAt(index);
+		StringBuilder sb = new StringBuilder(end - start);
+		sb.append(line, start, backslash);
+		boolean escape = false;
+		for (int index = backslash; index < end; index++) {
+			char c = line.charAt(index);
 			if (c == '\\') {
 				if (escape) {
 					sb.append(c);
@@ -435,13 +500,9 @@ public class MIParser {
 					escape = true;
 				}
 			} else if (c == '"') {
-				if (escape) {
-					sb.append(c);
-					escape = false;
-				} else {
-					// Bail out.
-					closingQuotes = true;
-				}
+				// Only escaped quotes are within the string.
+				sb.append(c);
+				escape = false;
 			} else {
 				if (escape) {
 					sb.append('\\');
@@ -450,7 +511,6 @@ public class MIParser {
 				escape = false;
 			}
 		}
-		buffer.delete(0, index);
 		return sb.toString();
 	}
 
@@ -485,7 +545,11 @@ public class MIParser {
 	 * with this for large arrays. Use of FSB rather than String
 	 * Buffer makes MIParser N rather than N^2 because FSB can
 	 * delete from the front in constant time.
+	 *
+	 * @deprecated No longer used by the parser, which moves a position
+	 *             forward on the line instead of deleting characters.
 	 */
+	@Deprecated
 	public class FSB {
 		StringBuffer buf;
 		int pos;
@@ -17,6 +17,10 @@ package org.eclipse.cdt.dsf.mi.service.command.output;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIStackListFrames;
+
 /**
  * GDB/MI stack list frames info.
  */
@@ -48,10 +52,45 @@ public class MIStackListFramesInfo extends MIInfo {
 		frames = aList.toArray(new MIFrame[aList.size()]);
 	}
 
+	private MIStackListFramesInfo(MIOutput out, MIFrame[] frames) {
+		super(out);
+		this.frames = frames;
+	}
+
 	public MIFrame[] getMIFrames() {
 		return frames;
 	}
 
+	/**
+	 * Returns the frames of a ranged -stack-list-frames command, extracted from the
+	 * result of the coalesced command listing a range covering it.
+	 * @since 6.0
+	 */
+	@Override
+	public <V extends ICommandResult> V getSubsetResult(ICommand<V> cmd) {
+		if (cmd instanceof MIStackListFrames) {
+			MIStackListFrames command = (MIStackListFrames) cmd;
+			MIStackListFramesInfo subset;
+			if (!command.hasRange()) {
+				subset = this;
+			} else {
+				List<MIFrame> aList = new ArrayList<>(command.getHigh() - command.getLow() + 1);
+				for (MIFrame frame : frames) {
+					if (frame.getLevel() >= command.getLow() && frame.getLevel() <= command.getHigh()) {
+						aList.add(frame);
+					}
+				}
+				subset = new MIStackListFramesInfo(getMIOutput(), aList.toArray(new MIFrame[aList.size()]));
+			}
+
+			@SuppressWarnings("unchecked")
+			V vSubset = (V) subset;
+			return vSubset;
+		} else {
+			return super.getSubsetResult(cmd);
+		}
+	}
+
 	void parseStack(MIList miList, List<MIFrame> aList) {
 		MIResult[] results = miList.getMIResults();
 		for (int i = 0; i < results.length; i++) {
@@ -15,8 +15,14 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.mi.service.command.output;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIThreadInfo;
 
 /**
  * GDB/MI thread list parsing.
@@ -99,6 +105,12 @@ public class MIThreadInfoInfo extends MIInfo {
 		parse();
 	}
 
+	private MIThreadInfoInfo(MIOutput out, String currentThread, MIThread[] threadList) {
+		super(out);
+		fCurrentThread = currentThread;
+		fThreadList = threadList;
+	}
+
 	public String getCurrentThread() {
 		return fCurrentThread;
 	}
@@ -107,6 +119,37 @@ public class MIThreadInfoInfo extends MIInfo {
 		return fThreadList;
 	}
 
+	/**
+	 * Returns the result of a -thread-info command for a single thread, extracted from
+	 * the result of the coalesced -thread-info command for all threads. As GDB does, the
+	 * result for a single thread does not report the current thread.
+	 * @since 6.0
+	 */
+	@Override
+	public <V extends ICommandResult> V getSubsetResult(ICommand<V> cmd) {
+		if (cmd instanceof MIThreadInfo) {
+			String threadId = ((MIThreadInfo) cmd).getThreadId();
+			MIThreadInfoInfo subset;
+			if (threadId == null) {
+				subset = this;
+			} else {
+				List<MIThread> threads = new ArrayList<>(1);
+				for (MIThread thread : fThreadList) {
+					if (threadId.equals(thread.getThreadId())) {
+						threads.add(thread);
+					}
+				}
+				subset = new MIThreadInfoInfo(getMIOutput(), null, threads.toArray(new MIThread[threads.size()]));
+			}
+
+			@SuppressWarnings("unchecked")
+			V vSubset = (V) subset;
+			return vSubset;
+		} else {
+			return super.getSubsetResult(cmd);
+		}
+	}
+
 	// General format:
 	//		threads=[{...}],current-thread-id="n"
 	/** @since 4.4 */
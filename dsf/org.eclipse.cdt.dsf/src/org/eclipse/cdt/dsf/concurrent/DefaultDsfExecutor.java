@@ -20,11 +20,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.RunnableScheduledFuture;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.cdt.dsf.internal.DsfPlugin;
 import org.eclipse.cdt.dsf.internal.LoggingUtils;
@@ -51,6 +55,17 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 	 */
 	private String fName;
 
+	/**
+	 * Statistics about the executables run by this executor.
+	 */
+	private final DsfExecutorStatistics fStatistics = new DsfExecutorStatistics(DEBUG_STATISTICS);
+
+	/**
+	 * Time at which the executable currently running has started.
+	 * <br>Note: Only accessed in the executor thread.
+	 */
+	private long fRunStartTime;
+
 	/** Thread factory that creates the single thread to be used for this executor */
 	static class DsfThreadFactory implements ThreadFactory {
 		private String fThreadName;
@@ -107,6 +122,14 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		return fName;
 	}
 
+	/**
+	 * Returns the statistics about the executables run by this executor.
+	 * @since 2.9
+	 */
+	public DsfExecutorStatistics getStatistics() {
+		return fStatistics;
+	}
+
 	static void logException(Throwable t) {
 		DsfPlugin plugin = DsfPlugin.getDefault();
 		if (plugin == null)
@@ -135,7 +158,10 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 	protected static boolean DEBUG_EXECUTOR = false;
 	protected static String DEBUG_EXECUTOR_NAME = ""; //$NON-NLS-1$
 	protected static boolean ASSERTIONS_ENABLED = false;
+	static boolean DEBUG_STATISTICS = false;
 	static {
+		DEBUG_STATISTICS = Boolean
+				.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.dsf/debug/executorStatistics")); //$NON-NLS-1$
 		DEBUG_EXECUTOR = DsfPlugin.DEBUG
 				&& Boolean.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.dsf/debug/executor")); //$NON-NLS-1$
 		DEBUG_EXECUTOR_NAME = DsfPlugin.DEBUG ? Platform.getDebugOption("org.eclipse.cdt.dsf/debug/executorName") : ""; //$NON-NLS-1$ //$NON-NLS-2$
@@ -430,6 +456,118 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		}
 	}
 
+	/**
+	 * Wrapper for the tasks of the executor, used to record the queue wait time and
+	 * the run time per type of executable.
+	 * <br>Note: Only used in detailed statistics mode.
+	 */
+	private class InstrumentedTask<V> implements RunnableScheduledFuture<V> {
+		private final RunnableScheduledFuture<V> fTask;
+		private final String fType;
+		private long fDueTime;
+
+		InstrumentedTask(Object executable, RunnableScheduledFuture<V> task) {
+			fTask = task;
+			if (executable instanceof TracingWrapper) {
+				executable = ((TracingWrapper) executable).getExecutable();
+			}
+			String type = executable.getClass().getName();
+			// Lambdas have a unique suffix per instance of the class
+			int slash = type.indexOf('/');
+			fType = slash < 0 ? type : type.substring(0, slash);
+			fDueTime = System.nanoTime() + task.getDelay(TimeUnit.NANOSECONDS);
+		}
+
+		void completed(long startTime, long runTime) {
+			fStatistics.completed(fType, startTime - fDueTime, runTime);
+			if (fTask.isPeriodic()) {
+				fDueTime = System.nanoTime() + fTask.getDelay(TimeUnit.NANOSECONDS);
+			}
+		}
+
+		@Override
+		public void run() {
+			fTask.run();
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return fTask.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return fTask.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return fTask.isDone();
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException {
+			return fTask.get();
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			return fTask.get(timeout, unit);
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return fTask.getDelay(unit);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			// Compare the underlying tasks, so that tasks due at the same time keep their submission order
+			if (other instanceof InstrumentedTask) {
+				other = ((InstrumentedTask<?>) other).fTask;
+			}
+			return fTask.compareTo(other);
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return fTask.isPeriodic();
+		}
+	}
+
+	@Override
+	protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+		if (fStatistics.isDetailed()) {
+			return new InstrumentedTask<>(runnable, task);
+		}
+		return task;
+	}
+
+	@Override
+	protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+		if (fStatistics.isDetailed()) {
+			return new InstrumentedTask<>(callable, task);
+		}
+		return task;
+	}
+
+	@Override
+	protected void beforeExecute(Thread t, Runnable r) {
+		super.beforeExecute(t, r);
+		fStatistics.started(getQueue().size());
+		fRunStartTime = System.nanoTime();
+	}
+
+	@Override
+	protected void afterExecute(Runnable r, Throwable t) {
+		long runTime = System.nanoTime() - fRunStartTime;
+		fStatistics.completed(runTime);
+		if (r instanceof InstrumentedTask) {
+			((InstrumentedTask<?>) r).completed(fRunStartTime, runTime);
+		}
+		super.afterExecute(r, t);
+	}
+
 	@Override
 	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
 		if (DEBUG_EXECUTOR || ASSERTIONS_ENABLED) {
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.concurrent;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.cdt.dsf.internal.JSONUtils;
+
+/**
+ * Statistics about the work done by a {@link DefaultDsfExecutor}.
+ * <p>
+ * The run time of all executables and the depth of the queue are always recorded,
+ * as this only costs a few operations per executable. In detailed mode the time an
+ * executable waited in the queue and the run time per type of executable are recorded
+ * as well, which requires every executable to be wrapped when it is submitted.
+ *
+ * @see DefaultDsfExecutor#getStatistics()
+ * @since 2.9
+ */
+public class DsfExecutorStatistics {
+	private final LatencyHistogram fRunTime = new LatencyHistogram();
+	private final LatencyHistogram fQueueWait = new LatencyHistogram();
+	private final Map<String, LatencyHistogram> fRunTimeByType = new ConcurrentHashMap<>();
+	private final AtomicLong fMaxQueueDepth = new AtomicLong();
+	private final LongAdder fQueueDepthTotal = new LongAdder();
+	private volatile boolean fDetailed;
+
+	DsfExecutorStatistics(boolean detailed) {
+		fDetailed = detailed;
+	}
+
+	/**
+	 * Returns whether the queue wait time and the run time per type of executable are recorded.
+	 */
+	public boolean isDetailed() {
+		return fDetailed;
+	}
+
+	/**
+	 * Sets whether the queue wait time and the run time per type of executable are recorded.
+	 * The setting applies to the executables submitted after the call.
+	 */
+	public void setDetailed(boolean detailed) {
+		fDetailed = detailed;
+	}
+
+	/** Returns the histogram of the run time of all executables */
+	public LatencyHistogram getRunTime() {
+		return fRunTime;
+	}
+
+	/**
+	 * Returns the histogram of the time the executables waited in the queue after they
+	 * became due. Only recorded in detailed mode.
+	 */
+	public LatencyHistogram getQueueWait() {
+		return fQueueWait;
+	}
+
+	/**
+	 * Returns the run time histograms per type of executable, keyed by class name.
+	 * Only recorded in detailed mode.
+	 */
+	public Map<String, LatencyHistogram> getRunTimeByType() {
+		return new TreeMap<>(fRunTimeByType);
+	}
+
+	/** Returns the largest number of executables found waiting when an executable started to run */
+	public long getMaxQueueDepth() {
+		return fMaxQueueDepth.get();
+	}
+
+	/** Returns the average number of executables found waiting when an executable started to run */
+	public double getAverageQueueDepth() {
+		long count = fRunTime.getCount();
+		return count == 0 ? 0 : (double) fQueueDepthTotal.sum() / count;
+	}
+
+	/** Clears all statistics */
+	public void reset() {
+		fRunTime.reset();
+		fQueueWait.reset();
+		fRunTimeByType.clear();
+		fMaxQueueDepth.set(0);
+		fQueueDepthTotal.reset();
+	}
+
+	void started(int queueDepth) {
+		fQueueDepthTotal.add(queueDepth);
+		long max = fMaxQueueDepth.get();
+		while (queueDepth > max && !fMaxQueueDepth.compareAndSet(max, queueDepth)) {
+			max = fMaxQueueDepth.get();
+		}
+	}
+
+	void completed(long runTime) {
+		fRunTime.record(runTime);
+	}
+
+	void completed(String type, long queueWait, long runTime) {
+		if (queueWait >= 0) {
+			fQueueWait.record(queueWait);
+		}
+		LatencyHistogram histogram = fRunTimeByType.get(type);
+		if (histogram == null) {
+			histogram = fRunTimeByType.computeIfAbsent(type, t -> new LatencyHistogram());
+		}
+		histogram.record(runTime);
+	}
+
+	/**
+	 * Appends the statistics as a JSON object to the given buffer.
+	 */
+	public void appendJSON(StringBuilder buf) {
+		buf.append("{\"detailed\":").append(fDetailed); //$NON-NLS-1$
+		buf.append(",\"maxQueueDepth\":").append(getMaxQueueDepth()); //$NON-NLS-1$
+		buf.append(",\"averageQueueDepth\":") //$NON-NLS-1$
+				.append(String.format(Locale.ROOT, "%.2f", getAverageQueueDepth())); //$NON-NLS-1$
+		buf.append(",\"runTime\":"); //$NON-NLS-1$
+		fRunTime.appendJSON(buf);
+		buf.append(",\"queueWait\":"); //$NON-NLS-1$
+		fQueueWait.appendJSON(buf);
+		buf.append(",\"runTimeByType\":{"); //$NON-NLS-1$
+		boolean first = true;
+		for (Map.Entry<String, LatencyHistogram> entry : getRunTimeByType().entrySet()) {
+			if (!first) {
+				buf.append(',');
+			}
+			first = false;
+			JSONUtils.appendString(buf, entry.getKey());
+			buf.append(':');
+			entry.getValue().appendJSON(buf);
+		}
+		buf.append("}}"); //$NON-NLS-1$
+	}
+}
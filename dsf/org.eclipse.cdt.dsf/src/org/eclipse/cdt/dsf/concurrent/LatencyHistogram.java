@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations in nanoseconds with power of two buckets. Recording a
+ * value is cheap and lock free, so a histogram can be updated from any thread
+ * and read while it is being updated. Percentiles are approximated by the upper
+ * bound of the bucket they fall into, i.e. they are accurate within a factor of two.
+ *
+ * @since 2.9
+ */
+public class LatencyHistogram {
+	private static final int BUCKETS = 64;
+
+	private final AtomicLongArray fBuckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder fCount = new LongAdder();
+	private final LongAdder fTotal = new LongAdder();
+	private final AtomicLong fMax = new AtomicLong();
+
+	/**
+	 * Records a duration.
+	 * @param nanos the duration in nanoseconds, negative values are recorded as zero
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		fBuckets.incrementAndGet(bucketOf(nanos));
+		fCount.increment();
+		fTotal.add(nanos);
+		long max = fMax.get();
+		while (nanos > max && !fMax.compareAndSet(max, nanos)) {
+			max = fMax.get();
+		}
+	}
+
+	/** Returns the number of recorded durations */
+	public long getCount() {
+		return fCount.sum();
+	}
+
+	/** Returns the sum of the recorded durations in nanoseconds */
+	public long getTotal() {
+		return fTotal.sum();
+	}
+
+	/** Returns the longest recorded duration in nanoseconds */
+	public long getMax() {
+		return fMax.get();
+	}
+
+	/** Returns the average of the recorded durations in nanoseconds */
+	public long getMean() {
+		long count = getCount();
+		return count == 0 ? 0 : getTotal() / count;
+	}
+
+	/**
+	 * Returns an upper bound of the given percentile of the recorded durations.
+	 * @param percentile a value between 0 and 100
+	 */
+	public long getPercentile(double percentile) {
+		long[] buckets = getBuckets();
+		long count = 0;
+		for (long n : buckets) {
+			count += n;
+		}
+		if (count == 0)
+			return 0;
+
+		long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+		long seen = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+			if (seen >= rank && buckets[i] > 0) {
+				return Math.min(upperBoundOf(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Returns the counts of the buckets. Bucket <code>i</code> holds the durations
+	 * below <code>2^i</code> nanoseconds that did not fit into bucket <code>i - 1</code>.
+	 */
+	public long[] getBuckets() {
+		long[] buckets = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = fBuckets.get(i);
+		}
+		return buckets;
+	}
+
+	/** Clears all recorded durations */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			fBuckets.set(i, 0);
+		}
+		fCount.reset();
+		fTotal.reset();
+		fMax.set(0);
+	}
+
+	/**
+	 * Appends the histogram as a JSON object to the given buffer. The non empty buckets are
+	 * written as pairs of the upper bound of the bucket and the number of durations in it.
+	 */
+	public void appendJSON(StringBuilder buf) {
+		buf.append("{\"count\":").append(getCount()); //$NON-NLS-1$
+		buf.append(",\"totalNanos\":").append(getTotal()); //$NON-NLS-1$
+		buf.append(",\"meanNanos\":").append(getMean()); //$NON-NLS-1$
+		buf.append(",\"maxNanos\":").append(getMax()); //$NON-NLS-1$
+		buf.append(",\"p50Nanos\":").append(getPercentile(50)); //$NON-NLS-1$
+		buf.append(",\"p90Nanos\":").append(getPercentile(90)); //$NON-NLS-1$
+		buf.append(",\"p99Nanos\":").append(getPercentile(99)); //$NON-NLS-1$
+		buf.append(",\"buckets\":["); //$NON-NLS-1$
+		long[] buckets = getBuckets();
+		boolean first = true;
+		for (int i = 0; i < buckets.length; i++) {
+			if (buckets[i] == 0)
+				continue;
+			if (!first) {
+				buf.append(',');
+			}
+			first = false;
+			buf.append('[').append(upperBoundOf(i)).append(',').append(buckets[i]).append(']');
+		}
+		buf.append("]}"); //$NON-NLS-1$
+	}
+
+	private static int bucketOf(long nanos) {
+		return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+	}
+
+	private static long upperBoundOf(int bucket) {
+		return bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+}
@@ -153,6 +153,8 @@ public class CommandCache implements ICommandListener {
 	 */
 	private ICommandControl fCommandControl;
 
+	private final CommandCacheStatistics fStatistics;
+
 	/*
 	 *  This class contains 5 significant lists.
 	 *
@@ -248,6 +250,7 @@ public class CommandCache implements ICommandListener {
 	public CommandCache(DsfSession session, ICommandControl control) {
 		fSession = session;
 		fCommandControl = control;
+		fStatistics = CommandCacheStatistics.getStatistics(session);
 
 		/*
 		 * We listen for the notifications that the commands have been sent to
@@ -256,6 +259,14 @@ public class CommandCache implements ICommandListener {
 		fCommandControl.addCommandListener(this);
 	}
 
+	/**
+	 * Returns the statistics shared by all the command caches of the given session.
+	 * @since 2.9
+	 */
+	public static CommandCacheStatistics getStatistics(DsfSession session) {
+		return CommandCacheStatistics.getStatistics(session);
+	}
+
 	/*
 	 * Constructs a coalesced command if possible.
 	 */
@@ -343,6 +354,7 @@ public class CommandCache implements ICommandListener {
 		 */
 		if (fCachedContexts.get(context) != null && fCachedContexts.get(context).containsKey(cachedCmd)) {
 			CommandResultInfo result = fCachedContexts.get(context).get(cachedCmd);
+			fStatistics.hit();
 			debug(command.toString().trim());
 			if (result.getStatus().getSeverity() <= IStatus.INFO) {
 				@SuppressWarnings("unchecked")
@@ -361,6 +373,7 @@ public class CommandCache implements ICommandListener {
 		 *  Return an error if the target is available anymore.
 		 */
 		if (!isTargetAvailable(command.getContext())) {
+			fStatistics.unavailable();
 			debug(command.toString().trim(), "[N/A]"); //$NON-NLS-1$
 
 			rm.setStatus(new Status(IStatus.ERROR, DsfPlugin.PLUGIN_ID, IDsfStatusConstants.INVALID_STATE,
@@ -376,6 +389,7 @@ public class CommandCache implements ICommandListener {
 		for (CommandInfo sentCommand : fPendingQCommandsSent) {
 			if (sentCommand.equals(cachedCmd)) {
 				sentCommand.getRequestMonitorList().add(genericDone);
+				fStatistics.joined();
 				debug(command.toString().trim(), "[SNT]"); //$NON-NLS-1$
 				return;
 			}
@@ -383,6 +397,7 @@ public class CommandCache implements ICommandListener {
 		for (CommandInfo notYetSentCommand : fPendingQCommandsNotYetSent) {
 			if (notYetSentCommand.equals(cachedCmd)) {
 				notYetSentCommand.getRequestMonitorList().add(genericDone);
+				fStatistics.joined();
 				debug(command.toString().trim(), "[SND]"); //$NON-NLS-1$
 				return;
 			}
@@ -404,6 +419,9 @@ public class CommandCache implements ICommandListener {
 			fPendingQWaitingForCoalescedCompletion.add(cachedCmd);
 			cachedCmd.setCoalescedCmd(coalescedCmd);
 			cachedCmd = coalescedCmd;
+			fStatistics.coalesced();
+		} else {
+			fStatistics.miss();
 		}
 
 		/*
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service.command;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.cdt.dsf.service.DsfSession;
+
+/**
+ * Counts how the requests to the {@link CommandCache}s of a session were served.
+ * All the caches of a session share one instance.
+ *
+ * @see CommandCache#getStatistics(DsfSession)
+ * @since 2.9
+ */
+public class CommandCacheStatistics {
+	private static final Map<DsfSession, CommandCacheStatistics> fgSessionStatistics = new WeakHashMap<>();
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+	private final LongAdder fJoined = new LongAdder();
+	private final LongAdder fCoalesced = new LongAdder();
+	private final LongAdder fUnavailable = new LongAdder();
+
+	static CommandCacheStatistics getStatistics(DsfSession session) {
+		synchronized (fgSessionStatistics) {
+			return fgSessionStatistics.computeIfAbsent(session, s -> new CommandCacheStatistics());
+		}
+	}
+
+	/** Returns the number of requests served from the cached results */
+	public long getHits() {
+		return fHits.sum();
+	}
+
+	/** Returns the number of requests that caused a command to be queued */
+	public long getMisses() {
+		return fMisses.sum();
+	}
+
+	/** Returns the number of requests that waited for an identical command already queued or sent */
+	public long getJoined() {
+		return fJoined.sum();
+	}
+
+	/** Returns the number of requests that were combined with a queued command into a coalesced one */
+	public long getCoalesced() {
+		return fCoalesced.sum();
+	}
+
+	/** Returns the number of requests that failed because their context was not available */
+	public long getUnavailable() {
+		return fUnavailable.sum();
+	}
+
+	/** Clears all counters */
+	public void reset() {
+		fHits.reset();
+		fMisses.reset();
+		fJoined.reset();
+		fCoalesced.reset();
+		fUnavailable.reset();
+	}
+
+	void hit() {
+		fHits.increment();
+	}
+
+	void miss() {
+		fMisses.increment();
+	}
+
+	void joined() {
+		fJoined.increment();
+	}
+
+	void coalesced() {
+		fCoalesced.increment();
+	}
+
+	void unavailable() {
+		fUnavailable.increment();
+	}
+
+	/**
+	 * Appends the counters as a JSON object to the given buffer.
+	 */
+	public void appendJSON(StringBuilder buf) {
+		buf.append("{\"hits\":").append(getHits()); //$NON-NLS-1$
+		buf.append(",\"misses\":").append(getMisses()); //$NON-NLS-1$
+		buf.append(",\"joined\":").append(getJoined()); //$NON-NLS-1$
+		buf.append(",\"coalesced\":").append(getCoalesced()); //$NON-NLS-1$
+		buf.append(",\"unavailable\":").append(getUnavailable()); //$NON-NLS-1$
+		buf.append('}');
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse CDT contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DsfExecutorStatistics;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.cdt.dsf.concurrent.LatencyHistogram;
+import org.eclipse.cdt.dsf.internal.JSONUtils;
+import org.eclipse.cdt.tests.dsf.TestDsfExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the statistics collected by the DSF executor.
+ */
+public class ExecutorStatisticsTests {
+	private TestDsfExecutor fExecutor;
+
+	@Before
+	public void startExecutor() {
+		fExecutor = new TestDsfExecutor();
+	}
+
+	@After
+	public void shutdownExecutor() throws InterruptedException {
+		fExecutor.shutdown();
+		fExecutor.awaitTermination(1, TimeUnit.SECONDS);
+		assertFalse(fExecutor.exceptionsCaught());
+	}
+
+	private static class SleepRunnable extends DsfRunnable {
+		@Override
+		public void run() {
+			try {
+				Thread.sleep(2);
+			} catch (InterruptedException e) {
+			}
+		}
+	}
+
+	@Test
+	public void histogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i * 1000);
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(50500, histogram.getMean());
+		assertEquals(100000, histogram.getMax());
+		// Percentiles are accurate within a factor of two
+		long p50 = histogram.getPercentile(50);
+		assertTrue(p50 >= 50000 && p50 < 100000);
+		assertEquals(100000, histogram.getPercentile(100));
+
+		StringBuilder buf = new StringBuilder();
+		histogram.appendJSON(buf);
+		assertTrue(buf.toString().startsWith("{\"count\":100,"));
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getPercentile(50));
+	}
+
+	@Test
+	public void jsonString() {
+		StringBuilder buf = new StringBuilder();
+		JSONUtils.appendString(buf, "a\"b\\c\n\u0001");
+		assertEquals("\"a\\\"b\\\\c\\n\\u0001\"", buf.toString());
+	}
+
+	@Test
+	public void runTimeByType() throws Exception {
+		DsfExecutorStatistics statistics = fExecutor.getStatistics();
+		statistics.setDetailed(true);
+		for (int i = 0; i < 5; i++) {
+			fExecutor.execute(new SleepRunnable());
+		}
+		// The statistics are recorded after a runnable has completed, so wait for
+		// the next one to start
+		fExecutor.submit(new SleepRunnable()).get();
+		fExecutor.submit(() -> {
+		}).get();
+
+		assertTrue(statistics.getRunTime().getCount() >= 6);
+		assertTrue(statistics.getQueueWait().getCount() >= 6);
+		assertTrue(statistics.getMaxQueueDepth() >= 1);
+
+		Map<String, LatencyHistogram> byType = statistics.getRunTimeByType();
+		LatencyHistogram sleep = byType.get(SleepRunnable.class.getName());
+		assertEquals(6, sleep.getCount());
+		assertTrue(sleep.getMean() >= TimeUnit.MILLISECONDS.toNanos(2));
+	}
+}